@@ -17,33 +17,58 @@
 
 package org.openqa.selenium.events;
 
+import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.json.Json;
 import org.openqa.selenium.json.JsonOutput;
 
+/**
+ * Something that happened, along with the data that describes it.
+ *
+ * <p>An event created from an object holds on to that object, and listeners asking for its data as
+ * the object's own class are handed it as it is. The data is only turned into JSON when that is
+ * needed, such as when the event is sent to another process, or when a listener asks for it as some
+ * other type. Since the same object may be seen by many listeners, and may be serialized at any
+ * point, it should not be changed once the event has been created.
+ *
+ * <p>Data received as JSON is converted to each type listeners ask for once, and that converted
+ * form is shared by all the listeners that asked for the same type.
+ */
 public class Event {
 
   private static final Json JSON = new Json();
   private final UUID id;
   private final EventName eventName;
-  private final String data;
+  private final Object payload;
+  private final Map<Type, Object> converted = new ConcurrentHashMap<>();
+  private volatile String data;
 
   public Event(EventName eventName, Object data) {
     this(UUID.randomUUID(), eventName, data);
   }
 
   public Event(UUID id, EventName eventName, Object data) {
+    this(id, eventName, data, null);
+  }
+
+  private Event(UUID id, EventName eventName, Object payload, String data) {
     this.id = Require.nonNull("Message id", id);
     this.eventName = Require.nonNull("Event type", eventName);
+    this.payload = payload;
+    this.data = data;
+  }
 
-    StringBuilder builder = new StringBuilder();
-    try (JsonOutput out = JSON.newOutput(builder)) {
-      out.setPrettyPrint(false).writeClassName(false).write(data);
-    }
-    this.data = builder.toString();
+  /**
+   * @return an event whose data has already been serialized as JSON, such as one received from
+   *     another process.
+   */
+  public static Event fromRawData(UUID id, EventName eventName, String rawData) {
+    return new Event(id, eventName, null, Require.nonNull("Raw data", rawData));
   }
 
   public UUID getId() {
@@ -54,12 +79,37 @@ public EventName getType() {
     return eventName;
   }
 
-  public <T> T getData(java.lang.reflect.Type typeOfT) {
-    return JSON.toType(data, typeOfT);
+  @SuppressWarnings("unchecked")
+  public <T> T getData(Type typeOfT) {
+    Require.nonNull("Type", typeOfT);
+
+    if (payload != null && payload.getClass().equals(typeOfT)) {
+      return (T) payload;
+    }
+
+    Object value = converted.get(typeOfT);
+    if (value == null) {
+      value = JSON.toType(getRawData(), typeOfT);
+      if (value != null) {
+        Object existing = converted.putIfAbsent(typeOfT, value);
+        value = existing == null ? value : existing;
+      }
+    }
+    return (T) value;
   }
 
   public String getRawData() {
-    return data;
+    String raw = data;
+    if (raw == null) {
+      // Racing threads will produce the same string, so there's no need to lock.
+      StringBuilder builder = new StringBuilder();
+      try (JsonOutput out = JSON.newOutput(builder)) {
+        out.setPrettyPrint(false).writeClassName(false).write(payload);
+      }
+      raw = builder.toString();
+      data = raw;
+    }
+    return raw;
   }
 
   @Override
@@ -67,7 +117,7 @@ public String toString() {
     return new StringJoiner(", ", Event.class.getSimpleName() + "[", "]")
         .add("id=" + id)
         .add("type=" + eventName)
-        .add("data=" + data)
+        .add("data=" + getRawData())
         .toString();
   }
 
@@ -85,6 +135,6 @@ public boolean equals(Object o) {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getId(), getType(), data);
+    return Objects.hash(getId(), getType(), getRawData());
   }
 }
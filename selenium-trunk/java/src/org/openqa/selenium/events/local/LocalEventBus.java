@@ -0,0 +1,311 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.events.local;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.openqa.selenium.events.Event;
+import org.openqa.selenium.events.EventBus;
+import org.openqa.selenium.events.EventListener;
+import org.openqa.selenium.events.EventName;
+import org.openqa.selenium.grid.config.Config;
+import org.openqa.selenium.grid.jmx.JMXHelper;
+import org.openqa.selenium.grid.jmx.MBean;
+import org.openqa.selenium.grid.jmx.ManagedAttribute;
+import org.openqa.selenium.grid.jmx.ManagedService;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * An in-process {@link EventBus} that only hands an event to the listeners registered for its
+ * {@link EventName}, and does so on a small pool of threads rather than on the thread that fired
+ * it. Events with the same name are delivered one at a time and in the order they were fired, so
+ * listeners see the same sequence they would with {@link GuavaEventBus}. There is no ordering
+ * between events with different names.
+ *
+ * <p>Standalone still uses {@link GuavaEventBus} by default. To use this bus instead, pass {@code
+ * --events-implementation org.openqa.selenium.events.local.LocalEventBus}, or set {@code
+ * implementation} in the {@code [events]} section of the config file. The number of delivery
+ * threads is set with {@code --events-dispatch-threads}.
+ *
+ * <p>At most {@code --events-max-pending} events may be waiting to be delivered at any time. Events
+ * fired while that many are waiting are dropped rather than making the firing thread wait, since
+ * that may be the thread delivering events. Dropped events are logged and counted, and the count is
+ * available over JMX.
+ */
+@ManagedService(description = "In-process event bus")
+public class LocalEventBus implements EventBus {
+
+  public static final int DEFAULT_DISPATCH_THREADS = 4;
+  public static final int DEFAULT_MAX_PENDING_EVENTS = 10_000;
+  private static final Logger LOG = Logger.getLogger(LocalEventBus.class.getName());
+  private static final String EVENTS_SECTION = "events";
+  private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  private final int instance = INSTANCES.incrementAndGet();
+  private final ConcurrentMap<EventName, Topic> topics = new ConcurrentHashMap<>();
+  private final int maxPendingEvents;
+  private final AtomicInteger pending = new AtomicInteger();
+  private final LongAdder dropped = new LongAdder();
+  private final ThreadPoolExecutor executor;
+  private final MBean bean;
+
+  public LocalEventBus() {
+    this(DEFAULT_DISPATCH_THREADS);
+  }
+
+  public LocalEventBus(int dispatchThreads) {
+    this(dispatchThreads, DEFAULT_MAX_PENDING_EVENTS);
+  }
+
+  public LocalEventBus(int dispatchThreads, int maxPendingEvents) {
+    Require.positive("Dispatch threads", dispatchThreads);
+    this.maxPendingEvents = Require.positive("Maximum pending events", maxPendingEvents);
+
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            dispatchThreads,
+            dispatchThreads,
+            60,
+            TimeUnit.SECONDS,
+            // Each event name has at most one task queued here at a time. The events themselves
+            // wait in that name's sequential executor, and are bounded by `maxPendingEvents`.
+            new LinkedBlockingQueue<>(),
+            r -> {
+              Thread thread = new Thread(r);
+              thread.setName("LocalEventBus-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.executor.allowCoreThreadTimeOut(true);
+
+    this.bean = new JMXHelper().register(this);
+  }
+
+  public static LocalEventBus create(Config config) {
+    return new LocalEventBus(
+        config.getInt(EVENTS_SECTION, "dispatch-threads").orElse(DEFAULT_DISPATCH_THREADS),
+        config.getInt(EVENTS_SECTION, "max-pending").orElse(DEFAULT_MAX_PENDING_EVENTS));
+  }
+
+  public ObjectName getObjectName() throws MalformedObjectNameException {
+    return new ObjectName(
+        String.format("org.seleniumhq.grid:type=EventBus,name=LocalEventBus,id=%d", instance));
+  }
+
+  @Override
+  public boolean isReady() {
+    return !executor.isShutdown();
+  }
+
+  @Override
+  public void addListener(EventListener<?> listener) {
+    Require.nonNull("Listener", listener);
+
+    topics.computeIfAbsent(listener.getEventName(), name -> new Topic()).add(listener);
+  }
+
+  @Override
+  public void fire(Event event) {
+    Require.nonNull("Event", event);
+
+    Topic topic = topics.get(event.getType());
+    if (topic == null) {
+      return;
+    }
+
+    try {
+      topic.dispatch(event);
+    } catch (RejectedExecutionException e) {
+      LOG.log(Level.FINE, "Event bus is closed. Dropping event " + event.getType(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+    topics.clear();
+    if (bean != null) {
+      new JMXHelper().unregister(bean.getObjectName());
+    }
+  }
+
+  /**
+   * @return how long each listener has spent handling events, keyed by the name of the event and
+   *     the order in which the listener was added for it (eg. {@code session-closed#0}).
+   */
+  @ManagedAttribute(name = "ListenerMetrics")
+  public Map<String, ListenerMetrics> getListenerMetrics() {
+    Map<String, ListenerMetrics> metrics = new TreeMap<>();
+    topics.forEach(
+        (name, topic) -> {
+          List<Subscriber> subscribers = topic.subscribers;
+          for (int i = 0; i < subscribers.size(); i++) {
+            metrics.put(name.getName() + "#" + i, subscribers.get(i).snapshot());
+          }
+        });
+    return metrics;
+  }
+
+  @ManagedAttribute(name = "QueueDepth")
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  @ManagedAttribute(name = "PendingEvents")
+  public long getPendingEvents() {
+    return pending.get();
+  }
+
+  @ManagedAttribute(name = "DroppedEvents")
+  public long getDroppedEvents() {
+    return dropped.sum();
+  }
+
+  private class Topic {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Runs one task at a time on the shared pool, which keeps events of this type in order
+    private final Executor serial = MoreExecutors.newSequentialExecutor(executor);
+
+    private void add(EventListener<?> listener) {
+      subscribers.add(new Subscriber(listener));
+    }
+
+    private void dispatch(Event event) {
+      if (pending.incrementAndGet() > maxPendingEvents) {
+        pending.decrementAndGet();
+        dropped.increment();
+        LOG.log(
+            dropped.sum() == 1 ? Level.WARNING : Level.FINE,
+            String.format(
+                "%d events are waiting to be delivered. Dropping event %s",
+                maxPendingEvents, event.getType()));
+        return;
+      }
+
+      try {
+        serial.execute(
+            () -> {
+              try {
+                subscribers.forEach(subscriber -> subscriber.handle(event));
+              } finally {
+                pending.decrementAndGet();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        pending.decrementAndGet();
+        throw e;
+      }
+    }
+  }
+
+  private static class Subscriber {
+
+    private final EventListener<?> listener;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private Subscriber(EventListener<?> listener) {
+      this.listener = listener;
+    }
+
+    private void handle(Event event) {
+      long start = System.nanoTime();
+      try {
+        listener.accept(event);
+      } catch (RuntimeException e) {
+        failures.increment();
+        LOG.log(Level.WARNING, "Unable to handle event " + event.getType(), e);
+      } finally {
+        long elapsed = System.nanoTime() - start;
+        count.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulate(elapsed);
+      }
+    }
+
+    private ListenerMetrics snapshot() {
+      return new ListenerMetrics(count.sum(), failures.sum(), totalNanos.sum(), maxNanos.get());
+    }
+  }
+
+  public static class ListenerMetrics {
+
+    private final long count;
+    private final long failures;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    ListenerMetrics(long count, long failures, long totalNanos, long maxNanos) {
+      this.count = count;
+      this.failures = failures;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getFailures() {
+      return failures;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    public long getMeanNanos() {
+      return count == 0 ? 0 : totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d, failures=%d, mean=%dus, max=%dus",
+          count,
+          failures,
+          TimeUnit.NANOSECONDS.toMicros(getMeanNanos()),
+          TimeUnit.NANOSECONDS.toMicros(maxNanos));
+    }
+  }
+}
@@ -0,0 +1,193 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.events.zeromq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.UUID;
+import org.openqa.selenium.events.Event;
+import org.openqa.selenium.events.EventName;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * The single frame in which one or more events are sent over the bus. It starts with a marker byte
+ * that can never begin an event name, which is how it is told apart from the older four frame
+ * messages, followed by the secret and then each event in turn:
+ *
+ * <pre>
+ *   byte   marker (0x00)
+ *   byte   version (0x01)
+ *   short  secret length, followed by the secret as UTF-8
+ *   int    event count
+ *   per event:
+ *     int    hash of the event name
+ *     short  name length, followed by the name as UTF-8
+ *     long   most significant bits of the id
+ *     long   least significant bits of the id
+ *     int    data length, followed by the JSON data as UTF-8
+ * </pre>
+ *
+ * <p>The name hash lets a reader skip events nobody is listening to without decoding anything, and
+ * the data is only turned into a string for events that are handed on.
+ */
+class EventEnvelope {
+
+  static final byte MARKER = 0x00;
+  static final byte VERSION = 0x01;
+
+  private EventEnvelope() {
+    // Utility class
+  }
+
+  static int hash(EventName name) {
+    return name.getName().hashCode();
+  }
+
+  static boolean isEnvelope(byte[] frame) {
+    return frame.length > 1 && frame[0] == MARKER && frame[1] == VERSION;
+  }
+
+  static byte[] encode(byte[] secret, List<Event> events) {
+    Require.nonNull("Secret", secret);
+    Require.nonNull("Events", events);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(MARKER);
+      out.writeByte(VERSION);
+      out.writeShort(secret.length);
+      out.write(secret);
+      out.writeInt(events.size());
+
+      for (Event event : events) {
+        byte[] name = event.getType().getName().getBytes(UTF_8);
+        byte[] data = event.getRawData().getBytes(UTF_8);
+
+        out.writeInt(hash(event.getType()));
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeLong(event.getId().getMostSignificantBits());
+        out.writeLong(event.getId().getLeastSignificantBits());
+        out.writeInt(data.length);
+        out.write(data);
+      }
+    } catch (IOException e) {
+      // Writing to memory
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static Reader read(byte[] frame) {
+    return new Reader(frame);
+  }
+
+  /**
+   * Walks the events in an envelope. Call {@link #next()} to move to each event, and only then ask
+   * for the parts of it that are needed.
+   */
+  static class Reader {
+
+    private final ByteBuffer buffer;
+    private final int secretOffset;
+    private final int secretLength;
+    private int remaining;
+
+    private int hash;
+    private int nameOffset;
+    private int nameLength;
+    private int idOffset;
+    private int dataOffset;
+    private int dataLength;
+
+    private Reader(byte[] frame) {
+      Require.nonNull("Frame", frame);
+      if (!isEnvelope(frame)) {
+        throw new IllegalArgumentException("Frame is not an event envelope");
+      }
+
+      try {
+        buffer = ByteBuffer.wrap(frame);
+        buffer.position(2);
+        secretLength = Short.toUnsignedInt(buffer.getShort());
+        secretOffset = buffer.position();
+        buffer.position(secretOffset + secretLength);
+        remaining = buffer.getInt();
+      } catch (BufferUnderflowException | IllegalArgumentException e) {
+        throw new IllegalArgumentException("Event envelope is truncated", e);
+      }
+    }
+
+    /** Compares secrets in a time that does not depend on where they first differ. */
+    boolean isSignedWith(byte[] secret) {
+      byte[] received = new byte[secretLength];
+      System.arraycopy(buffer.array(), secretOffset, received, 0, secretLength);
+      return MessageDigest.isEqual(secret, received);
+    }
+
+    String getSecret() {
+      return new String(buffer.array(), secretOffset, secretLength, UTF_8);
+    }
+
+    boolean next() {
+      if (remaining <= 0) {
+        return false;
+      }
+      remaining--;
+
+      try {
+        hash = buffer.getInt();
+        nameLength = Short.toUnsignedInt(buffer.getShort());
+        nameOffset = buffer.position();
+        idOffset = nameOffset + nameLength;
+        buffer.position(idOffset + 16);
+        dataLength = buffer.getInt();
+        dataOffset = buffer.position();
+        buffer.position(dataOffset + dataLength);
+      } catch (BufferUnderflowException | IllegalArgumentException e) {
+        remaining = 0;
+        throw new IllegalArgumentException("Event envelope is truncated", e);
+      }
+      return true;
+    }
+
+    int getHash() {
+      return hash;
+    }
+
+    EventName getEventName() {
+      return new EventName(new String(buffer.array(), nameOffset, nameLength, UTF_8));
+    }
+
+    UUID getId() {
+      return new UUID(buffer.getLong(idOffset), buffer.getLong(idOffset + 8));
+    }
+
+    String getData() {
+      return new String(buffer.array(), dataOffset, dataLength, UTF_8);
+    }
+  }
+}
@@ -34,8 +34,10 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -60,27 +62,41 @@ class UnboundZmqEventBus implements EventBus {
   static final EventName REJECTED_EVENT = new EventName("selenium-rejected-event");
   private static final Logger LOG = Logger.getLogger(EventBus.class.getName());
   private static final Json JSON = new Json();
+  // Keeps a burst of events from turning into one enormous frame
+  private static final int MAX_BATCH_SIZE = 256;
   private final AtomicBoolean pollingStarted = new AtomicBoolean(false);
   private final ExecutorService socketPollingExecutor;
   private final ExecutorService socketPublishingExecutor;
   private final ExecutorService listenerNotificationExecutor;
 
   private final Map<EventName, List<Consumer<Event>>> listeners = new ConcurrentHashMap<>();
+  private final Set<Integer> listenedHashes = ConcurrentHashMap.newKeySet();
   private final Queue<UUID> recentMessages = EvictingQueue.create(128);
-  private final String encodedSecret;
+  private final Queue<Event> outgoing = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private final AtomicBoolean unknownFormatLogged = new AtomicBoolean(false);
+  private final boolean useEnvelope;
+  private final byte[] encodedSecret;
+  private final byte[] jsonSecret;
   private ZMQ.Poller poller;
 
   private ZMQ.Socket pub;
   private ZMQ.Socket sub;
 
   UnboundZmqEventBus(
-      ZContext context, String publishConnection, String subscribeConnection, Secret secret) {
+      ZContext context,
+      String publishConnection,
+      String subscribeConnection,
+      Secret secret,
+      boolean useEnvelope) {
     Require.nonNull("Secret", secret);
+    this.useEnvelope = useEnvelope;
+    this.encodedSecret = secret.encode().getBytes(UTF_8);
     StringBuilder builder = new StringBuilder();
     try (JsonOutput out = JSON.newOutput(builder)) {
       out.setPrettyPrint(false).writeClassName(false).write(secret);
     }
-    this.encodedSecret = builder.toString();
+    this.jsonSecret = builder.toString().getBytes(UTF_8);
 
     this.socketPollingExecutor =
         Executors.newSingleThreadExecutor(
@@ -194,19 +210,44 @@ public void addListener(EventListener<?> listener) {
     List<Consumer<Event>> typeListeners =
         listeners.computeIfAbsent(listener.getEventName(), t -> new LinkedList<>());
     typeListeners.add(listener);
+    listenedHashes.add(EventEnvelope.hash(listener.getEventName()));
   }
 
   @Override
   public void fire(Event event) {
     Require.nonNull("Event to send", event);
 
-    socketPublishingExecutor.execute(
-        () -> {
-          pub.sendMore(event.getType().getName().getBytes(UTF_8));
-          pub.sendMore(encodedSecret.getBytes(UTF_8));
-          pub.sendMore(event.getId().toString().getBytes(UTF_8));
-          pub.send(event.getRawData().getBytes(UTF_8));
-        });
+    outgoing.add(event);
+    if (flushScheduled.compareAndSet(false, true)) {
+      socketPublishingExecutor.execute(this::flush);
+    }
+  }
+
+  private void flush() {
+    // Anything fired from here on schedules another flush, so nothing is left behind in the queue
+    flushScheduled.set(false);
+
+    List<Event> batch = new ArrayList<>();
+    Event event;
+    while ((event = outgoing.poll()) != null) {
+      if (!useEnvelope) {
+        pub.sendMore(event.getType().getName().getBytes(UTF_8));
+        pub.sendMore(jsonSecret);
+        pub.sendMore(event.getId().toString().getBytes(UTF_8));
+        pub.send(event.getRawData().getBytes(UTF_8));
+        continue;
+      }
+
+      batch.add(event);
+      if (batch.size() == MAX_BATCH_SIZE) {
+        pub.send(EventEnvelope.encode(encodedSecret, batch));
+        batch.clear();
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      pub.send(EventEnvelope.encode(encodedSecret, batch));
+    }
   }
 
   @Override
@@ -243,51 +284,26 @@ public void run() {
             if (poller.pollin(i)) {
               ZMQ.Socket socket = poller.getSocket(i);
 
-              EventName eventName = new EventName(new String(socket.recv(), UTF_8));
-              // Processing only events we are listening to
-              if (!listeners.containsKey(eventName)) {
-                continue;
-              }
-
-              Secret eventSecret;
-              String receivedEventSecret = new String(socket.recv(), UTF_8);
-              try {
-                eventSecret = JSON.toType(receivedEventSecret, Secret.class);
-              } catch (JsonException ignore) {
-                rejectEvent(
-                    eventName,
-                    receivedEventSecret,
-                    "Could not parse event secret, rejecting event.");
-                continue;
-              }
-
-              UUID id;
-              String eventId = new String(socket.recv(), UTF_8);
-              try {
-                id = UUID.fromString(eventId);
-              } catch (IllegalArgumentException ignore) {
-                rejectEvent(eventName, eventId, "Could not parse event id, rejecting event.");
-                continue;
-              }
-
-              String data = new String(socket.recv(), UTF_8);
-
-              // Don't bother doing more work if we've seen this message.
-              if (recentMessages.contains(id)) {
-                continue;
+              byte[] frame = socket.recv();
+              if (EventEnvelope.isEnvelope(frame) && !socket.hasReceiveMore()) {
+                receiveEnvelope(frame);
+              } else if ((frame.length > 0 && frame[0] == EventEnvelope.MARKER)
+                  || !socket.hasReceiveMore()) {
+                // Neither an envelope this version can read, nor an event sent as four frames
+                logUnknownFormat();
+                while (socket.hasReceiveMore()) {
+                  socket.recv();
+                }
+              } else {
+                try {
+                  receiveFrames(socket, frame);
+                } finally {
+                  // Whatever happened, don't leave frames behind to be mistaken for a new message
+                  while (socket.hasReceiveMore()) {
+                    socket.recv();
+                  }
+                }
               }
-
-              Object converted = JSON.toType(data, Object.class);
-              Event event = new Event(id, eventName, converted);
-
-              recentMessages.add(id);
-
-              if (!Secret.matches(secret, eventSecret)) {
-                rejectEvent(eventName, data, "Rejecting message without a valid secret");
-                continue;
-              }
-
-              notifyListeners(eventName, event);
             }
           }
         } catch (Exception e) {
@@ -301,6 +317,101 @@ public void run() {
       }
     }
 
+    private void receiveEnvelope(byte[] frame) {
+      Boolean signed = null;
+      try {
+        EventEnvelope.Reader reader = EventEnvelope.read(frame);
+        while (reader.next()) {
+          // Processing only events we are listening to, without decoding any of the others
+          if (!listenedHashes.contains(reader.getHash())) {
+            continue;
+          }
+          EventName eventName = reader.getEventName();
+          if (!listeners.containsKey(eventName)) {
+            continue;
+          }
+
+          UUID id = reader.getId();
+          // Don't bother doing more work if we've seen this message.
+          if (recentMessages.contains(id)) {
+            continue;
+          }
+          recentMessages.add(id);
+
+          String data = reader.getData();
+
+          if (signed == null) {
+            signed = reader.isSignedWith(encodedSecret);
+          }
+          if (!signed) {
+            rejectEvent(eventName, data, "Rejecting message without a valid secret");
+            continue;
+          }
+
+          // Listeners convert the data to the types they want, so there's no need to parse it here.
+          notifyListeners(eventName, Event.fromRawData(id, eventName, data));
+        }
+      } catch (IllegalArgumentException e) {
+        LOG.log(Level.WARNING, "Discarding malformed event bus message: " + e.getMessage());
+      }
+    }
+
+    /** Reads a message sent as four frames, as versions before the envelope was added do. */
+    private void receiveFrames(ZMQ.Socket socket, byte[] firstFrame) {
+      EventName eventName = new EventName(new String(firstFrame, UTF_8));
+      // Processing only events we are listening to
+      if (!listeners.containsKey(eventName)) {
+        return;
+      }
+
+      Secret eventSecret;
+      String receivedEventSecret = new String(socket.recv(), UTF_8);
+      try {
+        eventSecret = JSON.toType(receivedEventSecret, Secret.class);
+      } catch (JsonException ignore) {
+        rejectEvent(
+            eventName, receivedEventSecret, "Could not parse event secret, rejecting event.");
+        return;
+      }
+
+      UUID id;
+      String eventId = new String(socket.recv(), UTF_8);
+      try {
+        id = UUID.fromString(eventId);
+      } catch (IllegalArgumentException ignore) {
+        rejectEvent(eventName, eventId, "Could not parse event id, rejecting event.");
+        return;
+      }
+
+      String data = new String(socket.recv(), UTF_8);
+
+      // Don't bother doing more work if we've seen this message.
+      if (recentMessages.contains(id)) {
+        return;
+      }
+
+      // Listeners convert the data to the types they want, so there's no need to parse it here.
+      Event event = Event.fromRawData(id, eventName, data);
+
+      recentMessages.add(id);
+
+      if (!Secret.matches(secret, eventSecret)) {
+        rejectEvent(eventName, data, "Rejecting message without a valid secret");
+        return;
+      }
+
+      notifyListeners(eventName, event);
+    }
+
+    private void logUnknownFormat() {
+      // Once is enough to point at the problem without flooding the log with every message
+      Level level = unknownFormatLogged.compareAndSet(false, true) ? Level.WARNING : Level.FINE;
+      LOG.log(
+          level,
+          "Discarding event bus message in an unknown format. It may have been sent by a different"
+              + " version of Selenium.");
+    }
+
     private void rejectEvent(EventName eventName, String data, String message) {
       Event rejectedEvent =
           new Event(REJECTED_EVENT, new ZeroMqEventBus.RejectedEvent(eventName, data));
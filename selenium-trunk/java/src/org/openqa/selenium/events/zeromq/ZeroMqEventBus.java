@@ -34,7 +34,14 @@
 import org.openqa.selenium.net.Urls;
 import org.zeromq.ZContext;
 
-/** An {@link EventBus} backed by ZeroMQ. */
+/**
+ * An {@link EventBus} backed by ZeroMQ.
+ *
+ * <p>Events are sent as four frames each by default. Components can instead send them in batches,
+ * in a single binary {@link EventEnvelope}, by setting {@code binary-envelope} in the {@code
+ * [events]} section. Every component reads both, but versions from before the envelope was added
+ * silently ignore it, so only turn it on once every component on the bus has been upgraded.
+ */
 public class ZeroMqEventBus {
 
   private static final String EVENTS_SECTION = "events";
@@ -45,10 +52,20 @@ private ZeroMqEventBus() {
 
   public static EventBus create(
       ZContext context, String publish, String subscribe, boolean bind, Secret secret) {
+    return create(context, publish, subscribe, bind, secret, false);
+  }
+
+  public static EventBus create(
+      ZContext context,
+      String publish,
+      String subscribe,
+      boolean bind,
+      Secret secret,
+      boolean useEnvelope) {
     if (bind) {
-      return new BoundZmqEventBus(context, publish, subscribe, secret);
+      return new BoundZmqEventBus(context, publish, subscribe, secret, useEnvelope);
     }
-    return new UnboundZmqEventBus(context, publish, subscribe, secret);
+    return new UnboundZmqEventBus(context, publish, subscribe, secret, useEnvelope);
   }
 
   public static EventBus create(Config config) {
@@ -85,10 +102,17 @@ public static EventBus create(Config config) {
                 });
 
     boolean bind = config.getBool(EVENTS_SECTION, "bind").orElse(false);
+    boolean useEnvelope = config.getBool(EVENTS_SECTION, "binary-envelope").orElse(false);
 
     SecretOptions secretOptions = new SecretOptions(config);
 
-    return create(new ZContext(), publish, subscribe, bind, secretOptions.getRegistrationSecret());
+    return create(
+        new ZContext(),
+        publish,
+        subscribe,
+        bind,
+        secretOptions.getRegistrationSecret(),
+        useEnvelope);
   }
 
   private static String mungeUri(URI base, String scheme, int port) {
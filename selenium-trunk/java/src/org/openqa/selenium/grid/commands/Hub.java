@@ -49,6 +49,7 @@
 import org.openqa.selenium.grid.log.LoggingOptions;
 import org.openqa.selenium.grid.router.ProxyWebsocketsIntoGrid;
 import org.openqa.selenium.grid.router.Router;
+import org.openqa.selenium.grid.router.SessionUriCache;
 import org.openqa.selenium.grid.router.httpd.RouterOptions;
 import org.openqa.selenium.grid.security.BasicAuthenticationFilter;
 import org.openqa.selenium.grid.security.Secret;
@@ -164,10 +165,18 @@ protected Handlers createHandlers(Config config) {
             distributorOptions.shouldRejectUnsupportedCaps(),
             newSessionRequestOptions.getSessionRequestRetryInterval(),
             distributorOptions.getNewSessionThreadPoolSize(),
-            distributorOptions.getSlotMatcher());
+            distributorOptions.getSlotMatcher(),
+            distributorOptions.shouldReserveSlotsWithoutLocking());
     handler.addHandler(distributor);
 
-    Router router = new Router(tracer, clientFactory, sessions, queue, distributor);
+    RouterOptions routerOptions = new RouterOptions(config);
+    SessionUriCache sessionUris =
+        new SessionUriCache(
+            sessions,
+            bus,
+            routerOptions.getSessionUriCacheSize(),
+            routerOptions.getSessionUriCacheTimeToLive());
+    Router router = new Router(tracer, clientFactory, sessions, queue, distributor, sessionUris);
     GraphqlHandler graphqlHandler =
         new GraphqlHandler(
             tracer, distributor, queue, serverOptions.getExternalUri(), getServerVersion());
@@ -182,7 +191,7 @@ protected Handlers createHandlers(Config config) {
 
     Routable routerWithSpecChecks = router.with(networkOptions.getSpecComplianceChecks());
 
-    String subPath = new RouterOptions(config).subPath();
+    String subPath = routerOptions.subPath();
     Routable ui = new GridUiRoute(subPath);
 
     Routable appendRoute =
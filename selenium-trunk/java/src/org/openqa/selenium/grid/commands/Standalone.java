@@ -53,6 +53,7 @@
 import org.openqa.selenium.grid.node.ProxyNodeWebsockets;
 import org.openqa.selenium.grid.node.config.NodeOptions;
 import org.openqa.selenium.grid.router.Router;
+import org.openqa.selenium.grid.router.SessionUriCache;
 import org.openqa.selenium.grid.router.httpd.RouterOptions;
 import org.openqa.selenium.grid.security.BasicAuthenticationFilter;
 import org.openqa.selenium.grid.security.Secret;
@@ -168,11 +169,19 @@ protected Handlers createHandlers(Config config) {
             distributorOptions.shouldRejectUnsupportedCaps(),
             newSessionRequestOptions.getSessionRequestRetryInterval(),
             distributorOptions.getNewSessionThreadPoolSize(),
-            distributorOptions.getSlotMatcher());
+            distributorOptions.getSlotMatcher(),
+            distributorOptions.shouldReserveSlotsWithoutLocking());
     combinedHandler.addHandler(distributor);
 
+    RouterOptions routerOptions = new RouterOptions(config);
+    SessionUriCache sessionUris =
+        new SessionUriCache(
+            sessions,
+            bus,
+            routerOptions.getSessionUriCacheSize(),
+            routerOptions.getSessionUriCacheTimeToLive());
     Routable router =
-        new Router(tracer, clientFactory, sessions, queue, distributor)
+        new Router(tracer, clientFactory, sessions, queue, distributor, sessionUris)
             .with(networkOptions.getSpecComplianceChecks());
 
     HttpHandler readinessCheck =
@@ -187,7 +196,7 @@ protected Handlers createHandlers(Config config) {
         new GraphqlHandler(
             tracer, distributor, queue, serverOptions.getExternalUri(), getFormattedVersion());
 
-    String subPath = new RouterOptions(config).subPath();
+    String subPath = routerOptions.subPath();
     Routable ui = new GridUiRoute(subPath);
 
     Routable appendRoute =
@@ -23,17 +23,33 @@
 import org.openqa.selenium.events.EventName;
 import org.openqa.selenium.internal.Require;
 
+/**
+ * Sent by a node every heartbeat period. Most heartbeats only carry a {@link NodeStatusDelta} with
+ * the slots that changed since the previous one, and every so often the full {@link NodeStatus} is
+ * sent so that a distributor that missed some, or has only just started, can catch up.
+ */
 public class NodeHeartBeatEvent extends Event {
 
   private static final EventName NODE_HEARTBEAT = new EventName("node-heartbeat");
+  private static final EventName NODE_HEARTBEAT_DELTA = new EventName("node-heartbeat-delta");
 
   public NodeHeartBeatEvent(NodeStatus status) {
     super(NODE_HEARTBEAT, Require.nonNull("Node status", status));
   }
 
+  public NodeHeartBeatEvent(NodeStatusDelta delta) {
+    super(NODE_HEARTBEAT_DELTA, Require.nonNull("Node status delta", delta));
+  }
+
   public static EventListener<NodeStatus> listener(Consumer<NodeStatus> handler) {
     Require.nonNull("Handler", handler);
 
     return new EventListener<NodeStatus>(NODE_HEARTBEAT, NodeStatus.class, handler);
   }
+
+  public static EventListener<NodeStatusDelta> deltaListener(Consumer<NodeStatusDelta> handler) {
+    Require.nonNull("Handler", handler);
+
+    return new EventListener<NodeStatusDelta>(NODE_HEARTBEAT_DELTA, NodeStatusDelta.class, handler);
+  }
 }
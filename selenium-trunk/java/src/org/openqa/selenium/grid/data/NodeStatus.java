@@ -33,6 +33,11 @@
 import org.openqa.selenium.json.JsonInput;
 import org.openqa.selenium.json.TypeToken;
 
+/**
+ * What a node reports about itself. The {@link #getStatusVersion() status version} goes up every
+ * time the node's slots or availability change, which lets a {@link NodeStatusDelta} say which
+ * status it builds on.
+ */
 public class NodeStatus {
 
   private final NodeId nodeId;
@@ -44,6 +49,7 @@ public class NodeStatus {
   private final Duration heartbeatPeriod;
   private final String version;
   private final Map<String, String> osInfo;
+  private final long statusVersion;
 
   public NodeStatus(
       NodeId nodeId,
@@ -54,6 +60,28 @@ public NodeStatus(
       Duration heartbeatPeriod,
       String version,
       Map<String, String> osInfo) {
+    this(
+        nodeId,
+        externalUri,
+        maxSessionCount,
+        slots,
+        availability,
+        heartbeatPeriod,
+        version,
+        osInfo,
+        0);
+  }
+
+  public NodeStatus(
+      NodeId nodeId,
+      URI externalUri,
+      int maxSessionCount,
+      Set<Slot> slots,
+      Availability availability,
+      Duration heartbeatPeriod,
+      String version,
+      Map<String, String> osInfo,
+      long statusVersion) {
     this.nodeId = Require.nonNull("Node id", nodeId);
     this.externalUri = Require.nonNull("URI", externalUri);
     this.maxSessionCount =
@@ -64,6 +92,7 @@ public NodeStatus(
     this.heartbeatPeriod = heartbeatPeriod;
     this.version = Require.nonNull("Grid Node version", version);
     this.osInfo = Require.nonNull("Node host OS info", osInfo);
+    this.statusVersion = statusVersion;
   }
 
   public static NodeStatus fromJson(JsonInput input) {
@@ -75,6 +104,7 @@ public static NodeStatus fromJson(JsonInput input) {
     Duration heartbeatPeriod = null;
     String version = null;
     Map<String, String> osInfo = null;
+    long statusVersion = 0;
 
     input.beginObject();
     while (input.hasNext()) {
@@ -111,6 +141,10 @@ public static NodeStatus fromJson(JsonInput input) {
           osInfo = input.read(Map.class);
           break;
 
+        case "statusVersion":
+          statusVersion = input.read(Long.class);
+          break;
+
         default:
           input.skipValue();
           break;
@@ -119,7 +153,15 @@ public static NodeStatus fromJson(JsonInput input) {
     input.endObject();
 
     return new NodeStatus(
-        nodeId, externalUri, maxSessions, slots, availability, heartbeatPeriod, version, osInfo);
+        nodeId,
+        externalUri,
+        maxSessions,
+        slots,
+        availability,
+        heartbeatPeriod,
+        version,
+        osInfo,
+        statusVersion);
   }
 
   public boolean hasCapability(Capabilities caps, SlotMatcher slotMatcher) {
@@ -170,6 +212,23 @@ public Map<String, String> getOsInfo() {
     return osInfo;
   }
 
+  public long getStatusVersion() {
+    return statusVersion;
+  }
+
+  public NodeStatus withStatusVersion(long statusVersion) {
+    return new NodeStatus(
+        nodeId,
+        externalUri,
+        maxSessionCount,
+        slots,
+        availability,
+        heartbeatPeriod,
+        version,
+        osInfo,
+        statusVersion);
+  }
+
   public float getLoad() {
     float inUse = slots.parallelStream().filter(slot -> slot.getSession() != null).count();
 
@@ -214,6 +273,7 @@ private Map<String, Object> toJson() {
     toReturn.put("heartbeatPeriod", heartbeatPeriod.toMillis());
     toReturn.put("version", version);
     toReturn.put("osInfo", osInfo);
+    toReturn.put("statusVersion", statusVersion);
 
     return unmodifiableMap(toReturn);
   }
@@ -0,0 +1,166 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.data;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.TypeToken;
+
+/**
+ * The slots of a node that changed between two {@link NodeStatus#getStatusVersion() status
+ * versions}. Applying it to a copy of the node's status at {@link #getBaseVersion()} (or any
+ * version after that, up to {@link #getStatusVersion()}) brings the copy up to date.
+ */
+public class NodeStatusDelta {
+
+  private final NodeId nodeId;
+  private final URI externalUri;
+  private final Availability availability;
+  private final long baseVersion;
+  private final long statusVersion;
+  private final Set<Slot> slots;
+
+  public NodeStatusDelta(
+      NodeId nodeId,
+      URI externalUri,
+      Availability availability,
+      long baseVersion,
+      long statusVersion,
+      Set<Slot> slots) {
+    this.nodeId = Require.nonNull("Node id", nodeId);
+    this.externalUri = Require.nonNull("URI", externalUri);
+    this.availability = Require.nonNull("Availability", availability);
+    this.baseVersion = baseVersion;
+    this.statusVersion = statusVersion;
+    this.slots = unmodifiableSet(new HashSet<>(Require.nonNull("Slots", slots)));
+  }
+
+  public static NodeStatusDelta fromJson(JsonInput input) {
+    NodeId nodeId = null;
+    URI externalUri = null;
+    Availability availability = null;
+    long baseVersion = 0;
+    long statusVersion = 0;
+    Set<Slot> slots = null;
+
+    input.beginObject();
+    while (input.hasNext()) {
+      switch (input.nextName()) {
+        case "availability":
+          availability = input.read(Availability.class);
+          break;
+
+        case "baseVersion":
+          baseVersion = input.read(Long.class);
+          break;
+
+        case "externalUri":
+          externalUri = input.read(URI.class);
+          break;
+
+        case "nodeId":
+          nodeId = input.read(NodeId.class);
+          break;
+
+        case "slots":
+          slots = input.read(new TypeToken<Set<Slot>>() {}.getType());
+          break;
+
+        case "statusVersion":
+          statusVersion = input.read(Long.class);
+          break;
+
+        default:
+          input.skipValue();
+          break;
+      }
+    }
+    input.endObject();
+
+    return new NodeStatusDelta(
+        nodeId, externalUri, availability, baseVersion, statusVersion, slots);
+  }
+
+  public NodeId getNodeId() {
+    return nodeId;
+  }
+
+  public URI getExternalUri() {
+    return externalUri;
+  }
+
+  public Availability getAvailability() {
+    return availability;
+  }
+
+  public long getBaseVersion() {
+    return baseVersion;
+  }
+
+  public long getStatusVersion() {
+    return statusVersion;
+  }
+
+  /**
+   * @return only the slots that changed since the base version.
+   */
+  public Set<Slot> getSlots() {
+    return slots;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof NodeStatusDelta)) {
+      return false;
+    }
+
+    NodeStatusDelta that = (NodeStatusDelta) o;
+    return Objects.equals(this.nodeId, that.nodeId)
+        && Objects.equals(this.externalUri, that.externalUri)
+        && Objects.equals(this.availability, that.availability)
+        && this.baseVersion == that.baseVersion
+        && this.statusVersion == that.statusVersion
+        && Objects.equals(this.slots, that.slots);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(nodeId, baseVersion, statusVersion);
+  }
+
+  private Map<String, Object> toJson() {
+    Map<String, Object> toReturn = new TreeMap<>();
+    toReturn.put("nodeId", nodeId);
+    toReturn.put("externalUri", externalUri);
+    toReturn.put("availability", availability);
+    toReturn.put("baseVersion", baseVersion);
+    toReturn.put("statusVersion", statusVersion);
+    toReturn.put("slots", slots);
+
+    return unmodifiableMap(toReturn);
+  }
+}
@@ -22,18 +22,26 @@
 import static org.openqa.selenium.grid.data.Availability.UP;
 
 import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.openqa.selenium.events.EventBus;
 import org.openqa.selenium.grid.config.Config;
@@ -43,6 +51,7 @@
 import org.openqa.selenium.grid.data.NodeRemovedEvent;
 import org.openqa.selenium.grid.data.NodeRestartedEvent;
 import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.NodeStatusDelta;
 import org.openqa.selenium.grid.data.Session;
 import org.openqa.selenium.grid.data.SessionClosedEvent;
 import org.openqa.selenium.grid.data.Slot;
@@ -52,8 +61,33 @@
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.remote.SessionId;
 
+/**
+ * The distributor's view of the nodes in the grid.
+ *
+ * <p>Nodes are indexed by {@link NodeId} and {@link URI}, slots are looked up through their owning
+ * node, and live sessions are indexed by {@link SessionId}, so none of the common operations need
+ * to scan the whole grid. The {@code lock} only guards the set of nodes: adding, removing and
+ * purging nodes take the write lock, while anything that changes a single node takes the read lock
+ * and then synchronizes on that node. Work on different nodes therefore proceeds in parallel. Each
+ * slot also carries an atomic FREE/RESERVED/ACTIVE state, and {@link #reserve(SlotId)} claims a
+ * slot with a compare-and-set on that state rather than by taking a lock.
+ *
+ * <p>{@link #getSnapshot()} returns a cached, immutable view that is only rebuilt once the model
+ * has changed, and then only the nodes that changed are copied.
+ *
+ * <p>Each node also remembers the {@link NodeStatus#getStatusVersion() status version} it was last
+ * brought up to date with, so heartbeats that only carry a {@link NodeStatusDelta} can be applied
+ * slot by slot with {@link #apply(NodeStatusDelta)}.
+ */
 public class GridModel {
 
+  /**
+   * How long a slot stays reserved without a session being created in it. This is longer than the
+   * distributor waits for a node to answer a new session request by default, and as long as a
+   * request may wait in the queue by default, so by then nobody is going to use the reservation.
+   */
+  public static final Duration DEFAULT_RESERVATION_TIMEOUT = Duration.ofMinutes(5);
+
   private static final SessionId RESERVED = new SessionId("reserved");
   private static final Logger LOG = Logger.getLogger(GridModel.class.getName());
   // How many times a node's heartbeat duration needs to be exceeded before the node is considered
@@ -61,13 +95,24 @@ public class GridModel {
   private static final int PURGE_TIMEOUT_MULTIPLIER = 4;
   private static final int UNHEALTHY_THRESHOLD = 4;
   private final ReadWriteLock lock = new ReentrantReadWriteLock(/* fair */ true);
-  private final Set<NodeStatus> nodes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final Map<NodeId, NodeEntry> nodes = new ConcurrentHashMap<>();
+  private final Map<URI, NodeId> nodesByUri = new ConcurrentHashMap<>();
+  private final Map<SessionId, SlotId> slotsBySession = new ConcurrentHashMap<>();
   private final Map<NodeId, Instant> nodePurgeTimes = new ConcurrentHashMap<>();
   private final Map<NodeId, Integer> nodeHealthCount = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private final List<Runnable> capacityListeners = new CopyOnWriteArrayList<>();
+  private volatile Snapshot snapshot = new Snapshot(-1, ImmutableSet.of());
   private final EventBus events;
+  private final Duration reservationTimeout;
 
   public GridModel(EventBus events) {
+    this(events, DEFAULT_RESERVATION_TIMEOUT);
+  }
+
+  public GridModel(EventBus events, Duration reservationTimeout) {
     this.events = Require.nonNull("Event bus", events);
+    this.reservationTimeout = Require.positive("Reservation timeout", reservationTimeout);
 
     this.events.addListener(NodeDrainStarted.listener(nodeId -> setAvailability(nodeId, DRAINING)));
     this.events.addListener(SessionClosedEvent.listener(this::release));
@@ -79,57 +124,53 @@ public static GridModel create(Config config) {
     return new GridModel(bus);
   }
 
+  /**
+   * Registers a callback to be run whenever a status or heartbeat from a node gives it more free
+   * slots than it had, or changes its availability, so that queued requests can be matched straight
+   * away.
+   */
+  public void addCapacityListener(Runnable listener) {
+    capacityListeners.add(Require.nonNull("Listener", listener));
+  }
+
   public void add(NodeStatus node) {
     Require.nonNull("Node", node);
 
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      // If we've already added the node, remove it.
-      Iterator<NodeStatus> iterator = nodes.iterator();
-      while (iterator.hasNext()) {
-        NodeStatus next = iterator.next();
-
-        // If the ID and the URI are the same, use the same
-        // availability as the version we have now: we're just refreshing
-        // an existing node.
-        if (next.getNodeId().equals(node.getNodeId())
-            && next.getExternalUri().equals(node.getExternalUri())) {
-          iterator.remove();
-
-          LOG.log(Debug.getDebugLogLevel(), "Refreshing node with id {0}", node.getNodeId());
-          NodeStatus refreshed = rewrite(node, next.getAvailability());
-          nodes.add(refreshed);
-          nodePurgeTimes.put(refreshed.getNodeId(), Instant.now());
-          updateHealthCheckCount(refreshed.getNodeId(), refreshed.getAvailability());
+      NodeEntry existing = nodes.get(node.getNodeId());
+
+      // If the ID and the URI are the same, use the same
+      // availability as the version we have now: we're just refreshing
+      // an existing node.
+      if (existing != null && existing.getExternalUri().equals(node.getExternalUri())) {
+        LOG.log(Debug.getDebugLogLevel(), "Refreshing node with id {0}", node.getNodeId());
+        existing.replace(node, existing.getAvailability());
+        nodePurgeTimes.put(node.getNodeId(), Instant.now());
+        updateHealthCheckCount(node.getNodeId(), existing.getAvailability());
 
-          return;
-        }
+        return;
+      }
 
-        // If the URI is the same but NodeId is different, then the Node has restarted
-        if (!next.getNodeId().equals(node.getNodeId())
-            && next.getExternalUri().equals(node.getExternalUri())) {
-          LOG.info(
-              String.format(
-                  "Re-adding node with id %s and URI %s.",
-                  node.getNodeId(), node.getExternalUri()));
+      // If the URI is the same but NodeId is different, then the Node has restarted
+      NodeId previousId = nodesByUri.get(node.getExternalUri());
+      if (previousId != null && !previousId.equals(node.getNodeId())) {
+        LOG.info(
+            String.format(
+                "Re-adding node with id %s and URI %s.", node.getNodeId(), node.getExternalUri()));
 
-          events.fire(new NodeRestartedEvent(node));
-          iterator.remove();
-          break;
-        }
+        events.fire(new NodeRestartedEvent(node));
+        removeNode(previousId);
+      }
 
-        // If the URI has changed, then assume this is a new node and fall
-        // out of the loop: we want to add it as `DOWN` until something
-        // changes our mind.
-        if (next.getNodeId().equals(node.getNodeId())) {
-          LOG.info(
-              String.format(
-                  "Re-adding node with id %s and URI %s.",
-                  node.getNodeId(), node.getExternalUri()));
-          iterator.remove();
-          break;
-        }
+      // If the URI has changed, then assume this is a new node: we want to
+      // add it as `DOWN` until something changes our mind.
+      if (existing != null) {
+        LOG.info(
+            String.format(
+                "Re-adding node with id %s and URI %s.", node.getNodeId(), node.getExternalUri()));
+        removeNode(node.getNodeId());
       }
 
       // Nodes are initially added in the "down" state until something changes their availability
@@ -137,10 +178,12 @@ public void add(NodeStatus node) {
           Debug.getDebugLogLevel(),
           "Adding node with id {0} and URI {1}",
           new Object[] {node.getNodeId(), node.getExternalUri()});
-      NodeStatus refreshed = rewrite(node, DOWN);
-      nodes.add(refreshed);
-      nodePurgeTimes.put(refreshed.getNodeId(), Instant.now());
-      updateHealthCheckCount(refreshed.getNodeId(), refreshed.getAvailability());
+      NodeEntry added = new NodeEntry(node);
+      added.replace(node, DOWN);
+      nodes.put(node.getNodeId(), added);
+      nodesByUri.put(node.getExternalUri(), node.getNodeId());
+      nodePurgeTimes.put(node.getNodeId(), Instant.now());
+      updateHealthCheckCount(node.getNodeId(), DOWN);
     } finally {
       writeLock.unlock();
     }
@@ -149,66 +192,122 @@ public void add(NodeStatus node) {
   public void refresh(NodeStatus status) {
     Require.nonNull("Node status", status);
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    boolean gained;
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      Iterator<NodeStatus> iterator = nodes.iterator();
-      while (iterator.hasNext()) {
-        NodeStatus node = iterator.next();
-
-        if (node.getNodeId().equals(status.getNodeId())) {
-          iterator.remove();
-
-          // if the node was marked as "down", keep it down until a healthcheck passes:
-          // just because the node can hit the event bus doesn't mean it's reachable
-          if (node.getAvailability() == DOWN) {
-            nodes.add(rewrite(status, DOWN));
-          } else {
-            // Otherwise, trust what it tells us.
-            nodes.add(status);
-          }
-
-          nodePurgeTimes.put(status.getNodeId(), Instant.now());
+      NodeEntry node = nodes.get(status.getNodeId());
+      if (node == null) {
+        return;
+      }
 
-          return;
+      synchronized (node) {
+        Capacity before = new Capacity(node);
+        // if the node was marked as "down", keep it down until a healthcheck passes:
+        // just because the node can hit the event bus doesn't mean it's reachable
+        if (node.getAvailability() == DOWN) {
+          node.replace(status, DOWN);
+        } else {
+          // Otherwise, trust what it tells us.
+          node.replace(status, status.getAvailability());
         }
+        gained = before.changedIn(node);
       }
+
+      nodePurgeTimes.put(status.getNodeId(), Instant.now());
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
+    }
+
+    if (gained) {
+      capacityChanged();
     }
   }
 
   public void touch(NodeStatus nodeStatus) {
     Require.nonNull("Node ID", nodeStatus);
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    boolean gained = false;
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      NodeStatus node = getNode(nodeStatus.getNodeId());
+      NodeEntry node = nodes.get(nodeStatus.getNodeId());
       if (node != null) {
-        nodePurgeTimes.put(node.getNodeId(), Instant.now());
+        nodePurgeTimes.put(nodeStatus.getNodeId(), Instant.now());
         // Covers the case where the Node might be DOWN in the Grid model (e.g. Node lost
         // connectivity for a while). The Node reports itself back as UP.
-        if (node.getAvailability() != nodeStatus.getAvailability()
-            && nodeStatus.getAvailability() == UP) {
-          nodes.remove(node);
-          nodes.add(nodeStatus);
+        synchronized (node) {
+          Capacity before = new Capacity(node);
+          if (node.getAvailability() != nodeStatus.getAvailability()
+              && nodeStatus.getAvailability() == UP) {
+            node.replace(nodeStatus, UP);
+          } else if (nodeStatus.getStatusVersion() > node.getStatusVersion()) {
+            node.update(nodeStatus.getSlots(), nodeStatus.getStatusVersion());
+          }
+          gained = before.changedIn(node);
         }
       }
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
+    }
+
+    if (gained) {
+      capacityChanged();
     }
   }
 
+  /**
+   * Applies the slots that changed on a node since an earlier heartbeat.
+   *
+   * @return false if the delta builds on a status we never saw, in which case the caller needs to
+   *     get the full status from the node and {@link #touch(NodeStatus)} the model with it.
+   */
+  public boolean apply(NodeStatusDelta delta) {
+    Require.nonNull("Node status delta", delta);
+
+    boolean gained;
+    Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      NodeEntry node = nodes.get(delta.getNodeId());
+      if (node == null) {
+        return false;
+      }
+      nodePurgeTimes.put(delta.getNodeId(), Instant.now());
+
+      synchronized (node) {
+        if (delta.getStatusVersion() <= node.getStatusVersion()) {
+          // Arrived after a newer status, so there's nothing left to apply.
+          return true;
+        }
+        if (delta.getBaseVersion() > node.getStatusVersion()) {
+          return false;
+        }
+
+        Capacity before = new Capacity(node);
+        if (node.getAvailability() != delta.getAvailability() && delta.getAvailability() == UP) {
+          node.setAvailability(UP);
+        }
+        node.update(delta.getSlots(), delta.getStatusVersion());
+        gained = before.changedIn(node);
+      }
+    } finally {
+      readLock.unlock();
+    }
+
+    if (gained) {
+      capacityChanged();
+    }
+    return true;
+  }
+
   public void remove(NodeId id) {
     Require.nonNull("Node ID", id);
 
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      nodes.removeIf(n -> n.getNodeId().equals(id));
-      nodePurgeTimes.remove(id);
-      nodeHealthCount.remove(id);
+      removeNode(id);
     } finally {
       writeLock.unlock();
     }
@@ -218,10 +317,9 @@ public void purgeDeadNodes() {
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      Map<NodeStatus, NodeStatus> replacements = new HashMap<>();
-      Set<NodeStatus> toRemove = new HashSet<>();
+      List<NodeEntry> toRemove = new ArrayList<>();
 
-      for (NodeStatus node : nodes) {
+      for (NodeEntry node : nodes.values()) {
         NodeId id = node.getNodeId();
         if (nodeHealthCount.getOrDefault(id, 0) > UNHEALTHY_THRESHOLD) {
           LOG.info(
@@ -234,13 +332,15 @@ public void purgeDeadNodes() {
         Instant now = Instant.now();
         Instant lastTouched = nodePurgeTimes.getOrDefault(id, Instant.now());
         Instant lostTime =
-            lastTouched.plus(node.getHeartbeatPeriod().multipliedBy(PURGE_TIMEOUT_MULTIPLIER / 2));
+            lastTouched.plus(
+                node.getStatus().getHeartbeatPeriod().multipliedBy(PURGE_TIMEOUT_MULTIPLIER / 2));
         Instant deadTime =
-            lastTouched.plus(node.getHeartbeatPeriod().multipliedBy(PURGE_TIMEOUT_MULTIPLIER));
+            lastTouched.plus(
+                node.getStatus().getHeartbeatPeriod().multipliedBy(PURGE_TIMEOUT_MULTIPLIER));
 
         if (node.getAvailability() == UP && lostTime.isBefore(now)) {
           LOG.info(String.format("Switching Node %s from UP to DOWN", node.getExternalUri()));
-          replacements.put(node, rewrite(node, DOWN));
+          node.setAvailability(DOWN);
           nodePurgeTimes.put(id, Instant.now());
         } else if (node.getAvailability() == DOWN && deadTime.isBefore(now)) {
           LOG.info(String.format("Removing Node %s, DOWN for too long", node.getExternalUri()));
@@ -248,17 +348,11 @@ public void purgeDeadNodes() {
         }
       }
 
-      replacements.forEach(
-          (before, after) -> {
-            nodes.remove(before);
-            nodes.add(after);
-          });
       toRemove.forEach(
           node -> {
-            nodes.remove(node);
-            nodePurgeTimes.remove(node.getNodeId());
-            nodeHealthCount.remove(node.getNodeId());
-            events.fire(new NodeRemovedEvent(node));
+            NodeStatus removed = node.getStatus();
+            removeNode(node.getNodeId());
+            events.fire(new NodeRemovedEvent(removed));
           });
     } finally {
       writeLock.unlock();
@@ -269,40 +363,40 @@ public void setAvailability(NodeId id, Availability availability) {
     Require.nonNull("Node ID", id);
     Require.nonNull("Availability", availability);
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      NodeStatus node = getNode(id);
+      NodeEntry node = nodes.get(id);
 
       if (node == null) {
         return;
       }
 
-      if (availability.equals(node.getAvailability())) {
-        if (node.getAvailability() == UP) {
-          nodePurgeTimes.put(node.getNodeId(), Instant.now());
-        }
-      } else {
-        LOG.info(
-            String.format(
-                "Switching Node %s (uri: %s) from %s to %s",
-                id, node.getExternalUri(), node.getAvailability(), availability));
+      synchronized (node) {
+        if (availability.equals(node.getAvailability())) {
+          if (node.getAvailability() == UP) {
+            nodePurgeTimes.put(id, Instant.now());
+          }
+        } else {
+          LOG.info(
+              String.format(
+                  "Switching Node %s (uri: %s) from %s to %s",
+                  id, node.getExternalUri(), node.getAvailability(), availability));
 
-        NodeStatus refreshed = rewrite(node, availability);
-        nodes.remove(node);
-        nodes.add(refreshed);
-        nodePurgeTimes.put(node.getNodeId(), Instant.now());
+          node.setAvailability(availability);
+          nodePurgeTimes.put(id, Instant.now());
+        }
       }
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
     }
   }
 
   public boolean reserve(SlotId slotId) {
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      NodeStatus node = getNode(slotId.getOwningNodeId());
+      NodeEntry node = nodes.get(slotId.getOwningNodeId());
       if (node == null) {
         LOG.warning(
             String.format(
@@ -311,18 +405,17 @@ public boolean reserve(SlotId slotId) {
         return false;
       }
 
-      if (!UP.equals(node.getAvailability())) {
+      Availability availability = node.getAvailability();
+      if (!UP.equals(availability)) {
         LOG.warning(
             String.format(
                 "Asked to reserve a slot on node %s, but node is %s",
-                slotId.getOwningNodeId(), node.getAvailability()));
+                slotId.getOwningNodeId(), availability));
         return false;
       }
 
-      Optional<Slot> maybeSlot =
-          node.getSlots().stream().filter(slot -> slotId.equals(slot.getId())).findFirst();
-
-      if (!maybeSlot.isPresent()) {
+      AtomicReference<SlotState> state = node.getSlotState(slotId);
+      if (state == null) {
         LOG.warning(
             String.format(
                 "Asked to reserve slot on node %s, but no slot with id %s found",
@@ -330,100 +423,113 @@ public boolean reserve(SlotId slotId) {
         return false;
       }
 
-      reserve(node, maybeSlot.get());
+      // Claiming the slot is a single compare-and-set, so concurrent reservations only ever
+      // contend on the slot they both picked, and the losers never take the node's monitor.
+      if (!state.compareAndSet(SlotState.FREE, SlotState.RESERVED)) {
+        LOG.log(
+            Debug.getDebugLogLevel(),
+            "Asked to reserve slot {0}, but it is already in use",
+            slotId);
+        return false;
+      }
+
+      synchronized (node) {
+        // A status from the node may have reset the slot to free after we claimed it, letting
+        // another caller claim it too, so whoever gets here second has to back off.
+        Slot slot = node.getSlot(slotId);
+        if (slot == null || slot.getSession() != null) {
+          return false;
+        }
+        node.setSlot(reserved(node.getExternalUri(), slot));
+      }
       return true;
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
     }
   }
 
   public Set<NodeStatus> getSnapshot() {
-    Lock readLock = this.lock.readLock();
-    readLock.lock();
-    try {
-      return ImmutableSet.copyOf(nodes);
-    } finally {
-      readLock.unlock();
+    Snapshot cached = snapshot;
+    if (cached.version == version.get()) {
+      return cached.nodes;
     }
-  }
 
-  private NodeStatus getNode(NodeId id) {
-    Require.nonNull("Node ID", id);
-
-    Lock readLock = lock.readLock();
+    Lock readLock = this.lock.readLock();
     readLock.lock();
     try {
-      return nodes.stream().filter(n -> n.getNodeId().equals(id)).findFirst().orElse(null);
+      // Read the version before copying the nodes: a change that lands while we are copying
+      // bumps the version again, so this snapshot will be considered stale on the next call.
+      long current = version.get();
+      ImmutableSet.Builder<NodeStatus> builder = ImmutableSet.builder();
+      for (NodeEntry node : nodes.values()) {
+        builder.add(node.getStatus());
+      }
+      Snapshot updated = new Snapshot(current, builder.build());
+      snapshot = updated;
+      return updated.nodes;
     } finally {
       readLock.unlock();
     }
   }
 
-  private NodeStatus rewrite(NodeStatus status, Availability availability) {
-    return new NodeStatus(
-        status.getNodeId(),
-        status.getExternalUri(),
-        status.getMaxSessionCount(),
-        status.getSlots(),
-        availability,
-        status.getHeartbeatPeriod(),
-        status.getVersion(),
-        status.getOsInfo());
-  }
-
   public void release(SessionId id) {
     if (id == null) {
       return;
     }
 
     LOG.info("Releasing slot for session id " + id);
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      for (NodeStatus node : nodes) {
-        for (Slot slot : node.getSlots()) {
-          if (slot.getSession() == null) {
-            continue;
-          }
+      SlotId slotId = slotsBySession.get(id);
+      if (slotId == null) {
+        return;
+      }
 
-          if (id.equals(slot.getSession().getId())) {
-            Slot released =
-                new Slot(slot.getId(), slot.getStereotype(), slot.getLastStarted(), null);
-            amend(node.getAvailability(), node, released);
-            return;
-          }
+      NodeEntry node = nodes.get(slotId.getOwningNodeId());
+      if (node == null) {
+        slotsBySession.remove(id, slotId);
+        return;
+      }
+
+      synchronized (node) {
+        Slot slot = node.getSlot(slotId);
+        if (slot == null || slot.getSession() == null || !id.equals(slot.getSession().getId())) {
+          return;
         }
+
+        node.setSlot(new Slot(slot.getId(), slot.getStereotype(), slot.getLastStarted(), null));
       }
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
     }
   }
 
   public void reserve(NodeStatus status, Slot slot) {
-    Instant now = Instant.now();
-
-    Slot reserved =
-        new Slot(
-            slot.getId(),
-            slot.getStereotype(),
-            now,
-            new Session(
-                RESERVED,
-                status.getExternalUri(),
-                slot.getStereotype(),
-                slot.getStereotype(),
-                now));
+    Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      NodeEntry node = nodes.get(status.getNodeId());
+      if (node == null) {
+        return;
+      }
 
-    amend(UP, status, reserved);
+      synchronized (node) {
+        node.setSlot(reserved(status.getExternalUri(), slot));
+        node.setAvailability(UP);
+      }
+    } finally {
+      readLock.unlock();
+    }
   }
 
   public void setSession(SlotId slotId, Session session) {
     Require.nonNull("Slot ID", slotId);
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
+    Lock readLock = lock.readLock();
+    readLock.lock();
     try {
-      NodeStatus node = getNode(slotId.getOwningNodeId());
+      NodeEntry node = nodes.get(slotId.getOwningNodeId());
       if (node == null) {
         LOG.warning(
             "Grid model and reality have diverged. Unable to find node "
@@ -431,38 +537,40 @@ public void setSession(SlotId slotId, Session session) {
         return;
       }
 
-      Optional<Slot> maybeSlot =
-          node.getSlots().stream().filter(slot -> slotId.equals(slot.getId())).findFirst();
-
-      if (!maybeSlot.isPresent()) {
-        LOG.warning("Grid model and reality have diverged. Unable to find slot " + slotId);
-        return;
-      }
+      synchronized (node) {
+        Slot slot = node.getSlot(slotId);
+        if (slot == null) {
+          LOG.warning("Grid model and reality have diverged. Unable to find slot " + slotId);
+          return;
+        }
 
-      Slot slot = maybeSlot.get();
-      Session maybeSession = slot.getSession();
-      if (maybeSession == null) {
-        LOG.warning("Grid model and reality have diverged. Slot is not reserved. " + slotId);
-        return;
-      }
+        Session maybeSession = slot.getSession();
+        if (maybeSession == null) {
+          LOG.warning("Grid model and reality have diverged. Slot is not reserved. " + slotId);
+          return;
+        }
 
-      if (!RESERVED.equals(maybeSession.getId())) {
-        LOG.warning(
-            "Grid model and reality have diverged. Slot has session and is not reserved. "
-                + slotId);
-        return;
-      }
+        if (session != null && session.getId().equals(maybeSession.getId())) {
+          // A heartbeat from the node already told us about this session.
+          return;
+        }
 
-      Slot updated =
-          new Slot(
-              slot.getId(),
-              slot.getStereotype(),
-              session == null ? slot.getLastStarted() : session.getStartTime(),
-              session);
+        if (!RESERVED.equals(maybeSession.getId())) {
+          LOG.warning(
+              "Grid model and reality have diverged. Slot has session and is not reserved. "
+                  + slotId);
+          return;
+        }
 
-      amend(node.getAvailability(), node, updated);
+        node.setSlot(
+            new Slot(
+                slot.getId(),
+                slot.getStereotype(),
+                session == null ? slot.getLastStarted() : session.getStartTime(),
+                session));
+      }
     } finally {
-      writeLock.unlock();
+      readLock.unlock();
     }
   }
 
@@ -470,48 +578,305 @@ public void updateHealthCheckCount(NodeId id, Availability availability) {
     Require.nonNull("Node ID", id);
     Require.nonNull("Availability", availability);
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      int unhealthyCount = nodeHealthCount.getOrDefault(id, 0);
+    nodeHealthCount.compute(
+        id,
+        (nodeId, count) -> {
+          int unhealthyCount = count == null ? 0 : count;
 
-      // Keep track of consecutive number of times the Node health check fails
-      if (availability.equals(DOWN)) {
-        nodeHealthCount.put(id, unhealthyCount + 1);
-      }
+          // Keep track of consecutive number of times the Node health check fails
+          if (availability.equals(DOWN)) {
+            return unhealthyCount + 1;
+          }
+
+          // If the Node is healthy again before crossing the threshold, then reset the count.
+          if (unhealthyCount <= UNHEALTHY_THRESHOLD && availability.equals(UP)) {
+            return 0;
+          }
+
+          return count;
+        });
+  }
+
+  // Must be called with the write lock held.
+  private void removeNode(NodeId id) {
+    NodeEntry removed = nodes.remove(id);
+    if (removed != null) {
+      nodesByUri.remove(removed.getExternalUri(), id);
+      removed.clearSessions();
+      modified();
+    }
+    nodePurgeTimes.remove(id);
+    nodeHealthCount.remove(id);
+  }
+
+  private Slot reserved(URI nodeUri, Slot slot) {
+    Instant now = Instant.now();
+
+    return new Slot(
+        slot.getId(),
+        slot.getStereotype(),
+        now,
+        new Session(RESERVED, nodeUri, slot.getStereotype(), slot.getStereotype(), now));
+  }
+
+  private void modified() {
+    version.incrementAndGet();
+  }
 
-      // If the Node is healthy again before crossing the threshold, then reset the count.
-      if (unhealthyCount <= UNHEALTHY_THRESHOLD && availability.equals(UP)) {
-        nodeHealthCount.put(id, 0);
+  // Called without holding any locks, since listeners may well read the model.
+  private void capacityChanged() {
+    for (Runnable listener : capacityListeners) {
+      try {
+        listener.run();
+      } catch (RuntimeException e) {
+        LOG.log(Level.WARNING, "Unable to notify listener of a change in grid capacity", e);
       }
-    } finally {
-      writeLock.unlock();
     }
   }
 
-  private void amend(Availability availability, NodeStatus status, Slot slot) {
-    Set<Slot> newSlots = new HashSet<>(status.getSlots());
-    newSlots.removeIf(s -> s.getId().equals(slot.getId()));
-    newSlots.add(slot);
+  /** How much a node could take on at some point, to tell whether a change gave it more room. */
+  private static class Capacity {
+    private final Availability availability;
+    private final int freeSlots;
 
-    NodeStatus node = getNode(status.getNodeId());
+    // Must be called while synchronized on the node.
+    private Capacity(NodeEntry node) {
+      this.availability = node.getAvailability();
+      this.freeSlots = node.getFreeSlotCount();
+    }
 
-    Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      nodes.remove(node);
-      nodes.add(
-          new NodeStatus(
-              status.getNodeId(),
-              status.getExternalUri(),
-              status.getMaxSessionCount(),
-              newSlots,
-              availability,
-              status.getHeartbeatPeriod(),
-              status.getVersion(),
-              status.getOsInfo()));
-    } finally {
-      writeLock.unlock();
+    private boolean changedIn(NodeEntry node) {
+      return availability != node.getAvailability() || node.getFreeSlotCount() > freeSlots;
+    }
+  }
+
+  private enum SlotState {
+    FREE,
+    RESERVED,
+    ACTIVE
+  }
+
+  private static class Snapshot {
+    private final long version;
+    private final Set<NodeStatus> nodes;
+
+    private Snapshot(long version, Set<NodeStatus> nodes) {
+      this.version = version;
+      this.nodes = nodes;
+    }
+  }
+
+  /**
+   * The mutable state of a single node. Callers synchronize on the entry for anything that needs to
+   * read and then write it; the individual methods are synchronized so that a snapshot never sees a
+   * half-applied change.
+   */
+  private class NodeEntry {
+    private final NodeId nodeId;
+    private final URI externalUri;
+    private final Map<SlotId, Slot> slots = new LinkedHashMap<>();
+    // Read without holding the entry's monitor, so that slots can be claimed without locking.
+    private final Map<SlotId, AtomicReference<SlotState>> slotStates = new ConcurrentHashMap<>();
+    private NodeStatus status;
+    private long statusVersion;
+    private volatile Availability availability;
+    // Rebuilt lazily from `status`, `slots` and `availability` whenever one of them changes.
+    private NodeStatus current;
+
+    private NodeEntry(NodeStatus status) {
+      this.nodeId = status.getNodeId();
+      this.externalUri = status.getExternalUri();
+      this.status = status;
+      this.statusVersion = status.getStatusVersion();
+      this.availability = status.getAvailability();
+    }
+
+    NodeId getNodeId() {
+      return nodeId;
+    }
+
+    URI getExternalUri() {
+      return externalUri;
+    }
+
+    Availability getAvailability() {
+      return availability;
+    }
+
+    AtomicReference<SlotState> getSlotState(SlotId id) {
+      return slotStates.get(id);
+    }
+
+    synchronized long getStatusVersion() {
+      return statusVersion;
+    }
+
+    synchronized Slot getSlot(SlotId id) {
+      return slots.get(id);
+    }
+
+    synchronized NodeStatus getStatus() {
+      if (current == null) {
+        current =
+            new NodeStatus(
+                status.getNodeId(),
+                status.getExternalUri(),
+                status.getMaxSessionCount(),
+                new HashSet<>(slots.values()),
+                availability,
+                status.getHeartbeatPeriod(),
+                status.getVersion(),
+                status.getOsInfo());
+      }
+      return current;
+    }
+
+    synchronized void setAvailability(Availability availability) {
+      if (this.availability == availability) {
+        return;
+      }
+      this.availability = availability;
+      current = null;
+      modified();
+    }
+
+    synchronized void setSlot(Slot slot) {
+      Slot previous = slots.put(slot.getId(), slot);
+      unindex(previous);
+      index(slot);
+      updateState(slot);
+      current = null;
+      modified();
+    }
+
+    /**
+     * Takes on everything the node reports. As in {@link #update(Collection, long)}, a slot we have
+     * reserved stays reserved when the node says it's free, unless the reservation has expired.
+     */
+    synchronized void replace(NodeStatus status, Availability availability) {
+      Instant now = Instant.now();
+      Map<SlotId, Slot> reservations = new HashMap<>();
+      for (Slot slot : slots.values()) {
+        if (isReservationHeld(slot, now)) {
+          reservations.put(slot.getId(), slot);
+        }
+      }
+
+      clearSessions();
+      this.status = status;
+      this.statusVersion = status.getStatusVersion();
+      this.availability = availability;
+      for (Slot reported : status.getSlots()) {
+        Slot slot = reported;
+        if (slot.getSession() == null && reservations.containsKey(slot.getId())) {
+          slot = reservations.get(slot.getId());
+        }
+        slots.put(slot.getId(), slot);
+        index(slot);
+        updateState(slot);
+      }
+      slotStates.keySet().retainAll(slots.keySet());
+      current = null;
+      modified();
+    }
+
+    /**
+     * Takes on the sessions the node reports for its slots, leaving every other slot alone. A slot
+     * we have reserved stays reserved when the node says it's free, as the node only learns about
+     * the session once it's asked to create it, unless the reservation has expired.
+     */
+    synchronized void update(Collection<Slot> reported, long statusVersion) {
+      Instant now = Instant.now();
+      boolean changed = false;
+      for (Slot slot : reported) {
+        Slot known = slots.get(slot.getId());
+        if (known == null || Objects.equals(known.getSession(), slot.getSession())) {
+          continue;
+        }
+        if (slot.getSession() == null && isReservationHeld(known, now)) {
+          continue;
+        }
+
+        slots.put(slot.getId(), slot);
+        unindex(known);
+        index(slot);
+        updateState(slot);
+        changed = true;
+      }
+
+      this.statusVersion = statusVersion;
+      if (changed) {
+        current = null;
+        modified();
+      }
+    }
+
+    synchronized int getFreeSlotCount() {
+      int free = 0;
+      for (Slot slot : slots.values()) {
+        if (slot.getSession() == null) {
+          free++;
+        }
+      }
+      return free;
+    }
+
+    synchronized void clearSessions() {
+      slots.values().forEach(this::unindex);
+      slots.clear();
+    }
+
+    /**
+     * A reservation is normally ended by {@link GridModel#setSession(SlotId, Session)}. If that
+     * never happens, the slot would stay reserved for good, so the node's word is taken once the
+     * reservation is older than the {@code reservationTimeout}.
+     */
+    private boolean isReservationHeld(Slot slot, Instant now) {
+      if (slot.getSession() == null || !RESERVED.equals(slot.getSession().getId())) {
+        return false;
+      }
+      if (slot.getSession().getStartTime().plus(reservationTimeout).isAfter(now)) {
+        return true;
+      }
+      LOG.warning(
+          String.format(
+              "No session was created in slot %s reserved at %s. Freeing the slot.",
+              slot.getId(), slot.getSession().getStartTime()));
+      return false;
+    }
+
+    private void updateState(Slot slot) {
+      SlotState state;
+      if (slot.getSession() == null) {
+        state = SlotState.FREE;
+      } else if (RESERVED.equals(slot.getSession().getId())) {
+        state = SlotState.RESERVED;
+      } else {
+        state = SlotState.ACTIVE;
+      }
+      slotStates.computeIfAbsent(slot.getId(), id -> new AtomicReference<>()).set(state);
+    }
+
+    private void index(Slot slot) {
+      SessionId sessionId = sessionId(slot);
+      if (sessionId != null) {
+        slotsBySession.put(sessionId, slot.getId());
+      }
+    }
+
+    private void unindex(Slot slot) {
+      SessionId sessionId = sessionId(slot);
+      if (sessionId != null) {
+        slotsBySession.remove(sessionId, slot.getId());
+      }
+    }
+
+    private SessionId sessionId(Slot slot) {
+      if (slot == null || slot.getSession() == null) {
+        return null;
+      }
+      SessionId id = slot.getSession().getId();
+      return RESERVED.equals(id) ? null : id;
     }
   }
 }
@@ -20,6 +20,9 @@
 import static org.openqa.selenium.grid.config.StandardGridRoles.DISTRIBUTOR_ROLE;
 import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_DISTRIBUTOR_IMPLEMENTATION;
 import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_HEALTHCHECK_INTERVAL;
+import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_HEALTHCHECK_PARALLELISM;
+import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_HEALTHCHECK_TIMEOUT;
+import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_LOCK_FREE_SLOT_RESERVATION;
 import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_NEWSESSION_THREADPOOL_SIZE;
 import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_REJECT_UNSUPPORTED_CAPS;
 import static org.openqa.selenium.grid.distributor.config.DistributorOptions.DEFAULT_SLOT_MATCHER;
@@ -93,6 +96,23 @@ public class DistributorFlags implements HasRoles {
   @ConfigValue(section = DISTRIBUTOR_SECTION, name = "healthcheck-interval", example = "60")
   public int healthcheckInterval = DEFAULT_HEALTHCHECK_INTERVAL;
 
+  @Parameter(
+      names = {"--healthcheck-parallelism"},
+      description =
+          "How many Node health checks may run at the same time. Checks are spread across the"
+              + " health check interval, so this only needs to cover the Nodes that are slow to"
+              + " answer.")
+  @ConfigValue(section = DISTRIBUTOR_SECTION, name = "healthcheck-parallelism", example = "8")
+  public int healthcheckParallelism = DEFAULT_HEALTHCHECK_PARALLELISM;
+
+  @Parameter(
+      names = {"--healthcheck-timeout"},
+      description =
+          "How long, in seconds, a Node health check may take before the Node is considered"
+              + " down.")
+  @ConfigValue(section = DISTRIBUTOR_SECTION, name = "healthcheck-timeout", example = "30")
+  public int healthcheckTimeout = DEFAULT_HEALTHCHECK_TIMEOUT;
+
   @Parameter(
       description =
           "Allow the Distributor to reject a request immediately if the Grid does not support the"
@@ -115,6 +135,16 @@ public class DistributorFlags implements HasRoles {
   @ConfigValue(section = DISTRIBUTOR_SECTION, name = "newsession-threadpool-size", example = "4")
   public int newSessionThreadPoolSize = DEFAULT_NEWSESSION_THREADPOOL_SIZE;
 
+  @Parameter(
+      description =
+          "Reserve slots for new sessions with a compare-and-set on the slot instead of holding"
+              + " the Distributor lock. This allows sessions to be started on different Nodes in"
+              + " parallel, which helps when many requests arrive at once.",
+      names = "--lock-free-slot-reservation",
+      arity = 1)
+  @ConfigValue(section = DISTRIBUTOR_SECTION, name = "lock-free-slot-reservation", example = "true")
+  private boolean lockFreeSlotReservation = DEFAULT_LOCK_FREE_SLOT_RESERVATION;
+
   @Override
   public Set<Role> getRoles() {
     return Collections.singleton(DISTRIBUTOR_ROLE);
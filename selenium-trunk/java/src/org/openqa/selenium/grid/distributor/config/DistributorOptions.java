@@ -30,6 +30,8 @@
 public class DistributorOptions {
 
   public static final int DEFAULT_HEALTHCHECK_INTERVAL = 120;
+  public static final int DEFAULT_HEALTHCHECK_PARALLELISM = 8;
+  public static final int DEFAULT_HEALTHCHECK_TIMEOUT = 30;
   public static final String DISTRIBUTOR_SECTION = "distributor";
   static final String DEFAULT_DISTRIBUTOR_IMPLEMENTATION =
       "org.openqa.selenium.grid.distributor.local.LocalDistributor";
@@ -37,6 +39,7 @@ public class DistributorOptions {
   static final String DEFAULT_SLOT_SELECTOR_IMPLEMENTATION =
       "org.openqa.selenium.grid.distributor.selector.DefaultSlotSelector";
   static final boolean DEFAULT_REJECT_UNSUPPORTED_CAPS = false;
+  static final boolean DEFAULT_LOCK_FREE_SLOT_RESERVATION = false;
   static final int DEFAULT_NEWSESSION_THREADPOOL_SIZE =
       Runtime.getRuntime().availableProcessors() * 3;
   private final Config config;
@@ -94,6 +97,26 @@ public Duration getHealthCheckInterval() {
     return Duration.ofSeconds(seconds);
   }
 
+  public int getHealthCheckParallelism() {
+    // If the user sets 0 or less, we default to 1 so that nodes are still checked.
+    return Math.max(
+        config
+            .getInt(DISTRIBUTOR_SECTION, "healthcheck-parallelism")
+            .orElse(DEFAULT_HEALTHCHECK_PARALLELISM),
+        1);
+  }
+
+  public Duration getHealthCheckTimeout() {
+    // If the user sets 0s or less, we default to 1s.
+    int seconds =
+        Math.max(
+            config
+                .getInt(DISTRIBUTOR_SECTION, "healthcheck-timeout")
+                .orElse(DEFAULT_HEALTHCHECK_TIMEOUT),
+            1);
+    return Duration.ofSeconds(seconds);
+  }
+
   public Distributor getDistributor() {
     return config.getClass(
         DISTRIBUTOR_SECTION,
@@ -129,4 +152,10 @@ public boolean shouldRejectUnsupportedCaps() {
         .getBool(DISTRIBUTOR_SECTION, "reject-unsupported-caps")
         .orElse(DEFAULT_REJECT_UNSUPPORTED_CAPS);
   }
+
+  public boolean shouldReserveSlotsWithoutLocking() {
+    return config
+        .getBool(DISTRIBUTOR_SECTION, "lock-free-slot-reservation")
+        .orElse(DEFAULT_LOCK_FREE_SLOT_RESERVATION);
+  }
 }
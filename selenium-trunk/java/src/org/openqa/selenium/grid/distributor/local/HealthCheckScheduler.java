@@ -0,0 +1,367 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.distributor.local;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openqa.selenium.internal.Debug.getDebugLogLevel;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Runs the health checks of the nodes known to the distributor. Each node is given its own point in
+ * the health check interval, picked at random when it is added, so the checks for a large grid are
+ * spread out instead of all starting at once. Checks share a fixed number of threads. A check that
+ * has not finished within the timeout of starting counts as failed, and a node whose last check is
+ * still running is not checked again until that one is done, so one unresponsive node cannot hold
+ * up the others.
+ */
+class HealthCheckScheduler implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(HealthCheckScheduler.class.getName());
+  private static final int LATENCY_SAMPLES = 100;
+
+  private final Duration interval;
+  private final Duration timeout;
+  private final ScheduledExecutorService timer;
+  private final ExecutorService checkers;
+  private final Map<NodeId, ScheduledCheck> checks = new ConcurrentHashMap<>();
+
+  HealthCheckScheduler(Duration interval, int parallelism, Duration timeout) {
+    this.interval = Require.positive("Health check interval", interval);
+    this.timeout = Require.positive("Health check timeout", timeout);
+    Require.positive("Health check parallelism", parallelism);
+
+    this.timer =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r);
+              thread.setDaemon(true);
+              thread.setName("Local Distributor - Node Health Check");
+              return thread;
+            });
+
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+              Thread thread = new Thread(r);
+              thread.setDaemon(true);
+              thread.setName("Local Distributor - Health Check " + threadCount.incrementAndGet());
+              return thread;
+            });
+    pool.allowCoreThreadTimeOut(true);
+    this.checkers = pool;
+  }
+
+  /**
+   * Starts checking a node every interval, replacing any check it already had.
+   *
+   * @param onTimeout run when a check has not finished by the timeout.
+   */
+  void add(NodeId id, Runnable check, Runnable onTimeout) {
+    Require.nonNull("Node id", id);
+    ScheduledCheck scheduled =
+        new ScheduledCheck(
+            id,
+            Require.nonNull("Health check", check),
+            Require.nonNull("Timeout handler", onTimeout));
+
+    ScheduledCheck previous = checks.put(id, scheduled);
+    if (previous != null) {
+      previous.cancel();
+    }
+
+    long period = Math.max(interval.toMillis(), 1);
+    long jitter = ThreadLocalRandom.current().nextLong(period);
+    scheduled.schedule(timer.scheduleAtFixedRate(scheduled::run, jitter, period, MILLISECONDS));
+  }
+
+  void remove(NodeId id) {
+    ScheduledCheck removed = checks.remove(Require.nonNull("Node id", id));
+    if (removed != null) {
+      removed.cancel();
+    }
+  }
+
+  /**
+   * Checks a node straight away, and keeps checking it every {@code delay} until a check passes or
+   * {@code maxDuration} has gone by.
+   */
+  void checkUntilHealthy(NodeId id, Duration delay, Duration maxDuration) {
+    Require.nonNull("Node id", id);
+    Require.nonNull("Delay", delay);
+    Require.nonNull("Max duration", maxDuration);
+
+    checkUntilHealthy(id, delay.toMillis(), System.nanoTime() + maxDuration.toNanos());
+  }
+
+  private void checkUntilHealthy(NodeId id, long delayMillis, long giveUpAt) {
+    ScheduledCheck scheduled = checks.get(id);
+    if (scheduled == null) {
+      return;
+    }
+
+    scheduled
+        .run()
+        .thenAccept(
+            healthy -> {
+              if (healthy
+                  || checks.get(id) != scheduled
+                  || System.nanoTime() + MILLISECONDS.toNanos(delayMillis) > giveUpAt) {
+                return;
+              }
+              try {
+                timer.schedule(
+                    () -> checkUntilHealthy(id, delayMillis, giveUpAt), delayMillis, MILLISECONDS);
+              } catch (RejectedExecutionException e) {
+                // Shutting down
+              }
+            });
+  }
+
+  /** Checks every node now, and waits until all of the checks have finished or timed out. */
+  void checkAll() {
+    List<CompletableFuture<Boolean>> running =
+        checks.values().stream().map(ScheduledCheck::run).collect(Collectors.toList());
+    CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0])).join();
+  }
+
+  /**
+   * @return the latency of the most recent health checks of each node, for as long as the node is
+   *     being checked. Checks that timed out count as taking the whole timeout.
+   */
+  Map<NodeId, Latency> getLatencies() {
+    Map<NodeId, Latency> latencies = new LinkedHashMap<>();
+    checks.forEach((id, check) -> latencies.put(id, check.getLatency()));
+    return latencies;
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+    checkers.shutdownNow();
+    checks.values().forEach(ScheduledCheck::abandon);
+    checks.clear();
+  }
+
+  private class ScheduledCheck {
+
+    private final NodeId id;
+    private final Runnable check;
+    private final Runnable onTimeout;
+    // The outcome of the check that is currently running, if there is one
+    private final AtomicReference<CompletableFuture<Boolean>> inFlight = new AtomicReference<>();
+    private final long[] samples = new long[LATENCY_SAMPLES];
+    private int sampleCount;
+    private volatile ScheduledFuture<?> schedule;
+
+    private ScheduledCheck(NodeId id, Runnable check, Runnable onTimeout) {
+      this.id = id;
+      this.check = check;
+      this.onTimeout = onTimeout;
+    }
+
+    private void schedule(ScheduledFuture<?> schedule) {
+      this.schedule = schedule;
+    }
+
+    private void cancel() {
+      ScheduledFuture<?> current = schedule;
+      if (current != null) {
+        current.cancel(false);
+      }
+    }
+
+    /**
+     * @return whether the check passed. If the check is already running, it is not started again
+     *     and the outcome of the running one is returned instead. That includes a check that has
+     *     timed out but has yet to return.
+     */
+    private CompletableFuture<Boolean> run() {
+      CompletableFuture<Boolean> result = new CompletableFuture<>();
+      CompletableFuture<Boolean> existing = inFlight.compareAndExchange(null, result);
+      if (existing != null) {
+        LOG.log(getDebugLogLevel(), "Health check for Node {0} is still running", id);
+        return existing;
+      }
+
+      // The check and its timeout race to decide the outcome, and only the first one counts
+      AtomicBoolean decided = new AtomicBoolean();
+      AtomicReference<Future<?>> self = new AtomicReference<>();
+      FutureTask<Void> task =
+          new FutureTask<>(
+              () -> {
+                Boolean healthy = null;
+                try {
+                  healthy = check(result, decided, self.get());
+                } finally {
+                  // Cleared first, so that anyone acting on the outcome can start a new check
+                  inFlight.compareAndSet(result, null);
+                  if (healthy != null) {
+                    result.complete(healthy);
+                  }
+                }
+              },
+              null);
+      self.set(task);
+
+      try {
+        checkers.execute(task);
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+        inFlight.compareAndSet(result, null);
+        result.complete(false);
+      }
+      return result;
+    }
+
+    /**
+     * @return whether the check passed, or null if it timed out.
+     */
+    private Boolean check(
+        CompletableFuture<Boolean> result, AtomicBoolean decided, Future<?> task) {
+      long start = System.nanoTime();
+      // Only start the clock once there's a thread for the check, so checks that are waiting
+      // their turn during a burst don't time out before they've begun.
+      ScheduledFuture<?> deadline;
+      try {
+        deadline =
+            timer.schedule(() -> timedOut(result, decided, task), timeout.toMillis(), MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+        return false;
+      }
+
+      boolean healthy = false;
+      try {
+        check.run();
+        healthy = true;
+      } catch (RuntimeException e) {
+        LOG.log(getDebugLogLevel(), "Health check failed for Node " + id, e);
+      }
+      deadline.cancel(false);
+      return decide(decided, System.nanoTime() - start) ? healthy : null;
+    }
+
+    private void timedOut(
+        CompletableFuture<Boolean> result, AtomicBoolean decided, Future<?> task) {
+      if (!decide(decided, timeout.toNanos())) {
+        return;
+      }
+      task.cancel(true);
+      LOG.log(
+          Level.WARNING,
+          "Health check for Node {0} did not finish within {1}ms",
+          new Object[] {id, timeout.toMillis()});
+      try {
+        onTimeout.run();
+      } finally {
+        result.complete(false);
+      }
+    }
+
+    private boolean decide(AtomicBoolean decided, long nanos) {
+      if (!decided.compareAndSet(false, true)) {
+        return false;
+      }
+      record(nanos);
+      return true;
+    }
+
+    /** Lets anyone waiting on a check that will now never run know it didn't pass. */
+    private void abandon() {
+      CompletableFuture<Boolean> running = inFlight.get();
+      if (running != null) {
+        running.complete(false);
+      }
+    }
+
+    private synchronized void record(long nanos) {
+      samples[sampleCount % LATENCY_SAMPLES] = nanos;
+      sampleCount++;
+    }
+
+    private synchronized Latency getLatency() {
+      long[] sorted = Arrays.copyOf(samples, Math.min(sampleCount, LATENCY_SAMPLES));
+      Arrays.sort(sorted);
+      return new Latency(sampleCount, sorted);
+    }
+  }
+
+  /** Percentiles of the recent health check times of a node, in milliseconds. */
+  static class Latency {
+
+    private final long count;
+    private final long[] sortedNanos;
+
+    private Latency(long count, long[] sortedNanos) {
+      this.count = count;
+      this.sortedNanos = sortedNanos;
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    long getPercentile(int percentile) {
+      if (sortedNanos.length == 0) {
+        return 0;
+      }
+      // Nearest rank
+      int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+      return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(rank, 1) - 1]);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d, p50=%dms, p90=%dms, p99=%dms",
+          count, getPercentile(50), getPercentile(90), getPercentile(99));
+    }
+  }
+}
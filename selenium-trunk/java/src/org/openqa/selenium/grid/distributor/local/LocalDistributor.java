@@ -30,24 +30,27 @@
 import static org.openqa.selenium.remote.tracing.Tags.EXCEPTION;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import dev.failsafe.Failsafe;
-import dev.failsafe.RetryPolicy;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -76,6 +79,7 @@
 import org.openqa.selenium.grid.data.NodeStatus;
 import org.openqa.selenium.grid.data.NodeStatusEvent;
 import org.openqa.selenium.grid.data.RequestId;
+import org.openqa.selenium.grid.data.SessionClosedEvent;
 import org.openqa.selenium.grid.data.SessionRequest;
 import org.openqa.selenium.grid.data.SessionRequestCapability;
 import org.openqa.selenium.grid.data.Slot;
@@ -123,14 +127,22 @@ public class LocalDistributor extends Distributor implements AutoCloseable {
 
   private static final SessionId RESERVED = new SessionId("reserved");
 
+  // When the queue tells us about new requests, polling is only a safety net for changes we are
+  // not notified about, so it doesn't need to run more often than this.
+  private static final Duration MINIMUM_SAFETY_NET_INTERVAL = Duration.ofSeconds(1);
+
+  // When the queue can't tell us about new requests, we instead ask it to hold on to a request
+  // for the next one that matches our free slots, for at most this long.
+  private static final Duration AWAIT_REQUESTS_TIMEOUT = Duration.ofSeconds(10);
+
   private final Tracer tracer;
   private final EventBus bus;
   private final HttpClient.Factory clientFactory;
   private final SessionMap sessions;
   private final SlotSelector slotSelector;
   private final Secret registrationSecret;
-  private final Map<NodeId, Runnable> allChecks = new HashMap<>();
   private final Duration healthcheckInterval;
+  private final HealthCheckScheduler healthChecks;
 
   private final ReadWriteLock lock = new ReentrantReadWriteLock(/* fair */ true);
   private final GridModel model;
@@ -155,21 +167,34 @@ public class LocalDistributor extends Distributor implements AutoCloseable {
             return thread;
           });
 
-  private final ScheduledExecutorService nodeHealthCheckService =
-      Executors.newSingleThreadScheduledExecutor(
+  private final ExecutorService nodeStatusService =
+      Executors.newSingleThreadExecutor(
           r -> {
             Thread thread = new Thread(r);
             thread.setDaemon(true);
-            thread.setName("Local Distributor - Node Health Check");
+            thread.setName("Local Distributor - Node Status");
             return thread;
           });
+  // The nodes whose status is waiting to be fetched by the node status service.
+  private final Set<NodeId> catchingUp = ConcurrentHashMap.newKeySet();
 
   private final Executor sessionCreatorExecutor;
 
+  private final NewSessionRunnable newSessionRunnable = new NewSessionRunnable();
+  private final AtomicBoolean newSessionRunPending = new AtomicBoolean();
+  // The stereotypes we are waiting on the queue for matching requests for, or null if we are not.
+  private final AtomicReference<Set<Capabilities>> awaitedStereotypes = new AtomicReference<>();
+  // Only read and written on the new session service's thread.
+  private long lastNewSessionRun;
+
   private final NewSessionQueue sessionQueue;
 
   private final boolean rejectUnsupportedCaps;
 
+  private final boolean lockFreeSlotReservation;
+
+  private final boolean notifiedOfRequests;
+
   public LocalDistributor(
       Tracer tracer,
       EventBus bus,
@@ -183,6 +208,70 @@ public LocalDistributor(
       Duration sessionRequestRetryInterval,
       int newSessionThreadPoolSize,
       SlotMatcher slotMatcher) {
+    this(
+        tracer,
+        bus,
+        clientFactory,
+        sessions,
+        sessionQueue,
+        slotSelector,
+        registrationSecret,
+        healthcheckInterval,
+        rejectUnsupportedCaps,
+        sessionRequestRetryInterval,
+        newSessionThreadPoolSize,
+        slotMatcher,
+        false);
+  }
+
+  public LocalDistributor(
+      Tracer tracer,
+      EventBus bus,
+      HttpClient.Factory clientFactory,
+      SessionMap sessions,
+      NewSessionQueue sessionQueue,
+      SlotSelector slotSelector,
+      Secret registrationSecret,
+      Duration healthcheckInterval,
+      boolean rejectUnsupportedCaps,
+      Duration sessionRequestRetryInterval,
+      int newSessionThreadPoolSize,
+      SlotMatcher slotMatcher,
+      boolean lockFreeSlotReservation) {
+    this(
+        tracer,
+        bus,
+        clientFactory,
+        sessions,
+        sessionQueue,
+        slotSelector,
+        registrationSecret,
+        healthcheckInterval,
+        rejectUnsupportedCaps,
+        sessionRequestRetryInterval,
+        newSessionThreadPoolSize,
+        slotMatcher,
+        lockFreeSlotReservation,
+        DistributorOptions.DEFAULT_HEALTHCHECK_PARALLELISM,
+        Duration.ofSeconds(DistributorOptions.DEFAULT_HEALTHCHECK_TIMEOUT));
+  }
+
+  public LocalDistributor(
+      Tracer tracer,
+      EventBus bus,
+      HttpClient.Factory clientFactory,
+      SessionMap sessions,
+      NewSessionQueue sessionQueue,
+      SlotSelector slotSelector,
+      Secret registrationSecret,
+      Duration healthcheckInterval,
+      boolean rejectUnsupportedCaps,
+      Duration sessionRequestRetryInterval,
+      int newSessionThreadPoolSize,
+      SlotMatcher slotMatcher,
+      boolean lockFreeSlotReservation,
+      int healthcheckParallelism,
+      Duration healthcheckTimeout) {
     super(tracer, clientFactory, registrationSecret);
     this.tracer = Require.nonNull("Tracer", tracer);
     this.bus = Require.nonNull("Event bus", bus);
@@ -192,12 +281,21 @@ public LocalDistributor(
     this.slotSelector = Require.nonNull("Slot selector", slotSelector);
     this.registrationSecret = Require.nonNull("Registration secret", registrationSecret);
     this.healthcheckInterval = Require.nonNull("Health check interval", healthcheckInterval);
+    this.healthChecks =
+        new HealthCheckScheduler(healthcheckInterval, healthcheckParallelism, healthcheckTimeout);
     this.model = new GridModel(bus);
     this.nodes = new ConcurrentHashMap<>();
     this.rejectUnsupportedCaps = rejectUnsupportedCaps;
     this.slotMatcher = slotMatcher;
+    this.lockFreeSlotReservation = lockFreeSlotReservation;
     Require.nonNull("Session request interval", sessionRequestRetryInterval);
 
+    // Look for work as soon as something happens that may let a queued request be matched.
+    bus.addListener(SessionClosedEvent.listener(sessionId -> scheduleNewSessionRun()));
+    bus.addListener(NodeAddedEvent.listener(nodeId -> scheduleNewSessionRun()));
+    model.addCapacityListener(this::scheduleNewSessionRun);
+    this.notifiedOfRequests = sessionQueue.addRequestListener(this::scheduleNewSessionRun);
+
     bus.addListener(NodeStatusEvent.listener(this::register));
     bus.addListener(NodeStatusEvent.listener(model::refresh));
     bus.addListener(NodeRemovedEvent.listener(nodeStatus -> remove(nodeStatus.getNodeId())));
@@ -210,6 +308,15 @@ public LocalDistributor(
                 register(nodeStatus);
               }
             }));
+    bus.addListener(
+        NodeHeartBeatEvent.deltaListener(
+            delta -> {
+              // Either we've not heard of the node (we may have been restarted) or we missed a
+              // heartbeat, so catch up with what the node has now.
+              if (!nodes.containsKey(delta.getNodeId()) || !model.apply(delta)) {
+                catchUp(delta.getNodeId(), delta.getExternalUri());
+              }
+            }));
 
     sessionCreatorExecutor =
         Executors.newFixedThreadPool(
@@ -221,23 +328,19 @@ public LocalDistributor(
               return thread;
             });
 
-    NewSessionRunnable newSessionRunnable = new NewSessionRunnable();
     bus.addListener(NodeDrainComplete.listener(this::remove));
 
     purgeDeadNodesService.scheduleAtFixedRate(
         GuardedRunnable.guard(model::purgeDeadNodes), 30, 30, TimeUnit.SECONDS);
 
-    nodeHealthCheckService.scheduleAtFixedRate(
-        runNodeHealthChecks(),
-        this.healthcheckInterval.toMillis(),
-        this.healthcheckInterval.toMillis(),
-        TimeUnit.MILLISECONDS);
-
     // if sessionRequestRetryInterval is 0, we will schedule session creation every 10 millis
     long period =
         sessionRequestRetryInterval.isZero() ? 10 : sessionRequestRetryInterval.toMillis();
+    if (notifiedOfRequests) {
+      period = Math.max(period, MINIMUM_SAFETY_NET_INTERVAL.toMillis());
+    }
     newSessionService.scheduleAtFixedRate(
-        GuardedRunnable.guard(newSessionRunnable),
+        GuardedRunnable.guard(this::onNewSessionTick),
         sessionRequestRetryInterval.toMillis(),
         period,
         TimeUnit.MILLISECONDS);
@@ -268,7 +371,10 @@ public static Distributor create(Config config) {
         distributorOptions.shouldRejectUnsupportedCaps(),
         newSessionQueueOptions.getSessionRequestRetryInterval(),
         distributorOptions.getNewSessionThreadPoolSize(),
-        distributorOptions.getSlotMatcher());
+        distributorOptions.getSlotMatcher(),
+        distributorOptions.shouldReserveSlotsWithoutLocking(),
+        distributorOptions.getHealthCheckParallelism(),
+        distributorOptions.getHealthCheckTimeout());
   }
 
   @Override
@@ -321,6 +427,41 @@ private void register(NodeStatus status) {
     }
   }
 
+  /**
+   * Fetches the full status of a node that sent a heartbeat we cannot use on its own, and either
+   * registers the node or brings the model up to date with it. This is done away from the thread
+   * delivering the heartbeat, since it means calling the node.
+   */
+  private void catchUp(NodeId id, URI uri) {
+    if (!catchingUp.add(id)) {
+      return;
+    }
+
+    try {
+      nodeStatusService.execute(
+          () -> {
+            try {
+              Node node = nodes.get(id);
+              if (node != null) {
+                model.touch(node.getStatus());
+              } else {
+                register(
+                    new RemoteNode(
+                            tracer, clientFactory, id, uri, registrationSecret, ImmutableSet.of())
+                        .getStatus());
+              }
+            } catch (RuntimeException e) {
+              LOG.log(getDebugLogLevel(), "Unable to get the status of Node " + uri, e);
+            } finally {
+              catchingUp.remove(id);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+      catchingUp.remove(id);
+    }
+  }
+
   @Override
   public LocalDistributor add(Node node) {
     Require.nonNull("Node", node);
@@ -347,10 +488,12 @@ public LocalDistributor add(Node node) {
     }
 
     // Extract the health check
-    Runnable healthCheck = asRunnableHealthCheck(node);
-    allChecks.put(node.getId(), healthCheck);
+    healthChecks.add(
+        node.getId(),
+        asRunnableHealthCheck(node),
+        () -> updateNodeAvailability(node.getUri(), node.getId(), DOWN));
 
-    updateNodeStatus(initialNodeStatus, healthCheck);
+    updateNodeStatus(initialNodeStatus);
 
     LOG.info(
         String.format(
@@ -362,7 +505,7 @@ public LocalDistributor add(Node node) {
     return this;
   }
 
-  private void updateNodeStatus(NodeStatus status, Runnable healthCheck) {
+  private void updateNodeStatus(NodeStatus status) {
     // Setting the Node as available if the initial call to status was successful.
     // Otherwise, retry to have it available as soon as possible.
     if (status.getAvailability() == UP) {
@@ -371,29 +514,12 @@ private void updateNodeStatus(NodeStatus status, Runnable healthCheck) {
       // Running the health check right after the Node registers itself. We retry the
       // execution because the Node might on a complex network topology. For example,
       // Kubernetes pods with IPs that take a while before they are reachable.
-      RetryPolicy<Object> initialHealthCheckPolicy =
-          RetryPolicy.builder()
-              .withMaxAttempts(-1)
-              .withMaxDuration(Duration.ofSeconds(90))
-              .withDelay(Duration.ofSeconds(15))
-              .abortIf(result -> true)
-              .build();
-
       LOG.log(getDebugLogLevel(), "Running health check for Node " + status.getExternalUri());
-      Executors.newSingleThreadExecutor()
-          .submit(() -> Failsafe.with(initialHealthCheckPolicy).run(healthCheck::run));
+      healthChecks.checkUntilHealthy(
+          status.getNodeId(), Duration.ofSeconds(15), Duration.ofSeconds(90));
     }
   }
 
-  private Runnable runNodeHealthChecks() {
-    return () -> {
-      ImmutableMap<NodeId, Runnable> nodeHealthChecks = ImmutableMap.copyOf(allChecks);
-      for (Runnable nodeHealthCheck : nodeHealthChecks.values()) {
-        GuardedRunnable.guard(nodeHealthCheck).run();
-      }
-    };
-  }
-
   private Runnable asRunnableHealthCheck(Node node) {
     HealthCheck healthCheck = node.getHealthCheck();
     NodeId id = node.getId();
@@ -431,6 +557,41 @@ private void updateNodeAvailability(URI nodeUri, NodeId id, Availability availab
     } finally {
       writeLock.unlock();
     }
+
+    if (availability == UP) {
+      scheduleNewSessionRun();
+    }
+  }
+
+  private void onNewSessionTick() {
+    // While the queue is holding on to a request for us, it hands over matching requests as soon
+    // as they arrive, so polling is only a safety net.
+    if (awaitedStereotypes.get() != null
+        && System.nanoTime() - lastNewSessionRun < MINIMUM_SAFETY_NET_INTERVAL.toNanos()) {
+      return;
+    }
+    newSessionRunnable.run();
+  }
+
+  /**
+   * Runs the {@link NewSessionRunnable} on the new session thread as soon as possible. Calls made
+   * while a run is already pending are coalesced into that run.
+   */
+  private void scheduleNewSessionRun() {
+    if (!newSessionRunPending.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      newSessionService.execute(
+          () -> {
+            newSessionRunPending.set(false);
+            GuardedRunnable.guard(newSessionRunnable).run();
+          });
+    } catch (RejectedExecutionException e) {
+      // We're shutting down.
+      newSessionRunPending.set(false);
+    }
   }
 
   @Override
@@ -459,7 +620,7 @@ public void remove(NodeId nodeId) {
     try {
       nodes.remove(nodeId);
       model.remove(nodeId);
-      allChecks.remove(nodeId);
+      healthChecks.remove(nodeId);
     } finally {
       writeLock.unlock();
     }
@@ -478,17 +639,7 @@ public DistributorStatus getStatus() {
 
   @Beta
   public void refresh() {
-    List<Runnable> allHealthChecks = new ArrayList<>();
-
-    Lock readLock = this.lock.readLock();
-    readLock.lock();
-    try {
-      allHealthChecks.addAll(allChecks.values());
-    } finally {
-      readLock.unlock();
-    }
-
-    allHealthChecks.parallelStream().forEach(Runnable::run);
+    healthChecks.checkAll();
   }
 
   protected Set<NodeStatus> getAvailableNodes() {
@@ -663,29 +814,39 @@ private CreateSessionResponse startSession(
   }
 
   private SlotId reserveSlot(RequestId requestId, Capabilities caps) {
+    if (lockFreeSlotReservation) {
+      // The model claims each slot with a compare-and-set, so concurrent requests only race for
+      // the slots they have both selected. Losing a race just moves on to the next candidate.
+      return selectAndReserve(requestId, caps);
+    }
+
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      Set<SlotId> slotIds = slotSelector.selectSlot(caps, getAvailableNodes(), slotMatcher);
-      if (slotIds.isEmpty()) {
-        LOG.log(
-            getDebugLogLevel(),
-            String.format("No slots found for request %s and capabilities %s", requestId, caps));
-        return null;
-      }
-
-      for (SlotId slotId : slotIds) {
-        if (reserve(slotId)) {
-          return slotId;
-        }
-      }
-
-      return null;
+      return selectAndReserve(requestId, caps);
     } finally {
       writeLock.unlock();
     }
   }
 
+  private SlotId selectAndReserve(RequestId requestId, Capabilities caps) {
+    Set<SlotId> slotIds = slotSelector.selectSlot(caps, getAvailableNodes(), slotMatcher);
+    if (slotIds.isEmpty()) {
+      LOG.log(
+          getDebugLogLevel(),
+          String.format("No slots found for request %s and capabilities %s", requestId, caps));
+      return null;
+    }
+
+    for (SlotId slotId : slotIds) {
+      if (reserve(slotId)) {
+        return slotId;
+      }
+    }
+
+    return null;
+  }
+
   private boolean isNotSupported(Capabilities caps) {
     return getAvailableNodes().stream().noneMatch(node -> node.hasCapability(caps, slotMatcher));
   }
@@ -693,6 +854,10 @@ private boolean isNotSupported(Capabilities caps) {
   private boolean reserve(SlotId id) {
     Require.nonNull("Slot ID", id);
 
+    if (lockFreeSlotReservation) {
+      return nodes.containsKey(id.getOwningNodeId()) && model.reserve(id);
+    }
+
     Lock writeLock = this.lock.writeLock();
     writeLock.lock();
     try {
@@ -743,11 +908,21 @@ public int getIdleSlots() {
         (model.getSnapshot().stream().map(NodeStatus::getSlots).count() - getActiveSlots());
   }
 
+  @ManagedAttribute(name = "NodeHealthCheckLatencies")
+  public Map<String, String> getHealthCheckLatencies() {
+    Map<String, String> latencies = new TreeMap<>();
+    healthChecks
+        .getLatencies()
+        .forEach((id, latency) -> latencies.put(id.toString(), latency.toString()));
+    return latencies;
+  }
+
   @Override
   public void close() {
     LOG.info("Shutting down Distributor executor service");
     purgeDeadNodesService.shutdown();
-    nodeHealthCheckService.shutdown();
+    nodeStatusService.shutdown();
+    healthChecks.close();
     newSessionService.shutdown();
   }
 
@@ -755,6 +930,7 @@ private class NewSessionRunnable implements Runnable {
 
     @Override
     public void run() {
+      lastNewSessionRun = System.nanoTime();
       Set<RequestId> inQueue;
       boolean loop;
       if (rejectUnsupportedCaps) {
@@ -772,12 +948,7 @@ public void run() {
         // starting the session, we just put the request back on the queue.
         // This does mean, however, that under high contention, we might end
         // up starving a session request.
-        Map<Capabilities, Long> stereotypes =
-            getAvailableNodes().stream()
-                .filter(NodeStatus::hasCapacity)
-                .flatMap(node -> node.getSlots().stream().map(Slot::getStereotype))
-                .collect(
-                    Collectors.groupingBy(ImmutableCapabilities::copyOf, Collectors.counting()));
+        Map<Capabilities, Long> stereotypes = getAvailableStereotypes();
 
         if (!stereotypes.isEmpty()) {
           List<SessionRequest> matchingRequests = sessionQueue.getNextAvailable(stereotypes);
@@ -788,6 +959,9 @@ public void run() {
           loop = false;
         }
       }
+      if (!notifiedOfRequests) {
+        awaitNewSessionRequests(getAvailableStereotypes());
+      }
       if (rejectUnsupportedCaps) {
         checkMatchingSlot(
             sessionQueue.getQueueContents().stream()
@@ -796,6 +970,54 @@ public void run() {
       }
     }
 
+    private Map<Capabilities, Long> getAvailableStereotypes() {
+      return getAvailableNodes().stream()
+          .filter(NodeStatus::hasCapacity)
+          .flatMap(node -> node.getSlots().stream().map(Slot::getStereotype))
+          .collect(Collectors.groupingBy(ImmutableCapabilities::copyOf, Collectors.counting()));
+    }
+
+    /**
+     * Asks the queue to hand over the next requests matching the given stereotypes as soon as they
+     * arrive, unless we are already waiting for requests that would match them.
+     */
+    private void awaitNewSessionRequests(Map<Capabilities, Long> stereotypes) {
+      if (stereotypes.isEmpty()) {
+        return;
+      }
+
+      Set<Capabilities> advertised = ImmutableSet.copyOf(stereotypes.keySet());
+      Set<Capabilities> awaited = awaitedStereotypes.get();
+      if (awaited != null && awaited.containsAll(advertised)) {
+        return;
+      }
+
+      Optional<CompletableFuture<List<SessionRequest>>> next =
+          sessionQueue.awaitNextAvailable(stereotypes, AWAIT_REQUESTS_TIMEOUT);
+      if (!next.isPresent()) {
+        return;
+      }
+
+      awaitedStereotypes.set(advertised);
+      next.get()
+          .whenComplete(
+              (requests, throwable) -> {
+                awaitedStereotypes.compareAndSet(advertised, null);
+                if (throwable != null) {
+                  // The regular poll will pick up where we left off.
+                  LOG.log(getDebugLogLevel(), "Unable to wait for new session requests", throwable);
+                  return;
+                }
+                requests.forEach(
+                    req -> sessionCreatorExecutor.execute(() -> handleNewSessionRequest(req)));
+                // Start waiting again straight away, but leave it to the regular poll if nothing
+                // arrived, so that we don't spin on a queue that returns immediately.
+                if (!requests.isEmpty()) {
+                  scheduleNewSessionRun();
+                }
+              });
+    }
+
     private void checkMatchingSlot(List<SessionRequestCapability> sessionRequests) {
       for (SessionRequestCapability request : sessionRequests) {
         long unmatchableCount =
@@ -0,0 +1,235 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.distributor.selector;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.grid.config.Config;
+import org.openqa.selenium.grid.data.DefaultSlotMatcher;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.Slot;
+import org.openqa.selenium.grid.data.SlotId;
+import org.openqa.selenium.grid.data.SlotMatcher;
+
+/**
+ * A {@link SlotSelector} that selects the same slots, in the same order, as the {@link
+ * DefaultSlotSelector}, but keeps an index of the free slots so that it does not need to run the
+ * {@link SlotMatcher} against every slot in the Grid for each request.
+ *
+ * <p>Free slots are bucketed by their stereotype, and stereotypes by browser name. A request is
+ * matched by looking up the bucket for its browser name and then running the slot matcher once per
+ * distinct stereotype in that bucket, rather than once per slot. The browser name lookup is only
+ * used with the {@link DefaultSlotMatcher}, which requires an exact browser name match; any other
+ * matcher is consulted for every known stereotype.
+ *
+ * <p>The index is updated incrementally: a node is only re-indexed when the {@link NodeStatus}
+ * passed in for it is a different instance from the one seen last time, which is the case when a
+ * slot on it has been reserved or released.
+ *
+ * <p>Use it by setting {@code --slot-selector
+ * org.openqa.selenium.grid.distributor.selector.IndexedSlotSelector}.
+ */
+public class IndexedSlotSelector implements SlotSelector {
+
+  private static final String NO_BROWSER_NAME = "";
+
+  private static final Comparator<IndexedNode> NODE_ORDER =
+      Comparator.comparingLong((IndexedNode node) -> node.supportedBrowsers)
+          .thenComparingDouble(node -> node.load)
+          .thenComparingLong(node -> node.lastSessionCreated)
+          .thenComparing(node -> node.status.getNodeId());
+
+  private final Map<NodeId, IndexedNode> nodes = new HashMap<>();
+  private final Map<Capabilities, Set<NodeId>> nodesByStereotype = new HashMap<>();
+  private final Map<String, Set<Capabilities>> stereotypesByBrowserName = new HashMap<>();
+
+  public static SlotSelector create(Config config) {
+    return new IndexedSlotSelector();
+  }
+
+  @Override
+  public synchronized Set<SlotId> selectSlot(
+      Capabilities capabilities, Set<NodeStatus> nodes, SlotMatcher slotMatcher) {
+    update(nodes);
+
+    Set<Capabilities> matchingStereotypes = new HashSet<>();
+    for (Capabilities stereotype : candidateStereotypes(capabilities, slotMatcher)) {
+      if (slotMatcher.matches(stereotype, capabilities)) {
+        matchingStereotypes.add(stereotype);
+      }
+    }
+
+    if (matchingStereotypes.isEmpty()) {
+      return ImmutableSet.of();
+    }
+
+    Set<IndexedNode> candidates = new HashSet<>();
+    for (Capabilities stereotype : matchingStereotypes) {
+      for (NodeId id : nodesByStereotype.getOrDefault(stereotype, ImmutableSet.of())) {
+        IndexedNode node = this.nodes.get(id);
+        if (node.hasCapacity()) {
+          candidates.add(node);
+        }
+      }
+    }
+
+    List<IndexedNode> ordered = new ArrayList<>(candidates);
+    ordered.sort(NODE_ORDER);
+
+    ImmutableSet.Builder<SlotId> selected = ImmutableSet.builder();
+    for (IndexedNode node : ordered) {
+      node.freeSlots.forEach(
+          (id, stereotype) -> {
+            if (matchingStereotypes.contains(stereotype)) {
+              selected.add(id);
+            }
+          });
+    }
+    return selected.build();
+  }
+
+  private Collection<Capabilities> candidateStereotypes(
+      Capabilities capabilities, SlotMatcher slotMatcher) {
+    String browserName = capabilities.getBrowserName();
+    if (slotMatcher.getClass() != DefaultSlotMatcher.class
+        || browserName == null
+        || browserName.isEmpty()) {
+      return nodesByStereotype.keySet();
+    }
+    return stereotypesByBrowserName.getOrDefault(browserName, ImmutableSet.of());
+  }
+
+  private void update(Set<NodeStatus> current) {
+    Set<NodeId> seen = new HashSet<>();
+    for (NodeStatus status : current) {
+      seen.add(status.getNodeId());
+      IndexedNode existing = nodes.get(status.getNodeId());
+      // Unchanged nodes are handed to us as the same instance, so this is cheap.
+      if (existing != null && existing.status == status) {
+        continue;
+      }
+      if (existing != null) {
+        unindex(existing);
+      }
+      index(new IndexedNode(status));
+    }
+
+    Iterator<IndexedNode> iterator = nodes.values().iterator();
+    while (iterator.hasNext()) {
+      IndexedNode node = iterator.next();
+      if (!seen.contains(node.status.getNodeId())) {
+        iterator.remove();
+        removeStereotypes(node);
+      }
+    }
+  }
+
+  private void index(IndexedNode node) {
+    nodes.put(node.status.getNodeId(), node);
+    for (Capabilities stereotype : node.freeStereotypes) {
+      nodesByStereotype
+          .computeIfAbsent(
+              stereotype,
+              key -> {
+                stereotypesByBrowserName
+                    .computeIfAbsent(browserName(key), name -> new HashSet<>())
+                    .add(key);
+                return new HashSet<>();
+              })
+          .add(node.status.getNodeId());
+    }
+  }
+
+  private void unindex(IndexedNode node) {
+    nodes.remove(node.status.getNodeId());
+    removeStereotypes(node);
+  }
+
+  private void removeStereotypes(IndexedNode node) {
+    for (Capabilities stereotype : node.freeStereotypes) {
+      Set<NodeId> ids = nodesByStereotype.get(stereotype);
+      if (ids == null) {
+        continue;
+      }
+      ids.remove(node.status.getNodeId());
+      if (ids.isEmpty()) {
+        nodesByStereotype.remove(stereotype);
+        String browserName = browserName(stereotype);
+        Set<Capabilities> stereotypes = stereotypesByBrowserName.get(browserName);
+        stereotypes.remove(stereotype);
+        if (stereotypes.isEmpty()) {
+          stereotypesByBrowserName.remove(browserName);
+        }
+      }
+    }
+  }
+
+  private static String browserName(Capabilities stereotype) {
+    String browserName = stereotype.getBrowserName();
+    return browserName == null ? NO_BROWSER_NAME : browserName;
+  }
+
+  private static class IndexedNode {
+    private final NodeStatus status;
+    // Free slots in the order the node reports them, mapped to their stereotypes.
+    private final Map<SlotId, Capabilities> freeSlots = new LinkedHashMap<>();
+    private final Set<Capabilities> freeStereotypes = new HashSet<>();
+    private final long supportedBrowsers;
+    private final long usedSlots;
+    private final float load;
+    private final long lastSessionCreated;
+
+    private IndexedNode(NodeStatus status) {
+      this.status = status;
+
+      Set<String> browsers = new HashSet<>();
+      long used = 0;
+      for (Slot slot : status.getSlots()) {
+        browsers.add(slot.getStereotype().getBrowserName().toLowerCase());
+        if (slot.getSession() == null) {
+          Capabilities stereotype = ImmutableCapabilities.copyOf(slot.getStereotype());
+          freeSlots.put(slot.getId(), stereotype);
+          freeStereotypes.add(stereotype);
+        } else {
+          used++;
+        }
+      }
+
+      this.supportedBrowsers = browsers.size();
+      this.usedSlots = used;
+      this.load = status.getLoad();
+      this.lastSessionCreated = status.getLastSessionCreated();
+    }
+
+    boolean hasCapacity() {
+      return usedSlots < status.getMaxSessionCount();
+    }
+  }
+}
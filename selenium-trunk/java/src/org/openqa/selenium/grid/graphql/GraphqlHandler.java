@@ -20,7 +20,7 @@
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static org.openqa.selenium.json.Json.JSON_UTF_8;
 import static org.openqa.selenium.json.Json.MAP_TYPE;
-import static org.openqa.selenium.remote.http.Contents.utf8String;
+import static org.openqa.selenium.remote.http.Contents.asJson;
 import static org.openqa.selenium.remote.http.HttpMethod.OPTIONS;
 import static org.openqa.selenium.remote.tracing.HttpTracing.newSpanAsChildOf;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
@@ -162,7 +162,7 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
         response =
             new HttpResponse()
                 .addHeader("Content-Type", JSON_UTF_8)
-                .setContent(utf8String(JSON.toJson(result.toSpecification())));
+                .setContent(asJson(result.toSpecification()));
 
         HTTP_RESPONSE.accept(span, response);
         HTTP_RESPONSE_EVENT.accept(attributeMap, response);
@@ -172,9 +172,7 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
       }
 
       response =
-          new HttpResponse()
-              .setStatus(HTTP_INTERNAL_ERROR)
-              .setContent(utf8String(JSON.toJson(result.getErrors())));
+          new HttpResponse().setStatus(HTTP_INTERNAL_ERROR).setContent(asJson(result.getErrors()));
       HTTP_RESPONSE.accept(span, response);
       HTTP_RESPONSE_EVENT.accept(attributeMap, response);
 
@@ -76,7 +76,6 @@
 import org.openqa.selenium.grid.data.CreateSessionResponse;
 import org.openqa.selenium.grid.data.NodeDrainComplete;
 import org.openqa.selenium.grid.data.NodeDrainStarted;
-import org.openqa.selenium.grid.data.NodeHeartBeatEvent;
 import org.openqa.selenium.grid.data.NodeId;
 import org.openqa.selenium.grid.data.NodeStatus;
 import org.openqa.selenium.grid.data.Session;
@@ -122,6 +121,7 @@ public class LocalNode extends Node {
   private final URI externalUri;
   private final URI gridUri;
   private final Duration heartbeatPeriod;
+  private final NodeStatusTracker statusTracker = new NodeStatusTracker();
   private final HealthCheck healthCheck;
   private final int maxSessionCount;
   private final int configuredSessionCount;
@@ -287,7 +287,7 @@ protected LocalNode(
               return thread;
             });
     heartbeatNodeService.scheduleAtFixedRate(
-        GuardedRunnable.guard(() -> bus.fire(new NodeHeartBeatEvent(getStatus()))),
+        GuardedRunnable.guard(() -> bus.fire(statusTracker.heartBeat(getStatus()))),
         heartbeatPeriod.getSeconds(),
         heartbeatPeriod.getSeconds(),
         TimeUnit.SECONDS);
@@ -871,15 +871,16 @@ public NodeStatus getStatus() {
       availability = DOWN;
     }
 
-    return new NodeStatus(
-        getId(),
-        externalUri,
-        maxSessionCount,
-        slots,
-        availability,
-        heartbeatPeriod,
-        getNodeVersion(),
-        getOsInfo());
+    return statusTracker.stamp(
+        new NodeStatus(
+            getId(),
+            externalUri,
+            maxSessionCount,
+            slots,
+            availability,
+            heartbeatPeriod,
+            getNodeVersion(),
+            getOsInfo()));
   }
 
   @Override
@@ -0,0 +1,109 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.node.local;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.grid.data.Availability;
+import org.openqa.selenium.grid.data.NodeHeartBeatEvent;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.NodeStatusDelta;
+import org.openqa.selenium.grid.data.Slot;
+import org.openqa.selenium.grid.data.SlotId;
+
+/**
+ * Numbers every change to a node's status, and works out which slots changed between one heartbeat
+ * and the next so that only those need to be sent.
+ */
+class NodeStatusTracker {
+
+  // Send everything every so often, so distributors that missed a heartbeat or started after
+  // the node can catch up without having to ask.
+  static final int FULL_STATUS_INTERVAL = 10;
+
+  private final int fullStatusInterval;
+
+  private Map<SlotId, Slot> stampedSlots;
+  private Availability stampedAvailability;
+  private long version;
+
+  private Map<SlotId, Slot> sentSlots;
+  private long sentVersion;
+  private int sinceFullStatus;
+
+  NodeStatusTracker() {
+    this(FULL_STATUS_INTERVAL);
+  }
+
+  NodeStatusTracker(int fullStatusInterval) {
+    this.fullStatusInterval = fullStatusInterval;
+  }
+
+  /** Returns the status with a version that goes up whenever the slots or availability change. */
+  synchronized NodeStatus stamp(NodeStatus status) {
+    Map<SlotId, Slot> slots = index(status.getSlots());
+    if (!slots.equals(stampedSlots) || status.getAvailability() != stampedAvailability) {
+      version++;
+      stampedSlots = slots;
+      stampedAvailability = status.getAvailability();
+    }
+    return status.withStatusVersion(version);
+  }
+
+  synchronized NodeHeartBeatEvent heartBeat(NodeStatus status) {
+    NodeStatus stamped = stamp(status);
+    Map<SlotId, Slot> slots = stampedSlots;
+
+    sinceFullStatus++;
+    if (sentSlots == null
+        || sinceFullStatus >= fullStatusInterval
+        || !slots.keySet().equals(sentSlots.keySet())) {
+      sinceFullStatus = 0;
+      sentSlots = slots;
+      sentVersion = stamped.getStatusVersion();
+      return new NodeHeartBeatEvent(stamped);
+    }
+
+    Set<Slot> changed = new HashSet<>();
+    for (Slot slot : slots.values()) {
+      if (!slot.equals(sentSlots.get(slot.getId()))) {
+        changed.add(slot);
+      }
+    }
+
+    NodeStatusDelta delta =
+        new NodeStatusDelta(
+            stamped.getNodeId(),
+            stamped.getExternalUri(),
+            stamped.getAvailability(),
+            sentVersion,
+            stamped.getStatusVersion(),
+            changed);
+    sentSlots = slots;
+    sentVersion = stamped.getStatusVersion();
+    return new NodeHeartBeatEvent(delta);
+  }
+
+  private static Map<SlotId, Slot> index(Set<Slot> slots) {
+    Map<SlotId, Slot> indexed = new HashMap<>();
+    slots.forEach(slot -> indexed.put(slot.getId(), slot));
+    return indexed;
+  }
+}
@@ -21,6 +21,7 @@
 import static org.openqa.selenium.remote.RemoteTags.SESSION_ID;
 import static org.openqa.selenium.remote.RemoteTags.SESSION_ID_EVENT;
 import static org.openqa.selenium.remote.http.Contents.asJson;
+import static org.openqa.selenium.remote.http.HttpMethod.DELETE;
 import static org.openqa.selenium.remote.tracing.Tags.EXCEPTION;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST_EVENT;
@@ -30,23 +31,24 @@
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.collect.ImmutableMap;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.concurrent.GuardedRunnable;
-import org.openqa.selenium.grid.data.Session;
-import org.openqa.selenium.grid.sessionmap.SessionMap;
 import org.openqa.selenium.grid.web.ReverseProxyHandler;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.net.Urls;
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.DeferredResponses;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpHandler;
 import org.openqa.selenium.remote.http.HttpRequest;
@@ -63,13 +65,13 @@ class HandleSession implements HttpHandler {
 
   private final Tracer tracer;
   private final HttpClient.Factory httpClientFactory;
-  private final SessionMap sessions;
+  private final SessionUriCache sessionUris;
   private final Cache<URL, HttpClient> httpClients;
 
-  HandleSession(Tracer tracer, HttpClient.Factory httpClientFactory, SessionMap sessions) {
+  HandleSession(Tracer tracer, HttpClient.Factory httpClientFactory, SessionUriCache sessionUris) {
     this.tracer = Require.nonNull("Tracer", tracer);
     this.httpClientFactory = Require.nonNull("HTTP client factory", httpClientFactory);
-    this.sessions = Require.nonNull("Sessions", sessions);
+    this.sessionUris = Require.nonNull("Session URIs", sessionUris);
 
     this.httpClients =
         CacheBuilder.newBuilder()
@@ -122,7 +124,32 @@ public HttpResponse execute(HttpRequest req) {
 
       try {
         HttpTracing.inject(tracer, span, req);
-        HttpResponse res = loadSessionId(tracer, span, id).call().execute(req);
+        HttpResponse res;
+        try {
+          res = loadSessionId(tracer, span, id).call().execute(req);
+        } catch (UncheckedIOException e) {
+          // The node may have gone away, so look the session up again next time.
+          sessionUris.invalidate(id);
+          throw e;
+        }
+
+        if (req.getMethod() == DELETE && req.getUri().endsWith("/session/" + id)) {
+          sessionUris.invalidate(id);
+        }
+
+        if (DeferredResponses.isDeferred(res)) {
+          DeferredResponses.whenComplete(
+              res,
+              (completed, failure) -> {
+                // As above, the node may have gone away.
+                Throwable cause =
+                    failure instanceof CompletionException ? failure.getCause() : failure;
+                if (cause instanceof UncheckedIOException) {
+                  sessionUris.invalidate(id);
+                }
+              });
+          return res;
+        }
 
         HTTP_RESPONSE.accept(span, res);
 
@@ -169,11 +196,10 @@ public HttpResponse execute(HttpRequest req) {
   private Callable<HttpHandler> loadSessionId(Tracer tracer, Span span, SessionId id) {
     return span.wrap(
         () -> {
-          Session session = sessions.get(id);
-          URL url = Urls.fromUri(session.getUri());
+          URL url = Urls.fromUri(sessionUris.get(id));
           ClientConfig config = ClientConfig.defaultConfig().baseUrl(url).withRetries();
           HttpClient client = httpClients.get(url, () -> httpClientFactory.createClient(config));
-          return new ReverseProxyHandler(tracer, client);
+          return new ReverseProxyHandler(tracer, client, true);
         });
   }
 }
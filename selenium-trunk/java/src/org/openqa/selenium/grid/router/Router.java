@@ -22,6 +22,7 @@
 import static org.openqa.selenium.remote.http.Route.matching;
 
 import com.google.common.collect.ImmutableSet;
+import org.openqa.selenium.events.EventBus;
 import org.openqa.selenium.grid.distributor.Distributor;
 import org.openqa.selenium.grid.sessionmap.SessionMap;
 import org.openqa.selenium.grid.sessionqueue.NewSessionQueue;
@@ -48,6 +49,31 @@ public Router(
       SessionMap sessions,
       NewSessionQueue queue,
       Distributor distributor) {
+    this(tracer, clientFactory, sessions, queue, distributor, new SessionUriCache(sessions));
+  }
+
+  /**
+   * When the router shares an {@link EventBus} with the rest of the grid, the URIs of sessions it
+   * has seen are forgotten as soon as they are closed, or their node goes away.
+   */
+  public Router(
+      Tracer tracer,
+      HttpClient.Factory clientFactory,
+      SessionMap sessions,
+      NewSessionQueue queue,
+      Distributor distributor,
+      EventBus bus) {
+    this(tracer, clientFactory, sessions, queue, distributor, new SessionUriCache(sessions, bus));
+  }
+
+  /** Uses {@code sessionUris} to remember which URI each session the router has seen is on. */
+  public Router(
+      Tracer tracer,
+      HttpClient.Factory clientFactory,
+      SessionMap sessions,
+      NewSessionQueue queue,
+      Distributor distributor,
+      SessionUriCache sessionUris) {
     Require.nonNull("Tracer to use", tracer);
     Require.nonNull("HTTP client factory", clientFactory);
 
@@ -55,7 +81,9 @@ public Router(
     this.queue = Require.nonNull("New Session Request Queue", queue);
     this.distributor = Require.nonNull("Distributor", distributor);
 
-    HandleSession sessionHandler = new HandleSession(tracer, clientFactory, sessions);
+    Require.nonNull("Session URI cache", sessionUris);
+
+    HandleSession sessionHandler = new HandleSession(tracer, clientFactory, sessionUris);
 
     routes =
         combine(
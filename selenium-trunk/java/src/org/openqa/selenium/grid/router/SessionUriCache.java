@@ -0,0 +1,127 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.router;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.events.EventBus;
+import org.openqa.selenium.grid.data.NodeRemovedEvent;
+import org.openqa.selenium.grid.data.NodeRestartedEvent;
+import org.openqa.selenium.grid.data.SessionClosedEvent;
+import org.openqa.selenium.grid.jmx.JMXHelper;
+import org.openqa.selenium.grid.jmx.ManagedAttribute;
+import org.openqa.selenium.grid.jmx.ManagedService;
+import org.openqa.selenium.grid.sessionmap.SessionMap;
+import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.remote.SessionId;
+
+/**
+ * Remembers which URI each session is running on, so that the router does not need to go to the
+ * {@link SessionMap} for every command. Entries are dropped once the session is gone: when we're
+ * told about it on the event bus, when the session is deleted through the router, or when its node
+ * can no longer be reached. Every entry is also looked up again a while after it was added, however
+ * often it is used, in case the session's node has moved without the router hearing about it.
+ */
+@ManagedService(
+    objectName = "org.seleniumhq.grid:type=Router,name=SessionUriCache",
+    description = "Cache of the URIs that sessions are running on")
+public class SessionUriCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+  private final SessionMap sessions;
+  private final Cache<SessionId, URI> uris;
+
+  SessionUriCache(SessionMap sessions) {
+    this(sessions, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+  }
+
+  SessionUriCache(SessionMap sessions, EventBus bus) {
+    this(sessions, bus, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+  }
+
+  public SessionUriCache(SessionMap sessions, int maximumSize, Duration timeToLive) {
+    this.sessions = Require.nonNull("Sessions", sessions);
+    this.uris =
+        CacheBuilder.newBuilder()
+            .maximumSize(Require.nonNegative("Maximum size", maximumSize))
+            .expireAfterWrite(Require.nonNegative("Time to live", timeToLive))
+            .recordStats()
+            .build();
+
+    new JMXHelper().register(this);
+  }
+
+  public SessionUriCache(SessionMap sessions, EventBus bus, int maximumSize, Duration timeToLive) {
+    this(sessions, maximumSize, timeToLive);
+
+    Require.nonNull("Event bus", bus);
+    bus.addListener(SessionClosedEvent.listener(this::invalidate));
+    bus.addListener(NodeRemovedEvent.listener(node -> invalidateAll(node.getExternalUri())));
+    bus.addListener(NodeRestartedEvent.listener(node -> invalidateAll(node.getExternalUri())));
+  }
+
+  URI get(SessionId id) throws NoSuchSessionException {
+    Require.nonNull("Session ID", id);
+
+    try {
+      return uris.get(id, () -> sessions.getUri(id));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  void invalidate(SessionId id) {
+    uris.invalidate(Require.nonNull("Session ID", id));
+  }
+
+  void invalidateAll(URI nodeUri) {
+    Require.nonNull("Node URI", nodeUri);
+    uris.asMap().values().removeIf(nodeUri::equals);
+  }
+
+  @ManagedAttribute(name = "Size")
+  public long getSize() {
+    return uris.size();
+  }
+
+  @ManagedAttribute(name = "HitCount")
+  public long getHitCount() {
+    return uris.stats().hitCount();
+  }
+
+  @ManagedAttribute(name = "MissCount")
+  public long getMissCount() {
+    return uris.stats().missCount();
+  }
+
+  @ManagedAttribute(name = "HitRate")
+  public double getHitRate() {
+    return uris.stats().hitRate();
+  }
+}
@@ -19,6 +19,7 @@
 
 import static org.openqa.selenium.grid.config.StandardGridRoles.ROUTER_ROLE;
 import static org.openqa.selenium.grid.router.httpd.RouterOptions.NETWORK;
+import static org.openqa.selenium.grid.router.httpd.RouterOptions.ROUTER;
 
 import com.beust.jcommander.Parameter;
 import com.google.auto.service.AutoService;
@@ -66,6 +67,22 @@ public class RouterFlags implements HasRoles {
   @ConfigValue(section = NETWORK, name = "sub-path", example = "my_company/selenium_grid")
   public String subPath;
 
+  @Parameter(
+      names = "--session-uri-cache-size",
+      description =
+          "Number of sessions whose node the router remembers, so that it need not ask the session"
+              + " map for every command.")
+  @ConfigValue(section = ROUTER, name = "session-uri-cache-size", example = "10000")
+  private Integer sessionUriCacheSize;
+
+  @Parameter(
+      names = "--session-uri-cache-ttl",
+      description =
+          "How long, in seconds, the router remembers which node a session is on before asking the"
+              + " session map again.")
+  @ConfigValue(section = ROUTER, name = "session-uri-cache-ttl", example = "300")
+  private Integer sessionUriCacheTtl;
+
   @Override
   public Set<Role> getRoles() {
     return Collections.singleton(ROUTER_ROLE);
@@ -17,11 +17,16 @@
 
 package org.openqa.selenium.grid.router.httpd;
 
+import static org.openqa.selenium.grid.router.SessionUriCache.DEFAULT_MAXIMUM_SIZE;
+import static org.openqa.selenium.grid.router.SessionUriCache.DEFAULT_TIME_TO_LIVE;
+
+import java.time.Duration;
 import org.openqa.selenium.grid.config.Config;
 
 public class RouterOptions {
 
   static final String NETWORK = "network";
+  static final String ROUTER = "router";
 
   private final Config config;
 
@@ -29,6 +34,17 @@ public RouterOptions(Config config) {
     this.config = config;
   }
 
+  public int getSessionUriCacheSize() {
+    return config.getInt(ROUTER, "session-uri-cache-size").orElse(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public Duration getSessionUriCacheTimeToLive() {
+    return config
+        .getInt(ROUTER, "session-uri-cache-ttl")
+        .map(Duration::ofSeconds)
+        .orElse(DEFAULT_TIME_TO_LIVE);
+  }
+
   public String subPath() {
     return config
         .get(NETWORK, "sub-path")
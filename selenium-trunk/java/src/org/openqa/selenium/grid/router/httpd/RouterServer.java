@@ -20,6 +20,7 @@
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
 import static org.openqa.selenium.grid.config.StandardGridRoles.DISTRIBUTOR_ROLE;
+import static org.openqa.selenium.grid.config.StandardGridRoles.EVENT_BUS_ROLE;
 import static org.openqa.selenium.grid.config.StandardGridRoles.HTTPD_ROLE;
 import static org.openqa.selenium.grid.config.StandardGridRoles.ROUTER_ROLE;
 import static org.openqa.selenium.grid.config.StandardGridRoles.SESSION_MAP_ROLE;
@@ -52,10 +53,12 @@
 import org.openqa.selenium.grid.log.LoggingOptions;
 import org.openqa.selenium.grid.router.ProxyWebsocketsIntoGrid;
 import org.openqa.selenium.grid.router.Router;
+import org.openqa.selenium.grid.router.SessionUriCache;
 import org.openqa.selenium.grid.security.BasicAuthenticationFilter;
 import org.openqa.selenium.grid.security.Secret;
 import org.openqa.selenium.grid.security.SecretOptions;
 import org.openqa.selenium.grid.server.BaseServerOptions;
+import org.openqa.selenium.grid.server.EventBusOptions;
 import org.openqa.selenium.grid.server.NetworkOptions;
 import org.openqa.selenium.grid.server.Server;
 import org.openqa.selenium.grid.sessionmap.SessionMap;
@@ -92,7 +95,12 @@ public String getDescription() {
   @Override
   public Set<Role> getConfigurableRoles() {
     return ImmutableSet.of(
-        DISTRIBUTOR_ROLE, HTTPD_ROLE, ROUTER_ROLE, SESSION_MAP_ROLE, SESSION_QUEUE_ROLE);
+        DISTRIBUTOR_ROLE,
+        EVENT_BUS_ROLE,
+        HTTPD_ROLE,
+        ROUTER_ROLE,
+        SESSION_MAP_ROLE,
+        SESSION_QUEUE_ROLE);
   }
 
   @Override
@@ -141,9 +149,31 @@ protected Handlers createHandlers(Config config) {
         new GraphqlHandler(
             tracer, distributor, queue, serverOptions.getExternalUri(), getServerVersion());
 
-    String subPath = new RouterOptions(config).subPath();
+    RouterOptions routerOptions = new RouterOptions(config);
+    SessionUriCache sessionUris;
+    // The router only listens to the event bus, to forget sessions that have gone away, so it can
+    // still run without one.
+    if (config.getSectionNames().contains("events")) {
+      sessionUris =
+          new SessionUriCache(
+              sessions,
+              new EventBusOptions(config).getEventBus(),
+              routerOptions.getSessionUriCacheSize(),
+              routerOptions.getSessionUriCacheTimeToLive());
+    } else {
+      LOG.info(
+          "No event bus configured. Sessions the router has seen are forgotten when they time out"
+              + " of its cache.");
+      sessionUris =
+          new SessionUriCache(
+              sessions,
+              routerOptions.getSessionUriCacheSize(),
+              routerOptions.getSessionUriCacheTimeToLive());
+    }
+
+    String subPath = routerOptions.subPath();
     Routable ui = new GridUiRoute(subPath);
-    Router router = new Router(tracer, clientFactory, sessions, queue, distributor);
+    Router router = new Router(tracer, clientFactory, sessions, queue, distributor, sessionUris);
     Routable routerWithSpecChecks = router.with(networkOptions.getSpecComplianceChecks());
 
     Routable appendRoute =
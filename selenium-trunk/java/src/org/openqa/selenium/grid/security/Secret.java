@@ -17,6 +17,9 @@
 
 package org.openqa.selenium.grid.security;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
 import java.util.Objects;
 import org.openqa.selenium.internal.Require;
 
@@ -41,7 +44,8 @@ public boolean matches(Secret other) {
       return false;
     }
 
-    return secret.equals(other.secret);
+    // Constant time, so how long this takes says nothing about how much of the secret was right
+    return MessageDigest.isEqual(secret.getBytes(UTF_8), other.secret.getBytes(UTF_8));
   }
 
   public String encode() {
@@ -23,6 +23,7 @@
 import com.google.auto.service.AutoService;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import org.openqa.selenium.grid.config.ConfigValue;
 import org.openqa.selenium.grid.config.HasRoles;
@@ -66,6 +67,83 @@ public class BaseServerFlags implements HasRoles {
   @ConfigValue(section = SERVER_SECTION, name = "max-threads", example = "12")
   private int maxThreads;
 
+  @Parameter(
+      description =
+          "Number of threads used to handle incoming requests. Once they are all busy, requests"
+              + " wait in a queue, and are turned away with a 503 when the queue is full. The"
+              + " default of 0 starts a new thread for each request.",
+      names = "--request-threads")
+  @ConfigValue(section = SERVER_SECTION, name = "request-threads", example = "64")
+  private Integer requestThreads;
+
+  @Parameter(
+      description =
+          "Number of requests that may wait for one of the --request-threads before new requests"
+              + " are turned away.",
+      names = "--request-queue-size")
+  @ConfigValue(section = SERVER_SECTION, name = "request-queue-size", example = "1000")
+  private Integer requestQueueSize;
+
+  @Parameter(
+      description =
+          "Handle each incoming request on a virtual thread. Requires Java 21 or later, and is"
+              + " ignored otherwise.",
+      names = "--virtual-threads",
+      arity = 1)
+  @ConfigValue(section = SERVER_SECTION, name = "virtual-threads", example = "true")
+  private Boolean virtualThreads;
+
+  @Parameter(
+      description =
+          "Pass large request and response bodies on as they arrive, instead of buffering them in"
+              + " full. This reduces the memory used when proxying file uploads and screenshots.",
+      names = "--stream-bodies",
+      arity = 1)
+  @ConfigValue(section = SERVER_SECTION, name = "stream-bodies", example = "true")
+  private Boolean streamBodies;
+
+  @Parameter(
+      description =
+          "Compress response bodies with gzip or deflate when the client says it accepts them."
+              + " This saves bandwidth on slow links at the cost of some CPU. Bodies that are"
+              + " already encoded, such as those passed through by the router, are left alone."
+              + " Requests this server sends to other Grid components and drivers also ask for"
+              + " compressed responses.",
+      names = "--compress-responses",
+      arity = 1)
+  @ConfigValue(section = SERVER_SECTION, name = "compress-responses", example = "true")
+  private Boolean compressResponses;
+
+  @Parameter(
+      description =
+          "Smallest response body, in bytes, that is compressed when --compress-responses is set.",
+      names = "--compression-threshold")
+  @ConfigValue(section = SERVER_SECTION, name = "compression-threshold", example = "1024")
+  private Integer compressionThreshold;
+
+  @Parameter(
+      description =
+          "Accept HTTP/2 over plain text connections (h2c), and use it when talking to other"
+              + " Grid components. Many requests can then share a single connection. Ignored for"
+              + " https. Needs the jdk-http-client HTTP client, which is used unless"
+              + " webdriver.http.factory names another.",
+      names = "--h2c",
+      arity = 1)
+  @ConfigValue(section = SERVER_SECTION, name = "h2c", example = "true")
+  private Boolean h2c;
+
+  @Parameter(
+      description =
+          "Most requests that may be handled at once for paths starting with a prefix, given as"
+              + " /path/prefix=limit. Requests over the limit are turned away with a 503.",
+      names = "--route-concurrency-limits",
+      variableArity = true)
+  @ConfigValue(
+      section = SERVER_SECTION,
+      name = "route-concurrency-limits",
+      example = "[\"/se/grid/newsessionqueue=16\"]")
+  private List<String> routeConcurrencyLimits;
+
   @Parameter(
       names = "--allow-cors",
       description =
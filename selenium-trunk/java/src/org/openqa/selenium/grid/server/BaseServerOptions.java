@@ -20,6 +20,10 @@
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 import org.openqa.selenium.WebDriverException;
@@ -38,6 +42,8 @@
 public class BaseServerOptions {
 
   private static final String SERVER_SECTION = "server";
+  private static final int DEFAULT_QUEUE_SIZE = 1000;
+  private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
 
   private static final Logger LOG = Logger.getLogger(BaseServerOptions.class.getName());
   private final Config config;
@@ -82,6 +88,101 @@ public int getMaxServerThreads() {
     return count;
   }
 
+  /**
+   * @return the number of threads used to handle requests, or 0 if a new thread may be started for
+   *     every request.
+   */
+  @ManagedAttribute(name = "RequestThreads")
+  public int getRequestThreads() {
+    int count = config.getInt(SERVER_SECTION, "request-threads").orElse(0);
+    if (count < 0) {
+      throw new ConfigException("Number of request threads cannot be less than 0: " + count);
+    }
+    return count;
+  }
+
+  @ManagedAttribute(name = "RequestQueueSize")
+  public int getRequestQueueSize() {
+    int size = config.getInt(SERVER_SECTION, "request-queue-size").orElse(DEFAULT_QUEUE_SIZE);
+    if (size <= 0) {
+      throw new ConfigException("Request queue size must be greater than 0: " + size);
+    }
+    return size;
+  }
+
+  public boolean useVirtualThreads() {
+    return config.getBool(SERVER_SECTION, "virtual-threads").orElse(false);
+  }
+
+  /**
+   * @return whether large request and response bodies are passed on as they arrive, rather than
+   *     being buffered in full before being handled.
+   */
+  public boolean streamBodies() {
+    return config.getBool(SERVER_SECTION, "stream-bodies").orElse(false);
+  }
+
+  /**
+   * @return whether response bodies are compressed for clients that accept a compressed encoding.
+   */
+  public boolean compressResponses() {
+    return config.getBool(SERVER_SECTION, "compress-responses").orElse(false);
+  }
+
+  /**
+   * @return the size in bytes below which response bodies are sent uncompressed, since the saving
+   *     isn't worth the work.
+   */
+  public int getCompressionThreshold() {
+    int threshold =
+        config
+            .getInt(SERVER_SECTION, "compression-threshold")
+            .orElse(DEFAULT_COMPRESSION_THRESHOLD);
+    if (threshold < 0) {
+      throw new ConfigException("Compression threshold cannot be less than 0: " + threshold);
+    }
+    return threshold;
+  }
+
+  /**
+   * @return whether HTTP/2 is spoken over plain text connections, both by the server and by the
+   *     clients it uses to talk to other Grid components.
+   */
+  public boolean useH2c() {
+    return config.getBool(SERVER_SECTION, "h2c").orElse(false);
+  }
+
+  /**
+   * @return the most requests that may be handled at once for requests whose path starts with the
+   *     given prefix, in the order they were configured.
+   */
+  public Map<String, Integer> getRouteConcurrencyLimits() {
+    List<String> limits =
+        config.getAll(SERVER_SECTION, "route-concurrency-limits").orElseGet(Collections::emptyList);
+
+    Map<String, Integer> toReturn = new LinkedHashMap<>();
+    for (String limit : limits) {
+      int index = limit.lastIndexOf('=');
+      if (index < 1) {
+        throw new ConfigException(
+            "Route concurrency limits must look like /path/prefix=limit, but saw: %s", limit);
+      }
+
+      String prefix = limit.substring(0, index).trim();
+      int count;
+      try {
+        count = Integer.parseInt(limit.substring(index + 1).trim());
+      } catch (NumberFormatException e) {
+        throw new ConfigException("Unable to read limit for route %s: %s", prefix, limit);
+      }
+      if (count <= 0) {
+        throw new ConfigException("Route concurrency limit must be greater than 0: %s", limit);
+      }
+      toReturn.put(prefix, count);
+    }
+    return toReturn;
+  }
+
   @ManagedAttribute(name = "Uri")
   public URI getExternalUri() {
     // Assume the host given is addressable if it's been set
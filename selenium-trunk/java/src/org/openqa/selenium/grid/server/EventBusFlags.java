@@ -56,6 +56,16 @@ public class EventBusFlags implements HasRoles {
   // false value.
   private Boolean bind;
 
+  @Parameter(
+      names = {"--events-binary-envelope"},
+      description =
+          "Whether to send events over the ZeroMQ event bus in batches, in a single binary frame."
+              + " Components from older versions of Selenium ignore these, so only turn this on"
+              + " once every component using the event bus has been upgraded.",
+      arity = 1)
+  @ConfigValue(section = EVENTS_SECTION, name = "binary-envelope", example = "true")
+  private Boolean binaryEnvelope;
+
   @Parameter(
       names = {"--events-implementation"},
       description = "Full classname of non-default event bus implementation")
@@ -65,6 +75,23 @@ public class EventBusFlags implements HasRoles {
       example = "\"org.openqa.selenium.events.zeromq.ZeroMqEventBus\"")
   private String implementation;
 
+  @Parameter(
+      names = {"--events-dispatch-threads"},
+      description =
+          "Number of threads used to deliver events to listeners when using the "
+              + "org.openqa.selenium.events.local.LocalEventBus")
+  @ConfigValue(section = EVENTS_SECTION, name = "dispatch-threads", example = "4")
+  private Integer dispatchThreads;
+
+  @Parameter(
+      names = {"--events-max-pending"},
+      description =
+          "Number of events that may be waiting to be delivered when using the"
+              + " org.openqa.selenium.events.local.LocalEventBus. Events fired while this many are"
+              + " waiting are dropped and counted.")
+  @ConfigValue(section = EVENTS_SECTION, name = "max-pending", example = "10000")
+  private Integer maxPending;
+
   @Override
   public Set<Role> getRoles() {
     return ImmutableSet.of(EVENT_BUS_ROLE);
@@ -22,11 +22,14 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import org.openqa.selenium.grid.config.Config;
+import org.openqa.selenium.grid.config.ConfigException;
 import org.openqa.selenium.grid.web.CheckContentTypeHeader;
 import org.openqa.selenium.grid.web.CheckOriginHeader;
 import org.openqa.selenium.grid.web.EnsureSpecCompliantResponseHeaders;
 import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.remote.http.Filter;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.tracing.TracedHttpClient;
@@ -35,6 +38,8 @@
 public class NetworkOptions {
 
   private static final String NETWORK_SECTION = "network";
+  // The only client that can speak HTTP/2.
+  private static final String HTTP2_CLIENT = "jdk-http-client";
 
   private final Config config;
   // These are commonly used by process which can't set various headers.
@@ -45,7 +50,31 @@ public NetworkOptions(Config config) {
   }
 
   public HttpClient.Factory getHttpClientFactory(Tracer tracer) {
-    return new TracedHttpClient.Factory(tracer, HttpClient.Factory.createDefault());
+    HttpClient.Factory factory;
+    Function<ClientConfig, ClientConfig> configure = Function.identity();
+
+    // Set by --h2c, which also has the server accept HTTP/2, so that Grid components that are
+    // configured alike will talk to each other over it.
+    if (config.getBool("server", "h2c").orElse(false)) {
+      String name = System.getProperty("webdriver.http.factory", HTTP2_CLIENT);
+      if (!HTTP2_CLIENT.equalsIgnoreCase(name)) {
+        throw new ConfigException(
+            "Speaking h2c needs the %s HTTP client, but webdriver.http.factory is set to %s",
+            HTTP2_CLIENT, name);
+      }
+      factory = HttpClient.Factory.create(name);
+      configure = configure.andThen(clientConfig -> clientConfig.version("HTTP_2"));
+    } else {
+      factory = HttpClient.Factory.createDefault();
+    }
+
+    // Set by --compress-responses, so that components that compress their own responses also ask
+    // for compressed responses from the components and drivers they talk to.
+    if (config.getBool("server", "compress-responses").orElse(false)) {
+      configure = configure.andThen(ClientConfig::withCompression);
+    }
+
+    return new TracedHttpClient.Factory(tracer, new ConfiguringClientFactory(factory, configure));
   }
 
   public Filter getSpecComplianceChecks() {
@@ -73,4 +102,27 @@ public Filter getSpecComplianceChecks() {
 
     return toReturn;
   }
+
+  /** Adjusts the config of every client it creates to match the options Grid was started with. */
+  private static class ConfiguringClientFactory implements HttpClient.Factory {
+
+    private final HttpClient.Factory delegate;
+    private final Function<ClientConfig, ClientConfig> configure;
+
+    private ConfiguringClientFactory(
+        HttpClient.Factory delegate, Function<ClientConfig, ClientConfig> configure) {
+      this.delegate = Require.nonNull("HTTP client factory", delegate);
+      this.configure = Require.nonNull("Client config", configure);
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+      return delegate.createClient(configure.apply(config));
+    }
+
+    @Override
+    public void cleanupIdleClients() {
+      delegate.cleanupIdleClients();
+    }
+  }
 }
@@ -30,10 +30,11 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.logging.Logger;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.NoSuchSessionException;
@@ -57,16 +58,40 @@
 import org.openqa.selenium.remote.tracing.Status;
 import org.openqa.selenium.remote.tracing.Tracer;
 
+/**
+ * Stores sessions in a database table. Connections are pooled, and each one keeps the statements
+ * prepared on it. Sessions that are added or removed at the same time are written to the database
+ * in batches.
+ */
 public class JdbcBackedSessionMap extends SessionMap implements Closeable {
 
   private static final Json JSON = new Json();
-  private static final Logger LOG = Logger.getLogger(JdbcBackedSessionMap.class.getName());
   private static final String TABLE_NAME = "sessions_map";
   private static final String SESSION_ID_COL = "session_ids";
   private static final String SESSION_CAPS_COL = "session_caps";
   private static final String SESSION_STEREOTYPE_COL = "session_stereotype";
   private static final String SESSION_URI_COL = "session_uri";
   private static final String SESSION_START_COL = "session_start";
+  private static final String INSERT_SQL =
+      String.format(
+          "insert into %1$s (%2$s, %3$s, %4$s, %5$s, %6$s) values (?, ?, ?, ?, ?)",
+          TABLE_NAME,
+          SESSION_ID_COL,
+          SESSION_URI_COL,
+          SESSION_STEREOTYPE_COL,
+          SESSION_CAPS_COL,
+          SESSION_START_COL);
+  private static final String SELECT_SQL =
+      String.format("select * from %1$s where %2$s = ?", TABLE_NAME, SESSION_ID_COL);
+  private static final String SELECT_URI_SQL =
+      String.format(
+          "select %1$s from %2$s where %3$s = ?", SESSION_URI_COL, TABLE_NAME, SESSION_ID_COL);
+  private static final String DELETE_SQL =
+      String.format("delete from %1$s where %2$s = ?", TABLE_NAME, SESSION_ID_COL);
+  private static final String DELETE_BY_URI_SQL =
+      String.format("delete from %1$s where %2$s = ?", TABLE_NAME, SESSION_URI_COL);
+  private static final int MAX_BATCH_SIZE = 100;
+  private static final Duration ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
   private static final String DATABASE_STATEMENT = AttributeKey.DATABASE_STATEMENT.getKey();
   private static final String DATABASE_OPERATION = AttributeKey.DATABASE_OPERATION.getKey();
   private static final String DATABASE_USER = AttributeKey.DATABASE_USER.getKey();
@@ -75,15 +100,23 @@ public class JdbcBackedSessionMap extends SessionMap implements Closeable {
   private static String jdbcUser;
   private static String jdbcUrl;
   private final EventBus bus;
-  private final Connection connection;
+  private final JdbcConnectionPool pool;
+  private final JdbcBatcher<Session> inserts;
+  private final JdbcBatcher<SessionId> deletes;
 
   public JdbcBackedSessionMap(Tracer tracer, Connection jdbcConnection, EventBus bus) {
+    this(tracer, bus, JdbcConnectionPool.of(jdbcConnection));
+  }
+
+  JdbcBackedSessionMap(Tracer tracer, EventBus bus, JdbcConnectionPool pool) {
     super(tracer);
 
-    Require.nonNull("JDBC Connection Object", jdbcConnection);
+    this.pool = Require.nonNull("JDBC connection pool", pool);
     this.bus = Require.nonNull("Event bus", bus);
 
-    this.connection = jdbcConnection;
+    this.inserts = new JdbcBatcher<>(MAX_BATCH_SIZE, this::insert);
+    this.deletes = new JdbcBatcher<>(MAX_BATCH_SIZE, this::delete);
+
     this.bus.addListener(SessionClosedEvent.listener(this::remove));
 
     this.bus.addListener(
@@ -104,26 +137,28 @@ public static SessionMap create(Config config) {
 
     JdbcSessionMapOptions sessionMapOptions = new JdbcSessionMapOptions(config);
 
-    Connection connection;
+    jdbcUser = sessionMapOptions.getJdbcUser();
+    jdbcUrl = sessionMapOptions.getJdbcUrl();
+    JdbcConnectionPool pool =
+        new JdbcConnectionPool(
+            sessionMapOptions::getJdbcConnection,
+            sessionMapOptions.getJdbcPoolSize(),
+            ACQUIRE_TIMEOUT);
 
     try {
-      jdbcUser = sessionMapOptions.getJdbcUser();
-      jdbcUrl = sessionMapOptions.getJdbcUrl();
-      connection = sessionMapOptions.getJdbcConnection();
+      // Fail fast if the database cannot be reached.
+      pool.execute(connection -> null);
     } catch (SQLException e) {
+      pool.close();
       throw new ConfigException(e);
     }
 
-    return new JdbcBackedSessionMap(tracer, connection, bus);
+    return new JdbcBackedSessionMap(tracer, bus, pool);
   }
 
   @Override
   public boolean isReady() {
-    try {
-      return !connection.isClosed();
-    } catch (SQLException throwable) {
-      return false;
-    }
+    return pool.isReady();
   }
 
   @Override
@@ -146,33 +181,17 @@ public boolean add(Session session) {
       attributeMap.put(
           AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(session.getUri().toString()));
 
-      try (PreparedStatement statement =
-          connection.prepareStatement(
-              String.format(
-                  "insert into %1$s (%2$s, %3$s, %4$s, %5$s, %6$s) values (?, ?, ?, ?, ?)",
-                  TABLE_NAME,
-                  SESSION_ID_COL,
-                  SESSION_URI_COL,
-                  SESSION_STEREOTYPE_COL,
-                  SESSION_CAPS_COL,
-                  SESSION_START_COL))) {
-
-        statement.setString(1, session.getId().toString());
-        statement.setString(2, session.getUri().toString());
-        statement.setString(3, JSON.toJson(session.getStereotype()));
-        statement.setString(4, JSON.toJson(session.getCapabilities()));
-        statement.setString(5, JSON.toJson(session.getStartTime()));
-
-        String statementStr = statement.toString();
-        span.setAttribute(DATABASE_STATEMENT, statementStr);
+      try {
+        span.setAttribute(DATABASE_STATEMENT, INSERT_SQL);
         span.setAttribute(DATABASE_OPERATION, "insert");
-        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(statementStr));
+        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(INSERT_SQL));
         attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("insert"));
 
-        int rowCount = statement.executeUpdate();
+        int rowCount = inserts.write(session);
         attributeMap.put("rows.added", EventAttribute.setValue(rowCount));
         span.addEvent("Inserted into the database", attributeMap);
-        return rowCount >= 1;
+        // Drivers may report Statement.SUCCESS_NO_INFO for rows written in a batch
+        return rowCount != 0;
       } catch (SQLException e) {
         span.setAttribute("error", true);
         span.setStatus(Status.CANCELLED);
@@ -208,54 +227,66 @@ public Session get(SessionId id) throws NoSuchSessionException {
       setCommonSpanAttributes(span);
       setCommonEventAttributes(attributeMap);
 
-      try (PreparedStatement statement =
-          connection.prepareStatement(
-              String.format("select * from %1$s where %2$s = ?", TABLE_NAME, SESSION_ID_COL))) {
-
-        statement.setMaxRows(1);
-        statement.setString(1, id.toString());
-
-        String statementStr = statement.toString();
-        span.setAttribute(DATABASE_STATEMENT, statementStr);
+      try {
+        span.setAttribute(DATABASE_STATEMENT, SELECT_SQL);
         span.setAttribute(DATABASE_OPERATION, "select");
         attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("select"));
-        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(statementStr));
-
-        try (ResultSet sessions = statement.executeQuery()) {
-          if (!sessions.next()) {
-            NoSuchSessionException exception =
-                new NoSuchSessionException("Unable to find session.");
-            span.setAttribute("error", true);
-            span.setStatus(Status.NOT_FOUND);
-            EXCEPTION.accept(attributeMap, exception);
-            attributeMap.put(
-                AttributeKey.EXCEPTION_MESSAGE.getKey(),
-                EventAttribute.setValue(
-                    "Session id does not exist in the database :" + exception.getMessage()));
-            span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
-
-            throw exception;
-          }
+        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(SELECT_SQL));
+
+        Map<String, String> row =
+            pool.execute(
+                connection -> {
+                  PreparedStatement statement = connection.prepare(SELECT_SQL);
+                  statement.setMaxRows(1);
+                  statement.setString(1, id.toString());
+
+                  try (ResultSet sessions = statement.executeQuery()) {
+                    if (!sessions.next()) {
+                      return null;
+                    }
+
+                    Map<String, String> values = new HashMap<>();
+                    values.put(SESSION_URI_COL, sessions.getString(SESSION_URI_COL));
+                    values.put(SESSION_STEREOTYPE_COL, sessions.getString(SESSION_STEREOTYPE_COL));
+                    values.put(SESSION_CAPS_COL, sessions.getString(SESSION_CAPS_COL));
+                    values.put(SESSION_START_COL, sessions.getString(SESSION_START_COL));
+                    return values;
+                  }
+                });
+
+        if (row == null) {
+          NoSuchSessionException exception = new NoSuchSessionException("Unable to find session.");
+          span.setAttribute("error", true);
+          span.setStatus(Status.NOT_FOUND);
+          EXCEPTION.accept(attributeMap, exception);
+          attributeMap.put(
+              AttributeKey.EXCEPTION_MESSAGE.getKey(),
+              EventAttribute.setValue(
+                  "Session id does not exist in the database :" + exception.getMessage()));
+          span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+
+          throw exception;
+        }
 
-          rawUri = sessions.getString(SESSION_URI_COL);
+        rawUri = row.get(SESSION_URI_COL);
 
-          String rawStereotype = sessions.getString(SESSION_STEREOTYPE_COL);
+        String rawStereotype = row.get(SESSION_STEREOTYPE_COL);
 
-          stereotype =
-              rawStereotype == null
-                  ? new ImmutableCapabilities()
-                  : JSON.toType(rawStereotype, Capabilities.class);
+        stereotype =
+            rawStereotype == null
+                ? new ImmutableCapabilities()
+                : JSON.toType(rawStereotype, Capabilities.class);
 
-          String rawCapabilities = sessions.getString(SESSION_CAPS_COL);
+        String rawCapabilities = row.get(SESSION_CAPS_COL);
 
-          caps =
-              rawCapabilities == null
-                  ? new ImmutableCapabilities()
-                  : JSON.toType(rawCapabilities, Capabilities.class);
+        caps =
+            rawCapabilities == null
+                ? new ImmutableCapabilities()
+                : JSON.toType(rawCapabilities, Capabilities.class);
+
+        String rawStart = row.get(SESSION_START_COL);
+        start = JSON.toType(rawStart, Instant.class);
 
-          String rawStart = sessions.getString(SESSION_START_COL);
-          start = JSON.toType(rawStart, Instant.class);
-        }
         CAPABILITIES_EVENT.accept(attributeMap, caps);
 
         try {
@@ -291,6 +322,70 @@ public Session get(SessionId id) throws NoSuchSessionException {
     }
   }
 
+  @Override
+  public URI getUri(SessionId id) throws NoSuchSessionException {
+    Require.nonNull("Session ID", id);
+
+    Map<String, EventAttributeValue> attributeMap = new HashMap<>();
+
+    try (Span span =
+        tracer
+            .getCurrentContext()
+            .createSpan("SELECT session_uri from  sessions_map where session_ids = ?")) {
+      SESSION_ID.accept(span, id);
+      SESSION_ID_EVENT.accept(attributeMap, id);
+      setCommonSpanAttributes(span);
+      setCommonEventAttributes(attributeMap);
+      span.setAttribute(DATABASE_STATEMENT, SELECT_URI_SQL);
+      span.setAttribute(DATABASE_OPERATION, "select");
+      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("select"));
+      attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(SELECT_URI_SQL));
+
+      String rawUri;
+      try {
+        rawUri =
+            pool.execute(
+                connection -> {
+                  PreparedStatement statement = connection.prepare(SELECT_URI_SQL);
+                  statement.setMaxRows(1);
+                  statement.setString(1, id.toString());
+
+                  try (ResultSet sessions = statement.executeQuery()) {
+                    return sessions.next() ? sessions.getString(SESSION_URI_COL) : null;
+                  }
+                });
+      } catch (SQLException e) {
+        span.setAttribute("error", true);
+        span.setStatus(Status.CANCELLED);
+        EXCEPTION.accept(attributeMap, e);
+        attributeMap.put(
+            AttributeKey.EXCEPTION_MESSAGE.getKey(),
+            EventAttribute.setValue(
+                "Unable to get session information from the database: " + e.getMessage()));
+        span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+        throw new JdbcException(e);
+      }
+
+      if (rawUri == null) {
+        NoSuchSessionException exception = new NoSuchSessionException("Unable to find session.");
+        span.setAttribute("error", true);
+        span.setStatus(Status.NOT_FOUND);
+        EXCEPTION.accept(attributeMap, exception);
+        span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+        throw exception;
+      }
+
+      try {
+        attributeMap.put(AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(rawUri));
+        span.addEvent("Retrieved session uri from the database", attributeMap);
+        return new URI(rawUri);
+      } catch (URISyntaxException e) {
+        throw new NoSuchSessionException(
+            String.format("Unable to convert session id (%s) to uri: %s", id, rawUri), e);
+      }
+    }
+  }
+
   @Override
   public void remove(SessionId id) {
     Require.nonNull("Session ID", id);
@@ -302,18 +397,13 @@ public void remove(SessionId id) {
       setCommonSpanAttributes(span);
       setCommonEventAttributes(attributeMap);
 
-      try (PreparedStatement statement =
-          connection.prepareStatement(
-              String.format("delete from %1$s where %2$s = ?", TABLE_NAME, SESSION_ID_COL))) {
-
-        statement.setString(1, id.toString());
-        String statementStr = statement.toString();
-        span.setAttribute(DATABASE_STATEMENT, statementStr);
+      try {
+        span.setAttribute(DATABASE_STATEMENT, DELETE_SQL);
         span.setAttribute(DATABASE_OPERATION, "delete");
-        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(statementStr));
+        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(DELETE_SQL));
         attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("delete"));
 
-        int rowCount = statement.executeUpdate();
+        int rowCount = deletes.write(id);
         attributeMap.put("rows.deleted", EventAttribute.setValue(rowCount));
         span.addEvent("Deleted session from the database", attributeMap);
 
@@ -337,18 +427,19 @@ public void removeByUri(URI sessionUri) {
         tracer.getCurrentContext().createSpan("DELETE from  sessions_map where session_uri = ?")) {
       Map<String, EventAttributeValue> attributeMap = new HashMap<>();
 
-      try (PreparedStatement statement =
-          connection.prepareStatement(
-              String.format("delete from %1$s where %2$s = ?", TABLE_NAME, SESSION_URI_COL))) {
-
-        statement.setString(1, sessionUri.toString());
-        String statementStr = statement.toString();
-        span.setAttribute(DATABASE_STATEMENT, statementStr);
+      try {
+        span.setAttribute(DATABASE_STATEMENT, DELETE_BY_URI_SQL);
         span.setAttribute(DATABASE_OPERATION, "delete");
-        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(statementStr));
+        attributeMap.put(DATABASE_STATEMENT, EventAttribute.setValue(DELETE_BY_URI_SQL));
         attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("delete"));
 
-        int rowCount = statement.executeUpdate();
+        int rowCount =
+            pool.execute(
+                connection -> {
+                  PreparedStatement statement = connection.prepare(DELETE_BY_URI_SQL);
+                  statement.setString(1, sessionUri.toString());
+                  return statement.executeUpdate();
+                });
         attributeMap.put("rows.deleted", EventAttribute.setValue(rowCount));
         span.addEvent("Deleted session from the database", attributeMap);
 
@@ -368,11 +459,61 @@ public void removeByUri(URI sessionUri) {
 
   @Override
   public void close() {
-    try {
-      connection.close();
-    } catch (SQLException e) {
-      LOG.warning("SQL exception while closing JDBC Connection:" + e.getMessage());
-    }
+    pool.close();
+  }
+
+  private int[] insert(List<Session> sessions) throws SQLException {
+    return executeBatch(
+        INSERT_SQL,
+        sessions,
+        (statement, session) -> {
+          statement.setString(1, session.getId().toString());
+          statement.setString(2, session.getUri().toString());
+          statement.setString(3, JSON.toJson(session.getStereotype()));
+          statement.setString(4, JSON.toJson(session.getCapabilities()));
+          statement.setString(5, JSON.toJson(session.getStartTime()));
+        });
+  }
+
+  private int[] delete(List<SessionId> ids) throws SQLException {
+    return executeBatch(DELETE_SQL, ids, (statement, id) -> statement.setString(1, id.toString()));
+  }
+
+  private <T> int[] executeBatch(String sql, List<T> items, ParameterSetter<T> setter)
+      throws SQLException {
+    return pool.execute(
+        connection -> {
+          PreparedStatement statement = connection.prepare(sql);
+
+          if (items.size() == 1) {
+            setter.setParameters(statement, items.get(0));
+            return new int[] {statement.executeUpdate()};
+          }
+
+          Connection jdbcConnection = connection.getConnection();
+          boolean autoCommit = jdbcConnection.getAutoCommit();
+          jdbcConnection.setAutoCommit(false);
+          try {
+            for (T item : items) {
+              setter.setParameters(statement, item);
+              statement.addBatch();
+            }
+            int[] rowCounts = statement.executeBatch();
+            jdbcConnection.commit();
+            return rowCounts;
+          } catch (SQLException e) {
+            statement.clearBatch();
+            jdbcConnection.rollback();
+            throw e;
+          } finally {
+            jdbcConnection.setAutoCommit(autoCommit);
+          }
+        });
+  }
+
+  @FunctionalInterface
+  private interface ParameterSetter<T> {
+    void setParameters(PreparedStatement statement, T item) throws SQLException;
   }
 
   private void setCommonSpanAttributes(Span span) {
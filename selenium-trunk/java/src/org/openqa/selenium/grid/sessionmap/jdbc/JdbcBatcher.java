@@ -0,0 +1,133 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionmap.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Groups writes that arrive at the same time into a single batch. Every caller waits for its own
+ * write to be done, but while one batch is being written, any writes that arrive queue up and go
+ * out together in the next one. A caller on its own pays no extra cost, and a burst of callers
+ * shares a handful of round trips to the database instead of one each.
+ */
+class JdbcBatcher<T> {
+
+  private final ConcurrentLinkedQueue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+  private final Lock lock = new ReentrantLock();
+  private final int maxBatchSize;
+  private final BatchWriter<T> writer;
+
+  JdbcBatcher(int maxBatchSize, BatchWriter<T> writer) {
+    this.maxBatchSize = Require.positive("Max batch size", maxBatchSize);
+    this.writer = Require.nonNull("Batch writer", writer);
+  }
+
+  /**
+   * @return the number of rows affected by writing {@code item}.
+   */
+  int write(T item) throws SQLException {
+    Entry<T> entry = new Entry<>(Require.nonNull("Item", item));
+    pending.add(entry);
+
+    while (!entry.done) {
+      lock.lock();
+      try {
+        if (!entry.done) {
+          writeBatch();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    if (entry.failure != null) {
+      throw entry.failure;
+    }
+    return entry.rowCount;
+  }
+
+  private void writeBatch() {
+    List<Entry<T>> batch = new ArrayList<>();
+    Entry<T> next;
+    while (batch.size() < maxBatchSize && (next = pending.poll()) != null) {
+      batch.add(next);
+    }
+
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    List<T> items = new ArrayList<>(batch.size());
+    batch.forEach(entry -> items.add(entry.item));
+
+    try {
+      int[] rowCounts = writer.write(items);
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).complete(rowCounts[i], null);
+      }
+    } catch (SQLException | RuntimeException e) {
+      if (batch.size() == 1) {
+        batch.get(0).complete(0, asSqlException(e));
+        return;
+      }
+      // Don't let one bad row fail everyone else's writes.
+      for (Entry<T> entry : batch) {
+        try {
+          entry.complete(writer.write(List.of(entry.item))[0], null);
+        } catch (SQLException | RuntimeException individual) {
+          entry.complete(0, asSqlException(individual));
+        }
+      }
+    }
+  }
+
+  private static SQLException asSqlException(Exception e) {
+    return e instanceof SQLException ? (SQLException) e : new SQLException(e);
+  }
+
+  @FunctionalInterface
+  interface BatchWriter<T> {
+    /**
+     * @return the number of rows affected by each item, in the same order as {@code items}.
+     */
+    int[] write(List<T> items) throws SQLException;
+  }
+
+  private static class Entry<T> {
+    private final T item;
+    private volatile boolean done;
+    private int rowCount;
+    private SQLException failure;
+
+    private Entry(T item) {
+      this.item = item;
+    }
+
+    private void complete(int rowCount, SQLException failure) {
+      this.rowCount = rowCount;
+      this.failure = failure;
+      this.done = true;
+    }
+  }
+}
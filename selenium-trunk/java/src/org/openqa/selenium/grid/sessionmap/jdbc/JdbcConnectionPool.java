@@ -0,0 +1,205 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionmap.jdbc;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * A small, bounded pool of JDBC connections. Each connection keeps the statements prepared on it,
+ * so that the same SQL is only prepared once per connection. Connections that have been idle for a
+ * while are checked before they are handed out, and any connection that fails a check, or fails
+ * while in use, is thrown away and replaced.
+ */
+class JdbcConnectionPool implements Closeable {
+
+  private static final Logger LOG = Logger.getLogger(JdbcConnectionPool.class.getName());
+  private static final Duration VALIDATE_AFTER_IDLE = Duration.ofSeconds(30);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private final ConnectionFactory factory;
+  private final Duration acquireTimeout;
+  private final Semaphore permits;
+  // Used as a stack, so that the most recently used connections are handed out first, and the
+  // rest are left to idle.
+  private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+  private volatile boolean closed;
+
+  JdbcConnectionPool(ConnectionFactory factory, int maxSize, Duration acquireTimeout) {
+    this.factory = Require.nonNull("Connection factory", factory);
+    this.acquireTimeout = Require.nonNegative("Acquire timeout", acquireTimeout);
+    this.permits = new Semaphore(Require.positive("Pool size", maxSize), true);
+  }
+
+  /** Wraps a single connection that is owned by the caller. */
+  static JdbcConnectionPool of(Connection connection) {
+    Require.nonNull("JDBC Connection Object", connection);
+    return new JdbcConnectionPool(() -> connection, 1, Duration.ofMinutes(1));
+  }
+
+  <T> T execute(Work<T> work) throws SQLException {
+    Require.nonNull("Work", work);
+
+    if (closed) {
+      throw new SQLException("Connection pool has been closed");
+    }
+
+    try {
+      if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new SQLException("Timed out waiting for a database connection");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection", e);
+    }
+
+    try {
+      PooledConnection connection = borrow();
+      boolean healthy = false;
+      try {
+        T result = work.execute(connection);
+        healthy = true;
+        return result;
+      } catch (SQLException | RuntimeException e) {
+        healthy = isValid(connection);
+        throw e;
+      } finally {
+        if (healthy && !closed) {
+          connection.lastUsed = Instant.now();
+          idle.addFirst(connection);
+        } else {
+          connection.close();
+        }
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  boolean isReady() {
+    if (closed) {
+      return false;
+    }
+
+    try {
+      return execute(connection -> !connection.getConnection().isClosed());
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+
+    PooledConnection connection;
+    while ((connection = idle.pollFirst()) != null) {
+      connection.close();
+    }
+  }
+
+  private PooledConnection borrow() throws SQLException {
+    PooledConnection connection;
+    while ((connection = idle.pollFirst()) != null) {
+      Duration idleFor = Duration.between(connection.lastUsed, Instant.now());
+      if (idleFor.compareTo(VALIDATE_AFTER_IDLE) < 0 || isValid(connection)) {
+        return connection;
+      }
+      connection.close();
+    }
+
+    return new PooledConnection(factory.connect());
+  }
+
+  private boolean isValid(PooledConnection connection) {
+    try {
+      return connection.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  @FunctionalInterface
+  interface ConnectionFactory {
+    Connection connect() throws SQLException;
+  }
+
+  @FunctionalInterface
+  interface Work<T> {
+    T execute(PooledConnection connection) throws SQLException;
+  }
+
+  static class PooledConnection {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private Instant lastUsed = Instant.now();
+
+    private PooledConnection(Connection connection) {
+      this.connection = Require.nonNull("Connection", connection);
+    }
+
+    Connection getConnection() {
+      return connection;
+    }
+
+    /**
+     * Returns a statement for the given SQL, preparing it the first time it is asked for. The
+     * statement belongs to the pool, so callers must not close it.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+      PreparedStatement statement = statements.get(sql);
+      if (statement == null || statement.isClosed()) {
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+      } else {
+        statement.clearParameters();
+      }
+      return statement;
+    }
+
+    private void close() {
+      for (PreparedStatement statement : statements.values()) {
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          LOG.log(Level.FINE, "Unable to close prepared statement", e);
+        }
+      }
+      statements.clear();
+
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        LOG.log(Level.FINE, "Unable to close JDBC connection", e);
+      }
+    }
+  }
+}
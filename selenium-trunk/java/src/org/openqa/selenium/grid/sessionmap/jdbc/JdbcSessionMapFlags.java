@@ -47,6 +47,12 @@ public class JdbcSessionMapFlags implements HasRoles {
   @ConfigValue(section = "sessions", name = "jdbc-password", example = "hunter2")
   private String password;
 
+  @Parameter(
+      names = "--jdbc-pool-size",
+      description = "Maximum number of JDBC connections the session map will open.")
+  @ConfigValue(section = "sessions", name = "jdbc-pool-size", example = "8")
+  private Integer poolSize;
+
   @Override
   public Set<Role> getRoles() {
     return Collections.singleton(SESSION_MAP_ROLE);
@@ -27,10 +27,12 @@
 public class JdbcSessionMapOptions {
 
   private static final String SESSIONS_SECTION = "sessions";
+  private static final int DEFAULT_POOL_SIZE = 8;
 
   private final String jdbcUrl;
   private final String jdbcUser;
   private final String jdbcPassword;
+  private final int jdbcPoolSize;
 
   public JdbcSessionMapOptions(Config config) {
     Require.nonNull("Config", config);
@@ -39,6 +41,13 @@ public JdbcSessionMapOptions(Config config) {
       this.jdbcUrl = config.get(SESSIONS_SECTION, "jdbc-url").orElse("");
       this.jdbcUser = config.get(SESSIONS_SECTION, "jdbc-user").orElse("");
       this.jdbcPassword = config.get(SESSIONS_SECTION, "jdbc-password").orElse("");
+      this.jdbcPoolSize =
+          config.getInt(SESSIONS_SECTION, "jdbc-pool-size").orElse(DEFAULT_POOL_SIZE);
+
+      if (jdbcPoolSize < 1) {
+        throw new JdbcException(
+            "JDBC pool size must be at least 1. Check the value of --jdbc-pool-size");
+      }
 
       if (jdbcUrl.isEmpty()) {
         throw new JdbcException(
@@ -62,4 +71,8 @@ public String getJdbcUrl() {
   public String getJdbcUser() {
     return jdbcUser;
   }
+
+  public int getJdbcPoolSize() {
+    return jdbcPoolSize;
+  }
 }
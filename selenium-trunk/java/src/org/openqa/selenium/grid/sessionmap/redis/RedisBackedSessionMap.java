@@ -24,9 +24,11 @@
 import static org.openqa.selenium.remote.tracing.Tags.EXCEPTION;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ObjectArrays;
 import io.lettuce.core.KeyValue;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
@@ -56,27 +58,46 @@
 import org.openqa.selenium.remote.tracing.Status;
 import org.openqa.selenium.remote.tracing.Tracer;
 
+/**
+ * Stores each session as a single Redis hash ({@code session:<id>}), so that it can be read back in
+ * one round trip. The ids of the sessions running on each node are kept in a set ({@code
+ * node-sessions:<uri>}), so that removing every session on a node does not need to walk the whole
+ * keyspace.
+ *
+ * <p>Earlier versions stored each field of a session under its own key ({@code session:<id>:uri},
+ * {@code session:<id>:capabilities} and so on). Sessions stored that way are moved to the new
+ * layout when the session map starts, and whenever one is read.
+ */
 public class RedisBackedSessionMap extends SessionMap {
 
   private static final Logger LOG = Logger.getLogger(RedisBackedSessionMap.class.getName());
   private static final Json JSON = new Json();
+  private static final String URI_FIELD = "uri";
+  private static final String CAPABILITIES_FIELD = "capabilities";
+  private static final String STEREOTYPE_FIELD = "stereotype";
+  private static final String START_FIELD = "start";
+  private static final String REDIS_SESSION_KEY = "session.key";
   private static final String REDIS_URI_KEY = "session.uri_key";
   private static final String REDIS_URI_VALUE = "session.uri_value";
-  private static final String REDIS_CAPABILITIES_KEY = "session.capabilities_key";
   private static final String REDIS_CAPABILITIES_VALUE = "session.capabilities_value";
-  private static final String REDIS_START_KEY = "session.start";
   private static final String REDIS_START_VALUE = "session.start_value";
   private static final String DATABASE_SYSTEM = AttributeKey.DATABASE_SYSTEM.getKey();
   private static final String DATABASE_OPERATION = AttributeKey.DATABASE_OPERATION.getKey();
   private final GridRedisClient connection;
   private final EventBus bus;
   private final URI serverUri;
+  private final Duration sessionTtl;
 
   public RedisBackedSessionMap(Tracer tracer, URI serverUri, EventBus bus) {
+    this(tracer, serverUri, bus, Duration.ZERO);
+  }
+
+  public RedisBackedSessionMap(Tracer tracer, URI serverUri, EventBus bus, Duration sessionTtl) {
     super(tracer);
 
     Require.nonNull("Redis Server Uri", serverUri);
     this.bus = Require.nonNull("Event bus", bus);
+    this.sessionTtl = Require.nonNegative("Session TTL", sessionTtl);
     this.connection = new GridRedisClient(serverUri);
     this.serverUri = serverUri;
     this.bus.addListener(SessionClosedEvent.listener(this::remove));
@@ -91,24 +112,24 @@ public RedisBackedSessionMap(Tracer tracer, URI serverUri, EventBus bus) {
 
     bus.addListener(
         NodeRestartedEvent.listener(nodeStatus -> this.removeByUri(nodeStatus.getExternalUri())));
+
+    migrateLegacySessions();
   }
 
   public static SessionMap create(Config config) {
     Tracer tracer = new LoggingOptions(config).getTracer();
     EventBus bus = new EventBusOptions(config).getEventBus();
     URI sessionMapUri = new SessionMapOptions(config).getSessionMapUri();
+    Duration sessionTtl = new RedisSessionMapOptions(config).getSessionTtl();
 
-    return new RedisBackedSessionMap(tracer, sessionMapUri, bus);
+    return new RedisBackedSessionMap(tracer, sessionMapUri, bus, sessionTtl);
   }
 
   @Override
   public boolean add(Session session) {
     Require.nonNull("Session to add", session);
 
-    try (Span span =
-        tracer
-            .getCurrentContext()
-            .createSpan("MSET sessionUriKey <sessionUri> capabilitiesKey <capabilities> ")) {
+    try (Span span = tracer.getCurrentContext().createSpan("HSET sessionKey <session>")) {
       Map<String, EventAttributeValue> attributeMap = new HashMap<>();
       SESSION_ID.accept(span, session.getId());
       SESSION_ID_EVENT.accept(attributeMap, session.getId());
@@ -117,35 +138,32 @@ public boolean add(Session session) {
       setCommonSpanAttributes(span);
       setCommonEventAttributes(attributeMap);
 
-      String uriKey = uriKey(session.getId());
+      String sessionKey = sessionKey(session.getId());
       String uriValue = session.getUri().toString();
-      String stereotypeKey = stereotypeKey(session.getId());
-      String stereotypeJson = JSON.toJson(session.getStereotype());
-      String capabilitiesKey = capabilitiesKey(session.getId());
       String capabilitiesJson = JSON.toJson(session.getCapabilities());
-      String startKey = startKey(session.getId());
       String startValue = JSON.toJson(session.getStartTime());
 
-      span.setAttribute(REDIS_URI_KEY, uriKey);
+      span.setAttribute(REDIS_SESSION_KEY, sessionKey);
       span.setAttribute(REDIS_URI_VALUE, uriValue);
-      span.setAttribute(REDIS_CAPABILITIES_KEY, capabilitiesKey);
       span.setAttribute(REDIS_CAPABILITIES_VALUE, capabilitiesJson);
-      span.setAttribute(DATABASE_OPERATION, "MSET");
-      attributeMap.put(REDIS_URI_KEY, EventAttribute.setValue(uriKey));
+      span.setAttribute(DATABASE_OPERATION, "HSET");
+      attributeMap.put(REDIS_SESSION_KEY, EventAttribute.setValue(sessionKey));
       attributeMap.put(REDIS_URI_VALUE, EventAttribute.setValue(uriValue));
-      attributeMap.put(REDIS_CAPABILITIES_KEY, EventAttribute.setValue(capabilitiesKey));
       attributeMap.put(REDIS_CAPABILITIES_VALUE, EventAttribute.setValue(capabilitiesJson));
-      attributeMap.put(REDIS_START_KEY, EventAttribute.setValue(startKey));
       attributeMap.put(REDIS_START_VALUE, EventAttribute.setValue(startValue));
-      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("MSET"));
+      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("HSET"));
 
       span.addEvent("Inserted into the database", attributeMap);
-      connection.mset(
+      connection.hsetAndIndex(
+          sessionKey,
           ImmutableMap.of(
-              uriKey, uriValue,
-              stereotypeKey, stereotypeJson,
-              capabilitiesKey, capabilitiesJson,
-              startKey, startValue));
+              URI_FIELD, uriValue,
+              STEREOTYPE_FIELD, JSON.toJson(session.getStereotype()),
+              CAPABILITIES_FIELD, capabilitiesJson,
+              START_FIELD, startValue),
+          nodeKey(uriValue),
+          session.getId().toString(),
+          sessionTtl);
 
       return true;
     }
@@ -155,29 +173,32 @@ public boolean add(Session session) {
   public Session get(SessionId id) throws NoSuchSessionException {
     Require.nonNull("Session ID", id);
 
-    try (Span span = tracer.getCurrentContext().createSpan("GET capabilitiesKey")) {
+    try (Span span = tracer.getCurrentContext().createSpan("HGETALL sessionKey")) {
       Map<String, EventAttributeValue> attributeMap = new HashMap<>();
       SESSION_ID.accept(span, id);
       SESSION_ID_EVENT.accept(attributeMap, id);
       setCommonSpanAttributes(span);
       setCommonEventAttributes(attributeMap);
-      span.setAttribute(DATABASE_OPERATION, "GET");
-      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("GET"));
-
-      URI uri = getUri(id);
-
-      attributeMap.put(REDIS_URI_KEY, EventAttribute.setValue(uriKey(id)));
-      attributeMap.put(AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(uri.toString()));
+      span.setAttribute(DATABASE_OPERATION, "HGETALL");
+      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("HGETALL"));
 
-      String capabilitiesKey = capabilitiesKey(id);
-      String rawCapabilities = connection.get(capabilitiesKey);
+      String sessionKey = sessionKey(id);
+      span.setAttribute(REDIS_SESSION_KEY, sessionKey);
+      attributeMap.put(REDIS_SESSION_KEY, EventAttribute.setValue(sessionKey));
 
-      String stereotypeKey = stereotypeKey(id);
-      String rawStereotype = connection.get(stereotypeKey);
+      Map<String, String> fields = connection.hgetall(sessionKey);
+      if (fields.isEmpty()) {
+        fields = readLegacySession(id);
+      }
 
-      span.setAttribute(REDIS_CAPABILITIES_KEY, capabilitiesKey);
-      attributeMap.put(REDIS_CAPABILITIES_KEY, EventAttribute.setValue(capabilitiesKey));
+      String rawUri = fields.get(URI_FIELD);
+      if (rawUri == null) {
+        throw noSuchSession(span, attributeMap);
+      }
+      URI uri = toUri(id, rawUri, span, attributeMap);
+      attributeMap.put(AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(rawUri));
 
+      String rawCapabilities = fields.get(CAPABILITIES_FIELD);
       if (rawCapabilities != null) {
         span.setAttribute(REDIS_CAPABILITIES_VALUE, rawCapabilities);
       }
@@ -187,13 +208,13 @@ public Session get(SessionId id) throws NoSuchSessionException {
               ? new ImmutableCapabilities()
               : JSON.toType(rawCapabilities, Capabilities.class);
 
+      String rawStereotype = fields.get(STEREOTYPE_FIELD);
       Capabilities stereotype =
           rawStereotype == null
               ? new ImmutableCapabilities()
               : JSON.toType(rawStereotype, Capabilities.class);
 
-      String rawStart = connection.get(startKey(id));
-      Instant start = JSON.toType(rawStart, Instant.class);
+      Instant start = JSON.toType(fields.get(START_FIELD), Instant.class);
 
       CAPABILITIES.accept(span, caps);
       CAPABILITIES_EVENT.accept(attributeMap, caps);
@@ -207,56 +228,32 @@ public Session get(SessionId id) throws NoSuchSessionException {
   public URI getUri(SessionId id) throws NoSuchSessionException {
     Require.nonNull("Session ID", id);
 
-    try (Span span = tracer.getCurrentContext().createSpan("GET sessionURI")) {
+    try (Span span = tracer.getCurrentContext().createSpan("HGET sessionKey uri")) {
       Map<String, EventAttributeValue> attributeMap = new HashMap<>();
       SESSION_ID.accept(span, id);
       SESSION_ID_EVENT.accept(attributeMap, id);
       setCommonSpanAttributes(span);
       setCommonEventAttributes(attributeMap);
-      span.setAttribute(DATABASE_OPERATION, "GET");
-      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("GET"));
-
-      String uriKey = uriKey(id);
-      List<KeyValue<String, String>> rawValues = connection.mget(uriKey);
+      span.setAttribute(DATABASE_OPERATION, "HGET");
+      attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("HGET"));
 
-      String rawUri = rawValues.get(0).getValueOrElse(null);
+      String sessionKey = sessionKey(id);
+      span.setAttribute(REDIS_SESSION_KEY, sessionKey);
+      attributeMap.put(REDIS_SESSION_KEY, EventAttribute.setValue(sessionKey));
 
-      span.setAttribute(REDIS_URI_KEY, uriKey);
-      attributeMap.put(REDIS_URI_KEY, EventAttribute.setValue(uriKey));
+      String rawUri = connection.hget(sessionKey, URI_FIELD);
+      if (rawUri == null) {
+        rawUri = readLegacySession(id).get(URI_FIELD);
+      }
 
       if (rawUri == null) {
-        NoSuchSessionException exception = new NoSuchSessionException("Unable to find session.");
-        span.setAttribute("error", true);
-        span.setStatus(Status.NOT_FOUND);
-        EXCEPTION.accept(attributeMap, exception);
-        attributeMap.put(
-            AttributeKey.EXCEPTION_MESSAGE.getKey(),
-            EventAttribute.setValue(
-                "Session URI does not exist in the database :" + exception.getMessage()));
-        span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
-
-        throw exception;
+        throw noSuchSession(span, attributeMap);
       }
 
       span.setAttribute(REDIS_URI_VALUE, rawUri);
-      attributeMap.put(REDIS_URI_KEY, EventAttribute.setValue(uriKey));
       attributeMap.put(REDIS_URI_VALUE, EventAttribute.setValue(rawUri));
 
-      try {
-        return new URI(rawUri);
-      } catch (URISyntaxException e) {
-        span.setAttribute("error", true);
-        span.setStatus(Status.INTERNAL);
-        EXCEPTION.accept(attributeMap, e);
-        attributeMap.put(AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(rawUri));
-        attributeMap.put(
-            AttributeKey.EXCEPTION_MESSAGE.getKey(),
-            EventAttribute.setValue("Unable to convert session id to uri: " + e.getMessage()));
-        span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
-
-        throw new NoSuchSessionException(
-            String.format("Unable to convert session id (%s) to uri: %s", id, rawUri), e);
-      }
+      return toUri(id, rawUri, span, attributeMap);
     }
   }
 
@@ -264,7 +261,7 @@ public URI getUri(SessionId id) throws NoSuchSessionException {
   public void remove(SessionId id) {
     Require.nonNull("Session ID", id);
 
-    try (Span span = tracer.getCurrentContext().createSpan("DEL sessionUriKey capabilitiesKey")) {
+    try (Span span = tracer.getCurrentContext().createSpan("DEL sessionKey")) {
       Map<String, EventAttributeValue> attributeMap = new HashMap<>();
       SESSION_ID.accept(span, id);
       SESSION_ID_EVENT.accept(attributeMap, id);
@@ -273,43 +270,29 @@ public void remove(SessionId id) {
       span.setAttribute(DATABASE_OPERATION, "DEL");
       attributeMap.put(DATABASE_OPERATION, EventAttribute.setValue("DEL"));
 
-      String uriKey = uriKey(id);
-      String capabilitiesKey = capabilitiesKey(id);
-      String stereotypeKey = stereotypeKey(id);
-      String startKey = startKey(id);
-      span.setAttribute(REDIS_URI_KEY, uriKey);
-      span.setAttribute(REDIS_CAPABILITIES_KEY, capabilitiesKey);
-      span.setAttribute(REDIS_START_KEY, startKey);
-      attributeMap.put(REDIS_URI_KEY, EventAttribute.setValue(uriKey));
-      attributeMap.put(REDIS_CAPABILITIES_KEY, EventAttribute.setValue(capabilitiesKey));
-      attributeMap.put(REDIS_START_KEY, EventAttribute.setValue(startKey));
+      String sessionKey = sessionKey(id);
+      span.setAttribute(REDIS_SESSION_KEY, sessionKey);
+      attributeMap.put(REDIS_SESSION_KEY, EventAttribute.setValue(sessionKey));
 
       span.addEvent("Deleted session from the database", attributeMap);
 
-      connection.del(uriKey, capabilitiesKey, stereotypeKey, startKey);
+      // The keys of the old layout are deleted too, in case a server that still uses them has
+      // stored the session since we started.
+      String[] keys = ObjectArrays.concat(sessionKey, legacyKeys(id));
+
+      String rawUri = connection.hget(sessionKey, URI_FIELD);
+      if (rawUri == null) {
+        connection.del(keys);
+      } else {
+        connection.delAndUnindex(nodeKey(rawUri), id.toString(), keys);
+      }
     }
   }
 
   public void removeByUri(URI uri) {
-    List<String> uriKeys = connection.getKeysByPattern("session:*:uri");
-
-    if (uriKeys.isEmpty()) {
-      return;
-    }
+    Require.nonNull("Node URI", uri);
 
-    String[] keys = new String[uriKeys.size()];
-    keys = uriKeys.toArray(keys);
-
-    List<KeyValue<String, String>> keyValues = connection.mget(keys);
-    keyValues.stream()
-        .filter(entry -> entry.getValue().equals(uri.toString()))
-        .map(KeyValue::getKey)
-        .map(
-            key -> {
-              String[] sessionKey = key.split(":");
-              return new SessionId(sessionKey[1]);
-            })
-        .forEach(this::remove);
+    connection.smembers(nodeKey(uri.toString())).stream().map(SessionId::new).forEach(this::remove);
   }
 
   @Override
@@ -317,28 +300,94 @@ public boolean isReady() {
     return connection.isOpen();
   }
 
-  private String uriKey(SessionId id) {
-    Require.nonNull("Session ID", id);
+  private void migrateLegacySessions() {
+    List<String> uriKeys = connection.scanKeysByPattern("session:*:uri");
+    if (uriKeys.isEmpty()) {
+      return;
+    }
 
-    return "session:" + id.toString() + ":uri";
+    LOG.info(
+        String.format(
+            "Moving %d sessions stored by an earlier version of the Redis session map",
+            uriKeys.size()));
+    uriKeys.stream().map(key -> new SessionId(key.split(":")[1])).forEach(this::readLegacySession);
   }
 
-  private String capabilitiesKey(SessionId id) {
-    Require.nonNull("Session ID", id);
+  /**
+   * Reads a session stored in the old layout, and moves it to the new one.
+   *
+   * @return the fields of the session, or an empty map if it was not stored in the old layout.
+   */
+  private Map<String, String> readLegacySession(SessionId id) {
+    String[] legacyKeys = legacyKeys(id);
+    List<KeyValue<String, String>> values = connection.mget(legacyKeys);
+
+    String rawUri = values.get(0).getValueOrElse(null);
+    if (rawUri == null) {
+      return ImmutableMap.of();
+    }
+
+    Map<String, String> fields = new HashMap<>();
+    fields.put(URI_FIELD, rawUri);
+    values.get(1).ifHasValue(value -> fields.put(CAPABILITIES_FIELD, value));
+    values.get(2).ifHasValue(value -> fields.put(STEREOTYPE_FIELD, value));
+    values.get(3).ifHasValue(value -> fields.put(START_FIELD, value));
 
-    return "session:" + id.toString() + ":capabilities";
+    connection.hsetAndIndex(sessionKey(id), fields, nodeKey(rawUri), id.toString(), sessionTtl);
+    connection.del(legacyKeys);
+
+    return fields;
   }
 
-  private String startKey(SessionId id) {
-    Require.nonNull("Session ID", id);
+  private NoSuchSessionException noSuchSession(
+      Span span, Map<String, EventAttributeValue> attributeMap) {
+    NoSuchSessionException exception = new NoSuchSessionException("Unable to find session.");
+    span.setAttribute("error", true);
+    span.setStatus(Status.NOT_FOUND);
+    EXCEPTION.accept(attributeMap, exception);
+    attributeMap.put(
+        AttributeKey.EXCEPTION_MESSAGE.getKey(),
+        EventAttribute.setValue(
+            "Session URI does not exist in the database :" + exception.getMessage()));
+    span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+    return exception;
+  }
 
-    return "session:" + id.toString() + ":start";
+  private URI toUri(
+      SessionId id, String rawUri, Span span, Map<String, EventAttributeValue> attributeMap) {
+    try {
+      return new URI(rawUri);
+    } catch (URISyntaxException e) {
+      span.setAttribute("error", true);
+      span.setStatus(Status.INTERNAL);
+      EXCEPTION.accept(attributeMap, e);
+      attributeMap.put(AttributeKey.SESSION_URI.getKey(), EventAttribute.setValue(rawUri));
+      attributeMap.put(
+          AttributeKey.EXCEPTION_MESSAGE.getKey(),
+          EventAttribute.setValue("Unable to convert session id to uri: " + e.getMessage()));
+      span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+
+      throw new NoSuchSessionException(
+          String.format("Unable to convert session id (%s) to uri: %s", id, rawUri), e);
+    }
   }
 
-  private String stereotypeKey(SessionId id) {
+  private String sessionKey(SessionId id) {
     Require.nonNull("Session ID", id);
 
-    return "session:" + id.toString() + ":stereotype";
+    return "session:" + id;
+  }
+
+  private String nodeKey(String uri) {
+    return "node-sessions:" + uri;
+  }
+
+  /** The keys a session was stored under in the old layout, in the order they are read. */
+  private String[] legacyKeys(SessionId id) {
+    String prefix = "session:" + id;
+    return new String[] {
+      prefix + ":uri", prefix + ":capabilities", prefix + ":stereotype", prefix + ":start"
+    };
   }
 
   private void setCommonSpanAttributes(Span span) {
@@ -0,0 +1,46 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionmap.redis;
+
+import static org.openqa.selenium.grid.config.StandardGridRoles.SESSION_MAP_ROLE;
+
+import com.beust.jcommander.Parameter;
+import com.google.auto.service.AutoService;
+import java.util.Collections;
+import java.util.Set;
+import org.openqa.selenium.grid.config.ConfigValue;
+import org.openqa.selenium.grid.config.HasRoles;
+import org.openqa.selenium.grid.config.Role;
+
+@AutoService(HasRoles.class)
+public class RedisSessionMapFlags implements HasRoles {
+
+  @Parameter(
+      names = "--redis-session-ttl",
+      description =
+          "Number of seconds after which a session is removed from Redis, even if nothing has"
+              + " told the session map it has gone. 0 means sessions are kept until they are"
+              + " removed.")
+  @ConfigValue(section = "sessions", name = "redis-session-ttl", example = "86400")
+  private Integer sessionTtl;
+
+  @Override
+  public Set<Role> getRoles() {
+    return Collections.singleton(SESSION_MAP_ROLE);
+  }
+}
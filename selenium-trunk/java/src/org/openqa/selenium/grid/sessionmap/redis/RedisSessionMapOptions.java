@@ -0,0 +1,43 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionmap.redis;
+
+import java.time.Duration;
+import org.openqa.selenium.grid.config.Config;
+import org.openqa.selenium.grid.config.ConfigException;
+import org.openqa.selenium.internal.Require;
+
+public class RedisSessionMapOptions {
+
+  private static final String SESSIONS_SECTION = "sessions";
+  private static final int DEFAULT_SESSION_TTL = 0;
+
+  private final Config config;
+
+  public RedisSessionMapOptions(Config config) {
+    this.config = Require.nonNull("Config", config);
+  }
+
+  public Duration getSessionTtl() {
+    int ttl = config.getInt(SESSIONS_SECTION, "redis-session-ttl").orElse(DEFAULT_SESSION_TTL);
+    if (ttl < 0) {
+      throw new ConfigException("Redis session TTL must not be negative: %d", ttl);
+    }
+    return Duration.ofSeconds(ttl);
+  }
+}
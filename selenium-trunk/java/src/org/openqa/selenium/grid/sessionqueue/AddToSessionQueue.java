@@ -17,6 +17,8 @@
 
 package org.openqa.selenium.grid.sessionqueue;
 
+import static org.openqa.selenium.remote.http.DeferredResponses.isDeferred;
+import static org.openqa.selenium.remote.http.DeferredResponses.respondWhenComplete;
 import static org.openqa.selenium.remote.tracing.HttpTracing.newSpanAsChildOf;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_RESPONSE;
@@ -46,9 +48,13 @@ public HttpResponse execute(HttpRequest req) {
       HTTP_REQUEST.accept(span, req);
 
       HttpResponse response =
-          newSessionQueue.addToQueue(Contents.fromJson(req, SessionRequest.class));
+          respondWhenComplete(
+              req, newSessionQueue.addToQueueAsync(Contents.fromJson(req, SessionRequest.class)));
 
-      HTTP_RESPONSE.accept(span, response);
+      // A deferred response is only a placeholder, so there is nothing useful to record yet.
+      if (!isDeferred(response)) {
+        HTTP_RESPONSE.accept(span, response);
+      }
 
       return response;
     }
@@ -0,0 +1,120 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionqueue;
+
+import static org.openqa.selenium.remote.tracing.HttpTracing.newSpanAsChildOf;
+import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
+import static org.openqa.selenium.remote.tracing.Tags.HTTP_RESPONSE;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.grid.data.CreateSessionResponse;
+import org.openqa.selenium.grid.data.RequestId;
+import org.openqa.selenium.internal.Either;
+import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.tracing.Span;
+import org.openqa.selenium.remote.tracing.Tracer;
+
+/**
+ * Completes a batch of session requests in one go. The body is a list of objects, each with a
+ * {@code requestId} and either a {@code success} holding the {@link CreateSessionResponse} or a
+ * {@code failure} holding the message of the {@link SessionNotCreatedException}.
+ */
+class CompleteSessionRequests implements HttpHandler {
+
+  private static final Json JSON = new Json();
+
+  private final Tracer tracer;
+  private final NewSessionQueue queue;
+
+  CompleteSessionRequests(Tracer tracer, NewSessionQueue queue) {
+    this.tracer = Require.nonNull("Tracer", tracer);
+    this.queue = Require.nonNull("New Session Queue", queue);
+  }
+
+  @Override
+  public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
+    try (Span span = newSpanAsChildOf(tracer, req, "sessionqueue.completed_batch")) {
+      HTTP_REQUEST.accept(span, req);
+
+      List<Completion> completions = new ArrayList<>();
+      try (JsonInput input = JSON.newInput(Contents.reader(req))) {
+        input.beginArray();
+        while (input.hasNext()) {
+          completions.add(readCompletion(input));
+        }
+        input.endArray();
+      }
+
+      completions.forEach(completion -> queue.complete(completion.requestId, completion.result));
+
+      HttpResponse res = new HttpResponse();
+      HTTP_RESPONSE.accept(span, res);
+      return res;
+    }
+  }
+
+  private Completion readCompletion(JsonInput input) {
+    RequestId requestId = null;
+    Either<SessionNotCreatedException, CreateSessionResponse> result = null;
+
+    input.beginObject();
+    while (input.hasNext()) {
+      switch (input.nextName()) {
+        case "requestId":
+          requestId = input.read(RequestId.class);
+          break;
+
+        case "success":
+          result = Either.right(input.read(CreateSessionResponse.class));
+          break;
+
+        case "failure":
+          result = Either.left(new SessionNotCreatedException(input.nextString()));
+          break;
+
+        default:
+          input.skipValue();
+          break;
+      }
+    }
+    input.endObject();
+
+    return new Completion(
+        Require.nonNull("Request ID", requestId), Require.nonNull("Result", result));
+  }
+
+  private static class Completion {
+    private final RequestId requestId;
+    private final Either<SessionNotCreatedException, CreateSessionResponse> result;
+
+    private Completion(
+        RequestId requestId, Either<SessionNotCreatedException, CreateSessionResponse> result) {
+      this.requestId = requestId;
+      this.result = result;
+    }
+  }
+}
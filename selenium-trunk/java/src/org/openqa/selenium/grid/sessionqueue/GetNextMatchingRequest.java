@@ -18,15 +18,19 @@
 package org.openqa.selenium.grid.sessionqueue;
 
 import static java.util.Collections.singletonMap;
+import static org.openqa.selenium.remote.http.DeferredResponses.respondWhenComplete;
 import static org.openqa.selenium.remote.tracing.HttpTracing.newSpanAsChildOf;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_RESPONSE;
 
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.grid.data.SessionRequest;
 import org.openqa.selenium.internal.Require;
@@ -65,14 +69,28 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
             stereotypes.put(caps, v);
           });
 
+      // Consumers that are happy to wait for a matching request pass the longest time to wait.
+      String wait = req.getQueryParameter("wait");
+      if (wait != null) {
+        Optional<CompletableFuture<List<SessionRequest>>> awaited =
+            queue.awaitNextAvailable(stereotypes, Duration.ofMillis(Long.parseLong(wait)));
+        if (awaited.isPresent()) {
+          return respondWhenComplete(req, awaited.get().thenApply(this::toResponse));
+        }
+      }
+
       List<SessionRequest> sessionRequestList = queue.getNextAvailable(stereotypes);
 
-      HttpResponse response =
-          new HttpResponse().setContent(Contents.asJson(singletonMap("value", sessionRequestList)));
+      HttpResponse response = toResponse(sessionRequestList);
 
       HTTP_RESPONSE.accept(span, response);
 
       return response;
     }
   }
+
+  private HttpResponse toResponse(List<SessionRequest> sessionRequestList) {
+    return new HttpResponse()
+        .setContent(Contents.asJson(singletonMap("value", sessionRequestList)));
+  }
 }
@@ -17,17 +17,20 @@
 
 package org.openqa.selenium.grid.sessionqueue;
 
+import static org.openqa.selenium.remote.http.DeferredResponses.respondWhenComplete;
 import static org.openqa.selenium.remote.http.Route.combine;
 import static org.openqa.selenium.remote.http.Route.delete;
 import static org.openqa.selenium.remote.http.Route.get;
 import static org.openqa.selenium.remote.http.Route.options;
 import static org.openqa.selenium.remote.http.Route.post;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.grid.data.CreateSessionResponse;
@@ -65,7 +68,7 @@ protected NewSessionQueue(Tracer tracer, Secret registrationSecret) {
                           SessionRequest sessionRequest =
                               new SessionRequest(
                                   new RequestId(UUID.randomUUID()), req, Instant.now());
-                          return addToQueue(sessionRequest);
+                          return respondWhenComplete(req, addToQueueAsync(sessionRequest));
                         }),
             options("/session").to(() -> req -> new HttpResponse()),
             post("/se/grid/newsessionqueue/session")
@@ -86,6 +89,9 @@ protected NewSessionQueue(Tracer tracer, Secret registrationSecret) {
             post("/se/grid/newsessionqueue/session/next")
                 .to(() -> new GetNextMatchingRequest(tracer, this))
                 .with(requiresSecret),
+            post("/se/grid/newsessionqueue/session/complete")
+                .to(() -> new CompleteSessionRequests(tracer, this))
+                .with(requiresSecret),
             get("/se/grid/newsessionqueue/queue").to(() -> new GetSessionQueue(tracer, this)),
             delete("/se/grid/newsessionqueue/queue")
                 .to(() -> new ClearSessionQueue(tracer, this))
@@ -105,12 +111,37 @@ private RequestId requestIdFrom(Map<String, String> params) {
 
   public abstract HttpResponse addToQueue(SessionRequest request);
 
+  /**
+   * Adds a request to the queue, returning a future that completes with the response once a session
+   * has been created for it or it has failed. Implementations that can do so should override this
+   * so that no thread is held while the request is queued; by default this waits for {@link
+   * #addToQueue(SessionRequest)} before returning.
+   */
+  public CompletableFuture<HttpResponse> addToQueueAsync(SessionRequest request) {
+    return CompletableFuture.completedFuture(addToQueue(request));
+  }
+
   public abstract boolean retryAddToQueue(SessionRequest request);
 
   public abstract Optional<SessionRequest> remove(RequestId reqId);
 
   public abstract List<SessionRequest> getNextAvailable(Map<Capabilities, Long> stereotypes);
 
+  /**
+   * Returns the requests matching the given stereotypes, as {@link #getNextAvailable(Map)} does,
+   * but if there are none, waits for up to {@code timeout} for a matching request to be added. This
+   * allows a consumer to be handed new requests as soon as they arrive, without polling for them.
+   *
+   * @return empty if this queue cannot wait for new requests, in which case the consumer must keep
+   *     polling.
+   */
+  public Optional<CompletableFuture<List<SessionRequest>>> awaitNextAvailable(
+      Map<Capabilities, Long> stereotypes, Duration timeout) {
+    Require.nonNull("Stereotypes", stereotypes);
+    Require.nonNegative("Timeout", timeout);
+    return Optional.empty();
+  }
+
   public abstract void complete(
       RequestId reqId, Either<SessionNotCreatedException, CreateSessionResponse> result);
 
@@ -118,6 +149,18 @@ public abstract void complete(
 
   public abstract List<SessionRequestCapability> getQueueContents();
 
+  /**
+   * Registers a callback to be run whenever a new request is added to the queue, so that a consumer
+   * can start matching it straight away rather than waiting for its next poll.
+   *
+   * @return true if the listener will be notified, false if this queue cannot detect new requests,
+   *     in which case the consumer must keep polling.
+   */
+  public boolean addRequestListener(Runnable listener) {
+    Require.nonNull("Listener", listener);
+    return false;
+  }
+
   @Override
   public boolean matches(HttpRequest req) {
     return routes.matches(req);
@@ -0,0 +1,170 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionqueue.local;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.openqa.selenium.grid.data.RequestId;
+import org.openqa.selenium.grid.data.SessionRequest;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * A double-ended queue of {@link SessionRequest}s that also indexes them by {@link RequestId}, so
+ * that adding, finding and removing a request are all constant time operations. Requests are
+ * iterated over in queue order.
+ *
+ * <p>This class is not thread safe: callers are expected to provide their own locking.
+ */
+class IndexedRequestQueue implements Iterable<SessionRequest> {
+
+  private final Map<RequestId, Entry> index = new HashMap<>();
+  private Entry head;
+  private Entry tail;
+
+  /**
+   * @return false if a request with the same id is already queued.
+   */
+  boolean addLast(SessionRequest request) {
+    Require.nonNull("Session request", request);
+    if (index.containsKey(request.getRequestId())) {
+      return false;
+    }
+
+    Entry entry = new Entry(request);
+    entry.previous = tail;
+    if (tail == null) {
+      head = entry;
+    } else {
+      tail.next = entry;
+    }
+    tail = entry;
+    index.put(request.getRequestId(), entry);
+    return true;
+  }
+
+  /**
+   * @return false if a request with the same id is already queued.
+   */
+  boolean addFirst(SessionRequest request) {
+    Require.nonNull("Session request", request);
+    if (index.containsKey(request.getRequestId())) {
+      return false;
+    }
+
+    Entry entry = new Entry(request);
+    entry.next = head;
+    if (head == null) {
+      tail = entry;
+    } else {
+      head.previous = entry;
+    }
+    head = entry;
+    index.put(request.getRequestId(), entry);
+    return true;
+  }
+
+  boolean contains(RequestId id) {
+    return index.containsKey(id);
+  }
+
+  /**
+   * @return the removed request, or null if there was no request with the given id.
+   */
+  SessionRequest remove(RequestId id) {
+    Entry entry = index.remove(id);
+    if (entry == null) {
+      return null;
+    }
+    unlink(entry);
+    return entry.request;
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  boolean isEmpty() {
+    return index.isEmpty();
+  }
+
+  void clear() {
+    index.clear();
+    head = null;
+    tail = null;
+  }
+
+  @Override
+  public Iterator<SessionRequest> iterator() {
+    return new Iterator<SessionRequest>() {
+      private Entry next = head;
+      private Entry current;
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public SessionRequest next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        current = next;
+        next = next.next;
+        return current.request;
+      }
+
+      @Override
+      public void remove() {
+        if (current == null) {
+          throw new IllegalStateException();
+        }
+        index.remove(current.request.getRequestId());
+        unlink(current);
+        current = null;
+      }
+    };
+  }
+
+  private void unlink(Entry entry) {
+    if (entry.previous == null) {
+      head = entry.next;
+    } else {
+      entry.previous.next = entry.next;
+    }
+    if (entry.next == null) {
+      tail = entry.previous;
+    } else {
+      entry.next.previous = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+  }
+
+  private static class Entry {
+    private final SessionRequest request;
+    private Entry previous;
+    private Entry next;
+
+    private Entry(SessionRequest request) {
+      this.request = request;
+    }
+  }
+}
@@ -23,27 +23,32 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import java.io.Closeable;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.concurrent.GuardedRunnable;
@@ -77,10 +82,11 @@
  * <p>The lifecycle of a request can be described as:
  *
  * <ol>
- *   <li>User adds an item on to the queue using {@link #addToQueue(SessionRequest)}. This will
- *       block until the request completes in some way.
+ *   <li>User adds an item on to the queue using {@link #addToQueueAsync(SessionRequest)}, which
+ *       returns a future that completes when the request completes in some way, or {@link
+ *       #addToQueue(SessionRequest)}, which blocks until then.
  *   <li>If the session request is completed, then {@link #complete(RequestId, Either)} must be
- *       called. This will ensure that {@link #addToQueue(SessionRequest)} returns.
+ *       called. This will ensure that the future returned when it was added completes.
  *   <li>If the request cannot be handled right now, call {@link #retryAddToQueue(SessionRequest)}
  *       to return the session request to the front of the queue.
  * </ol>
@@ -100,10 +106,22 @@ public class LocalNewSessionQueue extends NewSessionQueue implements Closeable {
   private final int batchSize;
   private final Map<RequestId, Data> requests;
   private final Map<RequestId, TraceContext> contexts;
-  private final Deque<SessionRequest> queue;
+  private final IndexedRequestQueue queue;
+  // The requests that have yet to complete, ordered by when they time out. Guarded by `lock`.
+  private final NavigableSet<Data> deadlines =
+      new TreeSet<>(
+          Comparator.<Data, Instant>comparing(data -> data.endTime)
+              .thenComparing(data -> data.requestId.toUuid()));
+  // A check for the earliest deadline in `deadlines`, and when it is due. Guarded by `lock`.
+  private ScheduledFuture<?> nextTimeout;
+  private Instant nextTimeoutAt;
+  private final List<Runnable> requestListeners = new CopyOnWriteArrayList<>();
+  // Consumers waiting, through `awaitNextAvailable`, for a matching request to be added.
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
-  private final ScheduledExecutorService service =
-      Executors.newSingleThreadScheduledExecutor(
+  private final ScheduledThreadPoolExecutor service =
+      new ScheduledThreadPoolExecutor(
+          1,
           r -> {
             Thread thread = new Thread(r);
             thread.setDaemon(true);
@@ -126,11 +144,15 @@ public LocalNewSessionQueue(
     this.requestTimeout = Require.positive("Request timeout", requestTimeout);
 
     this.requests = new ConcurrentHashMap<>();
-    this.queue = new ConcurrentLinkedDeque<>();
+    this.queue = new IndexedRequestQueue();
     this.contexts = new ConcurrentHashMap<>();
 
     this.batchSize = Require.positive("Batch size", batchSize);
 
+    // The check for the next deadline is rescheduled as requests come and go, and need not hold up
+    // shutting down.
+    service.setRemoveOnCancelPolicy(true);
+    service.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     service.scheduleAtFixedRate(
         GuardedRunnable.guard(this::timeoutSessions),
         requestTimeoutCheck.toMillis(),
@@ -160,27 +182,55 @@ public static NewSessionQueue create(Config config) {
   private void timeoutSessions() {
     Instant now = Instant.now();
 
-    Lock readLock = lock.readLock();
-    readLock.lock();
-    Set<RequestId> ids;
+    List<RequestId> ids = new ArrayList<>();
+    Lock writeLock = lock.writeLock();
+    writeLock.lock();
     try {
-      ids =
-          requests.entrySet().stream()
-              .filter(
-                  entry ->
-                      queue.stream()
-                          .anyMatch(
-                              sessionRequest ->
-                                  sessionRequest.getRequestId().equals(entry.getKey())))
-              .filter(entry -> isTimedOut(now, entry.getValue()))
-              .map(Map.Entry::getKey)
-              .collect(ImmutableSet.toImmutableSet());
+      while (!deadlines.isEmpty() && isTimedOut(now, deadlines.first())) {
+        Data data = deadlines.pollFirst();
+        // Requests that are currently being handled by the distributor are left alone. If they
+        // come back to the queue, `retryAddToQueue` will notice that they have timed out.
+        if (requests.get(data.requestId) == data && queue.contains(data.requestId)) {
+          ids.add(data.requestId);
+        }
+      }
+      nextTimeoutAt = null;
+      rescheduleTimeout();
     } finally {
-      readLock.unlock();
+      writeLock.unlock();
     }
     ids.forEach(this::failDueToTimeout);
   }
 
+  /**
+   * Makes sure {@link #timeoutSessions()} runs as soon as the earliest request is due, rather than
+   * at the next periodic check. Must be called with the write lock held.
+   */
+  private void rescheduleTimeout() {
+    Instant due = deadlines.isEmpty() ? null : deadlines.first().endTime;
+    if (Objects.equals(due, nextTimeoutAt)) {
+      return;
+    }
+
+    if (nextTimeout != null) {
+      nextTimeout.cancel(false);
+      nextTimeout = null;
+    }
+    nextTimeoutAt = due;
+    if (due != null && !service.isShutdown()) {
+      nextTimeout =
+          service.schedule(
+              GuardedRunnable.guard(this::timeoutSessions),
+              Math.max(0, Duration.between(Instant.now(), due).toMillis() + 1),
+              MILLISECONDS);
+    }
+  }
+
+  @VisibleForTesting
+  int getScheduledTaskCount() {
+    return service.getQueue().size();
+  }
+
   private boolean isTimedOut(Instant now, Data data) {
     return data.endTime.isBefore(now);
   }
@@ -198,6 +248,22 @@ public boolean peekEmpty() {
 
   @Override
   public HttpResponse addToQueue(SessionRequest request) {
+    try {
+      return addToQueueAsync(request).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return toResponse(
+          Either.left(new SessionNotCreatedException("Interrupted when creating the session", e)));
+    } catch (ExecutionException e) {
+      return toResponse(
+          Either.left(
+              new SessionNotCreatedException(
+                  "An error occurred creating the session", e.getCause())));
+    }
+  }
+
+  @Override
+  public CompletableFuture<HttpResponse> addToQueueAsync(SessionRequest request) {
     Require.nonNull("New session request", request);
     Require.nonNull("Request id", request.getRequestId());
 
@@ -210,72 +276,81 @@ public HttpResponse addToQueue(SessionRequest request) {
         failDueToTimeout(request.getRequestId());
       }
 
-      Either<SessionNotCreatedException, CreateSessionResponse> result;
-      try {
-
-        boolean sessionCreated = data.latch.await(requestTimeout.toMillis(), MILLISECONDS);
-        if (!(sessionCreated || isRequestInQueue(request.getRequestId()))) {
-          sessionCreated = data.latch.await(5000, MILLISECONDS);
-        }
-
-        if (sessionCreated) {
-          result = data.result;
-        } else {
-          result = Either.left(new SessionNotCreatedException("New session request timed out"));
-        }
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        result =
-            Either.left(new SessionNotCreatedException("Interrupted when creating the session", e));
-      } catch (RuntimeException e) {
-        result =
-            Either.left(
-                new SessionNotCreatedException("An error occurred creating the session", e));
-      }
-
-      Lock writeLock = this.lock.writeLock();
-      writeLock.lock();
-      try {
-        requests.remove(request.getRequestId());
-        queue.remove(request);
-      } finally {
-        writeLock.unlock();
-      }
-
-      HttpResponse res = new HttpResponse();
-      if (result.isRight()) {
-        res.setContent(Contents.bytes(result.right().getDownstreamEncodedResponse()));
-      } else {
-        res.setStatus(HTTP_INTERNAL_ERROR)
-            .setContent(
-                Contents.asJson(
-                    ImmutableMap.of(
-                        "value",
-                        ImmutableMap.of(
-                            "error", "session not created",
-                            "message", result.left().getMessage(),
-                            "stacktrace", result.left().getStackTrace()))));
-      }
+      // Requests still in the queue are timed out by `timeoutSessions`. This catches the ones that
+      // have been taken by the distributor but never completed, allowing them a little longer to
+      // finish creating their session.
+      return data.result
+          .completeOnTimeout(
+              Either.left(new SessionNotCreatedException("New session request timed out")),
+              requestTimeout.plusSeconds(5).toMillis(),
+              MILLISECONDS)
+          .handle(
+              (result, throwable) -> {
+                Lock writeLock = lock.writeLock();
+                writeLock.lock();
+                try {
+                  requests.remove(request.getRequestId(), data);
+                  if (deadlines.remove(data)) {
+                    rescheduleTimeout();
+                  }
+                  queue.remove(request.getRequestId());
+                  contexts.remove(request.getRequestId());
+                } finally {
+                  writeLock.unlock();
+                }
+
+                if (throwable != null) {
+                  return toResponse(
+                      Either.left(
+                          new SessionNotCreatedException(
+                              "An error occurred creating the session", throwable)));
+                }
+                return toResponse(result);
+              });
+    }
+  }
 
-      return res;
+  private HttpResponse toResponse(
+      Either<SessionNotCreatedException, CreateSessionResponse> result) {
+    HttpResponse res = new HttpResponse();
+    if (result.isRight()) {
+      res.setContent(Contents.bytes(result.right().getDownstreamEncodedResponse()));
+    } else {
+      res.setStatus(HTTP_INTERNAL_ERROR)
+          .setContent(
+              Contents.asJson(
+                  ImmutableMap.of(
+                      "value",
+                      ImmutableMap.of(
+                          "error", "session not created",
+                          "message", result.left().getMessage(),
+                          "stacktrace", result.left().getStackTrace()))));
     }
+    return res;
   }
 
   @VisibleForTesting
   Data injectIntoQueue(SessionRequest request) {
     Require.nonNull("Session request", request);
 
-    Data data = new Data(request.getEnqueued());
+    Data data = new Data(request.getRequestId(), request.getEnqueued());
 
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
       requests.put(request.getRequestId(), data);
       queue.addLast(request);
+      deadlines.add(data);
+      rescheduleTimeout();
     } finally {
       writeLock.unlock();
     }
 
+    requestListeners.forEach(Runnable::run);
+    if (!waiters.isEmpty()) {
+      serveWaiters();
+    }
+
     return data;
   }
 
@@ -284,26 +359,33 @@ public boolean retryAddToQueue(SessionRequest request) {
     Require.nonNull("New session request", request);
 
     boolean added;
+    boolean timedOut = false;
     TraceContext context =
         contexts.getOrDefault(request.getRequestId(), tracer.getCurrentContext());
     try (Span ignored = context.createSpan("sessionqueue.retry")) {
       Lock writeLock = lock.writeLock();
       writeLock.lock();
       try {
-        if (!requests.containsKey(request.getRequestId())) {
+        Data data = requests.get(request.getRequestId());
+        if (data == null) {
           return false;
         }
 
-        if (queue.contains(request)) {
-          // No need to re-add this
-          return true;
+        if (isTimedOut(Instant.now(), data)) {
+          timedOut = true;
+          added = false;
         } else {
-          added = queue.offerFirst(request);
+          // If the request is already queued, there is no need to re-add it
+          added = queue.contains(request.getRequestId()) || queue.addFirst(request);
         }
       } finally {
         writeLock.unlock();
       }
 
+      if (timedOut) {
+        failDueToTimeout(request.getRequestId());
+      }
+
       return added;
     }
   }
@@ -315,16 +397,7 @@ public Optional<SessionRequest> remove(RequestId reqId) {
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      Iterator<SessionRequest> iterator = queue.iterator();
-      while (iterator.hasNext()) {
-        SessionRequest req = iterator.next();
-        if (reqId.equals(req.getRequestId())) {
-          iterator.remove();
-
-          return Optional.of(req);
-        }
-      }
-      return Optional.empty();
+      return Optional.ofNullable(queue.remove(reqId));
     } finally {
       writeLock.unlock();
     }
@@ -335,9 +408,7 @@ private boolean isRequestInQueue(RequestId requestId) {
     readLock.lock();
 
     try {
-      Optional<SessionRequest> result =
-          queue.stream().filter(req -> req.getRequestId().equals(requestId)).findAny();
-      return result.isPresent();
+      return queue.contains(requestId);
     } finally {
       readLock.unlock();
     }
@@ -364,13 +435,15 @@ public List<SessionRequest> getNextAvailable(Map<Capabilities, Long> stereotypes
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
-      List<SessionRequest> availableRequests =
-          queue.stream()
-              .filter(req -> req.getDesiredCapabilities().stream().anyMatch(matchesStereotype))
-              .limit(batchSize)
-              .collect(Collectors.toList());
-
-      availableRequests.forEach(req -> this.remove(req.getRequestId()));
+      List<SessionRequest> availableRequests = new ArrayList<>();
+      Iterator<SessionRequest> iterator = queue.iterator();
+      while (iterator.hasNext() && availableRequests.size() < batchSize) {
+        SessionRequest req = iterator.next();
+        if (req.getDesiredCapabilities().stream().anyMatch(matchesStereotype)) {
+          iterator.remove();
+          availableRequests.add(req);
+        }
+      }
 
       return availableRequests;
     } finally {
@@ -378,6 +451,47 @@ public List<SessionRequest> getNextAvailable(Map<Capabilities, Long> stereotypes
     }
   }
 
+  @Override
+  public Optional<CompletableFuture<List<SessionRequest>>> awaitNextAvailable(
+      Map<Capabilities, Long> stereotypes, Duration timeout) {
+    Require.nonNull("Stereotypes", stereotypes);
+    Require.nonNegative("Timeout", timeout);
+
+    List<SessionRequest> available = getNextAvailable(stereotypes);
+    if (!available.isEmpty() || timeout.isZero()) {
+      return Optional.of(CompletableFuture.completedFuture(available));
+    }
+
+    Waiter waiter = new Waiter(stereotypes);
+    waiters.add(waiter);
+    waiter
+        .result
+        .completeOnTimeout(Collections.emptyList(), timeout.toMillis(), MILLISECONDS)
+        .whenComplete((result, throwable) -> waiters.remove(waiter));
+
+    // A request may have been added while the waiter was being set up.
+    serveWaiters();
+
+    return Optional.of(waiter.result);
+  }
+
+  private void serveWaiters() {
+    for (Waiter waiter : waiters) {
+      if (waiter.result.isDone()) {
+        continue;
+      }
+
+      List<SessionRequest> available = getNextAvailable(waiter.stereotypes);
+      if (!available.isEmpty() && !waiter.result.complete(available)) {
+        // The waiter timed out, or was served by another thread, while we were looking. Put the
+        // requests back where they were.
+        for (int i = available.size() - 1; i >= 0; i--) {
+          retryAddToQueue(available.get(i));
+        }
+      }
+    }
+  }
+
   @Override
   public void complete(
       RequestId reqId, Either<SessionNotCreatedException, CreateSessionResponse> result) {
@@ -402,7 +516,10 @@ public void complete(
       writeLock.lock();
       try {
         requests.remove(reqId);
-        queue.removeIf(req -> reqId.equals(req.getRequestId()));
+        if (deadlines.remove(data)) {
+          rescheduleTimeout();
+        }
+        queue.remove(reqId);
         contexts.remove(reqId);
       } finally {
         writeLock.unlock();
@@ -420,6 +537,8 @@ public int clearQueue() {
     try {
       int size = queue.size();
       queue.clear();
+      deadlines.clear();
+      rescheduleTimeout();
       requests.forEach(
           (reqId, data) ->
               data.setResult(
@@ -437,18 +556,33 @@ public List<SessionRequestCapability> getQueueContents() {
     readLock.lock();
 
     try {
-      return queue.stream()
-          .map(
-              req -> new SessionRequestCapability(req.getRequestId(), req.getDesiredCapabilities()))
-          .collect(Collectors.toList());
+      List<SessionRequestCapability> contents = new ArrayList<>(queue.size());
+      for (SessionRequest req : queue) {
+        contents.add(
+            new SessionRequestCapability(req.getRequestId(), req.getDesiredCapabilities()));
+      }
+      return contents;
     } finally {
       readLock.unlock();
     }
   }
 
+  @Override
+  public boolean addRequestListener(Runnable listener) {
+    Require.nonNull("Listener", listener);
+    requestListeners.add(listener);
+    return true;
+  }
+
   @ManagedAttribute(name = "NewSessionQueueSize")
   public int getQueueSize() {
-    return queue.size();
+    Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      return queue.size();
+    } finally {
+      readLock.unlock();
+    }
   }
 
   @Override
@@ -465,26 +599,30 @@ private void failDueToTimeout(RequestId reqId) {
     complete(reqId, Either.left(new SessionNotCreatedException("Timed out creating session")));
   }
 
+  private static class Waiter {
+    private final Map<Capabilities, Long> stereotypes;
+    private final CompletableFuture<List<SessionRequest>> result = new CompletableFuture<>();
+
+    private Waiter(Map<Capabilities, Long> stereotypes) {
+      this.stereotypes = stereotypes;
+    }
+  }
+
   private class Data {
 
+    public final RequestId requestId;
     public final Instant endTime;
-    private final CountDownLatch latch = new CountDownLatch(1);
-    public Either<SessionNotCreatedException, CreateSessionResponse> result;
-    private boolean complete;
+    private final CompletableFuture<Either<SessionNotCreatedException, CreateSessionResponse>>
+        result = new CompletableFuture<>();
 
-    public Data(Instant enqueued) {
+    public Data(RequestId requestId, Instant enqueued) {
+      this.requestId = requestId;
       this.endTime = enqueued.plus(requestTimeout);
-      this.result = Either.left(new SessionNotCreatedException("Session not created"));
     }
 
-    public synchronized void setResult(
-        Either<SessionNotCreatedException, CreateSessionResponse> result) {
-      if (complete) {
-        return;
-      }
-      this.result = result;
-      complete = true;
-      latch.countDown();
+    public void setResult(Either<SessionNotCreatedException, CreateSessionResponse> result) {
+      // Only the first result counts.
+      this.result.complete(result);
     }
   }
 }
@@ -17,18 +17,32 @@
 
 package org.openqa.selenium.grid.sessionqueue.remote;
 
+import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static org.openqa.selenium.remote.http.HttpMethod.DELETE;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
 import static org.openqa.selenium.remote.http.HttpMethod.POST;
 
+import com.google.common.collect.ImmutableMap;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.grid.config.Config;
@@ -63,8 +77,24 @@ public class RemoteNewSessionQueue extends NewSessionQueue {
   private static final Type SESSION_REQUEST_TYPE =
       new TypeToken<List<SessionRequest>>() {}.getType();
   private static final Json JSON = new Json();
+  private static final Logger LOG = Logger.getLogger(RemoteNewSessionQueue.class.getName());
+  // How many times to try sending a batch before sending its completions one at a time instead.
+  private static final int MAX_BATCH_ATTEMPTS = 3;
+  private static final ExecutorService EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread thread = new Thread(r);
+            thread.setName("Remote New Session Queue");
+            thread.setDaemon(true);
+            return thread;
+          });
   private final HttpClient client;
   private final Filter addSecret;
+  // Completed requests waiting to be sent to the queue. They are sent in batches: anything that is
+  // completed while a batch is being sent goes in the next one.
+  private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private volatile boolean batchCompletions = true;
 
   public RemoteNewSessionQueue(Tracer tracer, HttpClient client, Secret registrationSecret) {
     super(tracer, registrationSecret);
@@ -153,12 +183,111 @@ public List<SessionRequest> getNextAvailable(Map<Capabilities, Long> stereotypes
     return Values.get(response, SESSION_REQUEST_TYPE);
   }
 
+  @Override
+  public Optional<CompletableFuture<List<SessionRequest>>> awaitNextAvailable(
+      Map<Capabilities, Long> stereotypes, Duration timeout) {
+    Require.nonNull("Stereotypes", stereotypes);
+    Require.nonNegative("Timeout", timeout);
+
+    Map<String, Long> stereotypeJson = new HashMap<>();
+    stereotypes.forEach((k, v) -> stereotypeJson.put(JSON.toJson(k), v));
+
+    HttpRequest upstream =
+        new HttpRequest(POST, "/se/grid/newsessionqueue/session/next")
+            .addQueryParameter("wait", String.valueOf(timeout.toMillis()))
+            .setContent(Contents.asJson(stereotypeJson));
+    HttpTracing.inject(tracer, tracer.getCurrentContext(), upstream);
+
+    // The queue holds on to the request until a match arrives, so don't tie up the caller.
+    return Optional.of(
+        CompletableFuture.supplyAsync(
+            () -> Values.get(client.with(addSecret).execute(upstream), SESSION_REQUEST_TYPE),
+            EXECUTOR));
+  }
+
   @Override
   public void complete(
       RequestId reqId, Either<SessionNotCreatedException, CreateSessionResponse> result) {
     Require.nonNull("Request ID", reqId);
     Require.nonNull("Result", result);
 
+    completions.add(new Completion(reqId, result));
+    if (flushScheduled.compareAndSet(false, true)) {
+      EXECUTOR.execute(this::flushCompletions);
+    }
+  }
+
+  private void flushCompletions() {
+    // Clear the flag first, so that anything completed from now on schedules another flush.
+    flushScheduled.set(false);
+
+    List<Completion> batch = new ArrayList<>();
+    for (Completion completion = completions.poll();
+        completion != null;
+        completion = completions.poll()) {
+      batch.add(completion);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    if (batchCompletions && sendBatch(batch)) {
+      return;
+    }
+
+    for (Completion completion : batch) {
+      try {
+        send(completion.requestId, completion.result);
+      } catch (RuntimeException e) {
+        LOG.log(
+            Level.WARNING,
+            String.format("Unable to complete session request %s", completion.requestId),
+            e);
+      }
+    }
+  }
+
+  /**
+   * @return whether the queue took the batch. If it didn't, the completions in it still need to be
+   *     sent one at a time.
+   */
+  private boolean sendBatch(List<Completion> batch) {
+    for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+      try {
+        HttpRequest upstream =
+            new HttpRequest(POST, "/se/grid/newsessionqueue/session/complete")
+                .setContent(
+                    Contents.asJson(
+                        batch.stream().map(Completion::toJson).collect(Collectors.toList())));
+        HttpTracing.inject(tracer, tracer.getCurrentContext(), upstream);
+        HttpResponse response = client.with(addSecret).execute(upstream);
+        if (response.isSuccessful()) {
+          return true;
+        }
+        if (response.getStatus() == HTTP_NOT_FOUND || response.getStatus() == HTTP_BAD_METHOD) {
+          // An older queue that does not understand batches. Send one request at a time from now
+          // on.
+          batchCompletions = false;
+          return false;
+        }
+        LOG.warning(
+            String.format(
+                "Unable to send a batch of completed session requests (attempt %d of %d): %d",
+                attempt, MAX_BATCH_ATTEMPTS, response.getStatus()));
+      } catch (RuntimeException e) {
+        LOG.log(
+            Level.WARNING,
+            String.format(
+                "Unable to send a batch of completed session requests (attempt %d of %d)",
+                attempt, MAX_BATCH_ATTEMPTS),
+            e);
+      }
+    }
+    return false;
+  }
+
+  private void send(
+      RequestId reqId, Either<SessionNotCreatedException, CreateSessionResponse> result) {
     HttpRequest upstream;
     if (result.isRight()) {
       upstream =
@@ -200,4 +329,22 @@ public boolean isReady() {
       return false;
     }
   }
+
+  private static class Completion {
+    private final RequestId requestId;
+    private final Either<SessionNotCreatedException, CreateSessionResponse> result;
+
+    private Completion(
+        RequestId requestId, Either<SessionNotCreatedException, CreateSessionResponse> result) {
+      this.requestId = requestId;
+      this.result = result;
+    }
+
+    private Map<String, Object> toJson() {
+      if (result.isRight()) {
+        return ImmutableMap.of("requestId", requestId, "success", result.right());
+      }
+      return ImmutableMap.of("requestId", requestId, "failure", result.left().getRawMessage());
+    }
+  }
 }
@@ -25,6 +25,7 @@
 import java.io.UncheckedIOException;
 import java.util.logging.Logger;
 import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.remote.http.DeferredResponses;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpHandler;
 import org.openqa.selenium.remote.http.HttpRequest;
@@ -51,10 +52,21 @@ public class ReverseProxyHandler implements HttpHandler {
 
   private final Tracer tracer;
   private final HttpClient upstream;
+  private final boolean deferResponses;
 
   public ReverseProxyHandler(Tracer tracer, HttpClient httpClient) {
+    this(tracer, httpClient, false);
+  }
+
+  /**
+   * @param deferResponses whether to send requests upstream asynchronously, returning a {@link
+   *     DeferredResponses} placeholder if the server allows it. Only use this when nothing that
+   *     handles the response before the server needs to look at it.
+   */
+  public ReverseProxyHandler(Tracer tracer, HttpClient httpClient, boolean deferResponses) {
     this.tracer = Require.nonNull("Tracer", tracer);
     this.upstream = Require.nonNull("HTTP client", httpClient);
+    this.deferResponses = deferResponses;
   }
 
   @Override
@@ -65,6 +77,8 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
 
       HttpRequest toUpstream = new HttpRequest(req.getMethod(), req.getUri());
 
+      // This carries over whether the server can take a streamed response body, so that large
+      // responses are passed back as they arrive rather than being buffered here.
       for (String attributeName : req.getAttributeNames()) {
         toUpstream.setAttribute(attributeName, req.getAttribute(attributeName));
       }
@@ -88,17 +102,27 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
       toUpstream.setHeader("Connection", "keep-alive");
 
       toUpstream.setContent(req.getContent());
+
+      if (deferResponses) {
+        return DeferredResponses.respondWhenComplete(
+            req, upstream.executeAsync(toUpstream).thenApply(ReverseProxyHandler::clean));
+      }
+
       HttpResponse resp = upstream.execute(toUpstream);
 
       HTTP_RESPONSE.accept(span, resp);
 
-      // clear response defaults.
-      resp.removeHeader("Date");
-      resp.removeHeader("Server");
+      return clean(resp);
+    }
+  }
 
-      IGNORED_REQ_HEADERS.forEach(resp::removeHeader);
+  private static HttpResponse clean(HttpResponse resp) {
+    // clear response defaults.
+    resp.removeHeader("Date");
+    resp.removeHeader("Server");
 
-      return resp;
-    }
+    IGNORED_REQ_HEADERS.forEach(resp::removeHeader);
+
+    return resp;
   }
 }
@@ -0,0 +1,127 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.json;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Reads and writes bean properties through {@link MethodHandle}s, which are far cheaper to call
+ * over and over than {@link Method#invoke} or {@link Field#set}. Each handle is only looked up the
+ * first time it is used, so members that are never called are never made accessible.
+ */
+class Accessors {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private Accessors() {
+    // Utility class
+  }
+
+  static Function<Object, Object> reader(Method method) {
+    Require.nonNull("Method", method);
+    Lazy lazy =
+        new Lazy(method, () -> unreflect(method).asType(methodType(Object.class, Object.class)));
+
+    return instance -> {
+      try {
+        return lazy.get().invokeExact(instance);
+      } catch (Error | JsonException e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new JsonException(e);
+      }
+    };
+  }
+
+  static BiConsumer<Object, Object> writer(Method method) {
+    Require.nonNull("Method", method);
+    return writer(
+        new Lazy(
+            method,
+            () -> unreflect(method).asType(methodType(void.class, Object.class, Object.class))));
+  }
+
+  static BiConsumer<Object, Object> writer(Field field) {
+    Require.nonNull("Field", field);
+    return writer(
+        new Lazy(
+            field,
+            () ->
+                LOOKUP
+                    .unreflectSetter(field)
+                    .asType(methodType(void.class, Object.class, Object.class))));
+  }
+
+  private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+    MethodHandle handle = LOOKUP.unreflect(method);
+    if (Modifier.isStatic(method.getModifiers())) {
+      // Static methods that look like accessors are still called as though they were on an instance
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    }
+    return handle;
+  }
+
+  private static BiConsumer<Object, Object> writer(Lazy lazy) {
+    return (instance, value) -> {
+      try {
+        lazy.get().invokeExact(instance, value);
+      } catch (Error | JsonException e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new JsonException(e);
+      }
+    };
+  }
+
+  @FunctionalInterface
+  private interface HandleFactory {
+    MethodHandle create() throws IllegalAccessException;
+  }
+
+  private static class Lazy {
+    private final AccessibleObject member;
+    private final HandleFactory factory;
+    private volatile MethodHandle handle;
+
+    private Lazy(AccessibleObject member, HandleFactory factory) {
+      this.member = member;
+      this.factory = factory;
+    }
+
+    MethodHandle get() throws IllegalAccessException {
+      MethodHandle local = handle;
+      if (local == null) {
+        // Racing threads may both get here, but they will create equivalent handles
+        member.setAccessible(true);
+        local = factory.create();
+        handle = local;
+      }
+      return local;
+    }
+  }
+}
@@ -17,9 +17,16 @@
 
 package org.openqa.selenium.json;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import org.openqa.selenium.internal.Require;
 
 /**
@@ -27,6 +34,9 @@
  *
  * <p>For the sake of providing a useful {@link #toString()} implementation, keeps the most recently
  * read characters in the input buffer.
+ *
+ * <p>When the source is already held in memory as UTF-8 bytes, they are decoded straight into the
+ * character buffer rather than being copied through a {@link java.io.InputStreamReader} first.
  */
 class Input {
   public static final char EOF = (char) -1;
@@ -36,6 +46,8 @@ class Input {
   private static final int MEMORY_SIZE = 128;
 
   private final Reader source;
+  private final ByteBuffer bytes;
+  private final CharsetDecoder decoder;
   // a buffer used to minimize read calls and to keep the chars to remember
   private final char[] buffer;
   // the filled area in the buffer
@@ -45,6 +57,21 @@ class Input {
 
   public Input(Reader source) {
     this.source = Require.nonNull("Source", source);
+    this.bytes = null;
+    this.decoder = null;
+    this.buffer = new char[BUFFER_SIZE + MEMORY_SIZE];
+    this.filled = 0;
+    this.position = -1;
+  }
+
+  public Input(ByteBuffer utf8) {
+    this.source = null;
+    this.bytes = Require.nonNull("Source", utf8).duplicate();
+    this.decoder =
+        UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
     this.buffer = new char[BUFFER_SIZE + MEMORY_SIZE];
     this.filled = 0;
     this.position = -1;
@@ -58,6 +85,31 @@ public char read() {
     return fill() ? buffer[++position] : EOF;
   }
 
+  /**
+   * Reads characters up to, but not including, the next quote or backslash, which are the only
+   * characters that need special handling inside a JSON string.
+   *
+   * @param builder the characters read are appended to this, or discarded if it is null.
+   */
+  public void readStringRun(StringBuilder builder) {
+    while (fill()) {
+      int start = position + 1;
+      int end = start;
+      while (end < filled && buffer[end] != '"' && buffer[end] != '\\') {
+        end++;
+      }
+
+      if (builder != null) {
+        builder.append(buffer, start, end - start);
+      }
+      position = end - 1;
+
+      if (end < filled) {
+        return;
+      }
+    }
+  }
+
   @Override
   public String toString() {
     int offset;
@@ -88,7 +140,7 @@ private boolean fill() {
         }
 
         // try to fill the buffer
-        int n = source.read(buffer, filled, buffer.length - filled);
+        int n = read(filled, buffer.length - filled);
 
         if (n == -1) {
           // EOF reached
@@ -104,4 +156,21 @@ private boolean fill() {
 
     return true;
   }
+
+  private int read(int offset, int length) throws IOException {
+    if (source != null) {
+      return source.read(buffer, offset, length);
+    }
+
+    if (!bytes.hasRemaining()) {
+      return -1;
+    }
+
+    CharBuffer chars = CharBuffer.wrap(buffer, offset, length);
+    CoderResult result = decoder.decode(bytes, chars, true);
+    if (result.isError()) {
+      result.throwException();
+    }
+    return chars.position() - offset;
+  }
 }
@@ -35,6 +35,24 @@
 
 class InstanceCoercer extends TypeCoercer<Object> {
 
+  // Working out how to populate a class is the expensive part, so do it once per class rather than
+  // once per coercer or instance.
+  private static final ClassValue<Map<String, TypeAndWriter>> FIELD_WRITERS =
+      new ClassValue<Map<String, TypeAndWriter>>() {
+        @Override
+        protected Map<String, TypeAndWriter> computeValue(Class<?> type) {
+          return getFieldWriters(type);
+        }
+      };
+
+  private static final ClassValue<Map<String, TypeAndWriter>> BEAN_WRITERS =
+      new ClassValue<Map<String, TypeAndWriter>>() {
+        @Override
+        protected Map<String, TypeAndWriter> computeValue(Class<?> type) {
+          return getBeanWriters(type);
+        }
+      };
+
   private final JsonTypeCoercer coercer;
 
   InstanceCoercer(JsonTypeCoercer coercer) {
@@ -62,11 +80,11 @@ public BiFunction<JsonInput, PropertySetting, Object> apply(Type type) {
         Map<String, TypeAndWriter> allWriters;
         switch (setter) {
           case BY_FIELD:
-            allWriters = getFieldWriters(constructor);
+            allWriters = FIELD_WRITERS.get(constructor.getDeclaringClass());
             break;
 
           case BY_NAME:
-            allWriters = getBeanWriters(constructor);
+            allWriters = BEAN_WRITERS.get(constructor.getDeclaringClass());
             break;
 
           default:
@@ -97,11 +115,9 @@ public BiFunction<JsonInput, PropertySetting, Object> apply(Type type) {
     };
   }
 
-  private Map<String, TypeAndWriter> getFieldWriters(Constructor<?> constructor) {
+  private static Map<String, TypeAndWriter> getFieldWriters(Class<?> type) {
     List<Field> fields = new LinkedList<>();
-    for (Class<?> current = constructor.getDeclaringClass();
-        current != Object.class;
-        current = current.getSuperclass()) {
+    for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
       fields.addAll(Arrays.asList(current.getDeclaredFields()));
     }
 
@@ -112,40 +128,19 @@ private Map<String, TypeAndWriter> getFieldWriters(Constructor<?> constructor) {
         .collect(
             Collectors.toMap(
                 Field::getName,
-                field -> {
-                  Type type = field.getGenericType();
-                  BiConsumer<Object, Object> writer =
-                      (instance, value) -> {
-                        try {
-                          field.set(instance, value);
-                        } catch (IllegalAccessException e) {
-                          throw new JsonException(e);
-                        }
-                      };
-                  return new TypeAndWriter(type, writer);
-                }));
+                field -> new TypeAndWriter(field.getGenericType(), Accessors.writer(field))));
   }
 
-  private Map<String, TypeAndWriter> getBeanWriters(Constructor<?> constructor) {
-    return Stream.of(
-            SimplePropertyDescriptor.getPropertyDescriptors(constructor.getDeclaringClass()))
+  private static Map<String, TypeAndWriter> getBeanWriters(Class<?> type) {
+    return Stream.of(SimplePropertyDescriptor.getPropertyDescriptors(type))
         .filter(desc -> desc.getWriteMethod() != null)
         .collect(
             Collectors.toMap(
                 SimplePropertyDescriptor::getName,
                 desc -> {
-                  Type type = desc.getWriteMethod().getGenericParameterTypes()[0];
-                  BiConsumer<Object, Object> writer =
-                      (instance, value) -> {
-                        Method method = desc.getWriteMethod();
-                        method.setAccessible(true);
-                        try {
-                          method.invoke(instance, value);
-                        } catch (ReflectiveOperationException e) {
-                          throw new JsonException(e);
-                        }
-                      };
-                  return new TypeAndWriter(type, writer);
+                  Method method = desc.getWriteMethod();
+                  return new TypeAndWriter(
+                      method.getGenericParameterTypes()[0], Accessors.writer(method));
                 }));
   }
 
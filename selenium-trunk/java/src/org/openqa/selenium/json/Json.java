@@ -24,6 +24,7 @@
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -81,6 +82,14 @@ public JsonInput newInput(Reader from) throws UncheckedIOException {
     return new JsonInput(from, fromJson, PropertySetting.BY_NAME);
   }
 
+  /**
+   * Reads JSON that is already held in memory, decoding the UTF-8 bytes directly rather than
+   * through a {@link Reader}. The buffer's position is not changed.
+   */
+  public JsonInput newInput(ByteBuffer utf8) {
+    return new JsonInput(utf8, fromJson, PropertySetting.BY_NAME);
+  }
+
   public JsonOutput newOutput(Appendable to) throws UncheckedIOException {
     return new JsonOutput(to);
   }
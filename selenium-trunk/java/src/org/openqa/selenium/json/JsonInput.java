@@ -23,6 +23,7 @@
 import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.Arrays;
@@ -32,7 +33,7 @@
 
 public class JsonInput implements Closeable {
 
-  private final Reader source;
+  private final Closeable source;
   private volatile boolean readPerformed = false;
   private JsonTypeCoercer coercer;
   private PropertySetting setter;
@@ -48,6 +49,13 @@ public class JsonInput implements Closeable {
     this.setter = Require.nonNull("Setter", setter);
   }
 
+  JsonInput(ByteBuffer source, JsonTypeCoercer coercer, PropertySetting setter) {
+    this.source = null;
+    this.coercer = Require.nonNull("Coercer", coercer);
+    this.input = new Input(source);
+    this.setter = Require.nonNull("Setter", setter);
+  }
+
   /**
    * Change how property setting is done. It's polite to set the value back once done processing.
    *
@@ -78,6 +86,10 @@ public JsonInput addCoercers(Iterable<TypeCoercer<?>> coercers) {
 
   @Override
   public void close() {
+    if (source == null) {
+      return;
+    }
+
     try {
       source.close();
     } catch (IOException e) {
@@ -143,13 +155,24 @@ public String nextName() {
     expect(JsonType.NAME);
 
     String name = readString();
+    readNameSeparator();
+    return name;
+  }
+
+  private void skipName() {
+    expect(JsonType.NAME);
+
+    readString(null);
+    readNameSeparator();
+  }
+
+  private void readNameSeparator() {
     skipWhitespace(input);
     char read = input.read();
     if (read != ':') {
       throw new JsonException(
           "Unable to read name. Expected colon separator, but saw '" + read + "'");
     }
-    return name;
   }
 
   public Object nextNull() {
@@ -162,6 +185,7 @@ public Number nextNumber() {
     StringBuilder builder = new StringBuilder();
     // We know it's safe to use a do/while loop since the first character was a number
     boolean fractionalPart = false;
+    boolean integral = true;
     do {
       char read = input.peek();
       if (Character.isDigit(read)
@@ -178,8 +202,20 @@ public Number nextNumber() {
       if (read == '.') {
         fractionalPart = true;
       }
+      if (!Character.isDigit(read) && (read != '-' || builder.length() != 1)) {
+        integral = false;
+      }
     } while (true);
 
+    // Most numbers are small integers, which don't need to go through a BigDecimal
+    if (integral && builder.length() < 19) {
+      try {
+        return Long.parseLong(builder, 0, builder.length(), 10);
+      } catch (NumberFormatException e) {
+        // Fall through to the general case, which reports the error
+      }
+    }
+
     try {
       Number number = new BigDecimal(builder.toString());
       if (fractionalPart) {
@@ -279,14 +315,15 @@ public void skipValue() {
       case START_MAP:
         beginObject();
         while (hasNext()) {
-          nextName();
+          skipName();
           skipValue();
         }
         endObject();
         break;
 
       case STRING:
-        nextString();
+        expect(JsonType.STRING);
+        readString(null);
         break;
 
       default:
@@ -353,22 +390,36 @@ private <X> X read(String toCompare, Function<String, X> mapper) {
   }
 
   private String readString() {
+    StringBuilder builder = new StringBuilder();
+    readString(builder);
+    return builder.toString();
+  }
+
+  /**
+   * Reads a string, appending its contents to {@code builder}. If {@code builder} is null, the
+   * string is still checked but its contents are thrown away, which is cheaper when skipping.
+   */
+  private void readString(StringBuilder builder) {
     input.read(); // Skip leading quote
 
-    StringBuilder builder = new StringBuilder();
     char c;
     while (true) {
+      // Copy everything up to the next quote or escape in one go
+      input.readStringRun(builder);
       c = input.read();
       switch (c) {
         case Input.EOF:
-          throw new JsonException("Unterminated string: " + builder + ". " + input);
+          throw new JsonException(
+              "Unterminated string: " + (builder == null ? "" : builder) + ". " + input);
         case '"': // terminate string
-          return builder.toString();
+          return;
         case '\\': // quoted char
-          readEscape(builder);
+          readEscape(builder == null ? new StringBuilder(1) : builder);
           break;
         default:
-          builder.append(c);
+          if (builder != null) {
+            builder.append(c);
+          }
       }
     }
   }
@@ -34,7 +34,6 @@
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -42,7 +41,6 @@
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.logging.LogLevelMapping;
 
@@ -70,193 +68,206 @@ public class JsonOutput implements Closeable {
   // https://github.com/google/gson/issues/341 so we escape those as well.
   // It's legal to escape any character, so to be nice to HTML parsers,
   // we'll also escape "<" and "&"
-  private static final Map<Integer, String> ESCAPES;
+  // Indexed by character. Apart from the line separator, every character we escape is ASCII.
+  private static final String[] ESCAPES = new String[128];
+  private static final String LINE_SEPARATOR_ESCAPE = "\\u2028";
 
   static {
-    // increased initial capacity to avoid hash collisions, especially for the following ranges:
-    // '0' to '9', 'a' to 'z', 'A' to 'Z'
-    Map<Integer, String> builder = new LinkedHashMap<>(128);
-
     for (int i = 0; i <= 0x1f; i++) {
       // We want nice looking escapes for these, which are called out
       // by json.org
       if (!(i == '\b' || i == '\f' || i == '\n' || i == '\r' || i == '\t')) {
-        builder.put(i, String.format("\\u%04x", i));
+        ESCAPES[i] = String.format("\\u%04x", i);
       }
     }
 
-    builder.put((int) '"', "\\\"");
-    builder.put((int) '\\', "\\\\");
-    builder.put((int) '/', "\\u002f");
-    builder.put((int) '\b', "\\b");
-    builder.put((int) '\f', "\\f");
-    builder.put((int) '\n', "\\n");
-    builder.put((int) '\r', "\\r");
-    builder.put((int) '\t', "\\t");
-
-    builder.put((int) '\u2028', "\\u2028");
-    builder.put((int) '<', String.format("\\u%04x", (int) '<'));
-    builder.put((int) '&', String.format("\\u%04x", (int) '&'));
-    ESCAPES = Collections.unmodifiableMap(builder);
+    ESCAPES['"'] = "\\\"";
+    ESCAPES['\\'] = "\\\\";
+    ESCAPES['/'] = "\\u002f";
+    ESCAPES['\b'] = "\\b";
+    ESCAPES['\f'] = "\\f";
+    ESCAPES['\n'] = "\\n";
+    ESCAPES['\r'] = "\\r";
+    ESCAPES['\t'] = "\\t";
+
+    ESCAPES['<'] = String.format("\\u%04x", (int) '<');
+    ESCAPES['&'] = String.format("\\u%04x", (int) '&');
   }
 
-  private final Map<Predicate<Class<?>>, DepthAwareConsumer> converters;
-  private final Appendable appendable;
-  private final Consumer<String> appender;
-  private Deque<Node> stack;
-  private String indent = "";
-  private String lineSeparator = "\n";
-  private String indentBy = "  ";
-  private boolean writeClassName = true;
-
-  JsonOutput(Appendable appendable) {
-    this.appendable = Require.nonNull("Underlying appendable", appendable);
-
-    this.appender =
-        str -> {
-          try {
-            appendable.append(str);
-          } catch (IOException e) {
-            throw new JsonException("Unable to write to underlying appendable", e);
-          }
-        };
-
-    this.stack = new ArrayDeque<>();
-    this.stack.addFirst(new Empty());
+  // Order matters, since we want to handle the common kinds of inputs first. Nulls never get this
+  // far, since they have no class to look up.
+  private static final Map<Predicate<Class<?>>, DepthAwareConsumer> CONVERTERS;
 
-    // Order matters, since we want to handle null values first to avoid exceptions, and then then
-    // common kinds of inputs next.
+  static {
     Map<Predicate<Class<?>>, DepthAwareConsumer> builder = new LinkedHashMap<>();
-    builder.put(Objects::isNull, (obj, maxDepth, depthRemaining) -> append("null"));
     builder.put(
         CharSequence.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(asString(obj)));
+        (out, obj, maxDepth, depthRemaining) -> out.append(asString(obj)));
     builder.put(
-        Number.class::isAssignableFrom, (obj, maxDepth, depthRemaining) -> append(obj.toString()));
+        Number.class::isAssignableFrom,
+        (out, obj, maxDepth, depthRemaining) -> out.append(obj.toString()));
     builder.put(
         Boolean.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append((Boolean) obj ? "true" : "false"));
+        (out, obj, maxDepth, depthRemaining) -> out.append((Boolean) obj ? "true" : "false"));
     builder.put(
         Date.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) ->
-            append(String.valueOf(MILLISECONDS.toSeconds(((Date) obj).getTime()))));
+        (out, obj, maxDepth, depthRemaining) ->
+            out.append(String.valueOf(MILLISECONDS.toSeconds(((Date) obj).getTime()))));
     builder.put(
         Instant.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) ->
-            append(asString(DateTimeFormatter.ISO_INSTANT.format((Instant) obj))));
+        (out, obj, maxDepth, depthRemaining) ->
+            out.append(asString(DateTimeFormatter.ISO_INSTANT.format((Instant) obj))));
     builder.put(
-        Enum.class::isAssignableFrom, (obj, maxDepth, depthRemaining) -> append(asString(obj)));
+        Enum.class::isAssignableFrom,
+        (out, obj, maxDepth, depthRemaining) -> out.append(asString(obj)));
     builder.put(
         File.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(((File) obj).getAbsolutePath()));
+        (out, obj, maxDepth, depthRemaining) -> out.append(((File) obj).getAbsolutePath()));
     builder.put(
         URI.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(asString((obj).toString())));
+        (out, obj, maxDepth, depthRemaining) -> out.append(asString((obj).toString())));
     builder.put(
         URL.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(asString(((URL) obj).toExternalForm())));
+        (out, obj, maxDepth, depthRemaining) -> out.append(asString(((URL) obj).toExternalForm())));
     builder.put(
         UUID.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(asString(obj.toString())));
+        (out, obj, maxDepth, depthRemaining) -> out.append(asString(obj.toString())));
     builder.put(
         Level.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> append(asString(LogLevelMapping.getName((Level) obj))));
+        (out, obj, maxDepth, depthRemaining) ->
+            out.append(asString(LogLevelMapping.getName((Level) obj))));
     builder.put(
         GSON_ELEMENT,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           LOG.log(
               Level.WARNING,
               "Attempt to convert JsonElement from GSON. This functionality is deprecated. "
                   + "Diagnostic stacktrace follows",
               new JsonException("Stack trace to determine cause of warning"));
-          append(obj.toString());
+          out.append(obj.toString());
         });
-    // Special handling of asMap and toJson
-    builder.put(
-        cls -> getMethod(cls, "toJson") != null,
-        (obj, maxDepth, depthRemaining) ->
-            convertUsingMethod("toJson", obj, maxDepth, depthRemaining));
-    builder.put(
-        cls -> getMethod(cls, "asMap") != null,
-        (obj, maxDepth, depthRemaining) ->
-            convertUsingMethod("asMap", obj, maxDepth, depthRemaining));
-    builder.put(
-        cls -> getMethod(cls, "toMap") != null,
-        (obj, maxDepth, depthRemaining) ->
-            convertUsingMethod("toMap", obj, maxDepth, depthRemaining));
+    // Special handling of asMap and toJson. Which method to call is worked out when the converter
+    // for the class is first looked up, below.
+    builder.put(cls -> getConversionMethod(cls) != null, null);
 
     // And then the collection types
     builder.put(
         Collection.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           if (depthRemaining < 1) {
             throw new JsonException(
                 "Reached the maximum depth of " + maxDepth + " while writing JSON");
           }
-          beginArray();
-          ((Collection<?>) obj)
-              .stream()
-                  .filter(o -> (!(o instanceof Optional) || ((Optional<?>) o).isPresent()))
-                  .forEach(o -> write0(o, maxDepth, depthRemaining - 1));
-          endArray();
+          out.beginArray();
+          for (Object o : (Collection<?>) obj) {
+            if (!(o instanceof Optional) || ((Optional<?>) o).isPresent()) {
+              out.write0(o, maxDepth, depthRemaining - 1);
+            }
+          }
+          out.endArray();
         });
 
     builder.put(
         Map.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           if (depthRemaining < 1) {
             throw new JsonException(
                 "Reached the maximum depth of " + maxDepth + " while writing JSON");
           }
-          beginObject();
+          out.beginObject();
           ((Map<?, ?>) obj)
               .forEach(
                   (key, value) -> {
                     if (value instanceof Optional && !((Optional) value).isPresent()) {
                       return;
                     }
-                    name(String.valueOf(key)).write0(value, maxDepth, depthRemaining - 1);
+                    out.name(String.valueOf(key)).write0(value, maxDepth, depthRemaining - 1);
                   });
-          endObject();
+          out.endObject();
         });
     builder.put(
         Class::isArray,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           if (depthRemaining < 1) {
             throw new JsonException(
                 "Reached the maximum depth of " + maxDepth + " while writing JSON");
           }
-          beginArray();
-          Stream.of((Object[]) obj)
-              .filter(o -> (!(o instanceof Optional) || ((Optional<?>) o).isPresent()))
-              .forEach(o -> write0(o, maxDepth, depthRemaining - 1));
-          endArray();
+          out.beginArray();
+          for (Object o : (Object[]) obj) {
+            if (!(o instanceof Optional) || ((Optional<?>) o).isPresent()) {
+              out.write0(o, maxDepth, depthRemaining - 1);
+            }
+          }
+          out.endArray();
         });
 
     builder.put(
         Optional.class::isAssignableFrom,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           Optional<?> optional = (Optional<?>) obj;
           if (!optional.isPresent()) {
-            append("null");
+            out.append("null");
             return;
           }
 
-          write0(optional.get(), maxDepth, depthRemaining);
+          out.write0(optional.get(), maxDepth, depthRemaining);
         });
 
     // Finally, attempt to convert as an object
     builder.put(
         cls -> true,
-        (obj, maxDepth, depthRemaining) -> {
+        (out, obj, maxDepth, depthRemaining) -> {
           if (depthRemaining < 1) {
             throw new JsonException(
                 "Reached the maximum depth of " + maxDepth + " while writing JSON");
           }
-          mapObject(obj, maxDepth, depthRemaining - 1);
+          out.mapObject(obj, maxDepth, depthRemaining - 1);
         });
 
-    this.converters = Collections.unmodifiableMap(builder);
+    CONVERTERS = Collections.unmodifiableMap(builder);
+  }
+
+  // Which converter to use only depends on the class of the value being written, so we only need
+  // to work it out once for each class.
+  private static final ClassValue<DepthAwareConsumer> CONVERTER_FOR_CLASS =
+      new ClassValue<DepthAwareConsumer>() {
+        @Override
+        protected DepthAwareConsumer computeValue(Class<?> type) {
+          for (Map.Entry<Predicate<Class<?>>, DepthAwareConsumer> entry : CONVERTERS.entrySet()) {
+            if (entry.getKey().test(type)) {
+              return entry.getValue() == null
+                  ? usingMethod(getConversionMethod(type))
+                  : entry.getValue();
+            }
+          }
+          return (out, obj, maxDepth, depthRemaining) -> {
+            throw new JsonException("Unable to write " + obj);
+          };
+        }
+      };
+
+  private final Appendable appendable;
+  private final Consumer<String> appender;
+  private Deque<Node> stack;
+  private String indent = "";
+  private String lineSeparator = "\n";
+  private String indentBy = "  ";
+  private boolean writeClassName = true;
+
+  JsonOutput(Appendable appendable) {
+    this.appendable = Require.nonNull("Underlying appendable", appendable);
+
+    this.appender =
+        str -> {
+          try {
+            appendable.append(str);
+          } catch (IOException e) {
+            throw new JsonException("Unable to write to underlying appendable", e);
+          }
+        };
+
+    this.stack = new ArrayDeque<>();
+    this.stack.addFirst(new Empty());
   }
 
   public JsonOutput setPrettyPrint(boolean enablePrettyPrinting) {
@@ -333,12 +344,11 @@ public JsonOutput write(Object value, int maxDepth) {
   }
 
   private JsonOutput write0(Object input, int maxDepth, int depthRemaining) {
-    converters.entrySet().stream()
-        .filter(entry -> entry.getKey().test(input == null ? null : input.getClass()))
-        .findFirst()
-        .map(Map.Entry::getValue)
-        .orElseThrow(() -> new JsonException("Unable to write " + input))
-        .consume(input, maxDepth, depthRemaining);
+    if (input == null) {
+      return append("null");
+    }
+
+    CONVERTER_FOR_CLASS.get(input.getClass()).consume(this, input, maxDepth, depthRemaining);
 
     return this;
   }
@@ -363,27 +373,31 @@ private JsonOutput append(String text) {
     return this;
   }
 
-  private String asString(Object obj) {
-    StringBuilder toReturn = new StringBuilder("\"");
+  private static String asString(Object obj) {
+    String text = String.valueOf(obj);
+    StringBuilder toReturn = new StringBuilder(text.length() + 2).append('"');
+
+    // Copy runs of characters that don't need escaping in one go
+    int unescapedFrom = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      String escaped = c < ESCAPES.length ? ESCAPES[c] : null;
+      if (c == '\u2028') {
+        escaped = LINE_SEPARATOR_ESCAPE;
+      }
 
-    String.valueOf(obj)
-        .chars()
-        .forEach(
-            i -> {
-              String escaped = ESCAPES.get(i);
-              if (escaped != null) {
-                toReturn.append(escaped);
-              } else {
-                toReturn.append((char) i);
-              }
-            });
+      if (escaped != null) {
+        toReturn.append(text, unescapedFrom, i).append(escaped);
+        unescapedFrom = i + 1;
+      }
+    }
 
-    toReturn.append('"');
+    toReturn.append(text, unescapedFrom, text.length()).append('"');
 
     return toReturn.toString();
   }
 
-  private Method getMethod(Class<?> clazz, String methodName) {
+  private static Method getMethod(Class<?> clazz, String methodName) {
     if (Object.class.equals(clazz)) {
       return null;
     }
@@ -400,14 +414,24 @@ private Method getMethod(Class<?> clazz, String methodName) {
     }
   }
 
+  private static Method getConversionMethod(Class<?> clazz) {
+    for (String methodName : new String[] {"toJson", "asMap", "toMap"}) {
+      Method method = getMethod(clazz, methodName);
+      if (method != null) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static DepthAwareConsumer usingMethod(Method method) {
+    return (out, obj, maxDepth, depthRemaining) ->
+        out.convertUsingMethod(method, obj, maxDepth, depthRemaining);
+  }
+
   private JsonOutput convertUsingMethod(
-      String methodName, Object toConvert, int maxDepth, int depthRemaining) {
+      Method method, Object toConvert, int maxDepth, int depthRemaining) {
     try {
-      Method method = getMethod(toConvert.getClass(), methodName);
-      if (method == null) {
-        throw new JsonException(
-            String.format("Unable to read object %s using method %s", toConvert, methodName));
-      }
       Object value = method.invoke(toConvert);
 
       return write0(value, maxDepth, depthRemaining);
@@ -500,6 +524,6 @@ public void write(String text) {
 
   @FunctionalInterface
   private interface DepthAwareConsumer {
-    void consume(Object object, int maxDepth, int depthRemaining);
+    void consume(JsonOutput out, Object object, int maxDepth, int depthRemaining);
   }
 }
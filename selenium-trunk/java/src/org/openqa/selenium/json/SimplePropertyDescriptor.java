@@ -37,6 +37,15 @@ public class SimplePropertyDescriptor {
         return obj.getClass().getName();
       };
 
+  // Scanning a class's methods is expensive, and the answer never changes
+  private static final ClassValue<SimplePropertyDescriptor[]> DESCRIPTORS =
+      new ClassValue<SimplePropertyDescriptor[]>() {
+        @Override
+        protected SimplePropertyDescriptor[] computeValue(Class<?> type) {
+          return findPropertyDescriptors(type);
+        }
+      };
+
   private final String name;
   private final Function<Object, Object> read;
   private final Method write;
@@ -60,6 +69,10 @@ public Method getWriteMethod() {
   }
 
   public static SimplePropertyDescriptor[] getPropertyDescriptors(Class<?> clazz) {
+    return DESCRIPTORS.get(clazz).clone();
+  }
+
+  private static SimplePropertyDescriptor[] findPropertyDescriptors(Class<?> clazz) {
     Map<String, SimplePropertyDescriptor> properties = new HashMap<>();
 
     properties.put("class", new SimplePropertyDescriptor("class", GET_CLASS_NAME, null));
@@ -95,17 +108,7 @@ public static SimplePropertyDescriptor[] getPropertyDescriptors(Class<?> clazz)
       Function<Object, Object> read = null;
 
       if (readMethod != null) {
-        final Method finalReadMethod = readMethod;
-
-        read =
-            obj -> {
-              try {
-                finalReadMethod.setAccessible(true);
-                return finalReadMethod.invoke(obj);
-              } catch (ReflectiveOperationException e) {
-                throw new JsonException(e);
-              }
-            };
+        read = Accessors.reader(readMethod);
       }
 
       if (readMethod != null || writeMethod != null) {
@@ -17,8 +17,11 @@
 
 package org.openqa.selenium.json;
 
+import static java.lang.invoke.MethodType.methodType;
 import static org.openqa.selenium.json.Types.narrow;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -42,8 +45,16 @@ public BiFunction<JsonInput, PropertySetting, Object> apply(Type type) {
     Method fromJson = getMethods(aClass).findFirst().get();
     fromJson.setAccessible(true);
 
+    MethodHandle factory;
+    try {
+      factory =
+          MethodHandles.lookup().unreflect(fromJson).asType(methodType(Object.class, Object.class));
+    } catch (IllegalAccessException e) {
+      throw new JsonException("Unable to access fromJson method of " + type, e);
+    }
+    Type argType = fromJson.getGenericParameterTypes()[0];
+
     return (jsonInput, setting) -> {
-      Type argType = fromJson.getGenericParameterTypes()[0];
       Object obj;
       if (JsonInput.class.equals(argType)) {
         obj = jsonInput;
@@ -56,8 +67,10 @@ public BiFunction<JsonInput, PropertySetting, Object> apply(Type type) {
       }
 
       try {
-        return fromJson.invoke(null, obj);
-      } catch (ReflectiveOperationException e) {
+        return factory.invokeExact(obj);
+      } catch (Error | JsonException e) {
+        throw e;
+      } catch (Throwable e) {
         throw new JsonException("Unable to create instance of " + type, e);
       }
     };
@@ -40,6 +40,8 @@
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import javax.net.ssl.SSLException;
+import org.openqa.selenium.grid.jmx.JMXHelper;
+import org.openqa.selenium.grid.jmx.MBean;
 import org.openqa.selenium.grid.server.BaseServerOptions;
 import org.openqa.selenium.grid.server.Server;
 import org.openqa.selenium.internal.Require;
@@ -60,8 +62,13 @@ public class NettyServer implements Server<NettyServer> {
   private final BiFunction<String, Consumer<Message>, Optional<Consumer<Message>>> websocketHandler;
   private final SslContext sslCtx;
   private final boolean allowCors;
+  private final boolean streamBodies;
+  private final int compressionThreshold;
+  private final boolean h2c;
+  private final RequestExecutor requestExecutor;
 
   private Channel channel;
+  private MBean requestExecutorBean;
 
   public NettyServer(BaseServerOptions options, HttpHandler handler) {
     this(options, handler, (str, sink) -> Optional.empty());
@@ -105,6 +112,12 @@ public NettyServer(
     host = options.getHostname().orElse("0.0.0.0");
     bindHost = options.getBindHost();
     allowCors = options.getAllowCORS();
+    streamBodies = options.streamBodies();
+    // A negative threshold tells the channel initializer not to compress at all.
+    compressionThreshold = options.compressResponses() ? options.getCompressionThreshold() : -1;
+    // HTTP/2 over TLS needs ALPN, which isn't set up here.
+    h2c = options.useH2c() && sslCtx == null;
+    requestExecutor = RequestExecutor.create(options);
 
     try {
       externalUrl = options.getExternalUri().toURL();
@@ -136,6 +149,11 @@ public void stop() {
       throw new UncheckedIOException(new IOException("Shutdown interrupted", e));
     } finally {
       channel = null;
+      requestExecutor.shutdown();
+      if (requestExecutorBean != null) {
+        new JMXHelper().unregister(requestExecutorBean.getObjectName());
+        requestExecutorBean = null;
+      }
     }
   }
 
@@ -146,7 +164,16 @@ public NettyServer start() {
     b.group(bossGroup, workerGroup)
         .channel(NioServerSocketChannel.class)
         .handler(new LoggingHandler(LogLevel.DEBUG))
-        .childHandler(new SeleniumHttpInitializer(sslCtx, handler, websocketHandler, allowCors));
+        .childHandler(
+            new SeleniumHttpInitializer(
+                sslCtx,
+                handler,
+                websocketHandler,
+                allowCors,
+                streamBodies,
+                compressionThreshold,
+                h2c,
+                requestExecutor));
 
     try {
       // Using a flag to avoid binding to the host, useful in environments like Docker,
@@ -170,6 +197,8 @@ public NettyServer start() {
       throw e;
     }
 
+    requestExecutorBean = new JMXHelper().register(requestExecutor);
+
     return this;
   }
 }
@@ -47,6 +47,7 @@
 import org.openqa.selenium.remote.http.HttpMethod;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.StreamingBodies;
 import org.openqa.selenium.remote.tracing.AttributeKey;
 
 class RequestConverter extends SimpleChannelInboundHandler<HttpObject> {
@@ -54,9 +55,25 @@ class RequestConverter extends SimpleChannelInboundHandler<HttpObject> {
   private static final Logger LOG = Logger.getLogger(RequestConverter.class.getName());
   private static final List<io.netty.handler.codec.http.HttpMethod> SUPPORTED_METHODS =
       Arrays.asList(DELETE, GET, POST, OPTIONS);
+  // Bodies larger than this are spilled to disk, or streamed if that has been enabled.
+  private static final int IN_MEMORY_BUFFER_SIZE = 3 * 1024 * 1024;
+  private final boolean streamBodies;
   private volatile FileBackedOutputStream buffer;
+  private volatile StreamingContent streaming;
   private volatile HttpRequest request;
 
+  RequestConverter() {
+    this(false);
+  }
+
+  /**
+   * @param streamBodies whether large request bodies should be handed on as they arrive, and
+   *     response bodies may be streamed back, rather than both being buffered in full.
+   */
+  RequestConverter(boolean streamBodies) {
+    this.streamBodies = streamBodies;
+  }
+
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
     LOG.log(Debug.getDebugLogLevel(), "Incoming message: {0}", msg);
@@ -91,6 +108,29 @@ protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Ex
           AttributeKey.HTTP_FLAVOR.getKey(), nettyRequest.protocolVersion().majorVersion());
 
       buffer = null;
+      streaming = null;
+
+      if (streamBodies) {
+        StreamingBodies.acceptStreamingBodies(request);
+
+        if (HttpUtil.getContentLength(nettyRequest, -1L) > IN_MEMORY_BUFFER_SIZE) {
+          streaming = new StreamingContent(ctx.channel());
+          request.setContent(streaming);
+          StreamingBodies.markReadOnce(request);
+          ctx.fireChannelRead(request);
+        }
+      }
+    }
+
+    if (msg instanceof HttpContent && streaming != null) {
+      streaming.add(((HttpContent) msg).content().retain());
+
+      if (msg instanceof LastHttpContent) {
+        LOG.log(Debug.getDebugLogLevel(), "End of streamed http request: {0}", msg);
+        streaming.end();
+        streaming = null;
+      }
+      return;
     }
 
     if (msg instanceof HttpContent) {
@@ -99,7 +139,7 @@ protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Ex
 
       if (nBytes > 0) {
         if (buffer == null) {
-          buffer = new FileBackedOutputStream(3 * 1024 * 1024, true);
+          buffer = new FileBackedOutputStream(IN_MEMORY_BUFFER_SIZE, true);
         }
 
         try {
@@ -147,6 +187,10 @@ public int read(byte[] b, int off, int len) throws IOException {
   @Override
   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
     LOG.log(Debug.getDebugLogLevel(), "Channel became inactive.");
+    if (streaming != null) {
+      streaming.fail(new IOException("Connection closed before the request body was received"));
+      streaming = null;
+    }
     super.channelInactive(ctx);
   }
 
@@ -0,0 +1,223 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.netty.server;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.openqa.selenium.grid.jmx.ManagedAttribute;
+import org.openqa.selenium.grid.jmx.ManagedService;
+import org.openqa.selenium.grid.server.BaseServerOptions;
+import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+/**
+ * Runs the handlers for incoming requests off the Netty event loop. By default every request gets a
+ * thread, as it always has, but the server can instead be given a fixed number of threads and a
+ * bounded queue, or run each request on a virtual thread. Requests that would go over any of the
+ * limits are turned away rather than being allowed to pile up, so the caller can try again later.
+ */
+@ManagedService(description = "Executor for incoming HTTP requests")
+public class RequestExecutor {
+
+  private static final Logger LOG = Logger.getLogger(RequestExecutor.class.getName());
+
+  private final int port;
+  private final ExecutorService executor;
+  private final Map<String, Semaphore> routeLimits;
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  RequestExecutor(int port, ExecutorService executor, Map<String, Integer> routeLimits) {
+    this.port = port;
+    this.executor = Require.nonNull("Executor", executor);
+
+    Require.nonNull("Route limits", routeLimits);
+    Map<String, Semaphore> limits = new LinkedHashMap<>();
+    routeLimits.forEach(
+        (prefix, limit) -> limits.put(prefix, new Semaphore(Require.positive("Limit", limit))));
+    this.routeLimits = Collections.unmodifiableMap(limits);
+  }
+
+  static RequestExecutor create(BaseServerOptions options) {
+    Require.nonNull("Server options", options);
+    return new RequestExecutor(
+        options.getPort(), createExecutor(options), options.getRouteConcurrencyLimits());
+  }
+
+  public ObjectName getObjectName() throws MalformedObjectNameException {
+    return new ObjectName(
+        String.format("org.seleniumhq.grid:type=Server,name=RequestExecutor,port=%d", port));
+  }
+
+  private static ExecutorService createExecutor(BaseServerOptions options) {
+    if (options.useVirtualThreads()) {
+      try {
+        Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) factory.invoke(null);
+      } catch (ReflectiveOperationException e) {
+        LOG.log(
+            Level.WARNING,
+            "Virtual threads need Java 21 or later. Falling back to platform threads.");
+      }
+    }
+
+    int threads = options.getRequestThreads();
+    if (threads == 0) {
+      return Executors.newCachedThreadPool();
+    }
+
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(options.getRequestQueueSize()));
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * @return whether the task was accepted. If it was not, the server is too busy and nothing will
+   *     be run.
+   */
+  boolean execute(HttpRequest req, Runnable task) {
+    Require.nonNull("Task", task);
+
+    return executeDeferred(
+        req,
+        () -> {
+          task.run();
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  /**
+   * Like {@link #execute(HttpRequest, Runnable)}, but the request counts against its route's limit
+   * until the stage returned by {@code task} completes, rather than until {@code task} returns.
+   * This covers handlers that hand back their response later, such as long polls and proxied
+   * requests.
+   *
+   * @return whether the task was accepted. If it was not, the server is too busy and nothing will
+   *     be run.
+   */
+  boolean executeDeferred(HttpRequest req, Supplier<? extends CompletionStage<?>> task) {
+    Require.nonNull("Request", req);
+    Require.nonNull("Task", task);
+
+    Semaphore permits = getRouteLimit(req.getUri());
+    if (permits != null && !permits.tryAcquire()) {
+      rejected.incrementAndGet();
+      return false;
+    }
+
+    try {
+      executor.submit(
+          () -> {
+            active.incrementAndGet();
+            CompletionStage<?> finished = null;
+            try {
+              finished = task.get();
+            } finally {
+              active.decrementAndGet();
+              if (permits != null) {
+                if (finished == null) {
+                  permits.release();
+                } else {
+                  finished.whenComplete((ignored, throwable) -> permits.release());
+                }
+              }
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException e) {
+      if (permits != null) {
+        permits.release();
+      }
+      rejected.incrementAndGet();
+      return false;
+    }
+  }
+
+  /**
+   * Runs work left over from a request that has already been handled, such as writing out a body
+   * that is still being streamed in. Route limits don't apply, since the request already counted
+   * against them.
+   *
+   * @throws RejectedExecutionException if the server is too busy.
+   */
+  void executeFollowUp(Runnable task) {
+    Require.nonNull("Task", task);
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      rejected.incrementAndGet();
+      throw e;
+    }
+  }
+
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  private Semaphore getRouteLimit(String uri) {
+    for (Map.Entry<String, Semaphore> entry : routeLimits.entrySet()) {
+      if (uri.startsWith(entry.getKey())) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  @ManagedAttribute(name = "QueueDepth")
+  public int getQueueDepth() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getQueue().size();
+    }
+    return 0;
+  }
+
+  @ManagedAttribute(name = "ActiveCount")
+  public int getActiveCount() {
+    return active.get();
+  }
+
+  @ManagedAttribute(name = "RejectedCount")
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+}
@@ -33,19 +33,34 @@
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.stream.ChunkedStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.StreamingBodies;
 
 public class ResponseConverter extends ChannelOutboundHandlerAdapter {
 
+  private static final Logger LOG = Logger.getLogger(ResponseConverter.class.getName());
   private static final int CHUNK_SIZE = 1024 * 1024;
   private static final ThreadLocal<byte[]> CHUNK_CACHE =
       ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
   private final boolean allowCors;
+  private final Executor streamExecutor;
 
-  public ResponseConverter(boolean allowCors) {
+  /**
+   * @param streamExecutor used to write out bodies that are still being streamed in, since reading
+   *     them may block until more arrives and that must not happen on the event loop.
+   */
+  public ResponseConverter(boolean allowCors, Executor streamExecutor) {
     this.allowCors = allowCors;
+    this.streamExecutor = Require.nonNull("Executor for streamed bodies", streamExecutor);
   }
 
   @Override
@@ -58,6 +73,20 @@ public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
 
     HttpResponse seResponse = (HttpResponse) msg;
 
+    if (StreamingBodies.isReadOnce(seResponse)) {
+      try {
+        streamExecutor.execute(() -> writeStreamed(ctx, seResponse, promise));
+      } catch (RejectedExecutionException e) {
+        LOG.log(Level.WARNING, "Unable to write a streamed response. Closing connection.", e);
+        try (InputStream ignored = seResponse.getContent().get()) {
+          // Closing the body lets go of wherever it was coming from.
+        }
+        promise.tryFailure(e);
+        ctx.close();
+      }
+      return;
+    }
+
     // We may not know how large the response is, but figure it out if we can.
     byte[] ary = CHUNK_CACHE.get();
     InputStream is = seResponse.getContent().get();
@@ -95,6 +124,53 @@ public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
     }
   }
 
+  /**
+   * Writes a response whose body is still arriving. This runs off the event loop, and waits for
+   * each chunk to be written before reading the next, so at most one chunk is held in memory.
+   */
+  private void writeStreamed(
+      ChannelHandlerContext ctx, HttpResponse seResponse, ChannelPromise promise) {
+    try (InputStream is = seResponse.getContent().get()) {
+      byte[] ary = CHUNK_CACHE.get();
+      int byteCount = Math.max(ByteStreams.read(is, ary, 0, ary.length), 0);
+
+      if (byteCount < CHUNK_SIZE) {
+        DefaultFullHttpResponse full =
+            new DefaultFullHttpResponse(
+                HTTP_1_1,
+                HttpResponseStatus.valueOf(seResponse.getStatus()),
+                Unpooled.copiedBuffer(ary, 0, byteCount));
+        full.headers().addInt(CONTENT_LENGTH, byteCount);
+        copyHeaders(seResponse, full);
+        ctx.writeAndFlush(full, promise);
+        return;
+      }
+
+      DefaultHttpResponse first =
+          new DefaultHttpResponse(HTTP_1_1, HttpResponseStatus.valueOf(seResponse.getStatus()));
+      first.headers().set(TRANSFER_ENCODING, CHUNKED);
+      copyHeaders(seResponse, first);
+      ctx.write(first);
+
+      while (byteCount > 0) {
+        ChannelFuture written =
+            ctx.writeAndFlush(new DefaultHttpContent(Unpooled.copiedBuffer(ary, 0, byteCount)));
+        if (!written.awaitUninterruptibly().isSuccess()) {
+          promise.tryFailure(written.cause());
+          return;
+        }
+        byteCount = is.read(ary, 0, ary.length);
+      }
+      ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT, promise);
+    } catch (IOException | RuntimeException e) {
+      // The headers may have gone out already, so the only way left to tell the client something
+      // went wrong is to close the connection.
+      LOG.log(Level.WARNING, "Unable to write a streamed response. Closing connection.", e);
+      promise.tryFailure(e);
+      ctx.close();
+    }
+  }
+
   private void copyHeaders(HttpResponse seResponse, DefaultHttpResponse first) {
     for (String name : seResponse.getHeaderNames()) {
       if (CONTENT_LENGTH.contentEqualsIgnoreCase(name)
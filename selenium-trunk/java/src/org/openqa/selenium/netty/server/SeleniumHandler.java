@@ -17,32 +17,105 @@
 
 package org.openqa.selenium.netty.server;
 
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.ErrorCodec;
 import org.openqa.selenium.remote.ErrorFilter;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.DeferredResponses;
 import org.openqa.selenium.remote.http.HttpHandler;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
 
 class SeleniumHandler extends SimpleChannelInboundHandler<HttpRequest> {
 
-  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+  private static final ErrorCodec ERRORS = ErrorCodec.createDefault();
+  // How long, in seconds, clients are asked to wait before retrying when the server is too busy
+  private static final String RETRY_AFTER = "1";
   private final HttpHandler seleniumHandler;
+  private final RequestExecutor executor;
 
-  public SeleniumHandler(HttpHandler seleniumHandler) {
+  public SeleniumHandler(HttpHandler seleniumHandler, RequestExecutor executor) {
     super(HttpRequest.class);
     this.seleniumHandler = Require.nonNull("HTTP handler", seleniumHandler).with(new ErrorFilter());
+    this.executor = Require.nonNull("Request executor", executor);
   }
 
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, HttpRequest msg) {
-    EXECUTOR.submit(
-        () -> {
-          HttpResponse res = seleniumHandler.execute(msg);
-          ctx.writeAndFlush(res);
-        });
+    if (!executor.executeDeferred(msg, () -> handle(ctx, msg))) {
+      discardUnreadBody(msg);
+      ctx.writeAndFlush(serverBusy());
+    }
+  }
+
+  /**
+   * @return a stage that completes once the response has been handed to Netty.
+   */
+  private CompletionStage<?> handle(ChannelHandlerContext ctx, HttpRequest msg) {
+    DeferredResponses.acceptDeferredResponses(msg);
+    HttpResponse res;
+    try {
+      res = seleniumHandler.execute(msg);
+    } catch (RuntimeException | Error e) {
+      discardUnreadBody(msg);
+      throw e;
+    }
+
+    Optional<CompletionStage<HttpResponse>> deferred = DeferredResponses.getCompletion(res);
+    if (deferred.isPresent()) {
+      // Write the response once it is ready, without holding on to this thread. The body may
+      // still be on its way upstream until then (a proxied upload, say), so it's left alone.
+      return deferred
+          .get()
+          .whenComplete(
+              (completed, throwable) -> {
+                discardUnreadBody(msg);
+                ctx.writeAndFlush(throwable == null ? completed : toErrorResponse(throwable));
+              });
+    }
+
+    discardUnreadBody(msg);
+    ctx.writeAndFlush(res);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private static void discardUnreadBody(HttpRequest req) {
+    // A streamed body that the handler didn't read in full would otherwise stall the connection.
+    if (req.getContent() instanceof StreamingContent) {
+      ((StreamingContent) req.getContent()).discard();
+    }
+  }
+
+  private static HttpResponse serverBusy() {
+    WebDriverException busy =
+        new WebDriverException("Server is too busy to handle the request. Please try again.");
+    return new HttpResponse()
+        .setHeader("Cache-Control", "none")
+        .setHeader("Content-Type", Json.JSON_UTF_8)
+        .setHeader("Retry-After", RETRY_AFTER)
+        .setStatus(HTTP_UNAVAILABLE)
+        .setContent(Contents.asJson(ERRORS.encode(busy)));
+  }
+
+  private static HttpResponse toErrorResponse(Throwable throwable) {
+    Throwable cause =
+        throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    return new HttpResponse()
+        .setHeader("Cache-Control", "none")
+        .setHeader("Content-Type", Json.JSON_UTF_8)
+        .setStatus(ERRORS.getHttpStatusCode(cause))
+        .setContent(Contents.asJson(ERRORS.encode(cause)));
   }
 }
@@ -17,13 +17,27 @@
 
 package org.openqa.selenium.netty.server;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketServerCompressionHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -35,20 +49,35 @@
 class SeleniumHttpInitializer extends ChannelInitializer<SocketChannel> {
 
   private static AttributeKey<Consumer<Message>> KEY = AttributeKey.newInstance("se-ws-handler");
+  // The body of a request asking to upgrade is held in memory until the upgrade is done. Larger
+  // requests, and those of unknown length, are answered over HTTP/1.1 without being upgraded.
+  private static final int MAX_UPGRADE_CONTENT_LENGTH = 64 * 1024;
   private HttpHandler seleniumHandler;
   private final BiFunction<String, Consumer<Message>, Optional<Consumer<Message>>> webSocketHandler;
   private SslContext sslCtx;
   private final boolean allowCors;
+  private final boolean streamBodies;
+  private final int compressionThreshold;
+  private final boolean h2c;
+  private final RequestExecutor executor;
 
   SeleniumHttpInitializer(
       SslContext sslCtx,
       HttpHandler seleniumHandler,
       BiFunction<String, Consumer<Message>, Optional<Consumer<Message>>> webSocketHandler,
-      boolean allowCors) {
+      boolean allowCors,
+      boolean streamBodies,
+      int compressionThreshold,
+      boolean h2c,
+      RequestExecutor executor) {
     this.sslCtx = sslCtx;
     this.seleniumHandler = Require.nonNull("HTTP handler", seleniumHandler);
     this.webSocketHandler = Require.nonNull("WebSocket handler", webSocketHandler);
     this.allowCors = allowCors;
+    this.streamBodies = streamBodies;
+    this.compressionThreshold = compressionThreshold;
+    this.h2c = h2c;
+    this.executor = Require.nonNull("Request executor", executor);
   }
 
   @Override
@@ -56,7 +85,49 @@ protected void initChannel(SocketChannel ch) {
     if (sslCtx != null) {
       ch.pipeline().addLast("ssl", sslCtx.newHandler(ch.alloc()));
     }
-    ch.pipeline().addLast("codec", new HttpServerCodec());
+    if (h2c) {
+      // Connections that start with the HTTP/2 preface, or that upgrade from HTTP/1.1, are
+      // handled by the multiplexer, with each stream getting a pipeline of its own. Anything else
+      // carries on through the rest of this pipeline as plain HTTP/1.1.
+      HttpServerCodec codec = new HttpServerCodec();
+      HttpServerUpgradeHandler upgrade =
+          new HttpServerUpgradeHandler(
+              codec,
+              protocol ->
+                  AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+                      ? new Http2ServerUpgradeCodec(
+                          Http2FrameCodecBuilder.forServer().build(),
+                          new Http2MultiplexHandler(new Http2StreamInitializer()))
+                      : null,
+              MAX_UPGRADE_CONTENT_LENGTH) {
+            @Override
+            protected boolean shouldHandleUpgradeRequest(HttpRequest req) {
+              // Clients such as the JDK's ask to upgrade on the first request of every connection,
+              // whatever its size, and a body over the limit would otherwise be rejected.
+              return !HttpUtil.isTransferEncodingChunked(req)
+                  && HttpUtil.getContentLength(req, 0L) <= MAX_UPGRADE_CONTENT_LENGTH;
+            }
+          };
+      ch.pipeline()
+          .addLast(
+              "h2c",
+              new CleartextHttp2ServerUpgradeHandler(
+                  codec,
+                  upgrade,
+                  new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) {
+                      channel
+                          .pipeline()
+                          .addLast(
+                              Http2FrameCodecBuilder.forServer().build(),
+                              new Http2MultiplexHandler(new Http2StreamInitializer()));
+                    }
+                  }));
+    } else {
+      ch.pipeline().addLast("codec", new HttpServerCodec());
+    }
+    addCompression(ch.pipeline());
     ch.pipeline().addLast("keep-alive", new HttpServerKeepAliveHandler());
     ch.pipeline().addLast("chunked-write", new ChunkedWriteHandler());
 
@@ -67,9 +138,39 @@ protected void initChannel(SocketChannel ch) {
     ch.pipeline().addLast("se-to-netty-messages", new MessageOutboundConverter());
     ch.pipeline().addLast("se-websocket-handler", new WebSocketMessageHandler(KEY));
 
+    addSeleniumHandlers(ch.pipeline());
+  }
+
+  private void addCompression(ChannelPipeline pipeline) {
+    if (compressionThreshold >= 0) {
+      // Responses that already have a Content-Encoding, such as those the router passes on from
+      // a node, are sent as they are.
+      pipeline.addLast(
+          "compression",
+          new HttpContentCompressor(
+              compressionThreshold,
+              StandardCompressionOptions.gzip(),
+              StandardCompressionOptions.deflate()));
+    }
+  }
+
+  private void addSeleniumHandlers(ChannelPipeline pipeline) {
     // Regular HTTP magic
-    ch.pipeline().addLast("se-request", new RequestConverter());
-    ch.pipeline().addLast("se-response", new ResponseConverter(allowCors));
-    ch.pipeline().addLast("se-handler", new SeleniumHandler(seleniumHandler));
+    pipeline.addLast("se-request", new RequestConverter(streamBodies));
+    pipeline.addLast("se-response", new ResponseConverter(allowCors, executor::executeFollowUp));
+    pipeline.addLast("se-handler", new SeleniumHandler(seleniumHandler, executor));
+  }
+
+  /**
+   * Sets up each HTTP/2 stream so that it looks like a HTTP/1.1 exchange to the rest of the server.
+   */
+  private class Http2StreamInitializer extends ChannelInitializer<Channel> {
+    @Override
+    protected void initChannel(Channel ch) {
+      ch.pipeline().addLast("codec", new Http2StreamFrameToHttpObjectCodec(true));
+      addCompression(ch.pipeline());
+      ch.pipeline().addLast("chunked-write", new ChunkedWriteHandler());
+      addSeleniumHandlers(ch.pipeline());
+    }
   }
 }
@@ -0,0 +1,162 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.netty.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * The body of a request that is handed to the handler before all of it has arrived. Chunks are
+ * queued as the channel reads them, and reading from the channel is paused while more than {@link
+ * #HIGH_WATER_MARK} bytes are waiting to be read, so a slow reader cannot make us buffer the whole
+ * body in memory. The body can only be read once.
+ */
+class StreamingContent implements Supplier<InputStream> {
+
+  static final int HIGH_WATER_MARK = 1024 * 1024;
+  static final int LOW_WATER_MARK = HIGH_WATER_MARK / 4;
+
+  private final Channel channel;
+  private final Deque<ByteBuf> chunks = new ArrayDeque<>();
+  private int queuedBytes;
+  private boolean ended;
+  private boolean discarding;
+  private boolean handedOut;
+  private IOException failure;
+
+  StreamingContent(Channel channel) {
+    this.channel = Require.nonNull("Channel", channel);
+  }
+
+  /** Called on the event loop with each chunk read from the channel. Takes ownership of it. */
+  synchronized void add(ByteBuf chunk) {
+    if (discarding || ended || !chunk.isReadable()) {
+      chunk.release();
+      return;
+    }
+
+    chunks.add(chunk);
+    queuedBytes += chunk.readableBytes();
+    if (queuedBytes > HIGH_WATER_MARK) {
+      channel.config().setAutoRead(false);
+    }
+    notifyAll();
+  }
+
+  synchronized void end() {
+    ended = true;
+    notifyAll();
+  }
+
+  synchronized void fail(IOException cause) {
+    if (ended) {
+      // Everything has already arrived, so there's still a complete body to read.
+      return;
+    }
+    failure = cause;
+    releaseChunks();
+    notifyAll();
+  }
+
+  /**
+   * Drops anything that has not been read yet, including chunks that have not arrived, so that the
+   * connection can be used for the next request.
+   */
+  synchronized void discard() {
+    discarding = true;
+    releaseChunks();
+    notifyAll();
+  }
+
+  @Override
+  public synchronized InputStream get() {
+    if (handedOut) {
+      throw new IllegalStateException("Streamed content has already been read");
+    }
+    handedOut = true;
+
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return StreamingContent.this.read(b, off, len);
+      }
+
+      @Override
+      public void close() {
+        discard();
+      }
+    };
+  }
+
+  private synchronized int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+
+    while (chunks.isEmpty()) {
+      if (failure != null) {
+        throw failure;
+      }
+      if (ended || discarding) {
+        return -1;
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for request body");
+      }
+    }
+
+    ByteBuf head = chunks.peek();
+    int count = Math.min(len, head.readableBytes());
+    head.readBytes(b, off, count);
+    if (!head.isReadable()) {
+      chunks.remove().release();
+    }
+
+    queuedBytes -= count;
+    if (queuedBytes < LOW_WATER_MARK && !channel.config().isAutoRead()) {
+      channel.config().setAutoRead(true);
+    }
+    return count;
+  }
+
+  private void releaseChunks() {
+    chunks.forEach(ByteBuf::release);
+    chunks.clear();
+    queuedBytes = 0;
+    if (!channel.config().isAutoRead()) {
+      channel.config().setAutoRead(true);
+    }
+  }
+}
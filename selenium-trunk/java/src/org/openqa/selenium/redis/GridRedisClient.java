@@ -19,16 +19,24 @@
 
 import io.lettuce.core.KeyValue;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanIterator;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import java.io.Closeable;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.grid.data.Availability;
 import org.openqa.selenium.grid.data.NodeId;
 import org.openqa.selenium.grid.data.NodeStatus;
@@ -79,6 +87,63 @@ public List<String> getKeysByPattern(String pattern) {
     return connection.sync().keys(pattern);
   }
 
+  /**
+   * Like {@link #getKeysByPattern(String)}, but uses {@code SCAN} so that the server is not blocked
+   * while the whole keyspace is walked.
+   */
+  public List<String> scanKeysByPattern(String pattern) {
+    List<String> keys = new ArrayList<>();
+    ScanIterator.scan(connection.sync(), ScanArgs.Builder.matches(pattern))
+        .forEachRemaining(keys::add);
+    return keys;
+  }
+
+  public Map<String, String> hgetall(String key) {
+    return connection.sync().hgetall(key);
+  }
+
+  public String hget(String key, String field) {
+    return connection.sync().hget(key, field);
+  }
+
+  public Set<String> smembers(String key) {
+    return connection.sync().smembers(key);
+  }
+
+  /**
+   * Stores {@code fields} in the hash at {@code key}, and adds {@code member} to the set at {@code
+   * indexKey}. The commands are pipelined, so this costs a single round trip. If {@code ttl} is
+   * positive, both keys will expire once it has passed.
+   */
+  public void hsetAndIndex(
+      String key, Map<String, String> fields, String indexKey, String member, Duration ttl) {
+    RedisAsyncCommands<String, String> async = connection.async();
+
+    List<RedisFuture<?>> futures = new ArrayList<>();
+    futures.add(async.hset(key, fields));
+    futures.add(async.sadd(indexKey, member));
+    if (!ttl.isNegative() && !ttl.isZero()) {
+      futures.add(async.expire(key, ttl.getSeconds()));
+      futures.add(async.expire(indexKey, ttl.getSeconds()));
+    }
+
+    await(futures);
+  }
+
+  /**
+   * Deletes {@code keys}, and removes {@code member} from the set at {@code indexKey}, in a single
+   * round trip.
+   */
+  public void delAndUnindex(String indexKey, String member, String... keys) {
+    RedisAsyncCommands<String, String> async = connection.async();
+
+    List<RedisFuture<?>> futures = new ArrayList<>();
+    futures.add(async.del(keys));
+    futures.add(async.srem(indexKey, member));
+
+    await(futures);
+  }
+
   public boolean isOpen() {
     return connection.isOpen();
   }
@@ -87,6 +152,19 @@ public void del(String... var1) {
     connection.sync().del(var1);
   }
 
+  private void await(List<RedisFuture<?>> futures) {
+    try {
+      for (RedisFuture<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WebDriverException(e);
+    } catch (ExecutionException e) {
+      throw new WebDriverException(e.getCause());
+    }
+  }
+
   @Override
   public void close() {
     client.shutdown();
@@ -106,7 +106,9 @@
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.openqa.selenium.UnsupportedCommandException;
@@ -118,6 +120,7 @@
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.remote.http.HttpMethod;
 import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.PathTrie;
 
 /**
  * A command codec that adheres to the W3C's WebDriver wire protocol.
@@ -129,8 +132,11 @@ public abstract class AbstractHttpCommandCodec implements CommandCodec<HttpReque
   private static final String SESSION_ID_PARAM = "sessionId";
 
   private final ConcurrentHashMap<String, CommandSpec> nameToSpec = new ConcurrentHashMap<>();
+  private final Map<String, Integer> definitionOrder = new HashMap<>();
   private final Map<String, String> aliases = new HashMap<>();
   private final Json json = new Json();
+  // Rebuilt on first use after a command is defined. Guarded by "definitionOrder" while building.
+  private volatile PathTrie<String> commands;
 
   public AbstractHttpCommandCodec() {
     defineCommand(STATUS, get("/status"));
@@ -292,20 +298,13 @@ public Command decode(final HttpRequest encodedCommand) {
     final String path =
         Strings.isNullOrEmpty(encodedCommand.getUri()) ? "/" : encodedCommand.getUri();
     final ImmutableList<String> parts = ImmutableList.copyOf(PATH_SPLITTER.split(path));
-    int minPathLength = Integer.MAX_VALUE;
-    CommandSpec spec = null;
-    String name = null;
-    for (Map.Entry<String, CommandSpec> nameValue : nameToSpec.entrySet()) {
-      if ((nameValue.getValue().pathSegments.size() < minPathLength)
-          && nameValue.getValue().isFor(encodedCommand.getMethod(), parts)) {
-        name = nameValue.getKey();
-        spec = nameValue.getValue();
-      }
-    }
-    if (name == null) {
+    PathTrie.Match<String> match = getCommands().find(encodedCommand.getMethod(), parts);
+    if (match == null) {
       throw new UnsupportedCommandException(
           encodedCommand.getMethod() + " " + encodedCommand.getUri());
     }
+    String name = match.getValue();
+    CommandSpec spec = nameToSpec.get(name);
     Map<String, Object> parameters = new HashMap<>();
     spec.parsePathParameters(parts, parameters);
 
@@ -346,7 +345,34 @@ public void alias(String commandName, String isAnAliasFor) {
   }
 
   protected void defineCommand(String name, CommandSpec spec) {
-    nameToSpec.put(Require.nonNull("Name", name), spec);
+    Require.nonNull("Name", name);
+    synchronized (definitionOrder) {
+      nameToSpec.put(name, spec);
+      definitionOrder.put(name, definitionOrder.size());
+      commands = null;
+    }
+  }
+
+  /**
+   * Commands are looked up by their path, and if more than one matches a request, the one defined
+   * last is used.
+   */
+  private PathTrie<String> getCommands() {
+    PathTrie<String> trie = commands;
+    if (trie != null) {
+      return trie;
+    }
+
+    synchronized (definitionOrder) {
+      if (commands == null) {
+        PathTrie<String> built = new PathTrie<>();
+        nameToSpec.forEach(
+            (name, spec) ->
+                built.add(spec.method, spec.toTrieSegments(), definitionOrder.get(name), name));
+        commands = built;
+      }
+      return commands;
+    }
   }
 
   private String buildUri(
@@ -406,31 +432,12 @@ public int hashCode() {
       return Objects.hashCode(method, path);
     }
 
-    /**
-     * Returns whether this instance matches the provided HTTP request.
-     *
-     * @param method The request method.
-     * @param parts The parsed request path segments.
-     * @return Whether this instance matches the request.
-     */
-    boolean isFor(HttpMethod method, ImmutableList<String> parts) {
-      if (!this.method.equals(method)) {
-        return false;
+    private List<String> toTrieSegments() {
+      List<String> segments = new ArrayList<>(pathSegments.size());
+      for (String segment : pathSegments) {
+        segments.add(segment.startsWith(":") ? null : segment);
       }
-
-      if (parts.size() != this.pathSegments.size()) {
-        return false;
-      }
-
-      for (int i = 0; i < parts.size(); ++i) {
-        String reqPart = parts.get(i);
-        String specPart = pathSegments.get(i);
-        if (!(specPart.startsWith(":") || specPart.equals(reqPart))) {
-          return false;
-        }
-      }
-
-      return true;
+      return segments;
     }
 
     void parsePathParameters(ImmutableList<String> parts, Map<String, Object> parameters) {
@@ -29,10 +29,15 @@
 import static org.openqa.selenium.remote.http.Contents.bytes;
 import static org.openqa.selenium.remote.http.Contents.string;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Optional;
 import java.util.function.Supplier;
 import org.openqa.selenium.json.Json;
 import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
 import org.openqa.selenium.remote.ErrorCodes;
 import org.openqa.selenium.remote.Response;
 import org.openqa.selenium.remote.ResponseCodec;
@@ -57,7 +62,15 @@ public abstract class AbstractHttpResponseCodec implements ResponseCodec<HttpRes
   public HttpResponse encode(Supplier<HttpResponse> factory, Response response) {
     int status = response.getStatus() == ErrorCodes.SUCCESS ? HTTP_OK : HTTP_INTERNAL_ERROR;
 
-    byte[] data = json.toJson(getValueToEncode(response)).getBytes(UTF_8);
+    // Encode straight to UTF-8 rather than building the whole document as a String first.
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (Writer writer = new OutputStreamWriter(bytes, UTF_8);
+        JsonOutput out = json.newOutput(writer)) {
+      out.write(getValueToEncode(response));
+    } catch (IOException e) {
+      throw new JsonException(e);
+    }
+    byte[] data = bytes.toByteArray();
 
     HttpResponse httpResponse = factory.get();
     httpResponse.setStatus(status);
@@ -42,6 +42,7 @@
 import org.openqa.selenium.remote.JsonToWebElementConverter;
 import org.openqa.selenium.remote.Response;
 import org.openqa.selenium.remote.codec.AbstractHttpResponseCodec;
+import org.openqa.selenium.remote.http.Contents;
 import org.openqa.selenium.remote.http.HttpResponse;
 
 /**
@@ -74,11 +75,12 @@ public class W3CHttpResponseCodec extends AbstractHttpResponseCodec {
 
   @Override
   public Response decode(HttpResponse encodedResponse) {
-    String content = string(encodedResponse).trim();
-    LOG.log(
-        Level.FINE,
-        "Decoding response. Response code was: {0} and content: {1}",
-        new Object[] {encodedResponse.getStatus(), content});
+    if (LOG.isLoggable(Level.FINE)) {
+      LOG.log(
+          Level.FINE,
+          "Decoding response. Response code was: {0} and content: {1}",
+          new Object[] {encodedResponse.getStatus(), string(encodedResponse).trim()});
+    }
     String contentType = nullToEmpty(encodedResponse.getHeader(CONTENT_TYPE));
 
     Response response = new Response();
@@ -88,6 +90,7 @@ public Response decode(HttpResponse encodedResponse) {
     // text"}
     if (!encodedResponse.isSuccessful()) {
       LOG.fine("Processing an error");
+      String content = string(encodedResponse).trim();
       if (HTTP_BAD_METHOD == encodedResponse.getStatus()) {
         response.setStatus(ErrorCodes.UNKNOWN_COMMAND);
         response.setValue(content);
@@ -138,16 +141,14 @@ public Response decode(HttpResponse encodedResponse) {
 
     response.setState("success");
     response.setStatus(ErrorCodes.SUCCESS);
-    if (!content.isEmpty()) {
-      if (contentType.startsWith("application/json")) {
-        Map<String, Object> parsed = json.toType(content, MAP_TYPE);
-        if (parsed.containsKey("value")) {
-          Object value = parsed.get("value");
-          response.setValue(value);
-        } else {
-          // Assume that the body of the response was the response.
-          response.setValue(json.toType(content, OBJECT_TYPE));
-        }
+    if (contentType.startsWith("application/json")) {
+      // Parse the body once, straight from its bytes. An empty body is read as null.
+      Object parsed = Contents.fromJson(encodedResponse, OBJECT_TYPE);
+      if (parsed instanceof Map && ((Map<?, ?>) parsed).containsKey("value")) {
+        response.setValue(((Map<?, ?>) parsed).get("value"));
+      } else {
+        // Assume that the body of the response was the response.
+        response.setValue(parsed);
       }
     }
 
@@ -42,4 +42,14 @@ public HttpHandler apply(HttpHandler next) {
       return next.execute(req);
     };
   }
+
+  @Override
+  public AsyncHttpHandler applyAsync(AsyncHttpHandler next) {
+    return req -> {
+      if (req.getHeader("User-Agent") == null) {
+        req.addHeader("User-Agent", USER_AGENT);
+      }
+      return next.executeAsync(req);
+    };
+  }
 }
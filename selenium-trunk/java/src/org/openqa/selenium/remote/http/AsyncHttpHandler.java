@@ -0,0 +1,35 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous counterpart of {@link HttpHandler}: rather than waiting for the response, the
+ * returned future is completed once it is ready. Failures complete the future exceptionally with
+ * the same exceptions that {@link HttpHandler#execute(HttpRequest)} would have thrown.
+ */
+@FunctionalInterface
+public interface AsyncHttpHandler {
+
+  CompletableFuture<HttpResponse> executeAsync(HttpRequest req);
+
+  default AsyncHttpHandler with(Filter filter) {
+    return filter.andFinallyAsync(this);
+  }
+}
@@ -31,12 +31,15 @@ public class ClientConfig {
 
   private static final Filter RETRY_FILTER = new RetryRequest();
   private static final Filter DEFAULT_FILTER = new AddSeleniumUserAgent();
+  private static final String HTTP_1_1 = "HTTP_1_1";
   private final URI baseUri;
   private final Duration connectionTimeout;
   private final Duration readTimeout;
   private final Filter filters;
   private final Proxy proxy;
   private final Credentials credentials;
+  private final boolean compression;
+  private final String version;
 
   protected ClientConfig(
       URI baseUri,
@@ -45,12 +48,26 @@ protected ClientConfig(
       Filter filters,
       Proxy proxy,
       Credentials credentials) {
+    this(baseUri, connectionTimeout, readTimeout, filters, proxy, credentials, false, HTTP_1_1);
+  }
+
+  protected ClientConfig(
+      URI baseUri,
+      Duration connectionTimeout,
+      Duration readTimeout,
+      Filter filters,
+      Proxy proxy,
+      Credentials credentials,
+      boolean compression,
+      String version) {
     this.baseUri = baseUri;
     this.connectionTimeout = Require.nonNegative("Connection timeout", connectionTimeout);
     this.readTimeout = Require.nonNegative("Read timeout", readTimeout);
     this.filters = Require.nonNull("Filters", filters);
     this.proxy = proxy;
     this.credentials = credentials;
+    this.compression = compression;
+    this.version = Require.nonNull("HTTP version", version);
   }
 
   public static ClientConfig defaultConfig() {
@@ -65,7 +82,9 @@ public ClientConfig baseUri(URI baseUri) {
         readTimeout,
         filters,
         proxy,
-        credentials);
+        credentials,
+        compression,
+        version);
   }
 
   public ClientConfig baseUrl(URL baseUrl) {
@@ -95,7 +114,9 @@ public ClientConfig connectionTimeout(Duration timeout) {
         readTimeout,
         filters,
         proxy,
-        credentials);
+        credentials,
+        compression,
+        version);
   }
 
   public Duration connectionTimeout() {
@@ -109,7 +130,9 @@ public ClientConfig readTimeout(Duration timeout) {
         Require.nonNull("Read timeout", timeout),
         filters,
         proxy,
-        credentials);
+        credentials,
+        compression,
+        version);
   }
 
   public Duration readTimeout() {
@@ -124,12 +147,21 @@ public ClientConfig withFilter(Filter filter) {
         readTimeout,
         filter.andThen(DEFAULT_FILTER),
         proxy,
-        credentials);
+        credentials,
+        compression,
+        version);
   }
 
   public ClientConfig withRetries() {
     return new ClientConfig(
-        baseUri, connectionTimeout, readTimeout, filters.andThen(RETRY_FILTER), proxy, credentials);
+        baseUri,
+        connectionTimeout,
+        readTimeout,
+        filters.andThen(RETRY_FILTER),
+        proxy,
+        credentials,
+        compression,
+        version);
   }
 
   public Filter filter() {
@@ -143,7 +175,9 @@ public ClientConfig proxy(Proxy proxy) {
         readTimeout,
         filters,
         Require.nonNull("Proxy", proxy),
-        credentials);
+        credentials,
+        compression,
+        version);
   }
 
   public Proxy proxy() {
@@ -157,13 +191,51 @@ public ClientConfig authenticateAs(Credentials credentials) {
         readTimeout,
         filters,
         proxy,
-        Require.nonNull("Credentials", credentials));
+        Require.nonNull("Credentials", credentials),
+        compression,
+        version);
   }
 
   public Credentials credentials() {
     return credentials;
   }
 
+  /**
+   * Asks for compressed response bodies, and decompresses them before they are returned. Requests
+   * that already have an {@code Accept-Encoding} header are left alone, and their response bodies
+   * are returned as they were sent.
+   */
+  public ClientConfig withCompression() {
+    return new ClientConfig(
+        baseUri, connectionTimeout, readTimeout, filters, proxy, credentials, true, version);
+  }
+
+  public boolean isCompressionEnabled() {
+    return compression;
+  }
+
+  /**
+   * Sets the version of HTTP that clients should speak, either {@code "HTTP_1_1"} or {@code
+   * "HTTP_2"}. Over plain http, HTTP/2 is asked for by upgrading the first request on each
+   * connection, and clients fall back to HTTP/1.1 if the server doesn't agree. Clients that can
+   * only speak HTTP/1.1 ignore this.
+   */
+  public ClientConfig version(String version) {
+    return new ClientConfig(
+        baseUri,
+        connectionTimeout,
+        readTimeout,
+        filters,
+        proxy,
+        credentials,
+        compression,
+        Require.nonNull("HTTP version", version));
+  }
+
+  public String version() {
+    return version;
+  }
+
   @Override
   public String toString() {
     return "ClientConfig{"
@@ -179,6 +251,10 @@ public String toString() {
         + proxy
         + ", credentials="
         + credentials
+        + ", compression="
+        + compression
+        + ", version="
+        + version
         + '}';
   }
 }
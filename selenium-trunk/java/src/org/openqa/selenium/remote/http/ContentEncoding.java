@@ -0,0 +1,122 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Negotiates compressed response bodies for {@link HttpClient} implementations.
+ *
+ * <p>If a request has no {@code Accept-Encoding} header, the client is responsible for the encoding
+ * of the response: it may ask for a compressed body when {@link
+ * ClientConfig#isCompressionEnabled()} is set, and must {@link #decode(HttpResponse)} whatever
+ * comes back. If the request already says which encodings it accepts, whoever built it is assumed
+ * to cope with the encoded body, which is handed back untouched. This is what lets a reverse proxy
+ * pass compressed bodies straight through.
+ */
+public class ContentEncoding {
+
+  public static final String ACCEPT_ENCODING = "Accept-Encoding";
+  public static final String SUPPORTED_ENCODINGS = "gzip, deflate";
+
+  private ContentEncoding() {
+    // Utility class
+  }
+
+  /**
+   * @return whether the client sending {@code request} is responsible for the encoding of the
+   *     response body, rather than the code that built the request.
+   */
+  public static boolean isHandledByClient(HttpRequest request) {
+    return Require.nonNull("Request", request).getHeader(ACCEPT_ENCODING) == null;
+  }
+
+  /**
+   * @return whether a client using {@code config} should ask for a compressed response to {@code
+   *     request}.
+   */
+  public static boolean shouldNegotiate(ClientConfig config, HttpRequest request) {
+    return Require.nonNull("Client config", config).isCompressionEnabled()
+        && isHandledByClient(request);
+  }
+
+  /**
+   * Replaces a gzip or deflate encoded body with its decompressed form, removing the headers that
+   * no longer describe it. Bodies that may only be read once stay that way, and other bodies are
+   * only decompressed once however often they are read.
+   */
+  public static HttpResponse decode(HttpResponse response) {
+    Require.nonNull("Response", response);
+
+    String encoding = response.getHeader("Content-Encoding");
+    if (encoding == null) {
+      return response;
+    }
+
+    Function<InputStream, InputStream> decoder;
+    switch (encoding.trim().toLowerCase(Locale.ENGLISH)) {
+      case "gzip":
+      case "x-gzip":
+        decoder = ContentEncoding::gunzip;
+        break;
+
+      case "deflate":
+        decoder = InflaterInputStream::new;
+        break;
+
+      default:
+        return response;
+    }
+
+    Supplier<InputStream> encoded = response.getContent();
+    Supplier<InputStream> decoded = () -> decoder.apply(encoded.get());
+
+    response.removeHeader("Content-Encoding");
+    response.removeHeader("Content-Length");
+    response.setContent(
+        StreamingBodies.isReadOnce(encoded)
+            ? StreamingBodies.readOnce(decoded)
+            : Contents.memoize(decoded));
+
+    return response;
+  }
+
+  private static InputStream gunzip(InputStream in) {
+    try {
+      // An empty body has no gzip header to read, which would otherwise be an error.
+      PushbackInputStream pushback = new PushbackInputStream(in);
+      int first = pushback.read();
+      if (first == -1) {
+        return pushback;
+      }
+      pushback.unread(first);
+      return new GZIPInputStream(pushback);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
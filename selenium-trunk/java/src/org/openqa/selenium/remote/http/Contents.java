@@ -27,9 +27,12 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.Base64;
@@ -67,7 +70,7 @@ public static Supplier<InputStream> string(CharSequence value, Charset charset)
   public static Supplier<InputStream> bytes(byte[] bytes) {
     Require.nonNull("Bytes to return", bytes, "may be empty");
 
-    return () -> new ByteArrayInputStream(bytes);
+    return new BytesSupplier(bytes, bytes.length);
   }
 
   public static byte[] bytes(Supplier<InputStream> supplier) {
@@ -115,18 +118,36 @@ public static Reader reader(HttpMessage<?> message) {
   }
 
   /**
+   * The JSON is encoded straight into UTF-8 bytes as it is written, so no intermediate {@link
+   * String} of the whole document is ever built. The returned supplier can be read any number of
+   * times, and every read shares the same underlying buffer.
+   *
    * @return an {@link InputStream} containing the object converted to a UTF-8 JSON string.
    */
   public static Supplier<InputStream> asJson(Object obj) {
-    StringBuilder builder = new StringBuilder();
-    try (JsonOutput out = JSON.newOutput(builder)) {
+    JsonBytes bytes = new JsonBytes();
+    try (Writer writer = new OutputStreamWriter(bytes, UTF_8);
+        JsonOutput out = JSON.newOutput(writer)) {
       out.writeClassName(false);
       out.write(obj);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return utf8String(builder);
+    return bytes.asSupplier();
   }
 
+  /**
+   * When the message's content is already held in memory as UTF-8, it is parsed directly from the
+   * bytes without being decoded to a separate character stream first.
+   */
   public static <T> T fromJson(HttpMessage<?> message, Type typeOfT) {
+    Supplier<InputStream> content = message.getContent();
+    if (content instanceof BytesSupplier && UTF_8.equals(message.getContentEncoding())) {
+      try (JsonInput input = JSON.newInput(((BytesSupplier) content).asByteBuffer())) {
+        return input.read(typeOfT);
+      }
+    }
+
     try (Reader reader = reader(message);
         JsonInput input = JSON.newInput(reader)) {
       return input.read(typeOfT);
@@ -154,6 +175,37 @@ public static String string(File input) throws IOException {
     }
   }
 
+  private static final class JsonBytes extends ByteArrayOutputStream {
+
+    private JsonBytes() {
+      super(4096);
+    }
+
+    private Supplier<InputStream> asSupplier() {
+      return new BytesSupplier(buf, count);
+    }
+  }
+
+  private static final class BytesSupplier implements Supplier<InputStream> {
+
+    private final byte[] bytes;
+    private final int length;
+
+    private BytesSupplier(byte[] bytes, int length) {
+      this.bytes = bytes;
+      this.length = length;
+    }
+
+    private ByteBuffer asByteBuffer() {
+      return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    @Override
+    public InputStream get() {
+      return new ByteArrayInputStream(bytes, 0, length);
+    }
+  }
+
   private static final class MemoizedSupplier implements Supplier<InputStream> {
 
     private volatile boolean initialized;
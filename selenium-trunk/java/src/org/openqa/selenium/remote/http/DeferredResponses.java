@@ -0,0 +1,128 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Allows an {@link HttpHandler} to return before its response is ready, so that the thread handling
+ * the request is not held while it waits (for example, while a new session request sits in the
+ * queue).
+ *
+ * <p>A server that can write responses asynchronously marks each request with {@link
+ * #acceptDeferredResponses(HttpRequest)}. Handlers call {@link #respondWhenComplete(HttpRequest,
+ * CompletionStage)}, which returns a placeholder response for those requests and simply waits for
+ * the response otherwise. The server then uses {@link #getCompletion(HttpResponse)} to find out
+ * when, and what, to write. Headers that filters add to the placeholder are kept, unless the
+ * completed response sets the same header.
+ */
+public class DeferredResponses {
+
+  private static final String ACCEPTED = "selenium.http.deferred-response.accepted";
+  private static final String COMPLETION = "selenium.http.deferred-response.completion";
+
+  private DeferredResponses() {
+    // Utility class
+  }
+
+  public static void acceptDeferredResponses(HttpRequest req) {
+    Require.nonNull("Request", req).setAttribute(ACCEPTED, true);
+  }
+
+  public static HttpResponse respondWhenComplete(
+      HttpRequest req, CompletionStage<HttpResponse> response) {
+    Require.nonNull("Request", req);
+    Require.nonNull("Response", response);
+
+    if (Boolean.TRUE.equals(req.getAttribute(ACCEPTED))) {
+      HttpResponse placeholder = new HttpResponse();
+      placeholder.setAttribute(COMPLETION, response);
+      return placeholder;
+    }
+
+    try {
+      return response.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  public static boolean isDeferred(HttpResponse res) {
+    return Require.nonNull("Response", res).getAttribute(COMPLETION) instanceof CompletionStage;
+  }
+
+  /**
+   * Runs {@code action} once the response is ready: straight away if {@code res} is not deferred,
+   * and otherwise when its eventual response is, or once it has failed.
+   */
+  public static void whenComplete(HttpResponse res, BiConsumer<HttpResponse, Throwable> action) {
+    Require.nonNull("Response", res);
+    Require.nonNull("Action", action);
+
+    Object completion = res.getAttribute(COMPLETION);
+    if (!(completion instanceof CompletionStage)) {
+      action.accept(res, null);
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    CompletionStage<HttpResponse> response = (CompletionStage<HttpResponse>) completion;
+    res.setAttribute(COMPLETION, response.whenComplete(action));
+  }
+
+  /**
+   * @return the eventual response if {@code res} is a placeholder returned by {@link
+   *     #respondWhenComplete(HttpRequest, CompletionStage)}, or empty if it can be written as-is.
+   */
+  public static Optional<CompletionStage<HttpResponse>> getCompletion(HttpResponse res) {
+    Require.nonNull("Response", res);
+
+    Object completion = res.getAttribute(COMPLETION);
+    if (!(completion instanceof CompletionStage)) {
+      return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    CompletionStage<HttpResponse> response = (CompletionStage<HttpResponse>) completion;
+    // Merging is done here, rather than when the response is first returned, so that it only
+    // happens once every filter has finished with the placeholder.
+    return Optional.of(response.thenApply(actual -> merge(actual, res)));
+  }
+
+  private static HttpResponse merge(HttpResponse from, HttpResponse into) {
+    into.setStatus(from.getStatus());
+    for (String name : from.getHeaderNames()) {
+      into.removeHeader(name);
+      for (String value : from.getHeaders(name)) {
+        into.addHeader(name, value);
+      }
+    }
+    for (String name : from.getAttributeNames()) {
+      into.setAttribute(name, from.getAttribute(name));
+    }
+    into.setContent(from.getContent());
+    return into;
+  }
+}
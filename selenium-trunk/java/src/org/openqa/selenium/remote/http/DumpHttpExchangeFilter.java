@@ -55,6 +55,20 @@ public HttpHandler apply(HttpHandler next) {
     };
   }
 
+  @Override
+  public AsyncHttpHandler applyAsync(AsyncHttpHandler next) {
+    return req -> {
+      LOG.log(logLevel, () -> requestLogMessage(req));
+
+      return next.executeAsync(req)
+          .thenApply(
+              res -> {
+                LOG.log(logLevel, () -> responseLogMessage(res));
+                return res;
+              });
+    };
+  }
+
   private void expandHeadersAndContent(StringBuilder builder, HttpMessage<?> message) {
     message
         .getHeaderNames()
@@ -39,14 +39,40 @@
  *
  * <p>Because each filter returns an {@link HttpHandler}, it's easy to do processing before, or
  * after each request, as well as short-circuit things if necessary.
+ *
+ * <p>Filters are also applied to {@link AsyncHttpHandler}s through {@link
+ * #applyAsync(AsyncHttpHandler)}. Filters that can do their work without waiting for the response
+ * should override it, since the default has to hold a thread for the blocking version of the filter
+ * while the response is on its way.
  */
 @FunctionalInterface
 public interface Filter extends Function<HttpHandler, HttpHandler> {
 
+  /**
+   * Applies this filter to a handler whose responses arrive asynchronously. By default, the
+   * blocking version of the filter is run on a thread of its own, waiting on {@code next}.
+   */
+  default AsyncHttpHandler applyAsync(AsyncHttpHandler next) {
+    Require.nonNull("Next handler", next);
+
+    HttpHandler blocking = apply(req -> BlockingCalls.join(next.executeAsync(req)));
+    return req -> BlockingCalls.supplyAsync(() -> blocking.execute(req));
+  }
+
   default Filter andThen(Filter next) {
     Require.nonNull("Next filter", next);
 
-    return req -> apply(next.apply(req));
+    return new Filter() {
+      @Override
+      public HttpHandler apply(HttpHandler handler) {
+        return Filter.this.apply(next.apply(handler));
+      }
+
+      @Override
+      public AsyncHttpHandler applyAsync(AsyncHttpHandler handler) {
+        return Filter.this.applyAsync(next.applyAsync(handler));
+      }
+    };
   }
 
   default HttpHandler andFinally(HttpHandler end) {
@@ -55,6 +81,12 @@ default HttpHandler andFinally(HttpHandler end) {
     return request -> Filter.this.apply(end).execute(request);
   }
 
+  default AsyncHttpHandler andFinallyAsync(AsyncHttpHandler end) {
+    Require.nonNull("HTTP handler", end);
+
+    return applyAsync(end);
+  }
+
   default Routable andFinally(Routable end) {
     return new Routable() {
 
@@ -23,6 +23,7 @@
 import java.net.URL;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.openqa.selenium.internal.Require;
@@ -32,6 +33,18 @@ public interface HttpClient extends Closeable, HttpHandler {
 
   WebSocket openSocket(HttpRequest request, WebSocket.Listener listener);
 
+  /**
+   * Sends the request without waiting for the response. Implementations that can do this natively
+   * should override this, since the default sends the request on a thread of its own.
+   *
+   * @return a future that is completed with the response, or exceptionally with whatever {@link
+   *     #execute(HttpRequest)} would have thrown.
+   */
+  default CompletableFuture<HttpResponse> executeAsync(HttpRequest req) {
+    Require.nonNull("Request", req);
+    return BlockingCalls.supplyAsync(() -> execute(req));
+  }
+
   default void close() {}
 
   interface Factory {
@@ -0,0 +1,122 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Looks up values by HTTP method and path without trying every possible path in turn. Paths are
+ * given as their segments, with a {@code null} segment standing for a parameter, which matches any
+ * segment that isn't empty. When more than one path matches, the value added with the highest
+ * precedence wins, and for equal precedence the last one added does.
+ *
+ * <p>Instances are not thread safe while values are being added, so they should be filled in before
+ * being shared.
+ */
+public final class PathTrie<T> {
+
+  private final Node<T> root = new Node<>();
+
+  public void add(HttpMethod method, List<String> segments, int precedence, T value) {
+    Require.nonNull("HTTP method", method);
+    Require.nonNull("Path segments", segments);
+    Require.nonNull("Value", value);
+
+    Node<T> node = root;
+    for (String segment : segments) {
+      node = node.child(segment);
+    }
+
+    Match<T> existing = node.values.get(method);
+    if (existing == null || existing.precedence <= precedence) {
+      node.values.put(method, new Match<>(precedence, value));
+    }
+  }
+
+  /**
+   * @return the best match for the method and path, or {@code null} if there isn't one.
+   */
+  public Match<T> find(HttpMethod method, List<String> segments) {
+    Require.nonNull("HTTP method", method);
+    Require.nonNull("Path segments", segments);
+
+    return find(root, method, segments, 0);
+  }
+
+  private static <T> Match<T> find(
+      Node<T> node, HttpMethod method, List<String> segments, int index) {
+    if (index == segments.size()) {
+      return node.values.get(method);
+    }
+
+    String segment = segments.get(index);
+    Match<T> best = null;
+
+    Node<T> literal = node.literals.get(segment);
+    if (literal != null) {
+      best = find(literal, method, segments, index + 1);
+    }
+
+    if (node.parameter != null && !segment.isEmpty()) {
+      Match<T> viaParameter = find(node.parameter, method, segments, index + 1);
+      if (best == null || (viaParameter != null && viaParameter.precedence > best.precedence)) {
+        best = viaParameter;
+      }
+    }
+
+    return best;
+  }
+
+  public static final class Match<T> {
+    private final int precedence;
+    private final T value;
+
+    private Match(int precedence, T value) {
+      this.precedence = precedence;
+      this.value = value;
+    }
+
+    public int getPrecedence() {
+      return precedence;
+    }
+
+    public T getValue() {
+      return value;
+    }
+  }
+
+  private static final class Node<T> {
+    private final Map<String, Node<T>> literals = new HashMap<>();
+    private final Map<HttpMethod, Match<T>> values = new EnumMap<>(HttpMethod.class);
+    private Node<T> parameter;
+
+    private Node<T> child(String segment) {
+      if (segment == null) {
+        if (parameter == null) {
+          parameter = new Node<>();
+        }
+        return parameter;
+      }
+      return literals.computeIfAbsent(segment, ignored -> new Node<>());
+    }
+  }
+}
@@ -110,11 +110,30 @@ public class RetryRequest implements Filter {
 
   @Override
   public HttpHandler apply(HttpHandler next) {
-    return req ->
-        Failsafe.with(fallback)
-            .compose(serverErrorPolicy)
-            .compose(readTimeoutPolicy)
-            .compose(connectionFailurePolicy)
-            .get(() -> next.execute(req));
+    return req -> {
+      if (StreamingBodies.isReadOnce(req)) {
+        // There'd be no body left to send a second time
+        return next.execute(req);
+      }
+      return Failsafe.with(fallback)
+          .compose(serverErrorPolicy)
+          .compose(readTimeoutPolicy)
+          .compose(connectionFailurePolicy)
+          .get(() -> next.execute(req));
+    };
+  }
+
+  @Override
+  public AsyncHttpHandler applyAsync(AsyncHttpHandler next) {
+    return req -> {
+      if (StreamingBodies.isReadOnce(req)) {
+        return next.executeAsync(req);
+      }
+      return Failsafe.with(fallback)
+          .compose(serverErrorPolicy)
+          .compose(readTimeoutPolicy)
+          .compose(connectionFailurePolicy)
+          .getStageAsync(() -> next.executeAsync(req));
+    };
   }
 }
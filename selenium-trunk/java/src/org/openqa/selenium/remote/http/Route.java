@@ -29,6 +29,9 @@
 import static org.openqa.selenium.remote.http.UrlPath.ROUTE_PREFIX_KEY;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -96,29 +99,25 @@ public static PredicatedConfig matching(Predicate<HttpRequest> predicate) {
   public static TemplatizedRouteConfig delete(String template) {
     UrlTemplate urlTemplate = new UrlTemplate(Require.nonNull("URL template", template));
 
-    return new TemplatizedRouteConfig(
-        new MatchesHttpMethod(DELETE).and(new MatchesTemplate(urlTemplate)), urlTemplate);
+    return new TemplatizedRouteConfig(DELETE, urlTemplate);
   }
 
   public static TemplatizedRouteConfig get(String template) {
     UrlTemplate urlTemplate = new UrlTemplate(Require.nonNull("URL template", template));
 
-    return new TemplatizedRouteConfig(
-        new MatchesHttpMethod(GET).and(new MatchesTemplate(urlTemplate)), urlTemplate);
+    return new TemplatizedRouteConfig(GET, urlTemplate);
   }
 
   public static TemplatizedRouteConfig post(String template) {
     UrlTemplate urlTemplate = new UrlTemplate(Require.nonNull("URL template", template));
 
-    return new TemplatizedRouteConfig(
-        new MatchesHttpMethod(POST).and(new MatchesTemplate(urlTemplate)), urlTemplate);
+    return new TemplatizedRouteConfig(POST, urlTemplate);
   }
 
   public static TemplatizedRouteConfig options(String template) {
     UrlTemplate urlTemplate = new UrlTemplate(Require.nonNull("URL template", template));
 
-    return new TemplatizedRouteConfig(
-        new MatchesHttpMethod(OPTIONS).and(new MatchesTemplate(urlTemplate)), urlTemplate);
+    return new TemplatizedRouteConfig(OPTIONS, urlTemplate);
   }
 
   public static NestedRouteConfig prefix(String prefix) {
@@ -139,11 +138,11 @@ public static Route combine(Iterable<Routable> routes) {
 
   public static class TemplatizedRouteConfig {
 
-    private final Predicate<HttpRequest> predicate;
+    private final HttpMethod method;
     private final UrlTemplate template;
 
-    private TemplatizedRouteConfig(Predicate<HttpRequest> predicate, UrlTemplate template) {
-      this.predicate = Require.nonNull("Predicate", predicate);
+    private TemplatizedRouteConfig(HttpMethod method, UrlTemplate template) {
+      this.method = Require.nonNull("HTTP method", method);
       this.template = Require.nonNull("URL template", template);
     }
 
@@ -154,28 +153,28 @@ public Route to(Supplier<HttpHandler> handler) {
 
     public Route to(Function<Map<String, String>, HttpHandler> handlerFunc) {
       Require.nonNull("Handler creator", handlerFunc);
-      return new TemplatizedRoute(template, predicate, handlerFunc);
+      return new TemplatizedRoute(method, template, handlerFunc);
     }
   }
 
   private static class TemplatizedRoute extends Route {
 
+    private final HttpMethod method;
     private final UrlTemplate template;
-    private final Predicate<HttpRequest> predicate;
     private final Function<Map<String, String>, HttpHandler> handlerFunction;
 
     private TemplatizedRoute(
+        HttpMethod method,
         UrlTemplate template,
-        Predicate<HttpRequest> predicate,
         Function<Map<String, String>, HttpHandler> handlerFunction) {
+      this.method = Require.nonNull("HTTP method", method);
       this.template = Require.nonNull("URL template", template);
-      this.predicate = Require.nonNull("Predicate", predicate);
       this.handlerFunction = Require.nonNull("Handler function", handlerFunction);
     }
 
     @Override
     public boolean matches(HttpRequest request) {
-      return predicate.test(request);
+      return method == request.getMethod() && template.match(request.getUri()) != null;
     }
 
     @Override
@@ -194,34 +193,6 @@ protected HttpResponse handle(HttpRequest req) {
     }
   }
 
-  private static class MatchesHttpMethod implements Predicate<HttpRequest> {
-
-    private final HttpMethod method;
-
-    private MatchesHttpMethod(HttpMethod method) {
-      this.method = Require.nonNull("HTTP method to test", method);
-    }
-
-    @Override
-    public boolean test(HttpRequest request) {
-      return method == request.getMethod();
-    }
-  }
-
-  private static class MatchesTemplate implements Predicate<HttpRequest> {
-
-    private final UrlTemplate template;
-
-    private MatchesTemplate(UrlTemplate template) {
-      this.template = Require.nonNull("URL template to test", template);
-    }
-
-    @Override
-    public boolean test(HttpRequest request) {
-      return template.match(request.getUri()) != null;
-    }
-  }
-
   public static class NestedRouteConfig {
 
     private final String prefix;
@@ -319,32 +290,66 @@ private HttpRequest transform(HttpRequest request) {
 
   private static class CombinedRoute extends Route {
 
-    private final List<Routable> allRoutes;
+    // Templated routes are looked up in the trie. Every other route is tried in turn, but only
+    // when it was added after the best match in the trie, so that later routes still take
+    // precedence over earlier ones, which lets us override routes as necessary.
+    private final PathTrie<Routable> templated = new PathTrie<>();
+    private final List<Routable> others;
+    private final int[] othersAddedAt;
 
     private CombinedRoute(Stream<Routable> routes) {
-      // We want later routes to have a greater chance of being called so that we can override
-      // routes as necessary.
-      allRoutes = routes.collect(toImmutableList()).reverse();
+      List<Routable> allRoutes = routes.collect(toImmutableList());
       Require.stateCondition(!allRoutes.isEmpty(), "At least one route must be specified.");
+
+      List<Routable> others = new ArrayList<>();
+      List<Integer> othersAddedAt = new ArrayList<>();
+      for (int i = allRoutes.size() - 1; i >= 0; i--) {
+        Routable route = allRoutes.get(i);
+        List<String> segments =
+            route instanceof TemplatizedRoute
+                ? ((TemplatizedRoute) route).template.getPathSegments()
+                : null;
+
+        if (segments == null) {
+          others.add(route);
+          othersAddedAt.add(i);
+        } else {
+          templated.add(((TemplatizedRoute) route).method, segments, i, route);
+        }
+      }
+
+      this.others = Collections.unmodifiableList(others);
+      this.othersAddedAt = othersAddedAt.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Routable find(HttpRequest req) {
+      List<String> segments = Arrays.asList(req.getUri().split("/", -1));
+      PathTrie.Match<Routable> match = templated.find(req.getMethod(), segments);
+      int addedAt = match == null ? -1 : match.getPrecedence();
+
+      for (int i = 0; i < others.size() && othersAddedAt[i] > addedAt; i++) {
+        if (others.get(i).matches(req)) {
+          return others.get(i);
+        }
+      }
+
+      return match == null ? null : match.getValue();
     }
 
     @Override
     public boolean matches(HttpRequest request) {
-      return allRoutes.stream().anyMatch(route -> route.matches(request));
+      return find(request) != null;
     }
 
     @Override
     protected HttpResponse handle(HttpRequest req) {
-      return allRoutes.stream()
-          .filter(route -> route.matches(req))
-          .findFirst()
-          .map(route -> (HttpHandler) route)
-          .orElse(
-              request ->
-                  new HttpResponse()
-                      .setStatus(HTTP_NOT_FOUND)
-                      .setContent(utf8String("No handler found for " + request)))
-          .execute(req);
+      Routable route = find(req);
+      if (route == null) {
+        return new HttpResponse()
+            .setStatus(HTTP_NOT_FOUND)
+            .setContent(utf8String("No handler found for " + req));
+      }
+      return route.execute(req);
     }
   }
 
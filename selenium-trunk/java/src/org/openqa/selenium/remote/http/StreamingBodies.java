@@ -0,0 +1,114 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.openqa.selenium.internal.Require;
+
+/**
+ * Lets message bodies be passed along as they arrive, rather than being buffered in full first.
+ * This matters most when proxying large bodies, such as file uploads and screenshots.
+ *
+ * <p>A server that can cope with bodies that may only be read once marks each request with {@link
+ * #acceptStreamingBodies(HttpRequest)}. Since a {@link HttpClient} is free to return the response
+ * body as a stream when the request it is sending is marked in the same way, handlers that pass a
+ * request on with its attributes (such as a reverse proxy) get streamed responses without further
+ * work. Handlers that need to read a body more than once should not mark requests.
+ *
+ * <p>A request whose own body is being streamed in is marked with {@link
+ * #markReadOnce(HttpRequest)}, so that it is not sent a second time (by {@link RetryRequest}, for
+ * example).
+ */
+public class StreamingBodies {
+
+  private static final String ACCEPTED = "selenium.http.streaming-bodies.accepted";
+  private static final String READ_ONCE = "selenium.http.streaming-bodies.read-once";
+
+  private StreamingBodies() {
+    // Utility class
+  }
+
+  public static void acceptStreamingBodies(HttpRequest req) {
+    Require.nonNull("Request", req).setAttribute(ACCEPTED, true);
+  }
+
+  public static boolean isAccepted(HttpRequest req) {
+    return Boolean.TRUE.equals(Require.nonNull("Request", req).getAttribute(ACCEPTED));
+  }
+
+  public static void markReadOnce(HttpRequest req) {
+    Require.nonNull("Request", req).setAttribute(READ_ONCE, true);
+  }
+
+  /**
+   * @return whether the body of {@code req} can only be read, and so only sent, once.
+   */
+  public static boolean isReadOnce(HttpRequest req) {
+    return Boolean.TRUE.equals(Require.nonNull("Request", req).getAttribute(READ_ONCE))
+        || isReadOnce(req.getContent());
+  }
+
+  /**
+   * @return whether the body of {@code res} is being streamed in, and so reading it may block until
+   *     more of it arrives.
+   */
+  public static boolean isReadOnce(HttpResponse res) {
+    return isReadOnce(Require.nonNull("Response", res).getContent());
+  }
+
+  /**
+   * @return content that hands out {@code stream} the first time it is asked, and throws an {@link
+   *     IllegalStateException} after that.
+   */
+  public static Supplier<InputStream> readOnce(InputStream stream) {
+    Require.nonNull("Input stream", stream);
+    return new ReadOnce(() -> stream);
+  }
+
+  /**
+   * @return content that opens a stream with {@code open} the first time it is asked, and throws an
+   *     {@link IllegalStateException} after that.
+   */
+  static Supplier<InputStream> readOnce(Supplier<InputStream> open) {
+    return new ReadOnce(Require.nonNull("Stream opener", open));
+  }
+
+  static boolean isReadOnce(Supplier<InputStream> content) {
+    return content instanceof ReadOnce;
+  }
+
+  private static final class ReadOnce implements Supplier<InputStream> {
+
+    private final AtomicReference<Supplier<InputStream>> open;
+
+    private ReadOnce(Supplier<InputStream> open) {
+      this.open = new AtomicReference<>(open);
+    }
+
+    @Override
+    public InputStream get() {
+      Supplier<InputStream> toOpen = open.getAndSet(null);
+      if (toOpen == null) {
+        throw new IllegalStateException("Streamed content has already been read");
+      }
+      return toOpen.get();
+    }
+  }
+}
@@ -19,6 +19,9 @@
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -30,6 +33,7 @@ public class UrlTemplate {
   private static final Pattern GROUP_NAME = Pattern.compile("(\\{\\p{Alnum}+\\})");
   private final Pattern pattern;
   private final List<String> groups;
+  private final List<String> segments;
 
   public UrlTemplate(String template) {
     if (template == null || template.isEmpty()) {
@@ -66,6 +70,34 @@ public UrlTemplate(String template) {
 
     this.pattern = Pattern.compile(regex.toString());
     this.groups = groups.build();
+    this.segments = toSegments(template, this.groups);
+  }
+
+  /**
+   * @return the template's path segments, with {@code null} standing for each parameter, or {@code
+   *     null} if the template can only be matched using its regular expression.
+   */
+  List<String> getPathSegments() {
+    return segments;
+  }
+
+  private static List<String> toSegments(String template, List<String> groups) {
+    if (new HashSet<>(groups).size() != groups.size()) {
+      return null;
+    }
+
+    List<String> segments = new ArrayList<>();
+    for (String segment : template.split("/", -1)) {
+      if (GROUP_NAME.matcher(segment).matches()) {
+        segments.add(null);
+      } else if (GROUP_NAME.matcher(segment).find()) {
+        // The parameter is only part of the segment
+        return null;
+      } else {
+        segments.add(segment);
+      }
+    }
+    return Collections.unmodifiableList(segments);
   }
 
   /**
@@ -76,6 +108,10 @@ public UrlTemplate.Match match(String matchAgainst) {
       return null;
     }
 
+    if (segments != null) {
+      return matchSegments(matchAgainst);
+    }
+
     Matcher matcher = pattern.matcher(matchAgainst);
     if (!matcher.matches()) {
       return null;
@@ -89,6 +125,29 @@ public UrlTemplate.Match match(String matchAgainst) {
     return new Match(matchAgainst, params.build());
   }
 
+  private UrlTemplate.Match matchSegments(String matchAgainst) {
+    String[] parts = matchAgainst.split("/", -1);
+    if (parts.length != segments.size()) {
+      return null;
+    }
+
+    ImmutableMap.Builder<String, String> params = ImmutableMap.builder();
+    int group = 0;
+    for (int i = 0; i < parts.length; i++) {
+      String expected = segments.get(i);
+      if (expected == null) {
+        if (parts[i].isEmpty()) {
+          return null;
+        }
+        params.put(groups.get(group++), parts[i]);
+      } else if (!expected.equals(parts[i])) {
+        return null;
+      }
+    }
+
+    return new Match(matchAgainst, params.build());
+  }
+
   @SuppressWarnings("InnerClassMayBeStatic")
   public class Match {
     private final String url;
@@ -19,6 +19,7 @@
 
 import com.google.auto.service.AutoService;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.Authenticator;
@@ -39,11 +40,13 @@
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -51,10 +54,12 @@
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.UsernameAndPassword;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.http.AsyncHttpHandler;
 import org.openqa.selenium.remote.http.BinaryMessage;
 import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.remote.http.CloseMessage;
 import org.openqa.selenium.remote.http.ConnectionFailedException;
+import org.openqa.selenium.remote.http.ContentEncoding;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpClientName;
 import org.openqa.selenium.remote.http.HttpHandler;
@@ -62,16 +67,27 @@
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
 import org.openqa.selenium.remote.http.Message;
+import org.openqa.selenium.remote.http.StreamingBodies;
 import org.openqa.selenium.remote.http.TextMessage;
 import org.openqa.selenium.remote.http.WebSocket;
 
 public class JdkHttpClient implements HttpClient {
   public static final Logger LOG = Logger.getLogger(JdkHttpClient.class.getName());
+  private static final int MAX_REDIRECTS = 100;
+  // Shared by every client, so that a process talking to many servers (such as a router with a
+  // client for each node) doesn't end up with a pool of threads for each of them.
+  private static final ExecutorService EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread thread = new Thread(r, "JdkHttpClient");
+            thread.setDaemon(true);
+            return thread;
+          });
   private final JdkHttpMessages messages;
   private final HttpHandler handler;
+  private final AsyncHttpHandler asyncHandler;
   private java.net.http.HttpClient client;
   private final List<WebSocket> websockets;
-  private final ExecutorService executorService;
   private final Duration readTimeout;
 
   JdkHttpClient(ClientConfig config) {
@@ -81,14 +97,14 @@ public class JdkHttpClient implements HttpClient {
     this.readTimeout = config.readTimeout();
     this.websockets = new ArrayList<>();
     this.handler = config.filter().andFinally(this::execute0);
-
-    executorService = Executors.newCachedThreadPool();
+    this.asyncHandler = config.filter().andFinallyAsync(this::executeAsync0);
 
     java.net.http.HttpClient.Builder builder =
         java.net.http.HttpClient.newBuilder()
             .connectTimeout(config.connectionTimeout())
             .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
-            .executor(executorService);
+            .version(java.net.http.HttpClient.Version.valueOf(config.version()))
+            .executor(EXECUTOR);
 
     Credentials credentials = config.credentials();
     String info = config.baseUri().getUserInfo();
@@ -347,13 +363,32 @@ public HttpResponse execute(HttpRequest req) throws UncheckedIOException {
     return handler.execute(req);
   }
 
+  @Override
+  public CompletableFuture<HttpResponse> executeAsync(HttpRequest req) {
+    return asyncHandler.executeAsync(req);
+  }
+
   private HttpResponse execute0(HttpRequest req) throws UncheckedIOException {
     Objects.requireNonNull(req, "Request");
 
+    HttpResponse res;
+    if (StreamingBodies.isAccepted(req)) {
+      // Hand the body on as it arrives, rather than holding all of it in memory first.
+      res = execute0(req, BodyHandlers.ofInputStream(), messages::createStreamingResponse);
+    } else {
+      res = execute0(req, BodyHandlers.ofByteArray(), messages::createResponse);
+    }
+    return decode(req, res);
+  }
+
+  private <T> HttpResponse execute0(
+      HttpRequest req,
+      BodyHandler<T> bodyHandler,
+      Function<java.net.http.HttpResponse<T>, HttpResponse> toResponse)
+      throws UncheckedIOException {
     LOG.fine("Executing request: " + req);
     long start = System.currentTimeMillis();
 
-    BodyHandler<byte[]> byteHandler = BodyHandlers.ofByteArray();
     try {
       HttpMethod method = req.getMethod();
       URI rawUri = messages.getRawUri(req);
@@ -362,13 +397,13 @@ private HttpResponse execute0(HttpRequest req) throws UncheckedIOException {
       // - increase the maximum number of retries to 100
       // - avoid a downgrade of POST requests, see the javadoc of j.n.h.HttpClient.Redirect
       // - not run into https://bugs.openjdk.org/browse/JDK-8304701
-      for (int i = 0; i < 100; i++) {
+      for (int i = 0; i < MAX_REDIRECTS; i++) {
         java.net.http.HttpRequest request = messages.createRequest(req, method, rawUri);
-        java.net.http.HttpResponse<byte[]> response;
+        java.net.http.HttpResponse<T> response;
 
         // use sendAsync to not run into https://bugs.openjdk.org/browse/JDK-8258397
-        CompletableFuture<java.net.http.HttpResponse<byte[]>> future =
-            client.sendAsync(request, byteHandler);
+        CompletableFuture<java.net.http.HttpResponse<T>> future =
+            client.sendAsync(request, bodyHandler);
 
         try {
           response = future.get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
@@ -391,42 +426,19 @@ private HttpResponse execute0(HttpRequest req) throws UncheckedIOException {
           throw new TimeoutException(e);
         }
 
-        switch (response.statusCode()) {
-          case 303:
-            method = HttpMethod.GET;
-            // fall-through
-          case 301:
-          case 302:
-          case 307:
-          case 308:
-            URI location =
-                rawUri.resolve(
-                    response
-                        .headers()
-                        .firstValue("location")
-                        .orElseThrow(
-                            () ->
-                                new ProtocolException(
-                                    "HTTP "
-                                        + response.statusCode()
-                                        + " without 'location' header set")));
-
-            if ("https".equalsIgnoreCase(rawUri.getScheme())
-                && !"https".equalsIgnoreCase(location.getScheme())) {
-              throw new SecurityException("Downgrade from secure to insecure connection.");
-            } else if ("wss".equalsIgnoreCase(rawUri.getScheme())
-                && !"wss".equalsIgnoreCase(location.getScheme())) {
-              throw new SecurityException("Downgrade from secure to insecure connection.");
-            }
+        URI location = getRedirectLocation(rawUri, response);
+        if (location == null) {
+          return toResponse.apply(response);
+        }
 
-            rawUri = location;
-            continue;
-          default:
-            return messages.createResponse(response);
+        discardBody(response);
+        if (response.statusCode() == 303) {
+          method = HttpMethod.GET;
         }
+        rawUri = location;
       }
 
-      throw new ProtocolException("Too many redirects: 101");
+      throw new ProtocolException("Too many redirects: " + (MAX_REDIRECTS + 1));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     } catch (InterruptedException e) {
@@ -438,6 +450,147 @@ private HttpResponse execute0(HttpRequest req) throws UncheckedIOException {
     }
   }
 
+  private CompletableFuture<HttpResponse> executeAsync0(HttpRequest req) {
+    Objects.requireNonNull(req, "Request");
+
+    LOG.fine("Executing request asynchronously: " + req);
+    URI rawUri = messages.getRawUri(req);
+
+    CompletableFuture<HttpResponse> res;
+    if (StreamingBodies.isAccepted(req)) {
+      res =
+          sendAsync(
+              req,
+              req.getMethod(),
+              rawUri,
+              BodyHandlers.ofInputStream(),
+              messages::createStreamingResponse,
+              0);
+    } else {
+      res =
+          sendAsync(
+              req,
+              req.getMethod(),
+              rawUri,
+              BodyHandlers.ofByteArray(),
+              messages::createResponse,
+              0);
+    }
+    return res.thenApply(response -> decode(req, response));
+  }
+
+  private static HttpResponse decode(HttpRequest req, HttpResponse res) {
+    // Leave the body as it is if whoever made the request said which encodings it accepts.
+    return ContentEncoding.isHandledByClient(req) ? ContentEncoding.decode(res) : res;
+  }
+
+  private <T> CompletableFuture<HttpResponse> sendAsync(
+      HttpRequest req,
+      HttpMethod method,
+      URI rawUri,
+      BodyHandler<T> bodyHandler,
+      Function<java.net.http.HttpResponse<T>, HttpResponse> toResponse,
+      int redirectCount) {
+    if (redirectCount == MAX_REDIRECTS) {
+      return CompletableFuture.failedFuture(
+          new UncheckedIOException(
+              new ProtocolException("Too many redirects: " + (MAX_REDIRECTS + 1))));
+    }
+
+    java.net.http.HttpRequest request = messages.createRequest(req, method, rawUri);
+    return client
+        .sendAsync(request, bodyHandler)
+        .orTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handle(
+            (response, failure) -> {
+              if (failure != null) {
+                throw toUnchecked(failure);
+              }
+              return response;
+            })
+        .thenCompose(
+            response -> {
+              URI location;
+              try {
+                location = getRedirectLocation(rawUri, response);
+                if (location != null) {
+                  discardBody(response);
+                }
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+
+              if (location == null) {
+                return CompletableFuture.completedFuture(toResponse.apply(response));
+              }
+              HttpMethod next = response.statusCode() == 303 ? HttpMethod.GET : method;
+              return sendAsync(req, next, location, bodyHandler, toResponse, redirectCount + 1);
+            });
+  }
+
+  /**
+   * @return where {@code response} redirects to, or {@code null} if it is not a redirect.
+   */
+  private static URI getRedirectLocation(URI rawUri, java.net.http.HttpResponse<?> response)
+      throws ProtocolException {
+    switch (response.statusCode()) {
+      case 301:
+      case 302:
+      case 303:
+      case 307:
+      case 308:
+        break;
+
+      default:
+        return null;
+    }
+
+    String header =
+        response
+            .headers()
+            .firstValue("location")
+            .orElseThrow(
+                () ->
+                    new ProtocolException(
+                        "HTTP " + response.statusCode() + " without 'location' header set"));
+    URI location = rawUri.resolve(header);
+
+    if ("https".equalsIgnoreCase(rawUri.getScheme())
+        && !"https".equalsIgnoreCase(location.getScheme())) {
+      throw new SecurityException("Downgrade from secure to insecure connection.");
+    } else if ("wss".equalsIgnoreCase(rawUri.getScheme())
+        && !"wss".equalsIgnoreCase(location.getScheme())) {
+      throw new SecurityException("Downgrade from secure to insecure connection.");
+    }
+
+    return location;
+  }
+
+  /** Maps a failure reported by the JDK client to what {@link #execute(HttpRequest)} throws. */
+  private static RuntimeException toUnchecked(Throwable failure) {
+    Throwable cause =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+
+    if (cause instanceof HttpTimeoutException
+        || cause instanceof java.util.concurrent.TimeoutException) {
+      return new TimeoutException(cause);
+    } else if (cause instanceof IOException) {
+      return new UncheckedIOException((IOException) cause);
+    } else if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new WebDriverException(cause);
+  }
+
+  private static void discardBody(java.net.http.HttpResponse<?> response) throws IOException {
+    // A streamed body holds on to its connection until it has been closed.
+    if (response.body() instanceof Closeable) {
+      ((Closeable) response.body()).close();
+    }
+  }
+
   @Override
   public void close() {
     if (this.client == null) {
@@ -451,7 +604,6 @@ public void close() {
         LOG.log(Level.WARNING, "failed to close the websocket: " + websocket, e);
       }
     }
-    executorService.shutdownNow();
   }
 
   @AutoService(HttpClient.Factory.class)
@@ -19,7 +19,7 @@
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpRequest.BodyPublisher;
@@ -30,10 +30,12 @@
 import java.util.stream.StreamSupport;
 import org.openqa.selenium.remote.http.AddSeleniumUserAgent;
 import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.ContentEncoding;
 import org.openqa.selenium.remote.http.Contents;
 import org.openqa.selenium.remote.http.HttpMethod;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.StreamingBodies;
 
 class JdkHttpMessages {
 
@@ -106,6 +108,11 @@ public java.net.http.HttpRequest createRequest(HttpRequest req, HttpMethod metho
       builder = builder.header("User-Agent", AddSeleniumUserAgent.USER_AGENT);
     }
 
+    if (ContentEncoding.shouldNegotiate(config, req)) {
+      builder =
+          builder.header(ContentEncoding.ACCEPT_ENCODING, ContentEncoding.SUPPORTED_ENCODINGS);
+    }
+
     builder.timeout(config.readTimeout());
 
     return builder.build();
@@ -160,21 +167,39 @@ public URI getRawUri(HttpRequest req) {
   }
 
   public HttpResponse createResponse(java.net.http.HttpResponse<byte[]> response) {
+    HttpResponse res = createResponseWithoutBody(response);
+    byte[] responseBody = response.body();
+    if (responseBody != null) {
+      res.setContent(Contents.bytes(responseBody));
+    }
+
+    return res;
+  }
+
+  public HttpResponse createStreamingResponse(java.net.http.HttpResponse<InputStream> response) {
+    HttpResponse res = createResponseWithoutBody(response);
+    InputStream responseBody = response.body();
+    if (responseBody != null) {
+      res.setContent(StreamingBodies.readOnce(responseBody));
+    }
+
+    return res;
+  }
+
+  private HttpResponse createResponseWithoutBody(java.net.http.HttpResponse<?> response) {
     HttpResponse res = new HttpResponse();
     res.setStatus(response.statusCode());
     response
         .headers()
         .map()
         .forEach(
-            (name, values) ->
-                values.stream()
-                    .filter(Objects::nonNull)
-                    .forEach(value -> res.addHeader(name, value)));
-    byte[] responseBody = response.body();
-    if (responseBody != null) {
-      res.setContent(() -> new ByteArrayInputStream(responseBody));
-    }
-
+            (name, values) -> {
+              // HTTP/2 responses include pseudo-headers such as ":status", which aren't headers.
+              if (name.startsWith(":")) {
+                return;
+              }
+              values.stream().filter(Objects::nonNull).forEach(value -> res.addHeader(name, value));
+            });
     return res;
   }
 }
@@ -18,9 +18,13 @@
 package org.openqa.selenium.remote.http.netty;
 
 import com.google.auto.service.AutoService;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
@@ -28,11 +32,11 @@
 import org.asynchttpclient.DefaultAsyncHttpClientConfig;
 import org.asynchttpclient.Dsl;
 import org.asynchttpclient.config.AsyncHttpClientConfigDefaults;
+import org.asynchttpclient.netty.channel.ChannelManager;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpClientName;
-import org.openqa.selenium.remote.http.HttpHandler;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
 import org.openqa.selenium.remote.http.WebSocket;
@@ -53,7 +57,7 @@ public class NettyClient implements HttpClient {
   }
 
   private final ClientConfig config;
-  private final HttpHandler handler;
+  private final NettyHttpHandler handler;
   private final BiFunction<HttpRequest, WebSocket.Listener, WebSocket> toWebSocket;
 
   private NettyClient(ClientConfig config) {
@@ -86,16 +90,38 @@ private static AsyncHttpClient createHttpClient(ClientConfig config) {
             .setMaxRedirects(100)
             .setUseProxyProperties(true)
             .setUseProxySelector(true)
-            .setMaxRequestRetry(0);
+            .setMaxRequestRetry(0)
+            .setHttpAdditionalChannelInitializer(NettyClient::leaveBodiesEncoded);
 
     return Dsl.asyncHttpClient(builder);
   }
 
+  /**
+   * The async http client always decompresses response bodies, but {@link NettyHttpHandler} needs
+   * to hand them back untouched when whoever made the request asked for an encoding. The inflater
+   * is swapped for a handler that does nothing, rather than removed, in case the client looks it up
+   * by name.
+   */
+  private static void leaveBodiesEncoded(Channel channel) {
+    ChannelPipeline pipeline = channel.pipeline();
+    if (pipeline.get(ChannelManager.INFLATER_HANDLER) != null) {
+      pipeline.replace(
+          ChannelManager.INFLATER_HANDLER,
+          ChannelManager.INFLATER_HANDLER,
+          new ChannelInboundHandlerAdapter());
+    }
+  }
+
   @Override
   public HttpResponse execute(HttpRequest request) {
     return handler.execute(request);
   }
 
+  @Override
+  public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+    return handler.executeAsync(request);
+  }
+
   @Override
   public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
     Require.nonNull("Request to send", request);
@@ -19,6 +19,8 @@
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -26,7 +28,9 @@
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.Response;
 import org.openqa.selenium.internal.Require;
+import org.openqa.selenium.remote.http.AsyncHttpHandler;
 import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.ContentEncoding;
 import org.openqa.selenium.remote.http.HttpHandler;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
@@ -35,12 +39,14 @@
 public class NettyHttpHandler extends RemoteCall {
 
   private final HttpHandler handler;
+  private final AsyncHttpHandler asyncHandler;
   private final AsyncHttpClient client;
 
   public NettyHttpHandler(ClientConfig config, AsyncHttpClient client) {
     super(config);
     this.client = client;
     this.handler = config.filter().andFinally(this::makeCall);
+    this.asyncHandler = config.filter().andFinallyAsync(this::makeAsyncCall);
   }
 
   @Override
@@ -48,6 +54,10 @@ public HttpResponse execute(HttpRequest request) {
     return handler.execute(request);
   }
 
+  public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+    return asyncHandler.executeAsync(request);
+  }
+
   private HttpResponse makeCall(HttpRequest request) {
     Require.nonNull("Request", request);
 
@@ -57,7 +67,7 @@ private HttpResponse makeCall(HttpRequest request) {
     try {
       Response response =
           whenResponse.get(getConfig().readTimeout().toMillis(), TimeUnit.MILLISECONDS);
-      return NettyMessages.toSeleniumResponse(response);
+      return decode(request, NettyMessages.toSeleniumResponse(response));
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException("NettyHttpHandler request interrupted", e);
@@ -76,4 +86,37 @@ private HttpResponse makeCall(HttpRequest request) {
       throw new RuntimeException("NettyHttpHandler request execution error", e);
     }
   }
+
+  private CompletableFuture<HttpResponse> makeAsyncCall(HttpRequest request) {
+    Require.nonNull("Request", request);
+
+    return client
+        .executeRequest(NettyMessages.toNettyRequest(getConfig(), request))
+        .toCompletableFuture()
+        .orTimeout(getConfig().readTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .handle(
+            (response, failure) -> {
+              if (failure == null) {
+                return decode(request, NettyMessages.toSeleniumResponse(response));
+              }
+
+              Throwable cause =
+                  failure instanceof CompletionException && failure.getCause() != null
+                      ? failure.getCause()
+                      : failure;
+              if (cause instanceof TimeoutException) {
+                throw new org.openqa.selenium.TimeoutException(cause);
+              } else if (cause instanceof UncheckedIOException) {
+                throw (UncheckedIOException) cause;
+              } else if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+              }
+              throw new RuntimeException("NettyHttpHandler request execution error", cause);
+            });
+  }
+
+  private static HttpResponse decode(HttpRequest request, HttpResponse response) {
+    // Leave the body as it is if whoever made the request said which encodings it accepts.
+    return ContentEncoding.isHandledByClient(request) ? ContentEncoding.decode(response) : response;
+  }
 }
@@ -35,6 +35,7 @@
 import org.openqa.selenium.UsernameAndPassword;
 import org.openqa.selenium.remote.http.AddSeleniumUserAgent;
 import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.ContentEncoding;
 import org.openqa.selenium.remote.http.HttpMethod;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
@@ -77,6 +78,9 @@ protected static Request toNettyRequest(ClientConfig config, HttpRequest request
     if (request.getHeader("User-Agent") == null) {
       builder.addHeader("User-Agent", AddSeleniumUserAgent.USER_AGENT);
     }
+    if (ContentEncoding.shouldNegotiate(config, request)) {
+      builder.addHeader(ContentEncoding.ACCEPT_ENCODING, ContentEncoding.SUPPORTED_ENCODINGS);
+    }
 
     Realm.Builder realmBuilder = null;
     String info = baseUrl.getUserInfo();
@@ -35,6 +35,15 @@ public interface Span extends AutoCloseable, TraceContext {
 
   Span setStatus(Status status);
 
+  /**
+   * Stops this span being the current one on the calling thread, which must be the thread that
+   * created it, while leaving it open. This allows work that completes on another thread to end the
+   * span there by calling {@link #close()}.
+   */
+  default Span detach() {
+    return this;
+  }
+
   @Override
   void close();
 
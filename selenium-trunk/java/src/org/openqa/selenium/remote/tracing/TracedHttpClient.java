@@ -18,11 +18,15 @@
 package org.openqa.selenium.remote.tracing;
 
 import static org.openqa.selenium.remote.tracing.HttpTracing.newSpanAsChildOf;
+import static org.openqa.selenium.remote.tracing.Tags.EXCEPTION;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_REQUEST;
 import static org.openqa.selenium.remote.tracing.Tags.HTTP_RESPONSE;
 import static org.openqa.selenium.remote.tracing.Tags.KIND;
 
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.remote.http.HttpClient;
@@ -57,6 +61,44 @@ public HttpResponse execute(HttpRequest req) {
     }
   }
 
+  @Override
+  public CompletableFuture<HttpResponse> executeAsync(HttpRequest req) {
+    Span span = newSpanAsChildOf(tracer, req, "httpclient.execute_async");
+    CompletableFuture<HttpResponse> response;
+    try {
+      KIND.accept(span, Span.Kind.CLIENT);
+      HTTP_REQUEST.accept(span, req);
+      tracer.getPropagator().inject(span, req, (r, key, value) -> r.setHeader(key, value));
+      response = delegate.executeAsync(req);
+    } catch (RuntimeException | Error e) {
+      failed(span, e);
+      span.close();
+      throw e;
+    } finally {
+      // The response arrives on another thread, so the span can no longer be the current one here.
+      span.detach();
+    }
+
+    return response.whenComplete(
+        (res, throwable) -> {
+          if (throwable != null) {
+            failed(span, throwable);
+          } else {
+            HTTP_RESPONSE.accept(span, res);
+          }
+          span.close();
+        });
+  }
+
+  private static void failed(Span span, Throwable throwable) {
+    span.setAttribute("error", true);
+    span.setStatus(Status.UNKNOWN);
+
+    Map<String, EventAttributeValue> attributeMap = new HashMap<>();
+    EXCEPTION.accept(attributeMap, throwable);
+    span.addEvent(AttributeKey.EXCEPTION_EVENT.getKey(), attributeMap);
+  }
+
   @Override
   public void close() {
     delegate.close();
@@ -28,6 +28,7 @@
 import io.opentelemetry.context.Scope;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.openqa.selenium.internal.Require;
 import org.openqa.selenium.remote.tracing.EventAttributeValue;
 import org.openqa.selenium.remote.tracing.Span;
@@ -37,6 +38,7 @@ class OpenTelemetrySpan extends OpenTelemetryContext implements AutoCloseable, S
 
   private final io.opentelemetry.api.trace.Span span;
   private final Scope scope;
+  private final AtomicBoolean detached = new AtomicBoolean();
 
   public OpenTelemetrySpan(
       Tracer tracer, Context context, io.opentelemetry.api.trace.Span span, Scope scope) {
@@ -174,9 +176,17 @@ public Span setStatus(Status status) {
     return this;
   }
 
+  @Override
+  public Span detach() {
+    if (detached.compareAndSet(false, true)) {
+      scope.close();
+    }
+    return this;
+  }
+
   @Override
   public void close() {
-    scope.close();
+    detach();
     span.end();
   }
 
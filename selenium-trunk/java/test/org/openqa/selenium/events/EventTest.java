@@ -0,0 +1,94 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.json.Json.MAP_TYPE;
+
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EventTest {
+
+  private static final EventName CHEESE = new EventName("cheese");
+
+  @Test
+  void shouldHandTheOriginalPayloadToListenersAskingForItsClass() {
+    Cheese brie = new Cheese("brie");
+
+    Event event = new Event(CHEESE, brie);
+
+    assertThat((Cheese) event.getData(Cheese.class)).isSameAs(brie);
+  }
+
+  @Test
+  void shouldSerializeThePayloadWhenAskedForTheRawData() {
+    Event event = new Event(CHEESE, new Cheese("brie"));
+
+    assertThat(event.getRawData()).contains("brie");
+    Map<String, Object> asMap = event.getData(MAP_TYPE);
+    assertThat(asMap.get("name")).isEqualTo("brie");
+  }
+
+  @Test
+  void shouldConvertRawDataOncePerType() {
+    Event event = Event.fromRawData(UUID.randomUUID(), CHEESE, "{\"name\":\"brie\"}");
+
+    Cheese first = event.getData(Cheese.class);
+    Cheese second = event.getData(Cheese.class);
+
+    assertThat(first.getName()).isEqualTo("brie");
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void eventsShouldBeEqualWhetherCreatedFromAPayloadOrRawData() {
+    UUID id = UUID.randomUUID();
+
+    Event typed = new Event(id, CHEESE, new Cheese("brie"));
+    Event raw = Event.fromRawData(id, CHEESE, typed.getRawData());
+
+    assertThat(raw).isEqualTo(typed);
+    assertThat(raw.hashCode()).isEqualTo(typed.hashCode());
+  }
+
+  @Test
+  void nullPayloadsShouldStillBeSerialized() {
+    Event event = new Event(CHEESE, null);
+
+    assertThat(event.getRawData()).isEqualTo("null");
+    assertThat((Object) event.getData(Cheese.class)).isNull();
+  }
+
+  public static class Cheese {
+    private final String name;
+
+    public Cheese(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    private static Cheese fromJson(Map<String, Object> raw) {
+      return new Cheese((String) raw.get("name"));
+    }
+  }
+}
@@ -0,0 +1,224 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.events;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MalformedObjectNameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.openqa.selenium.events.local.LocalEventBus;
+import org.openqa.selenium.events.local.LocalEventBus.ListenerMetrics;
+
+class LocalEventBusTest {
+
+  private LocalEventBus bus;
+
+  @BeforeEach
+  public void setUp() {
+    bus = new LocalEventBus(2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    bus.close();
+  }
+
+  @Test
+  @Timeout(4)
+  void shouldOnlyDeliverEventsToListenersForThatName() throws InterruptedException {
+    EventName cheese = new EventName("cheese");
+    AtomicInteger peas = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    bus.addListener(
+        new EventListener<>(new EventName("peas"), Object.class, obj -> peas.incrementAndGet()));
+    bus.addListener(new EventListener<>(cheese, Object.class, obj -> latch.countDown()));
+
+    bus.fire(new Event(cheese, null));
+
+    assertThat(latch.await(2, SECONDS)).isTrue();
+    assertThat(peas.get()).isZero();
+  }
+
+  @Test
+  @Timeout(4)
+  void shouldNotBlockTheThreadFiringTheEvent() throws InterruptedException {
+    EventName name = new EventName("slow");
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch handled = new CountDownLatch(1);
+
+    bus.addListener(
+        new EventListener<>(
+            name,
+            Object.class,
+            obj -> {
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              handled.countDown();
+            }));
+
+    bus.fire(new Event(name, null));
+    release.countDown();
+
+    assertThat(handled.await(2, SECONDS)).isTrue();
+  }
+
+  @Test
+  @Timeout(10)
+  void shouldDeliverEventsOfTheSameNameInOrder() throws InterruptedException {
+    int maxCount = 200;
+    EventName name = new EventName("counter");
+    List<Integer> seen = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(maxCount);
+
+    bus.addListener(
+        new EventListener<Integer>(
+            name,
+            Integer.class,
+            i -> {
+              seen.add(i);
+              latch.countDown();
+            }));
+
+    List<Integer> expected = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < maxCount; i++) {
+      expected.add(i);
+      bus.fire(new Event(name, i));
+    }
+
+    assertThat(latch.await(5, SECONDS)).isTrue();
+    assertThat(seen).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  @Timeout(4)
+  void shouldDropEventsOnceTooManyAreWaiting() throws InterruptedException {
+    LocalEventBus bounded = new LocalEventBus(1, 2);
+    try {
+      EventName name = new EventName("slow");
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CountDownLatch handled = new CountDownLatch(2);
+
+      bounded.addListener(
+          new EventListener<>(
+              name,
+              Object.class,
+              obj -> {
+                started.countDown();
+                try {
+                  release.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                handled.countDown();
+              }));
+
+      bounded.fire(new Event(name, null));
+      assertThat(started.await(2, SECONDS)).isTrue();
+      for (int i = 0; i < 4; i++) {
+        bounded.fire(new Event(name, null));
+      }
+
+      assertThat(bounded.getPendingEvents()).isEqualTo(2);
+      assertThat(bounded.getDroppedEvents()).isEqualTo(3);
+
+      release.countDown();
+      assertThat(handled.await(2, SECONDS)).isTrue();
+    } finally {
+      bounded.close();
+    }
+  }
+
+  @Test
+  void eachBusHasItsOwnObjectName() throws MalformedObjectNameException {
+    LocalEventBus other = new LocalEventBus(1);
+    try {
+      assertThat(other.getObjectName()).isNotEqualTo(bus.getObjectName());
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  @Timeout(4)
+  void shouldKeepDeliveringEventsWhenAListenerThrows() throws InterruptedException {
+    EventName name = new EventName("cheese");
+    CountDownLatch latch = new CountDownLatch(2);
+
+    bus.addListener(
+        new EventListener<>(
+            name,
+            Object.class,
+            obj -> {
+              throw new IllegalStateException("Boom");
+            }));
+    bus.addListener(new EventListener<>(name, Object.class, obj -> latch.countDown()));
+
+    bus.fire(new Event(name, null));
+    bus.fire(new Event(name, null));
+
+    assertThat(latch.await(2, SECONDS)).isTrue();
+  }
+
+  @Test
+  @Timeout(4)
+  void shouldRecordHowLongEachListenerTakes() throws InterruptedException {
+    EventName name = new EventName("cheese");
+    CountDownLatch latch = new CountDownLatch(3);
+
+    bus.addListener(
+        new EventListener<>(
+            name,
+            Object.class,
+            obj -> {
+              throw new IllegalStateException("Boom");
+            }));
+    bus.addListener(new EventListener<>(name, Object.class, obj -> latch.countDown()));
+
+    for (int i = 0; i < 3; i++) {
+      bus.fire(new Event(name, null));
+    }
+    assertThat(latch.await(2, SECONDS)).isTrue();
+    // The last event's bookkeeping happens after the listener returns
+    while (bus.getPendingEvents() > 0) {
+      Thread.sleep(10);
+    }
+
+    Map<String, ListenerMetrics> metrics = bus.getListenerMetrics();
+    assertThat(metrics).hasSize(2);
+    assertThat(metrics.get("cheese#0").getCount()).isEqualTo(3L);
+    assertThat(metrics.get("cheese#0").getFailures()).isEqualTo(3L);
+    assertThat(metrics.get("cheese#1").getCount()).isEqualTo(3L);
+    assertThat(metrics.get("cheese#1").getFailures()).isZero();
+    assertThat(metrics.get("cheese#1").getMaxNanos())
+        .isLessThanOrEqualTo(metrics.get("cheese#1").getTotalNanos());
+  }
+}
@@ -20,14 +20,24 @@
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.events.zeromq.ZeroMqEventBus;
 import org.openqa.selenium.grid.security.Secret;
+import org.zeromq.SocketType;
 import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
 
 class ZeroMqEventBusTest {
 
@@ -68,4 +78,124 @@ void shouldEnsureMessagesRequireSecret()
           .isSameAs(errorException);
     }
   }
+
+  @Test
+  void shouldDeliverEveryEventInABurst() throws InterruptedException {
+    String publish = "inproc://zmqebt-burst-publish";
+    String subscribe = "inproc://zmqebt-burst-subscribe";
+    int maxCount = 5000;
+
+    ZContext context = new ZContext();
+    try (EventBus bound =
+            ZeroMqEventBus.create(context, publish, subscribe, true, new Secret("cheese"));
+        EventBus unbound =
+            ZeroMqEventBus.create(context, publish, subscribe, false, new Secret("cheese"), true)) {
+
+      EventName eventName = new EventName("burst");
+      AtomicInteger ignored = new AtomicInteger();
+      CountDownLatch latch = new CountDownLatch(maxCount);
+      bound.addListener(new EventListener<>(eventName, Integer.class, i -> latch.countDown()));
+      bound.addListener(
+          new EventListener<>(
+              new EventName("not-burst"), Object.class, obj -> ignored.incrementAndGet()));
+
+      for (int i = 0; i < maxCount; i++) {
+        unbound.fire(new Event(eventName, i));
+      }
+
+      assertThat(latch.await(20, SECONDS)).describedAs(latch.toString()).isTrue();
+      assertThat(ignored.get()).isZero();
+    } finally {
+      context.close();
+    }
+  }
+
+  @Test
+  void shouldReadEventsSentEitherWay() throws InterruptedException {
+    String publish = "inproc://zmqebt-mixed-publish";
+    String subscribe = "inproc://zmqebt-mixed-subscribe";
+
+    ZContext context = new ZContext();
+    try (EventBus bound =
+            ZeroMqEventBus.create(context, publish, subscribe, true, new Secret("cheese"));
+        EventBus frames =
+            ZeroMqEventBus.create(context, publish, subscribe, false, new Secret("cheese"));
+        EventBus envelopes =
+            ZeroMqEventBus.create(context, publish, subscribe, false, new Secret("cheese"), true)) {
+
+      EventName eventName = new EventName("mixed");
+      List<String> seen = new CopyOnWriteArrayList<>();
+      CountDownLatch latch = new CountDownLatch(2);
+      bound.addListener(
+          new EventListener<String>(
+              eventName,
+              String.class,
+              str -> {
+                seen.add(str);
+                latch.countDown();
+              }));
+
+      frames.fire(new Event(eventName, "frames"));
+      envelopes.fire(new Event(eventName, "envelope"));
+
+      assertThat(latch.await(5, SECONDS)).isTrue();
+      assertThat(seen).containsExactlyInAnyOrder("frames", "envelope");
+    } finally {
+      context.close();
+    }
+  }
+
+  @Test
+  void shouldLogOnceWhenAMessageIsInAnUnknownFormat() throws InterruptedException {
+    String publish = "inproc://zmqebt-unknown-publish";
+    String subscribe = "inproc://zmqebt-unknown-subscribe";
+
+    Logger logger = Logger.getLogger(EventBus.class.getName());
+    List<LogRecord> warnings = new CopyOnWriteArrayList<>();
+    Handler handler =
+        new Handler() {
+          @Override
+          public void publish(LogRecord record) {
+            if (record.getLevel() == Level.WARNING
+                && record.getMessage().contains("unknown format")) {
+              warnings.add(record);
+            }
+          }
+
+          @Override
+          public void flush() {}
+
+          @Override
+          public void close() {}
+        };
+    logger.addHandler(handler);
+
+    ZContext context = new ZContext();
+    try (EventBus bus =
+            ZeroMqEventBus.create(context, publish, subscribe, true, new Secret("cheese"));
+        ZMQ.Socket raw = context.createSocket(SocketType.PUB)) {
+      raw.connect(subscribe);
+
+      // Messages sent before the connection is made are lost, so keep going until one arrives
+      for (int i = 0; i < 50 && warnings.isEmpty(); i++) {
+        raw.send(new byte[] {0x00, 0x7f});
+        Thread.sleep(100);
+      }
+      assertThat(warnings).hasSize(1);
+
+      raw.send("not an event");
+      raw.send(new byte[] {0x00, 0x7f});
+
+      EventName eventName = new EventName("after");
+      CountDownLatch latch = new CountDownLatch(1);
+      bus.addListener(new EventListener<>(eventName, Object.class, obj -> latch.countDown()));
+      bus.fire(new Event(eventName, null));
+
+      assertThat(latch.await(5, SECONDS)).isTrue();
+      assertThat(warnings).hasSize(1);
+    } finally {
+      logger.removeHandler(handler);
+      context.close();
+    }
+  }
 }
@@ -0,0 +1,95 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.events.zeromq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.events.Event;
+import org.openqa.selenium.events.EventName;
+
+class EventEnvelopeTest {
+
+  private static final byte[] SECRET = "cheese".getBytes(UTF_8);
+
+  @Test
+  void shouldReadBackEveryEventInABatch() {
+    Event first = new Event(new EventName("cheese"), "brie");
+    Event second = new Event(new EventName("peas"), 42);
+
+    EventEnvelope.Reader reader =
+        EventEnvelope.read(EventEnvelope.encode(SECRET, Arrays.asList(first, second)));
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.getHash()).isEqualTo(EventEnvelope.hash(first.getType()));
+    assertThat(reader.getEventName()).isEqualTo(first.getType());
+    assertThat(reader.getId()).isEqualTo(first.getId());
+    assertThat(reader.getData()).isEqualTo(first.getRawData());
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.getEventName()).isEqualTo(second.getType());
+    assertThat(reader.getId()).isEqualTo(second.getId());
+    assertThat(reader.getData()).isEqualTo(second.getRawData());
+
+    assertThat(reader.next()).isFalse();
+  }
+
+  @Test
+  void shouldBeAbleToSkipEventsWithoutReadingThem() {
+    Event skipped = new Event(new EventName("peas"), "mushy");
+    Event wanted = new Event(new EventName("cheese"), "cheddar");
+
+    EventEnvelope.Reader reader =
+        EventEnvelope.read(EventEnvelope.encode(SECRET, Arrays.asList(skipped, wanted)));
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.getId()).isEqualTo(wanted.getId());
+    assertThat(reader.getData()).isEqualTo(wanted.getRawData());
+  }
+
+  @Test
+  void shouldOnlyTrustTheSecretItWasSignedWith() {
+    List<Event> events = Arrays.asList(new Event(new EventName("cheese"), "brie"));
+    EventEnvelope.Reader reader = EventEnvelope.read(EventEnvelope.encode(SECRET, events));
+
+    assertThat(reader.isSignedWith(SECRET)).isTrue();
+    assertThat(reader.isSignedWith("peas".getBytes(UTF_8))).isFalse();
+    assertThat(reader.isSignedWith("cheeses".getBytes(UTF_8))).isFalse();
+  }
+
+  @Test
+  void shouldNotMistakeTheOlderFramesForAnEnvelope() {
+    assertThat(EventEnvelope.isEnvelope("cheese".getBytes(UTF_8))).isFalse();
+    assertThat(EventEnvelope.isEnvelope(new byte[0])).isFalse();
+    assertThat(EventEnvelope.isEnvelope(EventEnvelope.encode(SECRET, Arrays.asList()))).isTrue();
+  }
+
+  @Test
+  void shouldRejectATruncatedEnvelope() {
+    List<Event> events = Arrays.asList(new Event(new EventName("cheese"), "brie"));
+    byte[] frame = EventEnvelope.encode(SECRET, events);
+    EventEnvelope.Reader reader = EventEnvelope.read(Arrays.copyOf(frame, frame.length - 3));
+
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(reader::next);
+  }
+}
@@ -0,0 +1,384 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.distributor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.grid.data.Availability.DOWN;
+import static org.openqa.selenium.grid.data.Availability.UP;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.events.local.GuavaEventBus;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.NodeStatusDelta;
+import org.openqa.selenium.grid.data.Session;
+import org.openqa.selenium.grid.data.Slot;
+import org.openqa.selenium.grid.data.SlotId;
+import org.openqa.selenium.remote.SessionId;
+
+class GridModelTest {
+
+  private final Capabilities stereotype = new ImmutableCapabilities("browserName", "cheese");
+  private GridModel model;
+
+  @BeforeEach
+  public void setUp() {
+    model = new GridModel(new GuavaEventBus());
+  }
+
+  @Test
+  void newNodesAreAddedAsDown() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+
+    model.add(node);
+
+    assertThat(model.getSnapshot()).hasSize(1);
+    assertThat(model.getSnapshot().iterator().next().getAvailability()).isEqualTo(DOWN);
+  }
+
+  @Test
+  void aSlotCanOnlyBeReservedOnce() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    SlotId slotId = node.getSlots().iterator().next().getId();
+
+    assertThat(model.reserve(slotId)).isTrue();
+    assertThat(model.reserve(slotId)).isFalse();
+  }
+
+  @Test
+  void concurrentReservationsOfTheSameSlotHaveExactlyOneWinner() throws InterruptedException {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    SlotId slotId = node.getSlots().iterator().next().getId();
+    int threadCount = 16;
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger winners = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (int i = 0; i < threadCount; i++) {
+        executor.submit(
+            () -> {
+              start.await();
+              if (model.reserve(slotId)) {
+                winners.incrementAndGet();
+              }
+              return null;
+            });
+      }
+      start.countDown();
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    assertThat(winners.get()).isEqualTo(1);
+  }
+
+  @Test
+  void aSlotIsNotReservedTwiceWhileTheNodeReportsItsStatus() throws Exception {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+    SlotId slotId = node.getSlots().iterator().next().getId();
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      for (int round = 0; round < 500; round++) {
+        model.setSession(slotId, null);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        Callable<Void> reserve =
+            () -> {
+              start.await();
+              if (model.reserve(slotId)) {
+                winners.incrementAndGet();
+              }
+              return null;
+            };
+        Callable<Void> refresh =
+            () -> {
+              start.await();
+              model.refresh(node);
+              return null;
+            };
+        List<Future<Void>> results =
+            ImmutableList.of(
+                executor.submit(reserve), executor.submit(refresh), executor.submit(reserve));
+        start.countDown();
+        for (Future<Void> result : results) {
+          result.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(winners.get()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void releasingASessionFreesItsSlot() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 2);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    SlotId slotId = node.getSlots().iterator().next().getId();
+    SessionId sessionId = new SessionId(UUID.randomUUID());
+    assertThat(model.reserve(slotId)).isTrue();
+    model.setSession(
+        slotId,
+        new Session(sessionId, node.getExternalUri(), stereotype, stereotype, Instant.now()));
+
+    assertThat(activeSessions()).isEqualTo(1);
+
+    model.release(sessionId);
+
+    assertThat(activeSessions()).isZero();
+    assertThat(model.reserve(slotId)).isTrue();
+  }
+
+  @Test
+  void snapshotIsReusedUntilTheModelChanges() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+    model.add(node);
+
+    Set<NodeStatus> first = model.getSnapshot();
+    assertThat(model.getSnapshot()).isSameAs(first);
+
+    model.setAvailability(node.getNodeId(), UP);
+
+    Set<NodeStatus> second = model.getSnapshot();
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.iterator().next().getAvailability()).isEqualTo(UP);
+  }
+
+  @Test
+  void addingANewNodeIdAtAnExistingUriReplacesTheOldNode() {
+    URI uri = URI.create("http://localhost:1234");
+    NodeStatus original = createNode(uri, 1);
+    NodeStatus restarted = createNode(uri, 1);
+
+    model.add(original);
+    model.add(restarted);
+
+    assertThat(model.getSnapshot()).hasSize(1);
+    assertThat(model.getSnapshot().iterator().next().getNodeId()).isEqualTo(restarted.getNodeId());
+  }
+
+  @Test
+  void aDeltaOnlyChangesTheSlotsItCarries() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 2).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    Slot slot = node.getSlots().iterator().next();
+    Session session =
+        new Session(
+            new SessionId(UUID.randomUUID()),
+            node.getExternalUri(),
+            stereotype,
+            stereotype,
+            Instant.now());
+    Slot busy = new Slot(slot.getId(), stereotype, session.getStartTime(), session);
+
+    assertThat(model.apply(delta(node, 1, 2, busy))).isTrue();
+
+    assertThat(activeSessions()).isEqualTo(1);
+    assertThat(model.reserve(slot.getId())).isFalse();
+    assertThat(model.getSnapshot().iterator().next().getSlots()).hasSize(2);
+  }
+
+  @Test
+  void aDeltaBuildingOnAStatusWeNeverSawIsNotApplied() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    Slot slot = node.getSlots().iterator().next();
+    Session session =
+        new Session(
+            new SessionId(UUID.randomUUID()),
+            node.getExternalUri(),
+            stereotype,
+            stereotype,
+            Instant.now());
+
+    boolean applied =
+        model.apply(delta(node, 3, 4, new Slot(slot.getId(), stereotype, Instant.now(), session)));
+
+    assertThat(applied).isFalse();
+    assertThat(activeSessions()).isZero();
+  }
+
+  @Test
+  void aDeltaDoesNotUndoAReservationTheNodeHasNotHeardOfYet() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    Slot slot = node.getSlots().iterator().next();
+    assertThat(model.reserve(slot.getId())).isTrue();
+
+    assertThat(model.apply(delta(node, 1, 2, slot))).isTrue();
+
+    assertThat(model.reserve(slot.getId())).isFalse();
+  }
+
+  @Test
+  void capacityListenersAreToldWhenAHeartbeatFreesASlot() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    AtomicInteger notified = new AtomicInteger();
+    model.addCapacityListener(notified::incrementAndGet);
+
+    Slot slot = node.getSlots().iterator().next();
+    Session session =
+        new Session(
+            new SessionId(UUID.randomUUID()),
+            node.getExternalUri(),
+            stereotype,
+            stereotype,
+            Instant.now());
+    assertThat(
+            model.apply(
+                delta(node, 1, 2, new Slot(slot.getId(), stereotype, Instant.now(), session))))
+        .isTrue();
+    assertThat(notified.get()).isZero();
+
+    // The session ends without a SessionClosedEvent reaching us, so the heartbeat is all we see
+    assertThat(model.apply(delta(node, 2, 3, slot))).isTrue();
+    assertThat(notified.get()).isEqualTo(1);
+
+    // Nothing changes, so there is nothing new to match against
+    model.touch(node.withStatusVersion(4));
+    assertThat(notified.get()).isEqualTo(1);
+  }
+
+  @Test
+  void capacityListenersAreToldWhenANodeComesBackUp() {
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1);
+    model.add(node);
+
+    AtomicInteger notified = new AtomicInteger();
+    model.addCapacityListener(notified::incrementAndGet);
+
+    model.touch(node);
+
+    assertThat(notified.get()).isEqualTo(1);
+    assertThat(model.getSnapshot().iterator().next().getAvailability()).isEqualTo(UP);
+  }
+
+  @Test
+  void aReservationThatIsNeverUsedExpires() throws InterruptedException {
+    model = new GridModel(new GuavaEventBus(), Duration.ofMillis(100));
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    Slot slot = node.getSlots().iterator().next();
+    assertThat(model.reserve(slot.getId())).isTrue();
+
+    // The node still says the slot is free, but it has not been asked to create the session yet
+    model.refresh(node.withStatusVersion(2));
+    assertThat(model.reserve(slot.getId())).isFalse();
+
+    Thread.sleep(200);
+
+    model.refresh(node.withStatusVersion(3));
+    assertThat(activeSessions()).isZero();
+    assertThat(model.reserve(slot.getId())).isTrue();
+  }
+
+  @Test
+  void aReservationThatIsNeverUsedExpiresWhenADeltaArrives() throws InterruptedException {
+    model = new GridModel(new GuavaEventBus(), Duration.ofMillis(100));
+    NodeStatus node = createNode(URI.create("http://localhost:1234"), 1).withStatusVersion(1);
+    model.add(node);
+    model.setAvailability(node.getNodeId(), UP);
+
+    Slot slot = node.getSlots().iterator().next();
+    assertThat(model.reserve(slot.getId())).isTrue();
+
+    Thread.sleep(200);
+
+    assertThat(model.apply(delta(node, 1, 2, slot))).isTrue();
+    assertThat(activeSessions()).isZero();
+    assertThat(model.reserve(slot.getId())).isTrue();
+  }
+
+  private NodeStatusDelta delta(NodeStatus node, long baseVersion, long version, Slot... slots) {
+    return new NodeStatusDelta(
+        node.getNodeId(),
+        node.getExternalUri(),
+        UP,
+        baseVersion,
+        version,
+        ImmutableSet.copyOf(slots));
+  }
+
+  private long activeSessions() {
+    return model.getSnapshot().stream()
+        .flatMap(node -> node.getSlots().stream())
+        .filter(slot -> slot.getSession() != null)
+        .count();
+  }
+
+  private NodeStatus createNode(URI uri, int slotCount) {
+    NodeId nodeId = new NodeId(UUID.randomUUID());
+    ImmutableSet.Builder<Slot> slots = ImmutableSet.builder();
+    for (int i = 0; i < slotCount; i++) {
+      slots.add(new Slot(new SlotId(nodeId, UUID.randomUUID()), stereotype, Instant.EPOCH, null));
+    }
+
+    return new NodeStatus(
+        nodeId,
+        uri,
+        slotCount,
+        slots.build(),
+        UP,
+        Duration.ofSeconds(10),
+        "4.0.0",
+        ImmutableMap.of("name", "cheese", "arch", "x86_64", "version", "1.0"));
+  }
+}
@@ -0,0 +1,217 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.distributor.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.grid.data.NodeId;
+
+class HealthCheckSchedulerTest {
+
+  private HealthCheckScheduler scheduler;
+
+  @BeforeEach
+  public void setUp() {
+    // Long enough that the scheduled checks stay out of the way of the tests
+    scheduler = new HealthCheckScheduler(Duration.ofHours(1), 2, Duration.ofMillis(500));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.close();
+  }
+
+  @Test
+  void aSlowCheckTimesOutWithoutHoldingUpTheOthers() {
+    CountDownLatch blackHole = new CountDownLatch(1);
+    AtomicInteger timedOut = new AtomicInteger();
+    AtomicInteger healthy = new AtomicInteger();
+
+    scheduler.add(
+        new NodeId(UUID.randomUUID()),
+        () -> {
+          try {
+            blackHole.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        timedOut::incrementAndGet);
+    scheduler.add(new NodeId(UUID.randomUUID()), healthy::incrementAndGet, () -> {});
+
+    long start = System.nanoTime();
+    scheduler.checkAll();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(timedOut.get()).isEqualTo(1);
+    assertThat(healthy.get()).isEqualTo(1);
+    assertThat(elapsed).isLessThan(5000L);
+  }
+
+  @Test
+  void aCheckThatIsStillRunningIsNotStartedAgain() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger runs = new AtomicInteger();
+    NodeId id = new NodeId(UUID.randomUUID());
+    // Give the check plenty of time, so it can only finish when it's released
+    scheduler.close();
+    scheduler = new HealthCheckScheduler(Duration.ofHours(1), 2, Duration.ofSeconds(30));
+
+    scheduler.add(
+        id,
+        () -> {
+          runs.incrementAndGet();
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        () -> {});
+
+    Thread first = new Thread(scheduler::checkAll);
+    first.start();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    Thread second = new Thread(scheduler::checkAll);
+    second.start();
+    // Wait for the second caller to be waiting on the check the first one started
+    while (second.getState() != Thread.State.WAITING) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+    first.join(5000);
+    second.join(5000);
+
+    assertThat(runs.get()).isEqualTo(1);
+  }
+
+  @Test
+  void checksWaitingForAThreadDoNotTimeOut() {
+    scheduler.close();
+    scheduler = new HealthCheckScheduler(Duration.ofHours(1), 1, Duration.ofMillis(500));
+    AtomicInteger timedOut = new AtomicInteger();
+    AtomicInteger healthy = new AtomicInteger();
+
+    // Each check takes well under the timeout, but together they take much longer than it
+    for (int i = 0; i < 4; i++) {
+      scheduler.add(
+          new NodeId(UUID.randomUUID()),
+          () -> {
+            try {
+              Thread.sleep(250);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IllegalStateException(e);
+            }
+            healthy.incrementAndGet();
+          },
+          timedOut::incrementAndGet);
+    }
+
+    scheduler.checkAll();
+
+    assertThat(timedOut.get()).isZero();
+    assertThat(healthy.get()).isEqualTo(4);
+  }
+
+  @Test
+  void aCheckThatTimedOutIsNotStartedAgainUntilItReturns() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    AtomicInteger runs = new AtomicInteger();
+    NodeId id = new NodeId(UUID.randomUUID());
+
+    scheduler.add(
+        id,
+        () -> {
+          runs.incrementAndGet();
+          // Stands in for a check stuck on I/O that doesn't notice being interrupted
+          boolean released = false;
+          while (!released) {
+            try {
+              released = release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              // Keep waiting
+            }
+          }
+          finished.countDown();
+        },
+        () -> {});
+
+    scheduler.checkAll();
+    scheduler.checkAll();
+    assertThat(runs.get()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+    // The check's thread may not have quite finished with it yet
+    long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (runs.get() == 1 && System.nanoTime() < giveUpAt) {
+      scheduler.checkAll();
+      Thread.sleep(10);
+    }
+    assertThat(runs.get()).isEqualTo(2);
+  }
+
+  @Test
+  void keepsCheckingANodeUntilItIsHealthy() throws InterruptedException {
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch healthy = new CountDownLatch(1);
+    NodeId id = new NodeId(UUID.randomUUID());
+
+    scheduler.add(
+        id,
+        () -> {
+          if (attempts.incrementAndGet() < 3) {
+            throw new IllegalStateException("Not yet");
+          }
+          healthy.countDown();
+        },
+        () -> {});
+
+    scheduler.checkUntilHealthy(id, Duration.ofMillis(10), Duration.ofSeconds(10));
+
+    assertThat(healthy.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  void recordsHowLongEachNodeTakesToCheck() {
+    NodeId id = new NodeId(UUID.randomUUID());
+    scheduler.add(id, () -> {}, () -> {});
+
+    scheduler.checkAll();
+    scheduler.checkAll();
+
+    Map<NodeId, HealthCheckScheduler.Latency> latencies = scheduler.getLatencies();
+    assertThat(latencies.get(id).getCount()).isEqualTo(2L);
+    assertThat(latencies.get(id).getPercentile(99)).isLessThan(500L);
+  }
+}
@@ -25,6 +25,7 @@
 import static org.openqa.selenium.remote.Dialect.W3C;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
 
+import com.google.common.collect.ImmutableSet;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -53,7 +54,9 @@
 import org.openqa.selenium.grid.data.CreateSessionResponse;
 import org.openqa.selenium.grid.data.DefaultSlotMatcher;
 import org.openqa.selenium.grid.data.DistributorStatus;
+import org.openqa.selenium.grid.data.NodeHeartBeatEvent;
 import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.NodeStatusDelta;
 import org.openqa.selenium.grid.data.RequestId;
 import org.openqa.selenium.grid.data.Session;
 import org.openqa.selenium.grid.data.SessionRequest;
@@ -307,6 +310,43 @@ public HttpResponse execute(HttpRequest req) {
     }
   }
 
+  @Test
+  void registersANodeItHasOnlyHadADeltaHeartbeatFrom() {
+    NewSessionQueue queue =
+        new LocalNewSessionQueue(
+            tracer,
+            new DefaultSlotMatcher(),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(2),
+            registrationSecret,
+            5);
+    Distributor distributor =
+        new LocalDistributor(
+            tracer,
+            bus,
+            new PassthroughHttpClient.Factory(localNode),
+            new LocalSessionMap(tracer, bus),
+            queue,
+            new DefaultSlotSelector(),
+            registrationSecret,
+            Duration.ofMinutes(5),
+            false,
+            Duration.ofSeconds(5),
+            newSessionThreadPoolSize,
+            new DefaultSlotMatcher());
+
+    // As happens when the distributor restarts while the node keeps running
+    NodeStatus status = localNode.getStatus();
+    bus.fire(
+        new NodeHeartBeatEvent(
+            new NodeStatusDelta(
+                status.getNodeId(), status.getExternalUri(), UP, 5, 6, ImmutableSet.of())));
+
+    wait.until(obj -> distributor.getStatus().getNodes().size() == 1);
+    NodeStatus registered = distributor.getStatus().getNodes().iterator().next();
+    assertThat(registered.getNodeId()).isEqualTo(localNode.getId());
+  }
+
   @Test
   void testDrainNodeFromDistributor() {
     NewSessionQueue queue =
@@ -0,0 +1,183 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.distributor.selector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.grid.data.Availability.UP;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.grid.data.DefaultSlotMatcher;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.Session;
+import org.openqa.selenium.grid.data.Slot;
+import org.openqa.selenium.grid.data.SlotId;
+import org.openqa.selenium.grid.data.SlotMatcher;
+import org.openqa.selenium.remote.SessionId;
+
+class IndexedSlotSelectorTest {
+
+  private static final List<Capabilities> STEREOTYPES =
+      ImmutableList.of(
+          new ImmutableCapabilities("browserName", "chrome"),
+          new ImmutableCapabilities("browserName", "chrome", "platformName", "linux"),
+          new ImmutableCapabilities("browserName", "firefox", "browserVersion", "115"),
+          new ImmutableCapabilities("browserName", "firefox", "browserVersion", "116"),
+          new ImmutableCapabilities("browserName", "safari", "platformName", "mac"));
+
+  private static final List<Capabilities> REQUESTS =
+      ImmutableList.of(
+          new ImmutableCapabilities("browserName", "chrome"),
+          new ImmutableCapabilities("browserName", "chrome", "platformName", "linux"),
+          new ImmutableCapabilities("browserName", "firefox"),
+          new ImmutableCapabilities("browserName", "firefox", "browserVersion", "116"),
+          new ImmutableCapabilities("browserName", "safari"),
+          new ImmutableCapabilities("browserName", "edge"),
+          new ImmutableCapabilities("platformName", "linux"));
+
+  private final Random random = new Random(42);
+  private final SlotMatcher matcher = new DefaultSlotMatcher();
+
+  @Test
+  void selectsTheSameSlotsInTheSameOrderAsTheDefaultSelector() {
+    Set<NodeStatus> nodes = createGrid(50);
+
+    DefaultSlotSelector expected = new DefaultSlotSelector();
+    IndexedSlotSelector indexed = new IndexedSlotSelector();
+
+    for (Capabilities request : REQUESTS) {
+      assertThat(new ArrayList<>(indexed.selectSlot(request, nodes, matcher)))
+          .containsExactlyElementsOf(expected.selectSlot(request, nodes, matcher));
+    }
+  }
+
+  @Test
+  void usesAnyOtherSlotMatcherForEveryStereotype() {
+    Set<NodeStatus> nodes = createGrid(10);
+    SlotMatcher anything = (stereotype, capabilities) -> true;
+    Capabilities request = new ImmutableCapabilities("browserName", "cheese");
+
+    assertThat(new ArrayList<>(new IndexedSlotSelector().selectSlot(request, nodes, anything)))
+        .containsExactlyElementsOf(new DefaultSlotSelector().selectSlot(request, nodes, anything));
+  }
+
+  @Test
+  void reflectsChangedAndRemovedNodes() {
+    Capabilities chrome = new ImmutableCapabilities("browserName", "chrome");
+    NodeStatus node = createNode(ImmutableList.of(chrome), 1, 0);
+    IndexedSlotSelector selector = new IndexedSlotSelector();
+
+    assertThat(selector.selectSlot(chrome, ImmutableSet.of(node), matcher)).hasSize(1);
+
+    NodeStatus busy = occupyAllSlots(node);
+    assertThat(selector.selectSlot(chrome, ImmutableSet.of(busy), matcher)).isEmpty();
+
+    assertThat(selector.selectSlot(chrome, ImmutableSet.of(node), matcher)).hasSize(1);
+    assertThat(selector.selectSlot(chrome, ImmutableSet.of(), matcher)).isEmpty();
+  }
+
+  private Set<NodeStatus> createGrid(int nodeCount) {
+    Set<NodeStatus> nodes = new HashSet<>();
+    for (int i = 0; i < nodeCount; i++) {
+      List<Capabilities> stereotypes = new ArrayList<>();
+      for (Capabilities stereotype : STEREOTYPES) {
+        if (random.nextBoolean()) {
+          stereotypes.add(stereotype);
+        }
+      }
+      if (stereotypes.isEmpty()) {
+        stereotypes.add(STEREOTYPES.get(0));
+      }
+      int count = 1 + random.nextInt(4);
+      nodes.add(createNode(stereotypes, count, random.nextInt(count + 1)));
+    }
+    return nodes;
+  }
+
+  private NodeStatus occupyAllSlots(NodeStatus node) {
+    Set<Slot> slots = new HashSet<>();
+    for (Slot slot : node.getSlots()) {
+      slots.add(
+          new Slot(
+              slot.getId(),
+              slot.getStereotype(),
+              Instant.now(),
+              new Session(
+                  new SessionId(UUID.randomUUID()),
+                  node.getExternalUri(),
+                  slot.getStereotype(),
+                  slot.getStereotype(),
+                  Instant.now())));
+    }
+    return new NodeStatus(
+        node.getNodeId(),
+        node.getExternalUri(),
+        node.getMaxSessionCount(),
+        slots,
+        node.getAvailability(),
+        node.getHeartbeatPeriod(),
+        node.getVersion(),
+        node.getOsInfo());
+  }
+
+  private NodeStatus createNode(List<Capabilities> stereotypes, int count, int currentLoad) {
+    NodeId nodeId = new NodeId(UUID.randomUUID());
+    URI uri = URI.create("http://localhost:" + (1024 + random.nextInt(60000)));
+
+    Set<Slot> slots = new HashSet<>();
+    for (Capabilities stereotype : stereotypes) {
+      for (int i = 0; i < currentLoad; i++) {
+        Instant started = Instant.ofEpochMilli(random.nextInt(1_000_000));
+        slots.add(
+            new Slot(
+                new SlotId(nodeId, UUID.randomUUID()),
+                stereotype,
+                started,
+                new Session(
+                    new SessionId(UUID.randomUUID()), uri, stereotype, stereotype, started)));
+      }
+      for (int i = 0; i < count - currentLoad; i++) {
+        slots.add(new Slot(new SlotId(nodeId, UUID.randomUUID()), stereotype, Instant.EPOCH, null));
+      }
+    }
+
+    return new NodeStatus(
+        nodeId,
+        uri,
+        count * stereotypes.size(),
+        ImmutableSet.copyOf(slots),
+        UP,
+        Duration.ofSeconds(10),
+        "4.0.0",
+        ImmutableMap.of("name", "Linux", "arch", "x86_64", "version", "5.15"));
+  }
+}
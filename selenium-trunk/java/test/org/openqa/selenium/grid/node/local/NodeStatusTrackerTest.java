@@ -0,0 +1,117 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.node.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.grid.data.Availability.UP;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.grid.data.NodeHeartBeatEvent;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.NodeStatusDelta;
+import org.openqa.selenium.grid.data.Session;
+import org.openqa.selenium.grid.data.Slot;
+import org.openqa.selenium.grid.data.SlotId;
+import org.openqa.selenium.remote.SessionId;
+
+class NodeStatusTrackerTest {
+
+  private final Capabilities stereotype = new ImmutableCapabilities("browserName", "cheese");
+  private final NodeId nodeId = new NodeId(UUID.randomUUID());
+  private final URI uri = URI.create("http://localhost:5555");
+  private final Slot first = freeSlot();
+  private final Slot second = freeSlot();
+
+  @Test
+  void theVersionOnlyChangesWhenTheStatusDoes() {
+    NodeStatusTracker tracker = new NodeStatusTracker();
+
+    long initial = tracker.stamp(status(first, second)).getStatusVersion();
+    assertThat(tracker.stamp(status(first, second)).getStatusVersion()).isEqualTo(initial);
+
+    long changed = tracker.stamp(status(busy(first), second)).getStatusVersion();
+    assertThat(changed).isGreaterThan(initial);
+  }
+
+  @Test
+  void heartbeatsAfterTheFirstOnlyCarryTheSlotsThatChanged() {
+    NodeStatusTracker tracker = new NodeStatusTracker();
+
+    NodeHeartBeatEvent full = tracker.heartBeat(status(first, second));
+    assertThat(full.getType().getName()).isEqualTo("node-heartbeat");
+    NodeStatus status = full.getData(NodeStatus.class);
+    long fullVersion = status.getStatusVersion();
+
+    Slot busy = busy(first);
+    NodeStatusDelta delta = tracker.heartBeat(status(busy, second)).getData(NodeStatusDelta.class);
+    assertThat(delta.getBaseVersion()).isEqualTo(fullVersion);
+    assertThat(delta.getStatusVersion()).isGreaterThan(fullVersion);
+    assertThat(delta.getSlots()).containsExactly(busy);
+
+    NodeStatusDelta quiet = tracker.heartBeat(status(busy, second)).getData(NodeStatusDelta.class);
+    assertThat(quiet.getBaseVersion()).isEqualTo(delta.getStatusVersion());
+    assertThat(quiet.getStatusVersion()).isEqualTo(delta.getStatusVersion());
+    assertThat(quiet.getSlots()).isEmpty();
+  }
+
+  @Test
+  void theFullStatusIsSentEverySoOften() {
+    NodeStatusTracker tracker = new NodeStatusTracker(3);
+
+    assertThat(tracker.heartBeat(status(first)).getType().getName()).isEqualTo("node-heartbeat");
+    assertThat(tracker.heartBeat(status(first)).getType().getName())
+        .isEqualTo("node-heartbeat-delta");
+    assertThat(tracker.heartBeat(status(first)).getType().getName())
+        .isEqualTo("node-heartbeat-delta");
+    assertThat(tracker.heartBeat(status(first)).getType().getName()).isEqualTo("node-heartbeat");
+  }
+
+  private Slot freeSlot() {
+    return new Slot(new SlotId(nodeId, UUID.randomUUID()), stereotype, Instant.EPOCH, null);
+  }
+
+  private Slot busy(Slot slot) {
+    Instant now = Instant.now();
+    Session session =
+        new Session(new SessionId(UUID.randomUUID()), uri, stereotype, stereotype, now);
+    return new Slot(slot.getId(), slot.getStereotype(), now, session);
+  }
+
+  private NodeStatus status(Slot... slots) {
+    Set<Slot> all = ImmutableSet.copyOf(slots);
+    return new NodeStatus(
+        nodeId,
+        uri,
+        all.size(),
+        all,
+        UP,
+        Duration.ofSeconds(10),
+        "4.0.0",
+        ImmutableMap.of("name", "cheese", "arch", "x86_64", "version", "1.0"));
+  }
+}
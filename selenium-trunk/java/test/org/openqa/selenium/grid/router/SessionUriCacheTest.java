@@ -0,0 +1,184 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.router;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openqa.selenium.grid.data.Availability.UP;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.events.EventBus;
+import org.openqa.selenium.events.local.GuavaEventBus;
+import org.openqa.selenium.grid.data.NodeId;
+import org.openqa.selenium.grid.data.NodeRemovedEvent;
+import org.openqa.selenium.grid.data.NodeStatus;
+import org.openqa.selenium.grid.data.Session;
+import org.openqa.selenium.grid.data.SessionClosedEvent;
+import org.openqa.selenium.grid.sessionmap.SessionMap;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.tracing.DefaultTestTracer;
+
+class SessionUriCacheTest {
+
+  private static final URI NODE = URI.create("http://localhost:5555");
+  private static final URI OTHER_NODE = URI.create("http://localhost:6666");
+
+  private CountingSessionMap sessions;
+  private EventBus bus;
+  private SessionUriCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    sessions = new CountingSessionMap();
+    bus = new GuavaEventBus();
+    cache = new SessionUriCache(sessions, bus);
+  }
+
+  @Test
+  void shouldOnlyAskTheSessionMapOnceForEachSession() {
+    SessionId id = createSession(NODE);
+
+    assertThat(cache.get(id)).isEqualTo(NODE);
+    assertThat(cache.get(id)).isEqualTo(NODE);
+
+    assertThat(sessions.lookups.get()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotRememberSessionsThatCouldNotBeFound() {
+    SessionId id = new SessionId(UUID.randomUUID());
+
+    assertThatThrownBy(() -> cache.get(id)).isInstanceOf(NoSuchSessionException.class);
+
+    sessions.add(createSession(id, NODE));
+    assertThat(cache.get(id)).isEqualTo(NODE);
+  }
+
+  @Test
+  void shouldForgetASessionOnceItIsClosed() {
+    SessionId id = createSession(NODE);
+    cache.get(id);
+
+    bus.fire(new SessionClosedEvent(id));
+    cache.get(id);
+
+    assertThat(sessions.lookups.get()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldForgetEverySessionOnANodeThatHasBeenRemoved() {
+    SessionId first = createSession(NODE);
+    SessionId second = createSession(NODE);
+    SessionId elsewhere = createSession(OTHER_NODE);
+    cache.get(first);
+    cache.get(second);
+    cache.get(elsewhere);
+
+    bus.fire(new NodeRemovedEvent(createNodeStatus(NODE)));
+
+    assertThat(cache.getSize()).isEqualTo(1);
+    cache.get(elsewhere);
+    assertThat(sessions.lookups.get()).isEqualTo(3);
+  }
+
+  private SessionId createSession(URI uri) {
+    SessionId id = new SessionId(UUID.randomUUID());
+    sessions.add(createSession(id, uri));
+    return id;
+  }
+
+  private Session createSession(SessionId id, URI uri) {
+    return new Session(
+        id, uri, new ImmutableCapabilities(), new ImmutableCapabilities(), Instant.now());
+  }
+
+  private NodeStatus createNodeStatus(URI uri) {
+    return new NodeStatus(
+        new NodeId(UUID.randomUUID()),
+        uri,
+        1,
+        ImmutableSet.of(),
+        UP,
+        Duration.ofSeconds(10),
+        "4.0.0",
+        ImmutableMap.of("name", "cheese", "arch", "x86_64", "version", "1.0"));
+  }
+
+  @Test
+  void shouldLookUpASessionAgainOnceItsEntryHasExpiredEvenIfItIsInUse()
+      throws InterruptedException {
+    SessionUriCache expiring = new SessionUriCache(sessions, 100, Duration.ofMillis(200));
+    SessionId id = createSession(NODE);
+
+    Instant end = Instant.now().plusMillis(500);
+    while (Instant.now().isBefore(end)) {
+      assertThat(expiring.get(id)).isEqualTo(NODE);
+      Thread.sleep(20);
+    }
+
+    assertThat(sessions.lookups.get()).isGreaterThan(1);
+  }
+
+  private static class CountingSessionMap extends SessionMap {
+
+    private final Map<SessionId, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    CountingSessionMap() {
+      super(DefaultTestTracer.createTracer());
+    }
+
+    @Override
+    public boolean add(Session session) {
+      sessions.put(session.getId(), session);
+      return true;
+    }
+
+    @Override
+    public Session get(SessionId id) throws NoSuchSessionException {
+      lookups.incrementAndGet();
+      Session session = sessions.get(id);
+      if (session == null) {
+        throw new NoSuchSessionException("Unable to find session with ID: " + id);
+      }
+      return session;
+    }
+
+    @Override
+    public void remove(SessionId id) {
+      sessions.remove(id);
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+  }
+}
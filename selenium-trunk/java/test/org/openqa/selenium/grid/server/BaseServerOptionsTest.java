@@ -18,9 +18,13 @@
 package org.openqa.selenium.grid.server;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.openqa.selenium.grid.config.ConfigException;
 import org.openqa.selenium.grid.config.MapConfig;
 
 class BaseServerOptionsTest {
@@ -43,4 +47,29 @@ void serverConfigBindsToHostByDefault() {
 
     assertThat(options.getBindHost()).isEqualTo(true);
   }
+
+  @Test
+  void routeConcurrencyLimitsAreReadInOrder() {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                Map.of(
+                    "server",
+                    Map.of(
+                        "route-concurrency-limits",
+                        List.of("/se/grid/newsessionqueue=4", "/session = 100")))));
+
+    assertThat(options.getRouteConcurrencyLimits())
+        .containsExactly(entry("/se/grid/newsessionqueue", 4), entry("/session", 100));
+  }
+
+  @Test
+  void routeConcurrencyLimitsMustBePositive() {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                Map.of("server", Map.of("route-concurrency-limits", List.of("/session=0")))));
+
+    assertThatThrownBy(options::getRouteConcurrencyLimits).isInstanceOf(ConfigException.class);
+  }
 }
@@ -20,6 +20,7 @@
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
 
 import java.net.MalformedURLException;
@@ -35,10 +36,12 @@
 import java.util.logging.Logger;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.grid.config.Config;
+import org.openqa.selenium.grid.config.ConfigException;
 import org.openqa.selenium.grid.config.MapConfig;
 import org.openqa.selenium.netty.server.SimpleHttpServer;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
 import org.openqa.selenium.remote.tracing.DefaultTestTracer;
 import org.openqa.selenium.remote.tracing.Tracer;
 
@@ -87,6 +90,45 @@ void triggerFailureInTracing()
     assertThat(messages).isEmpty();
   }
 
+  @Test
+  void clientsAskForCompressedResponsesWhenGridCompressesItsOwn() throws Exception {
+    Config config = new MapConfig(Map.of("server", Map.of("compress-responses", true)));
+    HttpClient.Factory clientFactory =
+        new NetworkOptions(config).getHttpClientFactory(DefaultTestTracer.createTracer());
+
+    SimpleHttpServer server = new SimpleHttpServer();
+    try {
+      server.registerEndpoint(GET, "/headers", SimpleHttpServer.ECHO_HEADERS_HANDLER);
+
+      try (HttpClient client = clientFactory.createClient(server.baseUri().toURL())) {
+        HttpResponse response = client.execute(new HttpRequest(GET, "/headers"));
+
+        assertThat(response.getHeader("Accept-Encoding")).isEqualTo("gzip, deflate");
+      }
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  void refusesToSpeakH2cWithAClientThatCannot() {
+    Config config = new MapConfig(Map.of("server", Map.of("h2c", true)));
+    String previous = System.setProperty("webdriver.http.factory", "netty");
+    try {
+      assertThatExceptionOfType(ConfigException.class)
+          .isThrownBy(
+              () ->
+                  new NetworkOptions(config)
+                      .getHttpClientFactory(DefaultTestTracer.createTracer()));
+    } finally {
+      if (previous == null) {
+        System.clearProperty("webdriver.http.factory");
+      } else {
+        System.setProperty("webdriver.http.factory", previous);
+      }
+    }
+  }
+
   private static class CapturingHandler extends Handler {
 
     private final String loggerNamePrefix;
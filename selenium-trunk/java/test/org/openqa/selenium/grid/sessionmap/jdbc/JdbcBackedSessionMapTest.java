@@ -27,8 +27,14 @@
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -142,6 +148,77 @@ void shouldBeAbleToRemoveSessions() throws URISyntaxException {
     }
   }
 
+  @Test
+  void shouldBeAbleToRemoveEverySessionOnANode() throws URISyntaxException {
+    JdbcBackedSessionMap sessions = getSessionMap();
+    URI nodeUri = new URI("http://example.com/node");
+    Session first = createSession(nodeUri);
+    Session second = createSession(nodeUri);
+    Session elsewhere = createSession(new URI("http://example.com/elsewhere"));
+    sessions.add(first);
+    sessions.add(second);
+    sessions.add(elsewhere);
+
+    sessions.removeByUri(nodeUri);
+
+    assertThrows(NoSuchSessionException.class, () -> sessions.get(first.getId()));
+    assertThrows(NoSuchSessionException.class, () -> sessions.get(second.getId()));
+    assertThat(sessions.getUri(elsewhere.getId())).isEqualTo(elsewhere.getUri());
+  }
+
+  @Test
+  void shouldHandleManySessionsBeingAddedAndRemovedAtOnce() throws Exception {
+    JdbcBackedSessionMap sessions =
+        new JdbcBackedSessionMap(
+            tracer,
+            bus,
+            new JdbcConnectionPool(
+                () -> DriverManager.getConnection("jdbc:hsqldb:mem:testdb", "SA", ""),
+                4,
+                Duration.ofSeconds(30)));
+    List<Session> added = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      added.add(createSession(new URI("http://example.com/burst")));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<Boolean>> adds = new ArrayList<>();
+      added.forEach(session -> adds.add(executor.submit(() -> sessions.add(session))));
+      for (Future<Boolean> add : adds) {
+        assertThat(add.get()).isTrue();
+      }
+
+      for (Session session : added) {
+        assertThat(sessions.get(session.getId())).isEqualTo(session);
+      }
+
+      List<Future<?>> removes = new ArrayList<>();
+      added.forEach(
+          session -> removes.add(executor.submit(() -> sessions.remove(session.getId()))));
+      for (Future<?> remove : removes) {
+        remove.get();
+      }
+    } finally {
+      executor.shutdown();
+      sessions.close();
+    }
+
+    SessionMap reader = getSessionMap();
+    for (Session session : added) {
+      assertThrows(NoSuchSessionException.class, () -> reader.get(session.getId()));
+    }
+  }
+
+  private Session createSession(URI uri) {
+    return new Session(
+        new SessionId(UUID.randomUUID()),
+        uri,
+        new ImmutableCapabilities("foo", "bar"),
+        new ImmutableCapabilities("key", "value"),
+        Instant.now());
+  }
+
   private JdbcBackedSessionMap getSessionMap() {
     return new JdbcBackedSessionMap(tracer, connection, bus);
   }
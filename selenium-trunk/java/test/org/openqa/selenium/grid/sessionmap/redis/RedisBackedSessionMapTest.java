@@ -22,6 +22,7 @@
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.openqa.selenium.testing.Safely.safelyCall;
 
+import com.google.common.collect.ImmutableMap;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
@@ -34,6 +35,7 @@
 import org.openqa.selenium.events.EventBus;
 import org.openqa.selenium.events.local.GuavaEventBus;
 import org.openqa.selenium.grid.data.Session;
+import org.openqa.selenium.json.Json;
 import org.openqa.selenium.net.PortProber;
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.remote.tracing.DefaultTestTracer;
@@ -127,4 +129,52 @@ void shouldBeAbleToRemoveSessions() throws URISyntaxException {
       // This is expected
     }
   }
+
+  @Test
+  void canRemoveEverySessionRunningOnANode() throws URISyntaxException {
+    URI nodeUri = new URI("http://example.com/foo");
+    Session first = createSession(nodeUri);
+    Session second = createSession(nodeUri);
+    Session elsewhere = createSession(new URI("http://example.com/bar"));
+    sessions.add(first);
+    sessions.add(second);
+    sessions.add(elsewhere);
+
+    sessions.removeByUri(nodeUri);
+
+    assertThrows(NoSuchSessionException.class, () -> sessions.get(first.getId()));
+    assertThrows(NoSuchSessionException.class, () -> sessions.get(second.getId()));
+    assertThat(sessions.get(elsewhere.getId())).isEqualTo(elsewhere);
+  }
+
+  @Test
+  void canReadSessionsStoredByAnEarlierVersion() throws URISyntaxException {
+    Session expected = createSession(new URI("http://example.com/foo"));
+    String prefix = "session:" + expected.getId();
+    Json json = new Json();
+    sessions
+        .getRedisClient()
+        .mset(
+            ImmutableMap.of(
+                prefix + ":uri", expected.getUri().toString(),
+                prefix + ":stereotype", json.toJson(expected.getStereotype()),
+                prefix + ":capabilities", json.toJson(expected.getCapabilities()),
+                prefix + ":start", json.toJson(expected.getStartTime())));
+
+    assertThat(sessions.getUri(expected.getId())).isEqualTo(expected.getUri());
+    assertThat(sessions.get(expected.getId())).isEqualTo(expected);
+    assertThat(sessions.getRedisClient().get(prefix + ":uri")).isNull();
+
+    sessions.removeByUri(expected.getUri());
+    assertThrows(NoSuchSessionException.class, () -> sessions.get(expected.getId()));
+  }
+
+  private Session createSession(URI uri) {
+    return new Session(
+        new SessionId(UUID.randomUUID()),
+        uri,
+        new ImmutableCapabilities(),
+        new ImmutableCapabilities("cheese", "beyaz peynir"),
+        Instant.now());
+  }
 }
@@ -0,0 +1,115 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.grid.sessionqueue.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.remote.Dialect.W3C;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.grid.data.RequestId;
+import org.openqa.selenium.grid.data.SessionRequest;
+
+class IndexedRequestQueueTest {
+
+  @Test
+  void requestsAreIteratedInQueueOrder() {
+    IndexedRequestQueue queue = new IndexedRequestQueue();
+    SessionRequest first = createRequest();
+    SessionRequest second = createRequest();
+    SessionRequest third = createRequest();
+
+    queue.addLast(second);
+    queue.addLast(third);
+    queue.addFirst(first);
+
+    assertThat(contents(queue)).containsExactly(first, second, third);
+  }
+
+  @Test
+  void aRequestCanOnlyBeQueuedOnce() {
+    IndexedRequestQueue queue = new IndexedRequestQueue();
+    SessionRequest request = createRequest();
+
+    assertThat(queue.addLast(request)).isTrue();
+    assertThat(queue.addLast(request)).isFalse();
+    assertThat(queue.addFirst(request)).isFalse();
+    assertThat(queue.size()).isEqualTo(1);
+  }
+
+  @Test
+  void requestsCanBeRemovedById() {
+    IndexedRequestQueue queue = new IndexedRequestQueue();
+    SessionRequest first = createRequest();
+    SessionRequest second = createRequest();
+    SessionRequest third = createRequest();
+    queue.addLast(first);
+    queue.addLast(second);
+    queue.addLast(third);
+
+    assertThat(queue.remove(second.getRequestId())).isSameAs(second);
+    assertThat(queue.remove(second.getRequestId())).isNull();
+    assertThat(queue.contains(second.getRequestId())).isFalse();
+    assertThat(contents(queue)).containsExactly(first, third);
+
+    queue.remove(first.getRequestId());
+    queue.remove(third.getRequestId());
+    assertThat(queue.isEmpty()).isTrue();
+    assertThat(contents(queue)).isEmpty();
+  }
+
+  @Test
+  void removingThroughTheIteratorAlsoUpdatesTheIndex() {
+    IndexedRequestQueue queue = new IndexedRequestQueue();
+    SessionRequest first = createRequest();
+    SessionRequest second = createRequest();
+    queue.addLast(first);
+    queue.addLast(second);
+
+    Iterator<SessionRequest> iterator = queue.iterator();
+    iterator.next();
+    iterator.remove();
+
+    assertThat(queue.contains(first.getRequestId())).isFalse();
+    assertThat(queue.size()).isEqualTo(1);
+    assertThat(contents(queue)).containsExactly(second);
+  }
+
+  private List<SessionRequest> contents(IndexedRequestQueue queue) {
+    List<SessionRequest> contents = new ArrayList<>();
+    queue.forEach(contents::add);
+    return contents;
+  }
+
+  private SessionRequest createRequest() {
+    return new SessionRequest(
+        new RequestId(UUID.randomUUID()),
+        Instant.now(),
+        Set.of(W3C),
+        Set.of(new ImmutableCapabilities("browserName", "cheese")),
+        Map.of(),
+        Map.of());
+  }
+}
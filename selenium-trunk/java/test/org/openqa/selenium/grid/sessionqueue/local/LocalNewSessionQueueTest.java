@@ -19,6 +19,7 @@
 
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +44,8 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -54,6 +57,7 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -77,7 +81,9 @@
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.remote.http.Contents;
 import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
 import org.openqa.selenium.remote.tracing.DefaultTestTracer;
 import org.openqa.selenium.remote.tracing.Tracer;
 import org.openqa.selenium.support.ui.FluentWait;
@@ -766,6 +772,136 @@ void shouldNotReturnANextAvailableEntryThatDoesNotMatchTheStereotypes(
     assertThat(returned.get(0)).isEqualTo(expected);
   }
 
+  @ParameterizedTest
+  @MethodSource("data")
+  void shouldHandOverAMatchingRequestAddedWhileWaiting(Supplier<TestData> supplier)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    setup(supplier);
+
+    Map<Capabilities, Long> stereotypes = new HashMap<>();
+    stereotypes.put(new ImmutableCapabilities("browserName", "cheese"), 1L);
+
+    CompletableFuture<List<SessionRequest>> next =
+        queue.awaitNextAvailable(stereotypes, Duration.ofSeconds(5)).orElseThrow();
+    assertThat(next).isNotDone();
+
+    localQueue.injectIntoQueue(sessionRequest);
+
+    assertThat(next.get(5, SECONDS)).containsExactly(sessionRequest);
+    assertThat(localQueue.getQueueSize()).isZero();
+  }
+
+  @ParameterizedTest
+  @MethodSource("data")
+  void shouldStopWaitingForAMatchingRequestAfterTheTimeout(Supplier<TestData> supplier)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    setup(supplier);
+
+    Map<Capabilities, Long> stereotypes = new HashMap<>();
+    stereotypes.put(new ImmutableCapabilities("browserName", "peas"), 1L);
+
+    CompletableFuture<List<SessionRequest>> next =
+        queue.awaitNextAvailable(stereotypes, Duration.ofMillis(100)).orElseThrow();
+    localQueue.injectIntoQueue(sessionRequest);
+
+    assertThat(next.get(5, SECONDS)).isEmpty();
+    assertThat(localQueue.getQueueSize()).isEqualTo(1);
+  }
+
+  @Test
+  void completedRequestsDoNotLeaveTimeoutChecksBehind() {
+    LocalNewSessionQueue local =
+        new LocalNewSessionQueue(
+            DefaultTestTracer.createTracer(),
+            new DefaultSlotMatcher(),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(30),
+            REGISTRATION_SECRET,
+            5);
+    localQueue = local;
+    queue = local;
+
+    for (int i = 0; i < 50; i++) {
+      SessionRequest request =
+          new SessionRequest(
+              new RequestId(UUID.randomUUID()),
+              Instant.now(),
+              Set.of(W3C),
+              Set.of(CAPS),
+              Map.of(),
+              Map.of());
+      CompletableFuture<HttpResponse> response = local.addToQueueAsync(request);
+      local.complete(request.getRequestId(), Either.left(new SessionNotCreatedException("cheese")));
+      assertThat(response).isDone();
+    }
+
+    // Only the periodic check should be left.
+    assertThat(local.getScheduledTaskCount()).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  void remoteQueueKeepsBatchingCompletionsAfterATransientFailure() throws Exception {
+    Tracer tracer = DefaultTestTracer.createTracer();
+    localQueue =
+        new LocalNewSessionQueue(
+            tracer,
+            new DefaultSlotMatcher(),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(5),
+            REGISTRATION_SECRET,
+            5);
+    List<String> sent = new CopyOnWriteArrayList<>();
+    AtomicInteger batches = new AtomicInteger();
+    HttpClient passthrough = new PassthroughHttpClient(localQueue);
+    HttpClient client =
+        new HttpClient() {
+          @Override
+          public HttpResponse execute(HttpRequest req) {
+            sent.add(req.getUri());
+            if (req.getUri().endsWith("/session/complete") && batches.incrementAndGet() == 1) {
+              return new HttpResponse().setStatus(HTTP_UNAVAILABLE);
+            }
+            return passthrough.execute(req);
+          }
+
+          @Override
+          public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            throw new UnsupportedOperationException("openSocket");
+          }
+        };
+    queue = new RemoteNewSessionQueue(tracer, client, REGISTRATION_SECRET);
+
+    for (int i = 0; i < 2; i++) {
+      SessionRequest request =
+          new SessionRequest(
+              new RequestId(UUID.randomUUID()),
+              Instant.now(),
+              Set.of(W3C),
+              Set.of(CAPS),
+              Map.of(),
+              Map.of());
+      CompletableFuture<HttpResponse> response =
+          CompletableFuture.supplyAsync(() -> localQueue.addToQueue(request));
+      waitUntilAddedToQueue(request);
+
+      SessionId sessionId = new SessionId(UUID.randomUUID());
+      Session session =
+          new Session(sessionId, URI.create("https://example.com"), CAPS, CAPS, Instant.now());
+      queue.complete(
+          request.getRequestId(),
+          Either.right(
+              new CreateSessionResponse(
+                  session,
+                  JSON.toJson(ImmutableMap.of("value", ImmutableMap.of("sessionId", sessionId)))
+                      .getBytes(UTF_8))));
+
+      assertThat(response.get(5, SECONDS).getStatus()).isEqualTo(HTTP_OK);
+    }
+
+    assertThat(batches.get()).isEqualTo(3);
+    assertThat(sent).noneMatch(uri -> uri.endsWith("/success"));
+  }
+
   static class TestData {
     public final LocalNewSessionQueue localQueue;
     public final NewSessionQueue queue;
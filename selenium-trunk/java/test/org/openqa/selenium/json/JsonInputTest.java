@@ -38,6 +38,7 @@
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -283,6 +284,43 @@ void emptyStringsWithNoJsonValuesComeBackAsNull() throws IOException {
     }
   }
 
+  @Test
+  void shouldReadUtf8BytesDirectly() {
+    // Long enough that multi-byte characters straddle the edges of the read buffer
+    String text =
+        Stream.generate(() -> "ch\u00e9\u00e8se \u4e16\ud83e\uddc0")
+            .limit(1000)
+            .collect(Collectors.joining());
+    byte[] raw = ("{\"text\": \"" + text + "\\n\\u003C\"}").getBytes(UTF_8);
+
+    try (JsonInput input = new Json().newInput(ByteBuffer.wrap(raw))) {
+      Map<String, Object> map = input.read(MAP_TYPE);
+
+      assertThat(map.get("text")).isEqualTo(text + "\n<");
+    }
+  }
+
+  @Test
+  void shouldBeAbleToSkipValuesWhenReadingFromBytes() {
+    byte[] raw =
+        "{\"skip\": {\"a\": [1, \"x\\\"y\", {\"b\": null}]}, \"number\": -42, \"other\": 1.5e3}"
+            .getBytes(UTF_8);
+
+    try (JsonInput input = new Json().newInput(ByteBuffer.wrap(raw))) {
+      input.beginObject();
+      assertThat(input.nextName()).isEqualTo("skip");
+      input.skipValue();
+      assertThat(input.hasNext()).isTrue();
+      assertThat(input.nextName()).isEqualTo("number");
+      assertThat(input.nextNumber()).isEqualTo(-42L);
+      assertThat(input.hasNext()).isTrue();
+      assertThat(input.nextName()).isEqualTo("other");
+      assertThat(input.nextNumber()).isEqualTo(1500.0d);
+      assertThat(input.hasNext()).isFalse();
+      input.endObject();
+    }
+  }
+
   private JsonInput newInput(String raw) {
     StringReader reader = new StringReader(raw);
     return new JsonInput(reader, new JsonTypeCoercer(), BY_NAME);
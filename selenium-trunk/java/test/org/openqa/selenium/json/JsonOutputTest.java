@@ -100,6 +100,14 @@ void shouldBeAbleToConvertASimpleString() {
     assertThat(json).isEqualTo("\"cheese\"");
   }
 
+  @Test
+  void shouldEscapeCharactersThatAreUnsafeInJsonOrHtml() {
+    String json = convert("a\"b\\c/d\ne\u0001f<g&h\u2028i\u00e9j");
+
+    assertThat(json)
+        .isEqualTo("\"a\\\"b\\\\c\\u002fd\\ne\\u0001f\\u003cg\\u0026h\\u2028i\u00e9j\"");
+  }
+
   @Test
   void shouldConvertAMapIntoAJsonObject() {
     Map<String, String> toConvert = new HashMap<>();
@@ -140,6 +140,21 @@ void settingFinalFieldsShouldWork() {
     assertThat(seen.theName).isEqualTo("fishy");
   }
 
+  @Test
+  void shouldBeAbleToPopulateTheSameTypeFromManyJsonInstances() {
+    for (int i = 0; i < 3; i++) {
+      Json json = new Json();
+
+      BeanWithSetter byName = json.toType("{\"name\": \"fishy" + i + "\"}", BeanWithSetter.class);
+      BeanWithSetter byField =
+          json.toType(
+              "{\"theName\": \"cheesy" + i + "\"}", BeanWithSetter.class, PropertySetting.BY_FIELD);
+
+      assertThat(byName.theName).isEqualTo("fishy" + i);
+      assertThat(byField.theName).isEqualTo("cheesy" + i);
+    }
+  }
+
   @Test
   void canConstructASimpleString() {
     String text = new Json().toType("\"cheese\"", String.class);
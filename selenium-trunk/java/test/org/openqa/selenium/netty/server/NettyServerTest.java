@@ -17,6 +17,7 @@
 
 package org.openqa.selenium.netty.server;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -26,9 +27,23 @@
 import static org.openqa.selenium.remote.http.HttpMethod.DELETE;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import io.netty.util.NettyRuntime;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.http.HttpClient.Version;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.grid.config.CompoundConfig;
 import org.openqa.selenium.grid.config.Config;
@@ -36,9 +51,12 @@
 import org.openqa.selenium.grid.server.BaseServerOptions;
 import org.openqa.selenium.grid.server.Server;
 import org.openqa.selenium.net.PortProber;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.DeferredResponses;
 import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.StreamingBodies;
 
 class NettyServerTest {
 
@@ -141,6 +159,230 @@ void shouldNotBindToHost() {
     assertEquals("anyRandomHost", server.getUrl().getHost());
   }
 
+  @Test
+  void shouldCompressResponsesOverTheThresholdWhenEnabled() throws IOException {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                ImmutableMap.of(
+                    "server",
+                    ImmutableMap.of(
+                        "port",
+                        PortProber.findFreePort(),
+                        "compress-responses",
+                        true,
+                        "compression-threshold",
+                        100))));
+    assertThat(options.compressResponses()).isTrue();
+
+    String large = Strings.repeat("cheese", 100);
+    Server<?> server =
+        new NettyServer(
+                options,
+                req ->
+                    new HttpResponse()
+                        .setContent(utf8String("/small".equals(req.getUri()) ? "cheese" : large)))
+            .start();
+
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(server.getUrl(), "/large").openConnection();
+      connection.setRequestProperty("Accept-Encoding", "gzip");
+
+      assertThat(connection.getHeaderField("Content-Encoding")).isEqualTo("gzip");
+      try (InputStream in = new GZIPInputStream(connection.getInputStream())) {
+        assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo(large);
+      }
+
+      connection = (HttpURLConnection) new URL(server.getUrl(), "/small").openConnection();
+      connection.setRequestProperty("Accept-Encoding", "gzip");
+
+      assertThat(connection.getHeaderField("Content-Encoding")).isNull();
+      try (InputStream in = connection.getInputStream()) {
+        assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo("cheese");
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void shouldLeaveAStreamedBodyForADeferredResponseToRead() throws IOException {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                ImmutableMap.of(
+                    "server",
+                    ImmutableMap.of("port", PortProber.findFreePort(), "stream-bodies", true))));
+
+    Server<?> server =
+        new NettyServer(
+                options,
+                req ->
+                    DeferredResponses.respondWhenComplete(
+                        req,
+                        CompletableFuture.supplyAsync(
+                            () -> {
+                              try (InputStream in = req.getContent().get()) {
+                                int read = in.readAllBytes().length;
+                                return new HttpResponse().setContent(utf8String("" + read));
+                              } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                              }
+                            },
+                            CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS))))
+            .start();
+
+    byte[] body = new byte[4 * 1024 * 1024];
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(server.getUrl(), "/upload").openConnection();
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setFixedLengthStreamingMode(body.length);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body);
+      }
+
+      try (InputStream in = connection.getInputStream()) {
+        assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo(String.valueOf(body.length));
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void shouldKeepServingOtherConnectionsWhileAStreamedResponseIsHeldOpen() throws Exception {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                ImmutableMap.of("server", ImmutableMap.of("port", PortProber.findFreePort()))));
+
+    // Connections are shared out between the event loops in turn, so holding one open per loop
+    // means the next connection shares a loop with one of them.
+    int held = NettyRuntime.availableProcessors() * 2;
+    CountDownLatch reading = new CountDownLatch(held);
+    CountDownLatch release = new CountDownLatch(1);
+    InputStream heldOpen =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            reading.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IOException(e);
+            }
+            return -1;
+          }
+        };
+
+    Server<?> server =
+        new NettyServer(
+                options,
+                req ->
+                    req.getUri().equals("/held")
+                        ? new HttpResponse().setContent(StreamingBodies.readOnce(heldOpen))
+                        : new HttpResponse().setContent(utf8String("cheese")))
+            .start();
+
+    ExecutorService clients = Executors.newCachedThreadPool();
+    try {
+      for (int i = 0; i < held; i++) {
+        clients.submit(
+            () -> {
+              URL url = new URL(server.getUrl(), "/held");
+              try (InputStream in = url.openConnection().getInputStream()) {
+                return in.readAllBytes();
+              }
+            });
+      }
+      assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(server.getUrl(), "/cheese").openConnection();
+      connection.setConnectTimeout(5000);
+      connection.setReadTimeout(5000);
+      try (InputStream in = connection.getInputStream()) {
+        assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo("cheese");
+      }
+    } finally {
+      release.countDown();
+      clients.shutdownNow();
+      server.stop();
+    }
+  }
+
+  @Test
+  void shouldSpeakHttp2OverPlainTextWhenEnabled() throws Exception {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                ImmutableMap.of(
+                    "server", ImmutableMap.of("port", PortProber.findFreePort(), "h2c", true))));
+    assertThat(options.useH2c()).isTrue();
+
+    Server<?> server =
+        new NettyServer(options, req -> new HttpResponse().setContent(utf8String("cheese")))
+            .start();
+
+    try {
+      java.net.http.HttpClient client =
+          java.net.http.HttpClient.newBuilder().version(Version.HTTP_2).build();
+      java.net.http.HttpRequest request =
+          java.net.http.HttpRequest.newBuilder(server.getUrl().toURI().resolve("/cheese")).build();
+
+      // The first request upgrades the connection, and the second is sent over HTTP/2 directly.
+      for (int i = 0; i < 2; i++) {
+        java.net.http.HttpResponse<String> response =
+            client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.version()).isEqualTo(Version.HTTP_2);
+        assertThat(response.body()).isEqualTo("cheese");
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void shouldAcceptALargeBodyOnTheFirstRequestOfAnH2cConnection() throws Exception {
+    BaseServerOptions options =
+        new BaseServerOptions(
+            new MapConfig(
+                ImmutableMap.of(
+                    "server", ImmutableMap.of("port", PortProber.findFreePort(), "h2c", true))));
+
+    Server<?> server =
+        new NettyServer(
+                options,
+                req -> {
+                  int read = Contents.bytes(req.getContent()).length;
+                  return new HttpResponse().setContent(utf8String("" + read));
+                })
+            .start();
+
+    byte[] body = new byte[100 * 1024];
+    try {
+      java.net.http.HttpClient client =
+          java.net.http.HttpClient.newBuilder().version(Version.HTTP_2).build();
+      java.net.http.HttpRequest request =
+          java.net.http.HttpRequest.newBuilder(server.getUrl().toURI().resolve("/upload"))
+              .POST(java.net.http.HttpRequest.BodyPublishers.ofByteArray(body))
+              .build();
+
+      java.net.http.HttpResponse<String> response =
+          client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(response.body()).isEqualTo(String.valueOf(body.length));
+    } finally {
+      server.stop();
+    }
+  }
+
   private void outputHeaders(HttpResponse res) {
     res.getHeaderNames()
         .forEach(
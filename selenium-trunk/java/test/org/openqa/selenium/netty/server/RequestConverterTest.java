@@ -20,15 +20,23 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.http.Contents;
 import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.StreamingBodies;
 
 class RequestConverterTest {
 
@@ -63,4 +71,31 @@ void returnsAnErrorForUnhandledMethods() {
 
     assertThat(res.status()).isEqualTo(HttpResponseStatus.METHOD_NOT_ALLOWED);
   }
+
+  @Test
+  void handsOnLargeBodiesBeforeTheyHaveArrivedWhenStreaming() {
+    RequestConverter converter = new RequestConverter(true);
+
+    EmbeddedChannel channel = new EmbeddedChannel(converter);
+
+    byte[] chunk = new byte[1024 * 1024];
+    Arrays.fill(chunk, (byte) 'a');
+    int chunkCount = 4;
+
+    DefaultHttpRequest httpRequest =
+        new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/se/file");
+    HttpUtil.setContentLength(httpRequest, (long) chunk.length * chunkCount);
+
+    assertThat(channel.writeInbound(httpRequest)).isTrue();
+    HttpRequest req = channel.readInbound();
+    assertThat(StreamingBodies.isAccepted(req)).isTrue();
+
+    for (int i = 1; i < chunkCount; i++) {
+      channel.writeInbound(new DefaultHttpContent(Unpooled.wrappedBuffer(chunk)));
+    }
+    channel.writeInbound(new DefaultLastHttpContent(Unpooled.wrappedBuffer(chunk)));
+
+    assertThat(Contents.bytes(req.getContent())).hasSize(chunk.length * chunkCount);
+    assertThat(channel.config().isAutoRead()).isTrue();
+  }
 }
@@ -0,0 +1,135 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.netty.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.remote.http.HttpMethod.GET;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.management.MalformedObjectNameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+class RequestExecutorTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private RequestExecutor executor;
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldTurnAwayRequestsOnceThePoolAndQueueAreFull() {
+    ExecutorService pool =
+        new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+    executor = new RequestExecutor(4444, pool, Map.of());
+
+    assertThat(executor.execute(request("/status"), this::block)).isTrue();
+    assertThat(executor.execute(request("/status"), this::block)).isTrue();
+    assertThat(executor.execute(request("/status"), this::block)).isFalse();
+
+    assertThat(executor.getQueueDepth()).isEqualTo(1);
+    assertThat(executor.getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLimitTheNumberOfConcurrentRequestsForARoute() throws InterruptedException {
+    executor =
+        new RequestExecutor(
+            4444, Executors.newCachedThreadPool(), Map.of("/se/grid/newsessionqueue", 1));
+
+    assertThat(executor.execute(request("/se/grid/newsessionqueue/session"), this::block)).isTrue();
+    assertThat(executor.execute(request("/se/grid/newsessionqueue/session"), this::block))
+        .isFalse();
+    assertThat(executor.execute(request("/status"), this::block)).isTrue();
+
+    release.countDown();
+    CountDownLatch done = new CountDownLatch(1);
+    for (int i = 0; i < 50; i++) {
+      if (executor.execute(request("/se/grid/newsessionqueue/session"), done::countDown)) {
+        break;
+      }
+      Thread.sleep(100);
+    }
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void shouldCountADeferredRequestAgainstItsRouteUntilItCompletes() throws InterruptedException {
+    executor =
+        new RequestExecutor(
+            4444, Executors.newCachedThreadPool(), Map.of("/se/grid/newsessionqueue", 1));
+    CompletableFuture<Void> response = new CompletableFuture<>();
+    CountDownLatch handled = new CountDownLatch(1);
+
+    assertThat(
+            executor.executeDeferred(
+                request("/se/grid/newsessionqueue/session/next"),
+                () -> {
+                  handled.countDown();
+                  return response;
+                }))
+        .isTrue();
+    assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(executor.execute(request("/se/grid/newsessionqueue/session/next"), () -> {}))
+        .isFalse();
+
+    response.complete(null);
+    CountDownLatch done = new CountDownLatch(1);
+    for (int i = 0; i < 50; i++) {
+      if (executor.execute(request("/se/grid/newsessionqueue/session/next"), done::countDown)) {
+        break;
+      }
+      Thread.sleep(100);
+    }
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void shouldIncludeThePortInTheObjectName() throws MalformedObjectNameException {
+    executor = new RequestExecutor(4444, Executors.newCachedThreadPool(), Map.of());
+
+    assertThat(executor.getObjectName().getKeyProperty("port")).isEqualTo("4444");
+  }
+
+  private void block() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static HttpRequest request(String uri) {
+    return new HttpRequest(GET, uri);
+  }
+}
@@ -0,0 +1,127 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.openqa.selenium.remote.http.HttpMethod.GET;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTests")
+class ContentEncodingTest {
+
+  @Test
+  void shouldOnlyNegotiateWhenEnabledAndTheRequestHasNoAcceptEncoding() {
+    HttpRequest plain = new HttpRequest(GET, "/status");
+    HttpRequest withEncoding = new HttpRequest(GET, "/status").setHeader("Accept-Encoding", "br");
+
+    assertThat(ContentEncoding.shouldNegotiate(ClientConfig.defaultConfig(), plain)).isFalse();
+    assertThat(
+            ContentEncoding.shouldNegotiate(ClientConfig.defaultConfig().withCompression(), plain))
+        .isTrue();
+    assertThat(
+            ContentEncoding.shouldNegotiate(
+                ClientConfig.defaultConfig().withCompression(), withEncoding))
+        .isFalse();
+  }
+
+  @Test
+  void shouldDecodeGzippedBodies() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write("cheese".getBytes(UTF_8));
+    }
+    HttpResponse response = encoded("gzip", bytes.toByteArray());
+
+    ContentEncoding.decode(response);
+
+    assertThat(response.getHeader("Content-Encoding")).isNull();
+    assertThat(response.getHeader("Content-Length")).isNull();
+    assertThat(Contents.string(response)).isEqualTo("cheese");
+    assertThat(Contents.string(response)).isEqualTo("cheese");
+  }
+
+  @Test
+  void shouldDecodeDeflatedBodies() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(bytes)) {
+      out.write("cheese".getBytes(UTF_8));
+    }
+    HttpResponse response = encoded("deflate", bytes.toByteArray());
+
+    ContentEncoding.decode(response);
+
+    assertThat(Contents.string(response)).isEqualTo("cheese");
+  }
+
+  @Test
+  void shouldCopeWithEmptyGzippedBodies() {
+    HttpResponse response = encoded("gzip", new byte[0]);
+
+    ContentEncoding.decode(response);
+
+    assertThat(Contents.string(response)).isEmpty();
+  }
+
+  @Test
+  void shouldLeaveUnknownEncodingsAlone() {
+    HttpResponse response = encoded("br", "cheese".getBytes(UTF_8));
+
+    ContentEncoding.decode(response);
+
+    assertThat(response.getHeader("Content-Encoding")).isEqualTo("br");
+    assertThat(Contents.string(response)).isEqualTo("cheese");
+  }
+
+  @Test
+  void decodedStreamingBodiesCanStillOnlyBeReadOnce() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write("cheese".getBytes(UTF_8));
+    }
+    InputStream stream = new ByteArrayInputStream(bytes.toByteArray());
+    HttpResponse response =
+        new HttpResponse()
+            .setHeader("Content-Encoding", "gzip")
+            .setContent(StreamingBodies.readOnce(stream));
+
+    ContentEncoding.decode(response);
+
+    assertThat(StreamingBodies.isReadOnce(response.getContent())).isTrue();
+    assertThat(Contents.string(response)).isEqualTo("cheese");
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> response.getContent().get());
+  }
+
+  private static HttpResponse encoded(String encoding, byte[] body) {
+    return new HttpResponse()
+        .setHeader("Content-Encoding", encoding)
+        .setHeader("Content-Length", String.valueOf(body.length))
+        .setContent(Contents.bytes(body));
+  }
+}
@@ -0,0 +1,55 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ContentsTest {
+
+  @Test
+  void shouldEncodeJsonAsUtf8() {
+    Supplier<InputStream> json =
+        Contents.asJson(ImmutableMap.of("greeting", "h\u00e9llo, \u4e16\u754c"));
+
+    assertThat(Contents.bytes(json))
+        .isEqualTo("{\n  \"greeting\": \"h\u00e9llo, \u4e16\u754c\"\n}".getBytes(UTF_8));
+  }
+
+  @Test
+  void shouldBeAbleToReadJsonContentMoreThanOnce() {
+    Supplier<InputStream> json = Contents.asJson(ImmutableMap.of("cheese", "brie"));
+
+    assertThat(Contents.utf8String(json)).isEqualTo(Contents.utf8String(json));
+  }
+
+  @Test
+  void shouldRoundTripJsonThroughAMessage() {
+    HttpResponse response = new HttpResponse().setContent(Contents.asJson(ImmutableMap.of("a", 1)));
+
+    Map<String, Object> value = Contents.fromJson(response, Map.class);
+
+    assertThat(value).containsEntry("a", 1L);
+  }
+}
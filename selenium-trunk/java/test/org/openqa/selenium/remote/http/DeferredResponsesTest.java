@@ -0,0 +1,96 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.remote.http.Contents.string;
+import static org.openqa.selenium.remote.http.Contents.utf8String;
+import static org.openqa.selenium.remote.http.HttpMethod.POST;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTests")
+class DeferredResponsesTest {
+
+  @Test
+  void shouldWaitForTheResponseIfTheServerDoesNotAcceptDeferredResponses() {
+    HttpRequest req = new HttpRequest(POST, "/session");
+    CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+    new Thread(() -> future.complete(new HttpResponse().setContent(utf8String("cheese")))).start();
+
+    HttpResponse res = DeferredResponses.respondWhenComplete(req, future);
+
+    assertThat(DeferredResponses.isDeferred(res)).isFalse();
+    assertThat(string(res)).isEqualTo("cheese");
+  }
+
+  @Test
+  void shouldReturnAPlaceholderIfTheServerAcceptsDeferredResponses() {
+    HttpRequest req = new HttpRequest(POST, "/session");
+    DeferredResponses.acceptDeferredResponses(req);
+    CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+
+    HttpResponse placeholder = DeferredResponses.respondWhenComplete(req, future);
+    placeholder.setHeader("X-Added-By-Filter", "brie");
+
+    assertThat(DeferredResponses.isDeferred(placeholder)).isTrue();
+
+    AtomicReference<HttpResponse> written = new AtomicReference<>();
+    CompletionStage<HttpResponse> completion =
+        DeferredResponses.getCompletion(placeholder).orElseThrow();
+    completion.thenAccept(written::set);
+    assertThat(written.get()).isNull();
+
+    future.complete(
+        new HttpResponse()
+            .setStatus(500)
+            .setHeader("Content-Type", "text/plain")
+            .setContent(utf8String("cheddar")));
+
+    assertThat(written.get()).isSameAs(placeholder);
+    assertThat(written.get().getStatus()).isEqualTo(500);
+    assertThat(written.get().getHeader("Content-Type")).isEqualTo("text/plain");
+    assertThat(written.get().getHeader("X-Added-By-Filter")).isEqualTo("brie");
+    assertThat(string(written.get())).isEqualTo("cheddar");
+  }
+
+  @Test
+  void shouldRunActionsOnceTheDeferredResponseIsComplete() {
+    HttpRequest req = new HttpRequest(POST, "/session");
+    DeferredResponses.acceptDeferredResponses(req);
+    CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+
+    HttpResponse placeholder = DeferredResponses.respondWhenComplete(req, future);
+    AtomicReference<Throwable> seen = new AtomicReference<>();
+    DeferredResponses.whenComplete(placeholder, (res, failure) -> seen.set(failure));
+
+    RuntimeException failure = new RuntimeException("Node went away");
+    future.completeExceptionally(failure);
+
+    assertThat(seen.get()).isSameAs(failure);
+  }
+
+  @Test
+  void ordinaryResponsesAreNotDeferred() {
+    assertThat(DeferredResponses.getCompletion(new HttpResponse()).isPresent()).isFalse();
+  }
+}
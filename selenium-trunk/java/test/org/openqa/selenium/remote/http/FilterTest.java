@@ -23,6 +23,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Tag;
@@ -146,4 +147,59 @@ void filtersShouldBeCalledInTheOrderAddedWithLastInCalledFirst() {
 
     assertThat(ordered).isEqualTo(Arrays.asList("outer", "middle", "inner"));
   }
+
+  @Test
+  void blockingFiltersCanBeAppliedToAsynchronousHandlers() {
+    Filter filter =
+        next ->
+            req -> {
+              HttpResponse res = next.execute(req);
+              res.addHeader("cheese", "brie");
+              return res;
+            };
+
+    AsyncHttpHandler handler =
+        filter.andFinallyAsync(req -> CompletableFuture.completedFuture(new HttpResponse()));
+
+    HttpResponse res = handler.executeAsync(new HttpRequest(GET, "/cheese")).join();
+
+    assertThat(res.getHeader("cheese")).isEqualTo("brie");
+  }
+
+  @Test
+  void chainedFiltersShouldUseTheirOwnAsynchronousVersions() {
+    AtomicInteger asyncCalls = new AtomicInteger(0);
+    Filter addsHeader =
+        new Filter() {
+          @Override
+          public HttpHandler apply(HttpHandler next) {
+            throw new AssertionError("Should not use the blocking version");
+          }
+
+          @Override
+          public AsyncHttpHandler applyAsync(AsyncHttpHandler next) {
+            return req -> {
+              asyncCalls.incrementAndGet();
+              req.addHeader("cheese", "cheddar");
+              return next.executeAsync(req);
+            };
+          }
+        };
+
+    AsyncHttpHandler handler =
+        addsHeader
+            .andThen(new AddSeleniumUserAgent())
+            .andFinallyAsync(
+                req ->
+                    CompletableFuture.completedFuture(
+                        new HttpResponse()
+                            .setHeader("cheese", req.getHeader("cheese"))
+                            .setHeader("User-Agent", req.getHeader("User-Agent"))));
+
+    HttpResponse res = handler.executeAsync(new HttpRequest(GET, "/cheese")).join();
+
+    assertThat(asyncCalls.get()).isEqualTo(1);
+    assertThat(res.getHeader("cheese")).isEqualTo("cheddar");
+    assertThat(res.getHeader("User-Agent")).isEqualTo(AddSeleniumUserAgent.USER_AGENT);
+  }
 }
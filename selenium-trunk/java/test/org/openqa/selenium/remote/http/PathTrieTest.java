@@ -0,0 +1,89 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openqa.selenium.remote.http.HttpMethod.GET;
+import static org.openqa.selenium.remote.http.HttpMethod.POST;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTests")
+class PathTrieTest {
+
+  @Test
+  void shouldFindValuesByMethodAndPath() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.add(GET, path("", "status"), 0, "get status");
+    trie.add(POST, path("", "status"), 1, "post status");
+
+    assertThat(trie.find(GET, path("", "status")).getValue()).isEqualTo("get status");
+    assertThat(trie.find(POST, path("", "status")).getValue()).isEqualTo("post status");
+    assertThat(trie.find(HttpMethod.DELETE, path("", "status"))).isNull();
+    assertThat(trie.find(GET, path("", "cheese"))).isNull();
+    assertThat(trie.find(GET, path("", "status", "more"))).isNull();
+  }
+
+  @Test
+  void parametersShouldMatchAnyNonEmptySegment() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.add(GET, path("", "session", null, "url"), 0, "url");
+
+    assertThat(trie.find(GET, path("", "session", "1234", "url")).getValue()).isEqualTo("url");
+    assertThat(trie.find(GET, path("", "session", "", "url"))).isNull();
+  }
+
+  @Test
+  void shouldPreferTheMatchWithTheHighestPrecedence() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.add(GET, path("", "session", null), 0, "parameter");
+    trie.add(GET, path("", "session", "status"), 1, "literal");
+    trie.add(GET, path("", "session", null), 2, "later parameter");
+
+    PathTrie.Match<String> match = trie.find(GET, path("", "session", "status"));
+
+    assertThat(match.getValue()).isEqualTo("later parameter");
+    assertThat(match.getPrecedence()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldBacktrackWhenTheLiteralBranchDoesNotMatch() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.add(GET, path("", "session", "new", "window"), 1, "literal");
+    trie.add(GET, path("", "session", null, "url"), 0, "parameter");
+
+    assertThat(trie.find(GET, path("", "session", "new", "url")).getValue()).isEqualTo("parameter");
+  }
+
+  @Test
+  void laterValuesWithTheSamePrecedenceShouldWin() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.add(GET, path("", "status"), 3, "first");
+    trie.add(GET, path("", "status"), 3, "second");
+    trie.add(GET, path("", "status"), 1, "lower");
+
+    assertThat(trie.find(GET, path("", "status")).getValue()).isEqualTo("second");
+  }
+
+  private static List<String> path(String... segments) {
+    return Arrays.asList(segments);
+  }
+}
@@ -20,9 +20,11 @@
 import static java.net.HttpURLConnection.HTTP_CLIENT_TIMEOUT;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.openqa.selenium.remote.http.Contents.asJson;
 import static org.openqa.selenium.remote.http.HttpMethod.GET;
+import static org.openqa.selenium.remote.http.HttpMethod.POST;
 
 import com.google.common.collect.ImmutableMap;
 import java.net.MalformedURLException;
@@ -149,6 +151,25 @@ void shouldRetryRequestOnServerUnavailableError() {
     server.stop();
   }
 
+  @Test
+  void shouldNotRetryARequestWhoseBodyCanOnlyBeReadOnce() {
+    AtomicInteger count = new AtomicInteger(0);
+    HttpHandler handler =
+        new RetryRequest()
+            .andFinally(
+                req -> {
+                  count.incrementAndGet();
+                  return new HttpResponse().setStatus(HTTP_UNAVAILABLE);
+                });
+
+    HttpRequest request = new HttpRequest(POST, "/se/file");
+    StreamingBodies.markReadOnce(request);
+    HttpResponse response = handler.execute(request);
+
+    assertThat(response).extracting(HttpResponse::getStatus).isEqualTo(HTTP_UNAVAILABLE);
+    assertThat(count.get()).isEqualTo(1);
+  }
+
   @Test
   void shouldBeAbleToRetryARequestOnTimeout() {
     AtomicInteger count = new AtomicInteger(0);
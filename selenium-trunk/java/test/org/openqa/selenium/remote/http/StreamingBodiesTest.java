@@ -0,0 +1,53 @@
+// Licensed to the Software Freedom Conservancy (SFC) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The SFC licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.openqa.selenium.remote.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.openqa.selenium.remote.http.HttpMethod.POST;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTests")
+class StreamingBodiesTest {
+
+  @Test
+  void requestsDoNotAcceptStreamingBodiesByDefault() {
+    HttpRequest req = new HttpRequest(POST, "/se/file");
+
+    assertThat(StreamingBodies.isAccepted(req)).isFalse();
+
+    StreamingBodies.acceptStreamingBodies(req);
+
+    assertThat(StreamingBodies.isAccepted(req)).isTrue();
+  }
+
+  @Test
+  void streamedContentCanOnlyBeReadOnce() {
+    InputStream stream = new ByteArrayInputStream("cheese".getBytes(UTF_8));
+    Supplier<InputStream> content = StreamingBodies.readOnce(stream);
+
+    assertThat(Contents.utf8String(content)).isEqualTo("cheese");
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(content::get);
+  }
+}
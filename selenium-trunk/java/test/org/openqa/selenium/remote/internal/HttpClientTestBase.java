@@ -17,6 +17,7 @@
 
 package org.openqa.selenium.remote.internal;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +29,11 @@
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URL;
 import java.time.Duration;
@@ -35,7 +41,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -200,6 +210,86 @@ void shouldAllowConfigurationOfRequestTimeout() {
                     ClientConfig.defaultConfig().readTimeout(Duration.ofMillis(500))));
   }
 
+  @Test
+  void shouldBeAbleToSendRequestsAsynchronously() {
+    delegate =
+        req -> new HttpResponse().setContent(Contents.utf8String(req.getHeader("user-agent")));
+
+    try (HttpClient client =
+        createFactory().createClient(fromUri(URI.create(server.whereIs("/"))))) {
+      HttpResponse response = client.executeAsync(new HttpRequest(GET, "/foo")).join();
+
+      assertThat(string(response)).startsWith("selenium/");
+    }
+  }
+
+  @Test
+  void asynchronousRequestsShouldTimeOutLikeBlockingOnes() {
+    delegate =
+        req -> {
+          try {
+            Thread.sleep(1000);
+          } catch (InterruptedException e) {
+            e.printStackTrace();
+          }
+          return new HttpResponse();
+        };
+
+    HttpClient client =
+        createFactory()
+            .createClient(
+                ClientConfig.defaultConfig()
+                    .readTimeout(Duration.ofMillis(500))
+                    .baseUri(URI.create(server.whereIs("/"))));
+
+    CompletableFuture<HttpResponse> response = client.executeAsync(new HttpRequest(GET, "/foo"));
+
+    assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(response::join)
+        .withCauseInstanceOf(TimeoutException.class);
+  }
+
+  @Test
+  void shouldAskForAndDecompressCompressedResponsesWhenEnabled() {
+    HttpResponse response =
+        executeWithinServer(
+            new HttpRequest(GET, "/foo"),
+            req -> gzipped(String.valueOf(req.getHeader("Accept-Encoding"))),
+            ClientConfig.defaultConfig().withCompression());
+
+    assertThat(response.getHeader("Content-Encoding")).isNull();
+    assertThat(string(response)).contains("gzip");
+  }
+
+  @Test
+  void shouldLeaveEncodedBodiesAloneIfTheRequestSaysWhichEncodingsItAccepts() throws IOException {
+    HttpRequest request = new HttpRequest(GET, "/foo");
+    request.setHeader("Accept-Encoding", "gzip");
+
+    HttpResponse response =
+        executeWithinServer(
+            request,
+            req -> gzipped("Hello, World!"),
+            ClientConfig.defaultConfig().withCompression());
+
+    assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+    try (InputStream in = new GZIPInputStream(response.getContent().get())) {
+      assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo("Hello, World!");
+    }
+  }
+
+  private static HttpResponse gzipped(String content) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content.getBytes(UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new HttpResponse()
+        .setHeader("Content-Encoding", "gzip")
+        .setContent(Contents.bytes(bytes.toByteArray()));
+  }
+
   private HttpResponse getResponseWithHeaders(final Multimap<String, String> headers) {
     return executeWithinServer(
         new HttpRequest(GET, "/foo"),
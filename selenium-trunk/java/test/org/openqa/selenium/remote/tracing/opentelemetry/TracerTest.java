@@ -37,6 +37,7 @@
 import io.opentelemetry.sdk.trace.data.StatusData;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -57,15 +58,18 @@
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.grid.web.CombinedHandler;
+import org.openqa.selenium.remote.http.HttpClient;
 import org.openqa.selenium.remote.http.HttpRequest;
 import org.openqa.selenium.remote.http.HttpResponse;
 import org.openqa.selenium.remote.http.Routable;
 import org.openqa.selenium.remote.http.Route;
+import org.openqa.selenium.remote.http.WebSocket;
 import org.openqa.selenium.remote.tracing.EventAttribute;
 import org.openqa.selenium.remote.tracing.EventAttributeValue;
 import org.openqa.selenium.remote.tracing.HttpTracing;
 import org.openqa.selenium.remote.tracing.Span;
 import org.openqa.selenium.remote.tracing.Status;
+import org.openqa.selenium.remote.tracing.TracedHttpClient;
 import org.openqa.selenium.remote.tracing.Tracer;
 
 @Tag("UnitTests")
@@ -638,6 +642,53 @@ void shouldBeAbleToSetExternalContextAndCreatedSpansAreItsChildren() {
         .isEqualTo(externalSpan.getSpanContext().getSpanId());
   }
 
+  @Test
+  void asyncClientSpansLastUntilTheResponseArrives() throws Exception {
+    List<SpanData> allSpans = new ArrayList<>();
+    Tracer tracer = createTracer(allSpans);
+    CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+    HttpClient delegate =
+        new HttpClient() {
+          @Override
+          public HttpResponse execute(HttpRequest req) {
+            throw new UnsupportedOperationException("execute");
+          }
+
+          @Override
+          public CompletableFuture<HttpResponse> executeAsync(HttpRequest req) {
+            return pending;
+          }
+
+          @Override
+          public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            throw new UnsupportedOperationException("openSocket");
+          }
+        };
+    HttpClient client =
+        new TracedHttpClient.Factory(tracer, config -> delegate)
+            .createClient(new URL("http://localhost:4444"));
+
+    String before = tracer.getCurrentContext().getId();
+    CompletableFuture<HttpResponse> response = client.executeAsync(new HttpRequest(GET, "/cheese"));
+
+    assertThat(tracer.getCurrentContext().getId()).isEqualTo(before);
+    assertThat(allSpans).isEmpty();
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> pending.complete(new HttpResponse().setStatus(404))).get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(response.get().getStatus()).isEqualTo(404);
+    assertThat(allSpans).hasSize(1);
+    SpanData span = allSpans.get(0);
+    assertThat(span.getName()).isEqualTo("httpclient.execute_async");
+    assertThat(span.getAttributes().get(AttributeKey.longKey("http.status_code"))).isEqualTo(404L);
+    assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+  }
+
   private OpenTelemetryTracer createTracer(List<SpanData> exportTo) {
     ContextPropagators propagators =
         ContextPropagators.create((W3CTraceContextPropagator.getInstance()));